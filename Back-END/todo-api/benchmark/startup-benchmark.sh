@@ -0,0 +1,103 @@
+#!/bin/bash
+
+# Startup time / memory benchmark for the todo-api build variants.
+#
+# Build the variants first (from Back-END/todo-api):
+#   mvn -Pcds package              -> -exec jar, AOT classes and target/cds/application.jsa
+#   mvn -Pnative native:compile    -> target/todo-api native executable (requires GraalVM)
+#
+# Usage: benchmark/startup-benchmark.sh [runs] [port]
+# Each variant is started <runs> times; time-to-first-response on GET /api/todos and the resident set
+# size at that moment are recorded, and the median of each is reported. Missing variants are skipped.
+
+RUNS=${1:-5}
+PORT=${2:-18080}
+cd "$(dirname "$0")/.." || exit 1
+
+JAR=$(ls target/todo-api-*-exec.jar 2>/dev/null | head -n1)
+[ -z "$JAR" ] && JAR=$(ls target/todo-api-*.jar 2>/dev/null | grep -v -e '-exec' | head -n1)
+CDS_ARCHIVE=target/cds/application.jsa
+CDS_CLASSPATH_FILE=target/cds/classpath.txt
+NATIVE=target/todo-api
+
+declare -a NAMES
+declare -A COMMANDS
+
+add_variant() {
+    NAMES+=("$1")
+    COMMANDS["$1"]="$2"
+}
+
+if [ -n "$JAR" ]; then
+    add_variant "jar" "java -jar $JAR --server.port=$PORT"
+    add_variant "jar+fast-profile" "java -jar $JAR --server.port=$PORT --spring.profiles.active=fast"
+fi
+if [ -f "$CDS_ARCHIVE" ] && [ -f "$CDS_CLASSPATH_FILE" ]; then
+    add_variant "aot+cds" "java -XX:SharedArchiveFile=$CDS_ARCHIVE -Dspring.aot.enabled=true -Dspring.profiles.active=fast \
+        -cp $(cat $CDS_CLASSPATH_FILE) com.todo.api.TodoApiApplication --server.port=$PORT"
+fi
+if [ -x "$NATIVE" ]; then
+    add_variant "native" "$NATIVE --server.port=$PORT"
+fi
+
+if [ ${#NAMES[@]} -eq 0 ]; then
+    echo "No build variants found in target/. Build with 'mvn -Pcds package' and/or 'mvn -Pnative native:compile'."
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/VmRSS/ {print $2}' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+median() {
+    sort -n | awk '{a[NR]=$1} END {if (NR % 2) print a[(NR+1)/2]; else print int((a[NR/2]+a[NR/2+1])/2)}'
+}
+
+run_once() {
+    local command=$1
+    local start pid elapsed rss
+    start=$(now_ms)
+    $command > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/todos" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "failed"
+            return
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null
+    echo "$elapsed $rss"
+}
+
+printf "| %-18s | %12s | %12s |\n" "variant" "ready (ms)" "RSS (MB)"
+printf "|%s|%s|%s|\n" "--------------------" "--------------" "--------------"
+for name in "${NAMES[@]}"; do
+    times=()
+    rss=()
+    for ((i = 0; i < RUNS; i++)); do
+        result=$(run_once "${COMMANDS[$name]}")
+        if [ "$result" = "failed" ]; then
+            echo "$name: process exited before becoming ready" >&2
+            continue
+        fi
+        times+=("${result% *}")
+        rss+=("${result#* }")
+    done
+    if [ ${#times[@]} -gt 0 ]; then
+        t=$(printf "%s\n" "${times[@]}" | median)
+        m=$(printf "%s\n" "${rss[@]}" | median)
+        printf "| %-18s | %12s | %12s |\n" "$name" "$t" "$((m / 1024))"
+    fi
+done
@@ -0,0 +1,18 @@
+package com.todo.api.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport that tells every API node when a todo changed so it can drop its cached copy. Selected with
+ * {@code todo.cache.invalidation.transport}; delivery is at-least-once and may lag, and
+ * {@code todo.cache.ttl-ms} bounds staleness if a message is lost.
+ */
+public interface InvalidationBus {
+
+    void publish(String origin, Long todoId);
+
+    /**
+     * Registers a listener for invalidations from all nodes, including the caller's own.
+     */
+    void subscribe(Consumer<TodoInvalidation> listener);
+}
@@ -0,0 +1,136 @@
+package com.todo.api.cache;
+
+import jakarta.annotation.PostConstruct;
+import com.todo.api.shard.TodoShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transport for several nodes sharing one database: invalidations are rows in
+ * {@code todo_invalidations} and every node polls for rows it has not seen. The row id is the sequence.
+ * <p>
+ * Identity values can commit out of order, so each poll re-reads the last
+ * {@code todo.cache.invalidation.rescan-ids} ids and skips the ones already delivered.
+ * <p>
+ * Rows are written to the shard of their todo. The near cache publishes after the change commits, so
+ * each row is an insert of its own, outside the todo's transaction; a node that fails in between
+ * leaves the other nodes to the cache's TTL. Every shard is polled with its own cursor; sequences are
+ * per shard.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.cache.invalidation.transport", havingValue = "jdbc")
+public class JdbcInvalidationBus implements InvalidationBus {
+    static final String INSERT_SQL = "INSERT INTO todo_invalidations (origin, todo_id, created_at) VALUES (?, ?, ?)";
+    static final String POLL_SQL = "SELECT id, origin, todo_id FROM todo_invalidations WHERE id > ? ORDER BY id";
+    static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM todo_invalidations";
+    static final String PURGE_SQL = "DELETE FROM todo_invalidations WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoShards todoShards;
+    private final Clock clock;
+    private final long rescanIds;
+    private final long retentionMs;
+    private final List<Consumer<TodoInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<NavigableSet<Long>> delivered = new ArrayList<>();
+    private final long[] cursors;
+
+    @Autowired
+    public JdbcInvalidationBus(JdbcTemplate jdbcTemplate,
+                               TodoShards todoShards,
+                               @Value("${todo.cache.invalidation.rescan-ids:64}") long rescanIds,
+                               @Value("${todo.cache.invalidation.retention-ms:600000}") long retentionMs) {
+        this(jdbcTemplate, todoShards, Clock.systemDefaultZone(), rescanIds, retentionMs);
+    }
+
+    JdbcInvalidationBus(JdbcTemplate jdbcTemplate, TodoShards todoShards, Clock clock, long rescanIds,
+                        long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.todoShards = todoShards;
+        this.cursors = new long[todoShards.count()];
+        for (int shard = 0; shard < todoShards.count(); shard++) {
+            delivered.add(new TreeSet<>());
+        }
+        this.clock = clock;
+        this.rescanIds = rescanIds;
+        this.retentionMs = retentionMs;
+    }
+
+    /**
+     * Starts from the current end of the table; a node that just started has nothing cached yet.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        List<Long> max = todoShards.onEachShard(() -> jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class));
+        for (int shard = 0; shard < cursors.length; shard++) {
+            cursors[shard] = max.get(shard) != null ? max.get(shard) : 0;
+        }
+    }
+
+    @Override
+    public void publish(String origin, Long todoId) {
+        todoShards.onShardOf(todoId,
+                () -> jdbcTemplate.update(INSERT_SQL, origin, todoId, Timestamp.valueOf(LocalDateTime.now(clock))));
+    }
+
+    @Override
+    public void subscribe(Consumer<TodoInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.cache.invalidation.poll-ms:200}")
+    public synchronized void poll() {
+        List<List<TodoInvalidation>> shards = todoShards.onShards(todoShards.all(), shard -> jdbcTemplate.query(POLL_SQL,
+                (rs, rowNum) -> new TodoInvalidation(rs.getString("origin"), rs.getLong("id"), rs.getLong("todo_id")),
+                Math.max(0, cursors[shard] - rescanIds)));
+        for (int shard = 0; shard < cursors.length; shard++) {
+            deliver(shard, shards.get(shard));
+        }
+    }
+
+    private void deliver(int shard, List<TodoInvalidation> rows) {
+        NavigableSet<Long> delivered = this.delivered.get(shard);
+        for (TodoInvalidation invalidation : rows) {
+            if (!delivered.add(invalidation.sequence())) {
+                continue;
+            }
+            cursors[shard] = Math.max(cursors[shard], invalidation.sequence());
+            for (Consumer<TodoInvalidation> listener : listeners) {
+                try {
+                    listener.accept(invalidation);
+                } catch (RuntimeException e) {
+                    log.warn("Invalidation listener failed for todo {}", invalidation.todoId(), e);
+                }
+            }
+        }
+        delivered.headSet(cursors[shard] - rescanIds, true).clear();
+    }
+
+    @Scheduled(initialDelayString = "${todo.cache.invalidation.retention-ms:600000}",
+               fixedDelayString = "${todo.cache.invalidation.retention-ms:600000}")
+    public void purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now(clock).minus(Duration.ofMillis(retentionMs)));
+        int purged = todoShards.onEachShard(() -> jdbcTemplate.update(PURGE_SQL, cutoff)).stream()
+                .mapToInt(Integer::intValue).sum();
+        if (purged > 0) {
+            log.debug("Purged {} delivered cache invalidations", purged);
+        }
+    }
+}
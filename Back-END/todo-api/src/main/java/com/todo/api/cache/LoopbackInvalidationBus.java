@@ -0,0 +1,31 @@
+package com.todo.api.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport: delivers synchronously to the subscribers of this instance. It is the default for
+ * a single node, and tests share one instance between several caches to simulate a cluster.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements InvalidationBus {
+    private final List<Consumer<TodoInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public void publish(String origin, Long todoId) {
+        TodoInvalidation invalidation = new TodoInvalidation(origin, sequence.incrementAndGet(), todoId);
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<TodoInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
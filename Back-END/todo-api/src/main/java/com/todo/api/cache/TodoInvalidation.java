@@ -0,0 +1,8 @@
+package com.todo.api.cache;
+
+/**
+ * A todo changed on node {@code origin}. {@code sequence} is assigned by the transport and increases
+ * with every published invalidation, so receivers can tell how far they have caught up.
+ */
+public record TodoInvalidation(String origin, long sequence, Long todoId) {
+}
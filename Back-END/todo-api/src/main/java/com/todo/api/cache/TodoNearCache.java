@@ -0,0 +1,214 @@
+package com.todo.api.cache;
+
+import com.todo.api.dto.NearCacheStats;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.model.Todo;
+import com.todo.api.service.RequestCoalescer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-node cache of todos and list/search results in front of the database. Misses are loaded through
+ * the {@link RequestCoalescer}. Cached values are shared between callers and must not be modified.
+ * <p>
+ * Every committed {@link TodoChangedEvent} evicts the todo and all list results locally and is
+ * broadcast on the {@link InvalidationBus} so other nodes do the same. A load only stores its result if
+ * no invalidation arrived while it was reading, so an older read cannot overwrite a newer
+ * invalidation. Entries also expire after {@code todo.cache.ttl-ms}; this bounds staleness when an
+ * invalidation is lost, and a TTL of 0 turns caching off.
+ */
+@Slf4j
+@Component
+public class TodoNearCache {
+    private final InvalidationBus invalidationBus;
+    private final RequestCoalescer requestCoalescer;
+    private final String nodeId;
+    private final Clock clock;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    private final Map<Long, Entry<Todo>> todos = new ConcurrentHashMap<>();
+    private final Map<ListKey, Entry<List<Todo>>> lists = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidationsSent = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private volatile long lastSequence;
+
+    @Autowired
+    public TodoNearCache(InvalidationBus invalidationBus,
+                         RequestCoalescer requestCoalescer,
+                         @Value("${todo.cache.node-id:}") String nodeId,
+                         @Value("${todo.cache.ttl-ms:30000}") long ttlMs,
+                         @Value("${todo.cache.max-entries:10000}") int maxEntries) {
+        this(invalidationBus, requestCoalescer, nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId,
+                Clock.systemDefaultZone(), ttlMs, maxEntries);
+    }
+
+    TodoNearCache(InvalidationBus invalidationBus, RequestCoalescer requestCoalescer, String nodeId,
+                  Clock clock, long ttlMs, int maxEntries) {
+        this.invalidationBus = invalidationBus;
+        this.requestCoalescer = requestCoalescer;
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    @PostConstruct
+    public void start() {
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public Todo getTodo(Long id, Supplier<Todo> loader) {
+        Todo cached = lookup(todos, id);
+        if (cached != null) {
+            return cached;
+        }
+        return requestCoalescer.execute("getTodoById", id, () -> load(todos, id, loader));
+    }
+
+    public List<Todo> getList(String operation, Object argument, Supplier<List<Todo>> loader) {
+        ListKey key = new ListKey(operation, argument);
+        List<Todo> cached = lookup(lists, key);
+        if (cached != null) {
+            return cached;
+        }
+        return requestCoalescer.execute(operation, argument, () -> load(lists, key, () -> List.copyOf(loader.get())));
+    }
+
+    /**
+     * Cached todos that have not expired, for the {@link WarmStartSnapshot}.
+     */
+    public List<Todo> cachedTodos() {
+        long now = clock.millis();
+        return todos.values().stream()
+                .filter(entry -> !entry.isExpired(now))
+                .map(Entry::value)
+                .toList();
+    }
+
+    /**
+     * Fills the cache with todos read outside a request, e.g. from the {@link WarmStartSnapshot}. As with
+     * {@link #load}, nothing is kept if an invalidation arrived while {@code loader} was reading.
+     *
+     * @return number of todos added
+     */
+    public int preload(Supplier<Collection<Todo>> loader) {
+        long loadedAt = generation.get();
+        Collection<Todo> loaded = loader.get();
+        if (ttlMs <= 0) {
+            return 0;
+        }
+        long expiresAtMs = clock.millis() + ttlMs;
+        int added = 0;
+        for (Todo todo : loaded) {
+            if (todos.size() >= maxEntries) {
+                break;
+            }
+            if (todos.putIfAbsent(todo.getId(), new Entry<>(todo, expiresAtMs)) == null) {
+                added++;
+            }
+        }
+        if (generation.get() != loadedAt) {
+            loaded.forEach(todo -> todos.remove(todo.getId()));
+            return 0;
+        }
+        return added;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        invalidate(event.todoId());
+        try {
+            invalidationBus.publish(nodeId, event.todoId());
+            invalidationsSent.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not publish invalidation for todo {}; other nodes refresh it within {} ms",
+                    event.todoId(), ttlMs, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.cache.purge-ms:60000}")
+    public void evictExpired() {
+        long now = clock.millis();
+        todos.values().removeIf(entry -> entry.isExpired(now));
+        lists.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public NearCacheStats getStats() {
+        return new NearCacheStats(nodeId, todos.size(), lists.size(), hits.sum(), misses.sum(),
+                invalidationsSent.sum(), invalidationsReceived.sum(), lastSequence);
+    }
+
+    private void onInvalidation(TodoInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        invalidationsReceived.increment();
+        lastSequence = Math.max(lastSequence, invalidation.sequence());
+        invalidate(invalidation.todoId());
+        // Local writes detach in-flight reads through their own event; remote ones have to do it here.
+        requestCoalescer.detachAll();
+    }
+
+    /**
+     * Bumps the generation before removing, so a load that read before this point cannot store its
+     * result afterwards (see {@link #load}).
+     */
+    private void invalidate(Long todoId) {
+        generation.incrementAndGet();
+        todos.remove(todoId);
+        lists.clear();
+    }
+
+    private <K, V> V lookup(Map<K, Entry<V>> cache, K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry != null && !entry.isExpired(clock.millis())) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        return null;
+    }
+
+    private <K, V> V load(Map<K, Entry<V>> cache, K key, Supplier<V> loader) {
+        long loadedAt = generation.get();
+        V value = loader.get();
+        if (ttlMs <= 0 || (cache.size() >= maxEntries && !cache.containsKey(key))) {
+            return value;
+        }
+        Entry<V> entry = new Entry<>(value, clock.millis() + ttlMs);
+        cache.put(key, entry);
+        // An invalidation between the read and the put may have missed this entry; undo the put then.
+        if (generation.get() != loadedAt) {
+            cache.remove(key, entry);
+        }
+        return value;
+    }
+
+    private record Entry<V>(V value, long expiresAtMs) {
+        boolean isExpired(long nowMs) {
+            return nowMs >= expiresAtMs;
+        }
+    }
+
+    private record ListKey(String operation, Object argument) {
+    }
+}
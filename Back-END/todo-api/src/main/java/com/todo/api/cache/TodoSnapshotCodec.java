@@ -0,0 +1,249 @@
+package com.todo.api.cache;
+
+import com.todo.api.model.Priority;
+import com.todo.api.model.RecurrenceConverter;
+import com.todo.api.model.TagSetConverter;
+import com.todo.api.model.Todo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file format of the {@link WarmStartSnapshot}:
+ * <pre>
+ * int magic, short version, long writtenAtMs, long watermarkUpdatedAt, long watermarkCount, int entries,
+ * entries * (long id, byte flags, byte priority, string title, [string description], [long dueDate],
+ *            [string tags], [long parentId], [string recurrence], [long seriesId, long occurrenceDate],
+ *            long createdAt, long updatedAt),
+ * int crc32 of everything before it
+ * </pre>
+ * Timestamps are epoch microseconds of the local date-time read as UTC ({@link Long#MIN_VALUE} for
+ * {@code null}); the priority is the {@link Priority} ordinal; strings are an int byte length followed by
+ * UTF-8, and tags and the recurrence rule are stored as in their columns. Files are written to a temporary
+ * sibling and moved into place, so a crash mid-write never leaves a truncated snapshot behind.
+ */
+final class TodoSnapshotCodec {
+    static final int MAGIC = 0x54445331; // "TDS1"
+    static final short VERSION = 5;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final byte COMPLETED = 1;
+    private static final byte HAS_DESCRIPTION = 2;
+    private static final byte HAS_DUE_DATE = 4;
+    private static final byte HAS_TAGS = 8;
+    private static final byte HAS_PARENT = 16;
+    private static final byte HAS_RECURRENCE = 32;
+    private static final byte IS_OCCURRENCE = 64;
+
+    private TodoSnapshotCodec() {
+    }
+
+    record Watermark(LocalDateTime maxUpdatedAt, long count) {
+    }
+
+    record Snapshot(long writtenAtMs, Watermark watermark, List<Todo> todos) {
+    }
+
+    static void write(Path file, long writtenAtMs, Watermark watermark, List<Todo> todos) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream raw = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(raw), crc))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(writtenAtMs);
+                out.writeLong(toMicros(watermark.maxUpdatedAt()));
+                out.writeLong(watermark.count());
+                out.writeInt(todos.size());
+                for (Todo todo : todos) {
+                    writeTodo(out, todo);
+                }
+                out.flush();
+                // Written to the underlying stream so it is not part of its own checksum.
+                new DataOutputStream(raw).writeInt((int) crc.getValue());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Memory-maps and decodes a snapshot.
+     *
+     * @throws IOException if the file cannot be read or is not a valid, intact snapshot
+     */
+    static Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES * 3 || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot has invalid size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int payloadSize = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, payloadSize));
+            if ((int) crc.getValue() != buffer.getInt(payloadSize)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            ByteBuffer payload = buffer.slice(0, payloadSize);
+            if (payload.getInt() != MAGIC || payload.getShort() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " todo snapshot");
+            }
+            long writtenAtMs = payload.getLong();
+            Watermark watermark = new Watermark(fromMicros(payload.getLong()), payload.getLong());
+            int entries = payload.getInt();
+            List<Todo> todos = new ArrayList<>(Math.max(0, Math.min(entries, payloadSize / 32)));
+            for (int i = 0; i < entries; i++) {
+                todos.add(readTodo(payload));
+            }
+            if (payload.hasRemaining()) {
+                throw new IOException("Snapshot has trailing bytes");
+            }
+            return new Snapshot(writtenAtMs, watermark, todos);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Snapshot is malformed", e);
+        }
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static void writeTodo(DataOutputStream out, Todo todo) throws IOException {
+        byte flags = 0;
+        if (todo.isCompleted()) {
+            flags |= COMPLETED;
+        }
+        if (todo.getDescription() != null) {
+            flags |= HAS_DESCRIPTION;
+        }
+        if (todo.getDueDate() != null) {
+            flags |= HAS_DUE_DATE;
+        }
+        boolean hasTags = todo.getTags() != null && !todo.getTags().isEmpty();
+        if (hasTags) {
+            flags |= HAS_TAGS;
+        }
+        if (todo.getParentId() != null) {
+            flags |= HAS_PARENT;
+        }
+        if (todo.getRecurrence() != null) {
+            flags |= HAS_RECURRENCE;
+        }
+        if (todo.getSeriesId() != null) {
+            flags |= IS_OCCURRENCE;
+        }
+        out.writeLong(todo.getId());
+        out.writeByte(flags);
+        out.writeByte(todo.getPriority().ordinal());
+        writeString(out, todo.getTitle());
+        if (todo.getDescription() != null) {
+            writeString(out, todo.getDescription());
+        }
+        if (todo.getDueDate() != null) {
+            out.writeLong(toMicros(todo.getDueDate()));
+        }
+        if (hasTags) {
+            writeString(out, String.join(",", todo.getTags()));
+        }
+        if (todo.getParentId() != null) {
+            out.writeLong(todo.getParentId());
+        }
+        if (todo.getRecurrence() != null) {
+            writeString(out, RecurrenceConverter.format(todo.getRecurrence()));
+        }
+        if (todo.getSeriesId() != null) {
+            out.writeLong(todo.getSeriesId());
+            out.writeLong(toMicros(todo.getOccurrenceDate()));
+        }
+        out.writeLong(toMicros(todo.getCreatedAt()));
+        out.writeLong(toMicros(todo.getUpdatedAt()));
+    }
+
+    private static Todo readTodo(ByteBuffer in) throws IOException {
+        Todo todo = new Todo();
+        todo.setId(in.getLong());
+        byte flags = in.get();
+        todo.setCompleted((flags & COMPLETED) != 0);
+        todo.setPriority(priority(in.get()));
+        todo.setTitle(readString(in));
+        if ((flags & HAS_DESCRIPTION) != 0) {
+            todo.setDescription(readString(in));
+        }
+        if ((flags & HAS_DUE_DATE) != 0) {
+            todo.setDueDate(fromMicros(in.getLong()));
+        }
+        if ((flags & HAS_TAGS) != 0) {
+            todo.setTags(TagSetConverter.parse(readString(in)));
+        }
+        if ((flags & HAS_PARENT) != 0) {
+            todo.setParentId(in.getLong());
+        }
+        if ((flags & HAS_RECURRENCE) != 0) {
+            todo.setRecurrence(RecurrenceConverter.parse(readString(in)));
+        }
+        if ((flags & IS_OCCURRENCE) != 0) {
+            todo.setSeriesId(in.getLong());
+            todo.setOccurrenceDate(fromMicros(in.getLong()));
+        }
+        todo.setCreatedAt(fromMicros(in.getLong()));
+        todo.setUpdatedAt(fromMicros(in.getLong()));
+        return todo;
+    }
+
+    private static Priority priority(byte ordinal) throws IOException {
+        Priority[] priorities = Priority.values();
+        if (ordinal < 0 || ordinal >= priorities.length) {
+            throw new IOException("Snapshot priority " + ordinal + " out of range");
+        }
+        return priorities[ordinal];
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Snapshot string length " + length + " out of range");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,161 @@
+package com.todo.api.cache;
+
+import com.todo.api.model.Todo;
+import com.todo.api.shard.TodoShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Saves the near-cache's todos to a local file when the application shuts down and loads them back
+ * while it starts, before it reports ready, so a restarted node does not begin with an empty cache.
+ * <p>
+ * Each entry is kept only if its {@code updatedAt} still matches the database. When saving, entries
+ * are checked against the database and the file records a watermark (latest {@code updated_at} and row
+ * count). When loading, an unchanged watermark means no row was written in between and the whole file
+ * is used as is; otherwise every entry is checked again by id. With several shards the watermark
+ * covers all of them. The due-date schedule and statistics
+ * are rebuilt from aggregate queries at startup and are not part of the snapshot.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.snapshot.enabled", havingValue = "true")
+public class WarmStartSnapshot {
+    static final String WATERMARK_SQL = "SELECT MAX(updated_at) AS max_updated_at, COUNT(*) AS row_count FROM todos";
+    static final String VERSIONS_SQL = "SELECT id, updated_at FROM todos WHERE id IN (:ids)";
+    static final int VERSION_BATCH_SIZE = 500;
+
+    private final TodoNearCache todoNearCache;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TodoShards todoShards;
+    private final Path file;
+    private final int maxEntries;
+    private final Clock clock;
+
+    @Autowired
+    public WarmStartSnapshot(TodoNearCache todoNearCache,
+                             NamedParameterJdbcTemplate jdbcTemplate,
+                             TodoShards todoShards,
+                             @Value("${todo.snapshot.path}") Path file,
+                             @Value("${todo.snapshot.max-entries:10000}") int maxEntries) {
+        this(todoNearCache, jdbcTemplate, todoShards, file, maxEntries, Clock.systemDefaultZone());
+    }
+
+    WarmStartSnapshot(TodoNearCache todoNearCache, NamedParameterJdbcTemplate jdbcTemplate, TodoShards todoShards,
+                      Path file, int maxEntries, Clock clock) {
+        this.todoNearCache = todoNearCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.todoShards = todoShards;
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs on {@link ContextClosedEvent}, i.e. from Spring Boot's shutdown hook, before any bean
+     * (including the data source) is destroyed.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void save() {
+        try {
+            // Watermark first: a write after it makes the watermark stale, so the loader re-checks every entry.
+            TodoSnapshotCodec.Watermark watermark = watermark();
+            List<Todo> cached = todoNearCache.cachedTodos();
+            List<Todo> todos = current(cached.subList(0, Math.min(cached.size(), maxEntries)));
+            TodoSnapshotCodec.write(file, clock.millis(), watermark, todos);
+            log.info("Wrote warm-start snapshot of {} todos to {}", todos.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write warm-start snapshot to {}", file, e);
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        if (!Files.isReadable(file)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            TodoSnapshotCodec.Snapshot snapshot = TodoSnapshotCodec.read(file);
+            int loaded = todoNearCache.preload(() -> validate(snapshot));
+            log.info("Warmed near-cache with {} of {} todos from {} in {} ms", loaded, snapshot.todos().size(), file,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring warm-start snapshot {}", file, e);
+        }
+    }
+
+    private Collection<Todo> validate(TodoSnapshotCodec.Snapshot snapshot) {
+        if (snapshot.watermark().equals(watermark())) {
+            return snapshot.todos();
+        }
+        return current(snapshot.todos());
+    }
+
+    /**
+     * The todos whose {@code updatedAt} matches the database.
+     */
+    private List<Todo> current(List<Todo> todos) {
+        List<Todo> current = new ArrayList<>(todos.size());
+        for (int from = 0; from < todos.size(); from += VERSION_BATCH_SIZE) {
+            List<Todo> batch = todos.subList(from, Math.min(todos.size(), from + VERSION_BATCH_SIZE));
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", batch.stream().map(Todo::getId).toList());
+            Map<Long, LocalDateTime> versions = new HashMap<>();
+            todoShards.onEachShard(() -> {
+                Map<Long, LocalDateTime> found = new HashMap<>();
+                jdbcTemplate.query(VERSIONS_SQL, ids, rs -> {
+                    found.put(rs.getLong("id"), rs.getObject("updated_at", LocalDateTime.class));
+                });
+                return found;
+            }).forEach(versions::putAll);
+            for (Todo todo : batch) {
+                if (versions.containsKey(todo.getId())
+                        && Objects.equals(micros(versions.get(todo.getId())), micros(todo.getUpdatedAt()))) {
+                    current.add(todo);
+                }
+            }
+        }
+        return current;
+    }
+
+    private TodoSnapshotCodec.Watermark watermark() {
+        List<TodoSnapshotCodec.Watermark> shards = todoShards.onEachShard(() -> jdbcTemplate.queryForObject(WATERMARK_SQL,
+                Map.of(), (rs, rowNum) -> new TodoSnapshotCodec.Watermark(
+                        micros(rs.getObject("max_updated_at", LocalDateTime.class)), rs.getLong("row_count"))));
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        return new TodoSnapshotCodec.Watermark(
+                shards.stream().map(TodoSnapshotCodec.Watermark::maxUpdatedAt).filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder()).orElse(null),
+                shards.stream().mapToLong(TodoSnapshotCodec.Watermark::count).sum());
+    }
+
+    /**
+     * The snapshot stores microseconds, like the {@code TIMESTAMP} column.
+     */
+    private static LocalDateTime micros(LocalDateTime time) {
+        return time == null ? null : time.truncatedTo(ChronoUnit.MICROS);
+    }
+}
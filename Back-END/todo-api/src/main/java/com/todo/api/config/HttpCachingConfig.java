@@ -0,0 +1,46 @@
+package com.todo.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+
+/**
+ * Tags successful GET responses of the todo API with an {@code ETag} and answers a matching
+ * {@code If-None-Match} with 304 Not Modified, so clients that keep the last response (such as the Java
+ * client) neither download nor parse it again. The tag is a hash of the body; the response is still built
+ * on every request.
+ */
+@Configuration
+public class HttpCachingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> todoEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new TodoEtagFilter());
+        registration.addUrlPatterns("/api/todos", "/api/todos/*");
+        return registration;
+    }
+
+    /**
+     * Marks GET responses {@code no-cache}: they may be kept but must be revalidated. Spring Security
+     * would otherwise add {@code no-store}, for which no ETag is generated.
+     */
+    static class TodoEtagFilter extends ShallowEtagHeaderFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            if (HttpMethod.GET.matches(request.getMethod())) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            }
+            super.doFilterInternal(request, response, filterChain);
+        }
+    }
+}
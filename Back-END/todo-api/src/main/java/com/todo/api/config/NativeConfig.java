@@ -0,0 +1,67 @@
+package com.todo.api.config;
+
+import com.todo.api.dto.AccessLogStats;
+import com.todo.api.dto.BatchItemResult;
+import com.todo.api.dto.BatchOperation;
+import com.todo.api.dto.BulkResult;
+import com.todo.api.dto.CoalescingStats;
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.dto.NearCacheStats;
+import com.todo.api.dto.ProfilingReport;
+import com.todo.api.dto.ProfilingStatus;
+import com.todo.api.dto.TodoStats;
+import com.todo.api.dto.TodoTreeNode;
+import com.todo.api.dto.TraceSpan;
+import com.todo.api.model.ArchivedTodo;
+import com.todo.api.model.RecurrenceConverter;
+import com.todo.api.model.TagSetConverter;
+import com.todo.api.model.Todo;
+import com.todo.api.model.TodoHistory;
+import com.todo.api.model.TodoIdGenerator;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.servers.Server;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for AOT-processed and GraalVM native builds.
+ */
+@Configuration
+@RegisterReflectionForBinding({Todo.class, TodoHistory.class, TodoStats.class, KeysetPage.class, CoalescingStats.class,
+        NearCacheStats.class, ProfilingStatus.class, ProfilingReport.class,
+        TraceSpan.class, BulkResult.class, TodoTreeNode.class, BatchOperation.class, BatchItemResult.class,
+        AccessLogStats.class})
+@ImportRuntimeHints(NativeConfig.TodoRuntimeHints.class)
+public class NativeConfig {
+
+    static class TodoRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Hibernate instantiates and populates entities reflectively
+            hints.reflection().registerType(Todo.class, MemberCategory.values());
+            hints.reflection().registerType(TodoHistory.class, MemberCategory.values());
+            hints.reflection().registerType(ArchivedTodo.class, MemberCategory.values());
+            hints.reflection().registerType(TagSetConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(RecurrenceConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(TodoIdGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            // Models built by SwaggerConfig and serialized by springdoc
+            for (Class<?> type : new Class<?>[]{OpenAPI.class, Info.class, License.class, Server.class}) {
+                hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            hints.resources().registerPattern("schema.sql");
+            hints.resources().registerPattern("data.sql");
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.todo.api.controller;
+
+import com.todo.api.cache.TodoNearCache;
+import com.todo.api.dto.AccessLogStats;
+import com.todo.api.dto.CoalescingStats;
+import com.todo.api.dto.NearCacheStats;
+import com.todo.api.dto.ProfilingReport;
+import com.todo.api.dto.ProfilingStatus;
+import com.todo.api.dto.TraceSpan;
+import com.todo.api.logging.AccessLog;
+import com.todo.api.profiling.JfrRecordingService;
+import com.todo.api.service.RequestCoalescer;
+import com.todo.api.tracing.RecentSpanExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operational endpoints (HTTP Basic authentication required)")
+public class AdminController {
+    private final RequestCoalescer requestCoalescer;
+    private final TodoNearCache todoNearCache;
+    private final JfrRecordingService jfrRecordingService;
+    private final RecentSpanExporter recentSpanExporter;
+    private final AccessLog accessLog;
+
+    @GetMapping(value = "/coalescing", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get request coalescing statistics",
+        description = "Returns how many concurrent identical reads shared a single database call, in total and per key"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved coalescing statistics",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CoalescingStats.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    public ResponseEntity<CoalescingStats> getCoalescingStats() {
+        return ResponseEntity.ok(requestCoalescer.getStats());
+    }
+
+    @GetMapping(value = "/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get near-cache statistics",
+        description = "Returns this node's cache size, hit/miss counts and invalidations sent and received"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = NearCacheStats.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    public ResponseEntity<NearCacheStats> getCacheStats() {
+        return ResponseEntity.ok(todoNearCache.getStats());
+    }
+
+    @GetMapping(value = "/profiling", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get profiling status",
+        description = "Returns whether a JFR recording is running and where the last dump was written"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved profiling status",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProfilingStatus.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    public ResponseEntity<ProfilingStatus> getProfilingStatus() {
+        return ResponseEntity.ok(jfrRecordingService.getStatus());
+    }
+
+    @PostMapping(value = "/profiling/start", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Start a JFR recording",
+        description = "Records TodoService and repository call events plus allocation samples until stopped or until todo.profiling.max-duration-ms"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording started",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProfilingStatus.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+        @ApiResponse(responseCode = "409", description = "A recording is already running", content = @Content)
+    })
+    public ResponseEntity<ProfilingStatus> startProfiling() {
+        return ResponseEntity.ok(jfrRecordingService.start());
+    }
+
+    @PostMapping(value = "/profiling/dump", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Dump the JFR recording",
+        description = "Writes what has been recorded so far to a new file in todo.profiling.directory; the recording keeps running"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording dumped",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProfilingStatus.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+        @ApiResponse(responseCode = "409", description = "No recording has been started", content = @Content)
+    })
+    public ResponseEntity<ProfilingStatus> dumpProfiling() {
+        return ResponseEntity.ok(jfrRecordingService.dump());
+    }
+
+    @PostMapping(value = "/profiling/stop", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Stop the JFR recording",
+        description = "Stops the running recording and dumps it to a new file in todo.profiling.directory"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording stopped and dumped",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProfilingStatus.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+        @ApiResponse(responseCode = "409", description = "No recording is running", content = @Content)
+    })
+    public ResponseEntity<ProfilingStatus> stopProfiling() {
+        return ResponseEntity.ok(jfrRecordingService.stop());
+    }
+
+    @GetMapping(value = "/profiling/report", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Summarize the last JFR dump",
+        description = "Returns per-operation call counts, latency percentiles and estimated allocation for TodoService and repository calls"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully analyzed the last dump",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProfilingReport.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Nothing has been dumped yet", content = @Content)
+    })
+    public ResponseEntity<ProfilingReport> getProfilingReport() {
+        return ResponseEntity.ok(jfrRecordingService.report());
+    }
+
+    @GetMapping(value = "/profiling/recording", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+        summary = "Download the last JFR dump",
+        description = "Returns the last dumped .jfr file for analysis in JDK Mission Control or the jfr tool"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "The recording file", content = @Content(mediaType = "application/octet-stream")),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Nothing has been dumped yet", content = @Content)
+    })
+    public ResponseEntity<Resource> downloadRecording() {
+        Path file = jfrRecordingService.getLastDump();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    @GetMapping(value = "/traces", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "List recent traces",
+        description = "Returns the first span of the most recent sampled traces still held in this node's memory, newest first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved recent traces",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TraceSpan.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    public ResponseEntity<List<TraceSpan>> getRecentTraces(
+            @Parameter(description = "Maximum number of traces, 1 to 500", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 500) {
+            throw new IllegalArgumentException("limit must be between 1 and 500");
+        }
+        return ResponseEntity.ok(recentSpanExporter.recentTraces(limit));
+    }
+
+    @GetMapping(value = "/traces/{traceId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get the spans of a trace",
+        description = "Returns the spans of one trace still held in this node's memory, in start order"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the trace",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TraceSpan.class)))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Trace not sampled or no longer in memory", content = @Content)
+    })
+    public ResponseEntity<List<TraceSpan>> getTrace(
+            @Parameter(description = "W3C trace id", required = true, example = "4bf92f3577b34da6a3ce929d0e0e4736")
+            @PathVariable String traceId) {
+        List<TraceSpan> spans = recentSpanExporter.trace(traceId);
+        if (spans.isEmpty()) {
+            throw new EntityNotFoundException("Trace not found: " + traceId);
+        }
+        return ResponseEntity.ok(spans);
+    }
+
+    @GetMapping(value = "/access-log", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get access log statistics",
+        description = "Returns how many access records were written and how many were dropped because the ring buffer was full"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved access log statistics",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccessLogStats.class))),
+        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    public ResponseEntity<AccessLogStats> getAccessLogStats() {
+        return ResponseEntity.ok(accessLog.getStats());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ProblemDetail handleProfilingState(IllegalStateException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+}
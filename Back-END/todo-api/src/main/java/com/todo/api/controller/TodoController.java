@@ -1,9 +1,27 @@
 package com.todo.api.controller;
 
+import com.todo.api.dto.BatchItemResult;
+import com.todo.api.dto.BatchOperation;
+import com.todo.api.dto.BulkResult;
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.dto.TodoStats;
+import com.todo.api.dto.TodoTreeNode;
+import com.todo.api.index.TagQuery;
 import com.todo.api.model.Todo;
+import com.todo.api.model.TodoHistory;
+import com.todo.api.query.TodoFilter;
+import com.todo.api.query.TodoQueryParser;
+import com.todo.api.service.IdempotencyStore;
+import com.todo.api.service.TodoBatchService;
+import com.todo.api.service.TodoBulkService;
+import com.todo.api.service.TodoHistoryService;
+import com.todo.api.service.TodoQueryService;
 import com.todo.api.service.TodoService;
+import com.todo.api.service.TodoStatsService;
+import com.todo.api.service.TodoTagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,12 +29,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.SortedMap;
 
 @RestController
 @RequestMapping("/api/todos")
@@ -25,19 +48,37 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TodoController {
     private final TodoService todoService;
+    private final TodoStatsService todoStatsService;
+    private final TodoHistoryService todoHistoryService;
+    private final TodoQueryService todoQueryService;
+    private final IdempotencyStore idempotencyStore;
+    private final TodoBulkService todoBulkService;
+    private final TodoTagService todoTagService;
+    private final TodoBatchService todoBatchService;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get all todos",
-        description = "Retrieves a list of all todos in the system"
+        description = "Retrieves a list of all todos in the system; archived todos are only included on request. "
+            + "Given a window, recurring todos are replaced by their occurrences due in it"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved todos",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "Incomplete, empty or too long occurrence window", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
-    public ResponseEntity<List<Todo>> getAllTodos() {
-        return ResponseEntity.ok(todoService.getAllTodos());
+    public ResponseEntity<List<Todo>> getAllTodos(
+            @Parameter(description = "Also return completed todos that have been archived")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @Parameter(description = "With to, replace recurring todos by their occurrences due at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "With from, replace recurring todos by their occurrences due before this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from == null && to == null) {
+            return ResponseEntity.ok(todoService.getAllTodos(includeArchived));
+        }
+        return ResponseEntity.ok(todoService.getAllTodos(includeArchived, from, to));
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -59,17 +100,28 @@ public class TodoController {
     @GetMapping(value = "/status", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get todos by status",
-        description = "Retrieves todos filtered by completion status"
+        description = "Retrieves todos filtered by completion status. Given a window, recurring todos are replaced "
+            + "by their occurrences due in it; occurrences that were never toggled are pending"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered todos",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "Incomplete, empty or too long occurrence window", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<List<Todo>> getTodosByStatus(
             @Parameter(description = "Completion status to filter by", required = true) 
-            @RequestParam boolean completed) {
-        return ResponseEntity.ok(todoService.getTodosByStatus(completed));
+            @RequestParam boolean completed,
+            @Parameter(description = "Also return completed todos that have been archived")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @Parameter(description = "With to, replace recurring todos by their occurrences due at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "With from, replace recurring todos by their occurrences due before this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from == null && to == null) {
+            return ResponseEntity.ok(todoService.getTodosByStatus(completed, includeArchived));
+        }
+        return ResponseEntity.ok(todoService.getTodosByStatus(completed, includeArchived, from, to));
     }
 
     @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -83,8 +135,130 @@ public class TodoController {
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<List<Todo>> searchTodos(
-            @Parameter(description = "Title to search for", required = true) @RequestParam String title) {
-        return ResponseEntity.ok(todoService.searchTodos(title));
+            @Parameter(description = "Title to search for", required = true) @RequestParam String title,
+            @Parameter(description = "Also search completed todos that have been archived")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(todoService.searchTodos(title, includeArchived));
+    }
+
+    @GetMapping(value = "/query", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Query todos",
+        description = "Filters, sorts and pages todos in the database using keyset pagination; all given filters must match"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of todos",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeysetPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter, sort or cursor", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<Todo>> queryTodos(
+            @Parameter(description = "Completion status to filter by") @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "Only todos due before this time (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @Parameter(description = "Only todos due at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @Parameter(description = "Only todos created at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @Parameter(description = "Text contained in the title or description (case-insensitive)")
+            @RequestParam(required = false) String text,
+            @Parameter(description = "Sort fields (id, title, dueDate, createdAt, updatedAt), comma-separated, '-' for descending", example = "dueDate,-createdAt")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(todoQueryService.query(
+                TodoQueryParser.parse(completed, dueBefore, dueAfter, createdAfter, text, sort, size, cursor)));
+    }
+
+    @GetMapping(value = "/overdue", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get overdue todos",
+        description = "Retrieves pending todos whose due date has passed, served from the in-memory due-date schedule, "
+            + "and the occurrences of recurring todos that fell due recently and were not completed"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved overdue todos",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "since is in the future or too far back", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<List<Todo>> getOverdueTodos(
+            @Parameter(description = "Earliest due date of overdue occurrences; defaults to todo.recurrence.overdue-lookback-days ago")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        if (since == null) {
+            return ResponseEntity.ok(todoService.getOverdueTodos());
+        }
+        return ResponseEntity.ok(todoService.getOverdueTodos(since));
+    }
+
+    @GetMapping(value = "/next", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get the next todos",
+        description = "Returns the k most urgent pending todos, ranked by priority and then due date, served from the in-memory priority index"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the next todos",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid k", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<List<Todo>> getNextTodos(
+            @Parameter(description = "Number of todos, 1 to 100", example = "10")
+            @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(todoService.getNextTodos(k));
+    }
+
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get todo statistics",
+        description = "Returns counts by status, overdue, due today/this week and created/completed per day"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TodoStats.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<TodoStats> getStats() {
+        return ResponseEntity.ok(todoStatsService.getStats());
+    }
+
+    @GetMapping(value = "/tagged", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Find todos by tags",
+        description = "Combines tag conditions and completion status using the in-memory tag index; results are in id order with keyset pagination"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of todos",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeysetPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid tag or cursor", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<Todo>> getTaggedTodos(
+            @Parameter(description = "Tags that must all be present", example = "work,urgent")
+            @RequestParam(required = false) List<String> all,
+            @Parameter(description = "Tags of which at least one must be present")
+            @RequestParam(required = false) List<String> any,
+            @Parameter(description = "Tags that must not be present")
+            @RequestParam(required = false) List<String> none,
+            @Parameter(description = "Completion status to filter by") @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(todoTagService.findTagged(TagQuery.of(all, any, none, completed), cursor, size));
+    }
+
+    @GetMapping(value = "/tags", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get tag counts",
+        description = "Returns the number of todos per tag, excluding archived todos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved tag counts"),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<SortedMap<String, Long>> getTagCounts() {
+        return ResponseEntity.ok(todoTagService.getTagCounts());
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -96,13 +270,17 @@ public class TodoController {
         @ApiResponse(responseCode = "201", description = "Todo successfully created",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<Todo> createTodo(
             @Parameter(description = "Todo object to be created", required = true, 
                       schema = @Schema(implementation = Todo.class))
-            @Valid @RequestBody Todo todo) {
-        return new ResponseEntity<>(todoService.createTodo(todo), HttpStatus.CREATED);
+            @Valid @RequestBody Todo todo,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "POST /api/todos " + todo,
+                () -> new ResponseEntity<>(todoService.createTodo(todo), HttpStatus.CREATED));
     }
 
     @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -121,14 +299,17 @@ public class TodoController {
             @Parameter(description = "ID of the todo to update", required = true) @PathVariable Long id,
             @Parameter(description = "Updated todo object", required = true, 
                       schema = @Schema(implementation = Todo.class))
-            @Valid @RequestBody Todo todoDetails) {
-        return ResponseEntity.ok(todoService.updateTodo(id, todoDetails));
+            @Valid @RequestBody Todo todoDetails,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "PUT /api/todos/" + id + " " + todoDetails,
+                () -> ResponseEntity.ok(todoService.updateTodo(id, todoDetails)));
     }
 
     @DeleteMapping("/{id}")
     @Operation(
         summary = "Delete todo",
-        description = "Deletes a todo permanently"
+        description = "Deletes a todo and all its subtasks permanently"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Todo successfully deleted"),
@@ -136,9 +317,13 @@ public class TodoController {
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<Void> deleteTodo(
-            @Parameter(description = "ID of the todo to delete", required = true) @PathVariable Long id) {
-        todoService.deleteTodo(id);
-        return ResponseEntity.noContent().build();
+            @Parameter(description = "ID of the todo to delete", required = true) @PathVariable Long id,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "DELETE /api/todos/" + id, () -> {
+            todoService.deleteTodo(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     @PatchMapping(value = "/{id}/toggle", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -150,10 +335,240 @@ public class TodoController {
         @ApiResponse(responseCode = "200", description = "Todo status successfully toggled",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
         @ApiResponse(responseCode = "404", description = "Todo not found", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<Todo> toggleTodoStatus(
-            @Parameter(description = "ID of the todo to toggle", required = true) @PathVariable Long id) {
-        return ResponseEntity.ok(todoService.toggleTodoStatus(id));
+            @Parameter(description = "ID of the todo to toggle", required = true) @PathVariable Long id,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "PATCH /api/todos/" + id + "/toggle",
+                () -> ResponseEntity.ok(todoService.toggleTodoStatus(id)));
+    }
+
+    @PatchMapping(value = "/{id}/occurrences/{occurrenceDate}/toggle", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Toggle an occurrence of a recurring todo",
+        description = "Toggles one occurrence, storing it as a completed todo the first time; the recurring todo is unchanged"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Occurrence successfully toggled",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "Not recurring, ended, or no occurrence due at that time", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Todo not found", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<Todo> toggleOccurrence(
+            @Parameter(description = "ID of the recurring todo", required = true) @PathVariable Long id,
+            @Parameter(description = "Due date of the occurrence", required = true, example = "2025-01-15T09:00:00")
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceDate,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "PATCH /api/todos/" + id + "/occurrences/" + occurrenceDate + "/toggle",
+                () -> ResponseEntity.ok(todoService.toggleOccurrence(id, occurrenceDate)));
+    }
+
+    @PutMapping(value = "/{id}/occurrences/{occurrenceDate}", produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Update an occurrence of a recurring todo",
+        description = "Edits one occurrence, storing it as a todo of its own the first time; the recurring todo is unchanged"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Occurrence successfully updated",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input, or no occurrence due at that time", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Todo not found", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<Todo> updateOccurrence(
+            @Parameter(description = "ID of the recurring todo", required = true) @PathVariable Long id,
+            @Parameter(description = "Due date of the occurrence", required = true, example = "2025-01-15T09:00:00")
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceDate,
+            @Parameter(description = "Updated occurrence", required = true, schema = @Schema(implementation = Todo.class))
+            @Valid @RequestBody Todo todoDetails,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey,
+                () -> "PUT /api/todos/" + id + "/occurrences/" + occurrenceDate + " " + todoDetails,
+                () -> ResponseEntity.ok(todoService.updateOccurrence(id, occurrenceDate, todoDetails)));
+    }
+
+    @GetMapping(value = "/{id}/subtree", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get todo with subtasks",
+        description = "Retrieves a todo and all its subtasks at any depth as a tree, with the percent of descendants completed, in one query"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved subtree",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TodoTreeNode.class))),
+        @ApiResponse(responseCode = "404", description = "Todo not found", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<TodoTreeNode> getSubtree(
+            @Parameter(description = "ID of the root todo", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(todoService.getSubtree(id));
+    }
+
+    @PatchMapping(value = "/{id}/move", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Move todo",
+        description = "Makes a todo, with all its subtasks, a subtask of another todo, or a top-level todo when parentId is omitted"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todo successfully moved",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Todo.class))),
+        @ApiResponse(responseCode = "400", description = "Parent not found, or inside the moved subtree", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Todo not found", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<Todo> moveTodo(
+            @Parameter(description = "ID of the todo to move", required = true) @PathVariable Long id,
+            @Parameter(description = "ID of the new parent; omit to make the todo top-level")
+            @RequestParam(required = false) Long parentId,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "PATCH /api/todos/" + id + "/move " + parentId,
+                () -> ResponseEntity.ok(todoService.moveTodo(id, parentId)));
+    }
+
+    @PostMapping(value = "/bulk/complete", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Complete matching todos",
+        description = "Marks every pending todo that matches all given filters completed, in chunked set-based updates"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos completed",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResult.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<BulkResult> completeAll(
+            @Parameter(description = "Only todos due before this time (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @Parameter(description = "Only todos due at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @Parameter(description = "Only todos created at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @Parameter(description = "Text contained in the title or description (case-insensitive)")
+            @RequestParam(required = false) String text,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        List<TodoFilter> filters = TodoQueryParser.parseFilters(null, dueBefore, dueAfter, createdAfter, text);
+        return idempotencyStore.execute(idempotencyKey, () -> "POST /api/todos/bulk/complete " + filters,
+                () -> ResponseEntity.ok(todoBulkService.completeAll(filters)));
+    }
+
+    @DeleteMapping(value = "/completed", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Delete completed todos",
+        description = "Deletes every completed todo that matches all given filters, in chunked set-based deletes; archived todos are kept"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos deleted",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResult.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<BulkResult> deleteCompleted(
+            @Parameter(description = "Only todos due before this time (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @Parameter(description = "Only todos due at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @Parameter(description = "Only todos created at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @Parameter(description = "Text contained in the title or description (case-insensitive)")
+            @RequestParam(required = false) String text,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        List<TodoFilter> filters = TodoQueryParser.parseFilters(null, dueBefore, dueAfter, createdAfter, text);
+        return idempotencyStore.execute(idempotencyKey, () -> "DELETE /api/todos/completed " + filters,
+                () -> ResponseEntity.ok(todoBulkService.deleteCompleted(filters)));
+    }
+
+    @PostMapping(value = "/bulk/reschedule", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Shift due dates of matching todos",
+        description = "Moves the due date of every todo that matches all given filters and has a due date by an ISO-8601 duration"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Due dates shifted",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkResult.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or shift", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<BulkResult> rescheduleAll(
+            @Parameter(description = "ISO-8601 duration to add, negative to move earlier; whole seconds", required = true, example = "P1D")
+            @RequestParam String shift,
+            @Parameter(description = "Completion status to filter by") @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "Only todos due before this time (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @Parameter(description = "Only todos due at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @Parameter(description = "Only todos created at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @Parameter(description = "Text contained in the title or description (case-insensitive)")
+            @RequestParam(required = false) String text,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        Duration duration = parseDuration(shift);
+        List<TodoFilter> filters = TodoQueryParser.parseFilters(completed, dueBefore, dueAfter, createdAfter, text);
+        return idempotencyStore.execute(idempotencyKey, () -> "POST /api/todos/bulk/reschedule " + duration + " " + filters,
+                () -> ResponseEntity.ok(todoBulkService.shiftDueDates(filters, duration)));
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Run a batch of creates and toggles",
+        description = "Runs up to 100 create and toggle operations in order, each in its own transaction, and returns one result per operation; a failed operation does not affect the others"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operations run; see the status of each result",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = BatchItemResult.class)))),
+        @ApiResponse(responseCode = "400", description = "No operations, or more than 100", content = @Content),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<List<BatchItemResult>> runBatch(
+            @Parameter(description = "Operations to run, in order", required = true,
+                      array = @ArraySchema(schema = @Schema(implementation = BatchOperation.class)))
+            @RequestBody List<BatchOperation> operations,
+            @Parameter(description = "Client-generated key; retries with the same key return the first response")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> "POST /api/todos/batch " + operations,
+                () -> ResponseEntity.ok(todoBatchService.execute(operations)));
+    }
+
+    @GetMapping(value = "/{id}/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Get todo history",
+        description = "Retrieves the change history of a todo, newest first, using keyset pagination"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved history page",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = KeysetPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<KeysetPage<TodoHistory>> getTodoHistory(
+            @Parameter(description = "ID of the todo", required = true) @PathVariable Long id,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(todoHistoryService.getHistory(id, cursor, size));
+    }
+
+    private static Duration parseDuration(String value) {
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid ISO-8601 duration: " + value);
+        }
     }
-}
\ No newline at end of file
+}
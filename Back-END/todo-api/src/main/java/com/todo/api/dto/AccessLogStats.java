@@ -0,0 +1,17 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of this node's access log")
+public record AccessLogStats(
+        @Schema(description = "Whether requests are logged", example = "true")
+        boolean enabled,
+        @Schema(description = "Records the ring buffer holds", example = "8192")
+        int capacity,
+        @Schema(description = "Records written since startup", example = "152340")
+        long written,
+        @Schema(description = "Records dropped because the ring buffer was full", example = "0")
+        long dropped,
+        @Schema(description = "Records waiting to be written", example = "3")
+        long pending) {
+}
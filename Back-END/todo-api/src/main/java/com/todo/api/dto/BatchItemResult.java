@@ -0,0 +1,23 @@
+package com.todo.api.dto;
+
+import com.todo.api.model.Todo;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+@Schema(description = "Outcome of one operation of a batch request")
+public record BatchItemResult(
+        @Schema(description = "HTTP status the operation would have had as a single request", example = "201")
+        int status,
+        @Schema(description = "The created or toggled todo; absent when the operation failed")
+        Todo todo,
+        @Schema(description = "Why the operation failed; absent when it succeeded", example = "Todo not found with id: 7")
+        String error) {
+
+    public static BatchItemResult succeeded(HttpStatus status, Todo todo) {
+        return new BatchItemResult(status.value(), todo, null);
+    }
+
+    public static BatchItemResult failed(HttpStatus status, String error) {
+        return new BatchItemResult(status.value(), null, error);
+    }
+}
@@ -0,0 +1,28 @@
+package com.todo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.todo.api.model.Todo;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One operation of a batch request")
+public record BatchOperation(
+        @Schema(description = "Operation to run", example = "create", requiredMode = Schema.RequiredMode.REQUIRED)
+        Type op,
+        @Schema(description = "Todo to create; only for create")
+        Todo todo,
+        @Schema(description = "ID of the todo to toggle; only for toggle", example = "90751795200097")
+        Long id) {
+
+    public enum Type {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("toggle") TOGGLE
+    }
+
+    public static BatchOperation create(Todo todo) {
+        return new BatchOperation(Type.CREATE, todo, null);
+    }
+
+    public static BatchOperation toggle(Long id) {
+        return new BatchOperation(Type.TOGGLE, null, id);
+    }
+}
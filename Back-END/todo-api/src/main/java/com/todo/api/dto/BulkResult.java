@@ -0,0 +1,11 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a bulk operation")
+public record BulkResult(
+        @Schema(description = "Todos changed or deleted", example = "1250")
+        int affected,
+        @Schema(description = "Transactions the work was split into", example = "3")
+        int chunks) {
+}
@@ -0,0 +1,29 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "How many concurrent identical reads were served by a single database call")
+public record CoalescingStats(
+        @Schema(description = "Reads that ran their own database call", example = "120")
+        long executions,
+        @Schema(description = "Reads that waited for an identical in-flight call instead", example = "3400")
+        long collapsed,
+        @Schema(description = "Database calls currently in flight", example = "2")
+        int inFlight,
+        @Schema(description = "Per-key counters, most collapsed first (bounded; keys beyond the limit only count in the totals)")
+        List<KeyStats> keys) {
+
+    @Schema(description = "Counters of one read operation and argument")
+    public record KeyStats(
+            @Schema(description = "Service method", example = "getTodosByStatus")
+            String operation,
+            @Schema(description = "Argument the calls were keyed on", example = "false")
+            String argument,
+            @Schema(description = "Calls that ran the query", example = "40")
+            long executions,
+            @Schema(description = "Calls that shared another call's result", example = "1800")
+            long collapsed) {
+    }
+}
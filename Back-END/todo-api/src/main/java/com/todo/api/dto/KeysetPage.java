@@ -0,0 +1,13 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of a keyset-paginated result")
+public record KeysetPage<T>(
+        @Schema(description = "Items of this page")
+        List<T> items,
+        @Schema(description = "Opaque cursor for the next page, null when this is the last page")
+        String nextCursor) {
+}
@@ -0,0 +1,23 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "State of this node's todo near-cache")
+public record NearCacheStats(
+        @Schema(description = "Identifier this node publishes invalidations under", example = "node-a")
+        String nodeId,
+        @Schema(description = "Cached todos", example = "250")
+        int todoEntries,
+        @Schema(description = "Cached list and search results", example = "12")
+        int listEntries,
+        @Schema(description = "Reads served from the cache", example = "9800")
+        long hits,
+        @Schema(description = "Reads that went to the database", example = "310")
+        long misses,
+        @Schema(description = "Invalidations this node published", example = "42")
+        long invalidationsSent,
+        @Schema(description = "Invalidations received from other nodes", example = "57")
+        long invalidationsReceived,
+        @Schema(description = "Highest invalidation sequence received from another node", example = "1093")
+        long lastSequence) {
+}
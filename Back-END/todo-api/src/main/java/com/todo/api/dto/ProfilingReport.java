@@ -0,0 +1,44 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Per-operation latency and allocation summary of a JFR dump")
+public record ProfilingReport(
+        @Schema(description = "Analyzed recording file", example = "/tmp/todo-api/jfr/todo-api-20250914-100500.jfr")
+        String recording,
+        @Schema(description = "Time between the first and last event in the file, in milliseconds", example = "300000")
+        long durationMs,
+        @Schema(description = "Allocation samples in the file", example = "5230")
+        long allocationSamples,
+        @Schema(description = "TodoService calls, highest total time first")
+        List<OperationProfile> serviceOperations,
+        @Schema(description = "Repository calls, highest total time first")
+        List<OperationProfile> repositoryCalls) {
+
+    @Schema(description = "Latency and allocation of one operation")
+    public record OperationProfile(
+            @Schema(description = "Class and method", example = "TodoService.getAllTodos")
+            String operation,
+            @Schema(description = "Calls recorded", example = "1200")
+            long count,
+            @Schema(description = "Calls that threw", example = "0")
+            long failures,
+            @Schema(description = "Median latency in milliseconds", example = "0.42")
+            double p50Ms,
+            @Schema(description = "99th percentile latency in milliseconds", example = "3.1")
+            double p99Ms,
+            @Schema(description = "Slowest call in milliseconds", example = "12.7")
+            double maxMs,
+            @Schema(description = "Sum of all call latencies in milliseconds", example = "610.5")
+            double totalMs,
+            @Schema(description = "Average rows returned per call", example = "48.0")
+            double avgRows,
+            @Schema(description = "Estimated bytes allocated by the calling thread while inside this operation, "
+                    + "excluding nested operations", example = "52428800")
+            long allocatedBytes,
+            @Schema(description = "Estimated bytes allocated per call", example = "43690")
+            long allocatedBytesPerCall) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "State of the on-demand JFR recording")
+public record ProfilingStatus(
+        @Schema(description = "Whether a recording is running", example = "true")
+        boolean recording,
+        @Schema(description = "When the running recording started, null if none is running", example = "2025-09-14T10:00:00Z")
+        Instant startedAt,
+        @Schema(description = "File the last dump was written to, null before the first dump",
+                example = "/tmp/todo-api/jfr/todo-api-20250914-100500.jfr")
+        String lastDump) {
+}
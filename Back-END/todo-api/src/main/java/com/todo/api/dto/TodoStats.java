@@ -0,0 +1,29 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SortedMap;
+
+@Schema(description = "Aggregated todo counters, maintained incrementally on every mutation")
+public record TodoStats(
+        @Schema(description = "Total number of todos", example = "10")
+        long total,
+        @Schema(description = "Number of completed todos", example = "2")
+        long completed,
+        @Schema(description = "Number of pending todos", example = "8")
+        long pending,
+        @Schema(description = "Pending todos whose due date has passed", example = "1")
+        long overdue,
+        @Schema(description = "Pending todos due today", example = "1")
+        long dueToday,
+        @Schema(description = "Pending todos due between today and the end of the current week (Sunday)", example = "4")
+        long dueThisWeek,
+        @Schema(description = "Todos created per day over the retention window")
+        SortedMap<LocalDate, Long> createdPerDay,
+        @Schema(description = "Todos marked completed per day over the retention window")
+        SortedMap<LocalDate, Long> completedPerDay,
+        @Schema(description = "When the counters were last reconciled against the database")
+        LocalDateTime reconciledAt) {
+}
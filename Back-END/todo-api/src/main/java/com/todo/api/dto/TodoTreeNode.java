@@ -0,0 +1,24 @@
+package com.todo.api.dto;
+
+import com.todo.api.model.Todo;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A todo with its subtasks and the completion progress of all its descendants")
+public record TodoTreeNode(
+        @Schema(description = "The todo")
+        Todo todo,
+        @Schema(description = "Number of descendants (subtasks at any depth)", example = "8")
+        int subtasks,
+        @Schema(description = "Number of completed descendants", example = "6")
+        int completedSubtasks,
+        @Schema(description = "Percent of descendants completed, rounded down; null without subtasks", example = "75")
+        Integer progress,
+        @Schema(description = "Direct subtasks, by id")
+        List<TodoTreeNode> children) {
+
+    public TodoTreeNode(Todo todo, int subtasks, int completedSubtasks, List<TodoTreeNode> children) {
+        this(todo, subtasks, completedSubtasks, subtasks == 0 ? null : completedSubtasks * 100 / subtasks, children);
+    }
+}
@@ -0,0 +1,28 @@
+package com.todo.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "A finished tracing span held in this node's memory")
+public record TraceSpan(
+        @Schema(description = "W3C trace id", example = "4bf92f3577b34da6a3ce929d0e0e4736")
+        String traceId,
+        @Schema(description = "Span id", example = "00f067aa0ba902b7")
+        String spanId,
+        @Schema(description = "Parent span id, null for a trace's first span", example = "a3ce929d0e0e4736")
+        String parentSpanId,
+        @Schema(description = "Span name", example = "todo-service.update-todo")
+        String name,
+        @Schema(description = "Span kind", example = "INTERNAL")
+        String kind,
+        @Schema(description = "Start time", example = "2025-09-14T10:00:00.123456Z")
+        Instant startedAt,
+        @Schema(description = "Duration in microseconds", example = "1840")
+        long durationMicros,
+        @Schema(description = "Whether the span ended with an error", example = "false")
+        boolean error,
+        @Schema(description = "Span attributes, such as db.statement for JDBC spans")
+        Map<String, String> attributes) {
+}
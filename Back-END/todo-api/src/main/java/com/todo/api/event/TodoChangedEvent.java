@@ -0,0 +1,53 @@
+package com.todo.api.event;
+
+import com.todo.api.model.Todo;
+
+/**
+ * Published by {@link com.todo.api.service.TodoService} for every mutation. In-memory structures
+ * derived from the {@code todos} table subscribe to it instead of being called from the service.
+ * {@link ChangeType#ARCHIVED} is published by {@link com.todo.api.service.TodoArchiver} when it moves an
+ * unchanged todo to the archive table, so its {@code before} and {@code after} are the same state.
+ *
+ * @param type   kind of mutation
+ * @param todoId id of the affected todo
+ * @param before state before the mutation, {@code null} for {@link ChangeType#CREATED}
+ * @param after  state after the mutation, {@code null} for {@link ChangeType#DELETED}
+ */
+public record TodoChangedEvent(ChangeType type, Long todoId, TodoSnapshot before, TodoSnapshot after) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        TOGGLED,
+        DELETED,
+        ARCHIVED
+    }
+
+    public static TodoChangedEvent created(Todo todo) {
+        return new TodoChangedEvent(ChangeType.CREATED, todo.getId(), null, TodoSnapshot.of(todo));
+    }
+
+    public static TodoChangedEvent updated(TodoSnapshot before, Todo todo) {
+        return new TodoChangedEvent(ChangeType.UPDATED, todo.getId(), before, TodoSnapshot.of(todo));
+    }
+
+    public static TodoChangedEvent toggled(TodoSnapshot before, Todo todo) {
+        return new TodoChangedEvent(ChangeType.TOGGLED, todo.getId(), before, TodoSnapshot.of(todo));
+    }
+
+    public static TodoChangedEvent updated(TodoSnapshot before, TodoSnapshot after) {
+        return new TodoChangedEvent(ChangeType.UPDATED, after.id(), before, after);
+    }
+
+    public static TodoChangedEvent toggled(TodoSnapshot before, TodoSnapshot after) {
+        return new TodoChangedEvent(ChangeType.TOGGLED, after.id(), before, after);
+    }
+
+    public static TodoChangedEvent deleted(TodoSnapshot before) {
+        return new TodoChangedEvent(ChangeType.DELETED, before.id(), before, null);
+    }
+
+    public static TodoChangedEvent archived(TodoSnapshot todo) {
+        return new TodoChangedEvent(ChangeType.ARCHIVED, todo.id(), todo, todo);
+    }
+}
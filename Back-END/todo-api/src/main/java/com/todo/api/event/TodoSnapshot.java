@@ -0,0 +1,69 @@
+package com.todo.api.event;
+
+import com.todo.api.model.Priority;
+import com.todo.api.model.Recurrence;
+import com.todo.api.model.Todo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable copy of a {@link Todo} taken at the moment a change is published, so listeners
+ * running after commit (or on another thread) never observe a later mutation of the entity.
+ */
+public record TodoSnapshot(
+        Long id,
+        String title,
+        String description,
+        boolean completed,
+        Priority priority,
+        LocalDateTime dueDate,
+        List<String> tags,
+        Long parentId,
+        Recurrence recurrence,
+        Long seriesId,
+        LocalDateTime occurrenceDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static TodoSnapshot of(Todo todo) {
+        return new TodoSnapshot(
+                todo.getId(),
+                todo.getTitle(),
+                todo.getDescription(),
+                todo.isCompleted(),
+                todo.getPriority(),
+                todo.getDueDate(),
+                todo.getTags() != null ? List.copyOf(todo.getTags()) : List.of(),
+                todo.getParentId(),
+                todo.getRecurrence(),
+                todo.getSeriesId(),
+                todo.getOccurrenceDate(),
+                todo.getCreatedAt(),
+                todo.getUpdatedAt());
+    }
+
+    /**
+     * State after a set-based update that changed the status without loading the entity.
+     */
+    public TodoSnapshot withCompleted(boolean completed, LocalDateTime updatedAt) {
+        return new TodoSnapshot(id, title, description, completed, priority, dueDate, tags, parentId,
+                recurrence, seriesId, occurrenceDate, createdAt, updatedAt);
+    }
+
+    /**
+     * State after a set-based update that changed the due date without loading the entity.
+     */
+    public TodoSnapshot withDueDate(LocalDateTime dueDate, LocalDateTime updatedAt) {
+        return new TodoSnapshot(id, title, description, completed, priority, dueDate, tags, parentId,
+                recurrence, seriesId, occurrenceDate, createdAt, updatedAt);
+    }
+
+    /**
+     * A recurring todo is never due itself: its due date is that of the first occurrence, and the
+     * occurrences are generated when todos are listed.
+     */
+    public boolean isPendingWithDueDate() {
+        return !completed && dueDate != null && recurrence == null;
+    }
+}
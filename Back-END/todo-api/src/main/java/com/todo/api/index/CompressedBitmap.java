@@ -0,0 +1,550 @@
+package com.todo.api.index;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative {@code long} ids, laid out like a Roaring bitmap: ids are grouped by
+ * their high 48 bits, and each group stores its low 16 bits either as a sorted {@code char[]} (up to
+ * {@value #ARRAY_LIMIT} ids, 2 bytes per id) or as a 65536-bit bitmap (8 KiB, used above that). Dense
+ * ranges such as sequential ordinals therefore cost one bit per id, sparse ones two bytes plus the
+ * group's key. Todo ids are too sparse for that; {@link TodoTagIndex} maps them to {@link TodoOrdinals}.
+ * <p>
+ * {@link #and}, {@link #or} and {@link #andNot} return new bitmaps and leave their operands unchanged,
+ * and work group by group, so the cost follows the number of groups and ids present, not the id range.
+ * Not thread-safe.
+ */
+public final class CompressedBitmap {
+    static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+
+    private long[] keys;
+    private Container[] containers;
+    private int size;
+
+    public CompressedBitmap() {
+        this(new long[4], new Container[4], 0);
+    }
+
+    private CompressedBitmap(long[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public static CompressedBitmap of(long... ids) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    public void add(long id) {
+        checkId(id);
+        long key = id >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            containers[index] = containers[index].add((char) id);
+            return;
+        }
+        insert(-index - 1, key, new ArrayContainer().add((char) id));
+    }
+
+    public void remove(long id) {
+        if (id < 0) {
+            return;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) id);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(new long[Math.max(1, Math.min(size, other.size))],
+                new Container[Math.max(1, Math.min(size, other.size))], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(new long[Math.max(1, size + other.size)],
+                new Container[Math.max(1, size + other.size)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(new long[Math.max(1, size)], new Container[Math.max(1, size)], 0);
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} ids greater than {@code after}, ascending.
+     */
+    public long[] idsAfter(long after, int limit) {
+        long[] ids = new long[limit];
+        int count = 0;
+        long firstKey = after < 0 ? 0 : after >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, firstKey);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        for (; index < size && count < limit; index++) {
+            int fromLow = keys[index] == firstKey && after >= 0 ? (int) (after & 0xFFFF) + 1 : 0;
+            count = containers[index].collect(keys[index] << 16, fromLow, ids, count, limit);
+        }
+        return count == limit ? ids : Arrays.copyOf(ids, count);
+    }
+
+    public long[] toArray() {
+        long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many ids to materialize: " + cardinality);
+        }
+        return idsAfter(-1, (int) cardinality);
+    }
+
+    /**
+     * Approximate heap footprint of the id data, for monitoring.
+     */
+    public long sizeInBytes() {
+        long bytes = (long) keys.length * Long.BYTES;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompressedBitmap other && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        long[] ids = idsAfter(-1, 20);
+        return "CompressedBitmap" + Arrays.toString(ids) + (cardinality() > ids.length ? "..." : "");
+    }
+
+    private void append(long key, Container container) {
+        if (container.cardinality() > 0) {
+            insert(size, key, container);
+        }
+    }
+
+    private void insert(int index, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private static void checkId(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+    }
+
+    /**
+     * The low 16 bits of the ids in one group. Mutators return the container to keep in place, which
+     * changes representation when the cardinality crosses {@link #ARRAY_LIMIT}.
+     */
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        Container and(Container other);
+
+        Container or(Container other);
+
+        Container andNot(Container other);
+
+        Container copy();
+
+        int collect(long high, int fromLow, long[] out, int count, int limit);
+
+        long sizeInBytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+                // Long-lived tag bitmaps shrink back after mass removals.
+                if (values.length > 16 && cardinality < values.length / 4) {
+                    values = Arrays.copyOf(values, values.length / 2);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(result, count);
+            return count > ARRAY_LIMIT ? union.toBitmap() : union;
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        public int collect(long high, int fromLow, long[] out, int count, int limit) {
+            if (fromLow > 0xFFFF) {
+                return count;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) fromLow);
+            for (int i = index >= 0 ? index : -index - 1; i < cardinality && count < limit; i++) {
+                out[count++] = high | values[i];
+            }
+            return count;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return (long) values.length * Character.BYTES;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[WORDS], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Container add(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long before = words[value >>> 6];
+            long after = before & ~(1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT ? toArrayContainer() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+            }
+            return normalized(result);
+        }
+
+        @Override
+        public Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= otherWords[i];
+                }
+            }
+            return normalized(result);
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] &= ~otherWords[i];
+                }
+            }
+            return normalized(result);
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public int collect(long high, int fromLow, long[] out, int count, int limit) {
+            if (fromLow > 0xFFFF) {
+                return count;
+            }
+            int wordIndex = fromLow >>> 6;
+            long word = words[wordIndex] & (-1L << fromLow);
+            while (count < limit) {
+                while (word == 0) {
+                    if (++wordIndex == WORDS) {
+                        return count;
+                    }
+                    word = words[wordIndex];
+                }
+                out[count++] = high | ((long) wordIndex << 6) | Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+            return count;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return (long) WORDS * Long.BYTES;
+        }
+
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[Math.max(1, cardinality)];
+            int count = collectLow(values);
+            return new ArrayContainer(values, count);
+        }
+
+        private int collectLow(char[] values) {
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return count;
+        }
+
+        private static Container normalized(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+            return cardinality <= ARRAY_LIMIT ? bitmap.toArrayContainer() : bitmap;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.todo.api.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Binary min-heap that also records where each entry sits, so the value of an id can be replaced or
+ * removed in O(log n) without searching for it. {@link #top} lists the k smallest values in order in
+ * O(k log k) by expanding the heap from its root, and leaves the heap unchanged.
+ * <p>
+ * Not thread-safe; {@link #top} may run concurrently with other reads.
+ */
+public final class IndexedHeap<T> {
+    private final Comparator<? super T> comparator;
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private long[] ids = new long[16];
+    private Object[] values = new Object[16];
+    private int size;
+
+    public IndexedHeap(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds the value, or replaces the one stored for {@code id} and moves it to its new place.
+     */
+    public void put(long id, T value) {
+        Integer position = positions.get(id);
+        if (position != null) {
+            values[position] = value;
+            if (!siftUp(position)) {
+                siftDown(position);
+            }
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        ids[size] = id;
+        values[size] = value;
+        positions.put(id, size);
+        siftUp(size++);
+    }
+
+    /**
+     * @return whether {@code id} was in the heap
+     */
+    public boolean remove(long id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return false;
+        }
+        int last = --size;
+        if (position != last) {
+            place(position, ids[last], values[last]);
+        }
+        values[last] = null;
+        if (position != last && !siftUp(position)) {
+            siftDown(position);
+        }
+        return true;
+    }
+
+    public T get(long id) {
+        Integer position = positions.get(id);
+        return position == null ? null : value(position);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The {@code k} smallest values, smallest first. Only the entries above them in the heap and their
+     * children are compared.
+     */
+    public List<T> top(int k) {
+        List<T> top = new ArrayList<>(Math.min(k, size));
+        if (k <= 0 || size == 0) {
+            return top;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(Math.min(k, size) + 1,
+                (a, b) -> comparator.compare(value(a), value(b)));
+        frontier.add(0);
+        while (top.size() < k && !frontier.isEmpty()) {
+            int position = frontier.poll();
+            top.add(value(position));
+            int child = 2 * position + 1;
+            if (child < size) {
+                frontier.add(child);
+            }
+            if (child + 1 < size) {
+                frontier.add(child + 1);
+            }
+        }
+        return top;
+    }
+
+    private boolean siftUp(int position) {
+        long id = ids[position];
+        T value = value(position);
+        int start = position;
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (comparator.compare(value, value(parent)) >= 0) {
+                break;
+            }
+            place(position, ids[parent], values[parent]);
+            position = parent;
+        }
+        place(position, id, value);
+        return position != start;
+    }
+
+    private void siftDown(int position) {
+        long id = ids[position];
+        T value = value(position);
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && comparator.compare(value(child + 1), value(child)) < 0) {
+                child++;
+            }
+            if (comparator.compare(value, value(child)) <= 0) {
+                break;
+            }
+            place(position, ids[child], values[child]);
+            position = child;
+        }
+        place(position, id, value);
+    }
+
+    private void place(int position, long id, Object value) {
+        ids[position] = id;
+        values[position] = value;
+        positions.put(id, position);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int position) {
+        return (T) values[position];
+    }
+}
@@ -0,0 +1,48 @@
+package com.todo.api.index;
+
+import com.todo.api.model.TagSetConverter;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tag filter resolved by {@link TodoTagIndex}: a todo matches when it has every tag in {@code all}, at
+ * least one tag in {@code any} (if given), none of the tags in {@code none}, and the given completion
+ * status (if any). Tags are normalized like {@link TagSetConverter#normalize}.
+ */
+public record TagQuery(Set<String> all, Set<String> any, Set<String> none, Boolean completed) {
+    private static final Pattern TAG = Pattern.compile(TagSetConverter.TAG_PATTERN);
+
+    public TagQuery {
+        all = validated(all);
+        any = validated(any);
+        none = validated(none);
+    }
+
+    public static TagQuery of(Collection<String> all, Collection<String> any, Collection<String> none,
+                              Boolean completed) {
+        return new TagQuery(TagSetConverter.normalize(all), TagSetConverter.normalize(any),
+                TagSetConverter.normalize(none), completed);
+    }
+
+    /**
+     * Whether the given tags and status satisfy this query; used to re-check rows after they are loaded.
+     */
+    public boolean matches(Collection<String> tags, boolean isCompleted) {
+        return tags.containsAll(all)
+                && (any.isEmpty() || any.stream().anyMatch(tags::contains))
+                && none.stream().noneMatch(tags::contains)
+                && (completed == null || completed == isCompleted);
+    }
+
+    private static Set<String> validated(Set<String> tags) {
+        Set<String> normalized = TagSetConverter.normalize(tags);
+        for (String tag : normalized) {
+            if (!TAG.matcher(tag).matches()) {
+                throw new IllegalArgumentException("Invalid tag: " + tag);
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+}
@@ -0,0 +1,114 @@
+package com.todo.api.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense ordinals for todo ids, so that bitmaps over ordinals cost about one bit per todo however far
+ * apart the ids are: time-sorted ids differ in their high bits every few milliseconds, and a
+ * {@link CompressedBitmap} keyed by them would hold one container per todo.
+ * <p>
+ * Ordinals are handed out in the order ids are first seen. An id greater than every id seen so far
+ * keeps ordinal order and id order the same; one that arrives late, from a transaction that committed
+ * after a later id's or from another node, is recorded apart so that {@link #idsAfter} still pages in
+ * id order. Ordinals are never reused; a rebuild starts from a fresh instance. Not thread-safe.
+ */
+final class TodoOrdinals {
+    // Ids by ordinal. A late ordinal holds its predecessor's id, so the array never decreases and the
+    // first ordinal holding an id is the one assigned to it.
+    private long[] ids = new long[16];
+    private int size;
+
+    private final CompressedBitmap late = new CompressedBitmap();
+    private final Map<Long, Integer> lateOrdinals = new HashMap<>();
+    private final Map<Integer, Long> lateIds = new HashMap<>();
+
+    /**
+     * The ordinal of {@code id}, assigning the next one if the id has none yet.
+     */
+    int ordinalFor(long id) {
+        int ordinal = ordinalOf(id);
+        if (ordinal >= 0) {
+            return ordinal;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        if (size == 0 || id > ids[size - 1]) {
+            ids[size] = id;
+        } else {
+            ids[size] = ids[size - 1];
+            late.add(size);
+            lateOrdinals.put(id, size);
+            lateIds.put(size, id);
+        }
+        return size++;
+    }
+
+    /**
+     * @return the ordinal of {@code id}, or -1 if it has none
+     */
+    int ordinalOf(long id) {
+        Integer lateOrdinal = lateOrdinals.get(id);
+        if (lateOrdinal != null) {
+            return lateOrdinal;
+        }
+        int ordinal = firstAtLeast(id);
+        return ordinal < size && ids[ordinal] == id ? ordinal : -1;
+    }
+
+    /**
+     * Ids of the {@code ordinals}, ascending, greater than {@code after}, at most {@code limit} of them.
+     * Costs the ids returned plus the late ids among the ordinals.
+     */
+    long[] idsAfter(CompressedBitmap ordinals, long after, int limit) {
+        // The first ordinal holding an id above after is never late: a late one repeats its predecessor.
+        long from = after == Long.MAX_VALUE ? size : firstAtLeast(after + 1);
+        long[] inOrder = (late.isEmpty() ? ordinals : ordinals.andNot(late)).idsAfter(from - 1, limit);
+        for (int i = 0; i < inOrder.length; i++) {
+            inOrder[i] = ids[(int) inOrder[i]];
+        }
+        if (late.isEmpty()) {
+            return inOrder;
+        }
+        long[] lateMatches = Arrays.stream(ordinals.and(late).toArray())
+                .map(ordinal -> lateIds.get((int) ordinal))
+                .filter(id -> id > after)
+                .sorted()
+                .toArray();
+        return merge(inOrder, lateMatches, limit);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int lateCount() {
+        return lateIds.size();
+    }
+
+    private int firstAtLeast(long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] merge(long[] a, long[] b, int limit) {
+        long[] merged = new long[Math.min(limit, a.length + b.length)];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            merged[k] = j == b.length || i < a.length && a[i] < b[j] ? a[i++] : b[j++];
+        }
+        return merged;
+    }
+}
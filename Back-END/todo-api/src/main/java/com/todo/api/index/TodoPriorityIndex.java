@@ -0,0 +1,130 @@
+package com.todo.api.index;
+
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Priority;
+import com.todo.api.repository.TodoRanking;
+import com.todo.api.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of the pending todos in the {@code todos} table, most urgent first: highest
+ * {@link Priority}, then earliest due date (todos without one after those with one), then oldest. Held in
+ * an {@link IndexedHeap}, so a change moves one entry in O(log n) and {@link #top} reads the first k in
+ * O(k log k) without looking at the rest.
+ * <p>
+ * Kept in sync from {@link TodoChangedEvent}s after commit and rebuilt from the database at startup and
+ * every {@code todo.priority.rebuild-ms}, replaying the events that arrive during a rebuild like the
+ * {@link TodoTagIndex} does. Completed and archived todos are not ranked, and neither are recurring
+ * todos, whose due date is only that of their first occurrence.
+ */
+@Slf4j
+@Component
+public class TodoPriorityIndex {
+    static final Comparator<Rank> MOST_URGENT_FIRST = Comparator.comparing(Rank::priority, Comparator.reverseOrder())
+            .thenComparing(Rank::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Rank::id);
+
+    private final TodoRepository todoRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock.
+    private IndexedHeap<Rank> heap = new IndexedHeap<>(MOST_URGENT_FIRST);
+    private List<TodoChangedEvent> pendingReplay;
+
+    public TodoPriorityIndex(TodoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+    }
+
+    record Rank(long id, Priority priority, LocalDateTime dueDate) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(heap, event);
+            if (pendingReplay != null) {
+                pendingReplay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${todo.priority.rebuild-ms:300000}", fixedDelayString = "${todo.priority.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        IndexedHeap<Rank> rebuilt = new IndexedHeap<>(MOST_URGENT_FIRST);
+        try {
+            for (TodoRanking row : todoRepository.findPendingRankings()) {
+                rebuilt.put(row.getId(), new Rank(row.getId(), row.getPriority(), row.getDueDate()));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingReplay.forEach(event -> apply(rebuilt, event));
+            log.debug("Rebuilt priority index: {} pending todos, {} events replayed", rebuilt.size(), pendingReplay.size());
+            heap = rebuilt;
+            pendingReplay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the {@code k} most urgent pending todos, most urgent first.
+     */
+    public List<Long> top(int k) {
+        lock.readLock().lock();
+        try {
+            return heap.top(k).stream().map(Rank::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void apply(IndexedHeap<Rank> heap, TodoChangedEvent event) {
+        TodoSnapshot after = event.after();
+        if (after == null || after.completed() || after.recurrence() != null
+                || event.type() == TodoChangedEvent.ChangeType.ARCHIVED) {
+            heap.remove(event.todoId());
+        } else {
+            heap.put(after.id(), new Rank(after.id(), after.priority(), after.dueDate()));
+        }
+    }
+}
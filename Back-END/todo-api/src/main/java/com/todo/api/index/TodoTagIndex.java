@@ -0,0 +1,216 @@
+package com.todo.api.index;
+
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.repository.TodoTags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the todos in the {@code todos} table: one {@link CompressedBitmap} per tag, one of
+ * completed todos and one of all todos. {@link #resolve} answers a {@link TagQuery} by bitmap
+ * intersection, smallest bitmap first, so only the ids of one page are fetched from the database.
+ * <p>
+ * The bitmaps hold {@link TodoOrdinals dense ordinals} rather than todo ids, which are too far apart to
+ * share containers, so they cost about one bit per todo. A rebuild numbers the todos in id order again
+ * and drops the ordinals of deleted ones.
+ * <p>
+ * Kept in sync from {@link TodoChangedEvent}s after commit and rebuilt from the database at startup and
+ * every {@code todo.tags.rebuild-ms}; events that arrive while a rebuild reads the table are replayed
+ * onto the rebuilt index before it replaces the current one. Archived todos are not indexed.
+ */
+@Slf4j
+@Component
+public class TodoTagIndex {
+    private final TodoRepository todoRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock.
+    private Bitmaps bitmaps = new Bitmaps();
+    private List<TodoChangedEvent> pendingReplay;
+
+    public TodoTagIndex(TodoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.apply(event);
+            if (pendingReplay != null) {
+                pendingReplay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${todo.tags.rebuild-ms:300000}", fixedDelayString = "${todo.tags.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Bitmaps rebuilt = new Bitmaps();
+        try {
+            List<TodoTags> rows = new ArrayList<>(todoRepository.findAllTags());
+            rows.sort(Comparator.comparingLong(TodoTags::getId));
+            for (TodoTags row : rows) {
+                rebuilt.add(row.getId(), row.isCompleted(), row.getTags());
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingReplay.forEach(rebuilt::apply);
+            log.debug("Rebuilt tag index: {} todos, {} tags, {} events replayed, {} ids out of order",
+                    rebuilt.all.cardinality(), rebuilt.byTag.size(), pendingReplay.size(),
+                    rebuilt.ordinals.lateCount());
+            bitmaps = rebuilt;
+            pendingReplay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids matching {@code query}, ascending, greater than {@code after}, at most {@code limit} of them.
+     */
+    public long[] resolve(TagQuery query, long after, int limit) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.ordinals.idsAfter(bitmaps.resolve(query), after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed todos per tag, by tag name.
+     */
+    public SortedMap<String, Long> tagCounts() {
+        lock.readLock().lock();
+        try {
+            SortedMap<String, Long> counts = new TreeMap<>();
+            bitmaps.byTag.forEach((tag, ids) -> counts.put(tag, ids.cardinality()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Bitmaps {
+        final TodoOrdinals ordinals = new TodoOrdinals();
+        final Map<String, CompressedBitmap> byTag = new HashMap<>();
+        final CompressedBitmap completed = new CompressedBitmap();
+        final CompressedBitmap all = new CompressedBitmap();
+
+        void apply(TodoChangedEvent event) {
+            if (event.before() != null) {
+                remove(event.before());
+            }
+            if (event.after() != null) {
+                TodoSnapshot after = event.after();
+                add(after.id(), after.completed(), after.tags());
+            }
+        }
+
+        void add(long id, boolean isCompleted, Collection<String> tags) {
+            int ordinal = ordinals.ordinalFor(id);
+            all.add(ordinal);
+            if (isCompleted) {
+                completed.add(ordinal);
+            }
+            if (tags != null) {
+                tags.forEach(tag -> byTag.computeIfAbsent(tag, t -> new CompressedBitmap()).add(ordinal));
+            }
+        }
+
+        void remove(TodoSnapshot todo) {
+            int ordinal = ordinals.ordinalOf(todo.id());
+            if (ordinal < 0) {
+                return;
+            }
+            all.remove(ordinal);
+            completed.remove(ordinal);
+            for (String tag : todo.tags()) {
+                CompressedBitmap ids = byTag.get(tag);
+                if (ids != null) {
+                    ids.remove(ordinal);
+                    if (ids.isEmpty()) {
+                        byTag.remove(tag);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Never modifies the index; the result may be one of its bitmaps, so it must only be read
+         * under the read lock.
+         */
+        CompressedBitmap resolve(TagQuery query) {
+            CompressedBitmap result = all;
+            if (!query.all().isEmpty()) {
+                List<CompressedBitmap> required = new ArrayList<>();
+                for (String tag : query.all()) {
+                    CompressedBitmap ids = byTag.get(tag);
+                    if (ids == null) {
+                        return new CompressedBitmap();
+                    }
+                    required.add(ids);
+                }
+                required.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+                result = required.get(0);
+                for (CompressedBitmap ids : required.subList(1, required.size())) {
+                    result = result.and(ids);
+                }
+            }
+            if (!query.any().isEmpty()) {
+                CompressedBitmap union = new CompressedBitmap();
+                for (String tag : query.any()) {
+                    CompressedBitmap ids = byTag.get(tag);
+                    if (ids != null) {
+                        union = union.or(ids);
+                    }
+                }
+                result = result.and(union);
+            }
+            for (String tag : query.none()) {
+                CompressedBitmap ids = byTag.get(tag);
+                if (ids != null) {
+                    result = result.andNot(ids);
+                }
+            }
+            if (query.completed() != null) {
+                result = query.completed() ? result.and(completed) : result.andNot(completed);
+            }
+            return result;
+        }
+    }
+}
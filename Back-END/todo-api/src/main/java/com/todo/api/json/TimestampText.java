@@ -0,0 +1,68 @@
+package com.todo.api.json;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Formats {@link LocalDateTime} values into a reused char buffer, producing exactly what
+ * {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME} does: seconds are always written and the fraction drops
+ * its trailing zeros. The date part is only formatted again when the date changes, which in a list of
+ * todos is rare. Not thread-safe; {@link TodoJson.Serializer} keeps one per thread.
+ */
+final class TimestampText {
+    static final int MAX_LENGTH = 29;
+
+    private final char[] chars = new char[MAX_LENGTH];
+    private LocalDate cachedDate;
+
+    /**
+     * Formats {@code value} into {@link #chars()} and returns its length, or -1 for years that need a
+     * sign or more than four digits.
+     */
+    int format(LocalDateTime value) {
+        LocalDate date = value.toLocalDate();
+        if (!date.equals(cachedDate)) {
+            int year = date.getYear();
+            if (year < 0 || year > 9999) {
+                return -1;
+            }
+            digits(0, year / 100);
+            digits(2, year % 100);
+            chars[4] = '-';
+            digits(5, date.getMonthValue());
+            chars[7] = '-';
+            digits(8, date.getDayOfMonth());
+            chars[10] = 'T';
+            cachedDate = date;
+        }
+        digits(11, value.getHour());
+        chars[13] = ':';
+        digits(14, value.getMinute());
+        chars[16] = ':';
+        digits(17, value.getSecond());
+
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        chars[19] = '.';
+        for (int i = MAX_LENGTH - 1; i > 19; i--) {
+            chars[i] = (char) ('0' + nano % 10);
+            nano /= 10;
+        }
+        int length = MAX_LENGTH;
+        while (chars[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    char[] chars() {
+        return chars;
+    }
+
+    private void digits(int at, int value) {
+        chars[at] = (char) ('0' + value / 10);
+        chars[at + 1] = (char) ('0' + value % 10);
+    }
+}
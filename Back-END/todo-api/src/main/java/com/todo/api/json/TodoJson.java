@@ -0,0 +1,220 @@
+package com.todo.api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.todo.api.model.Priority;
+import com.todo.api.model.Recurrence;
+import com.todo.api.model.Todo;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written JSON mapping of {@link Todo}, used wherever the application's {@code ObjectMapper}
+ * reads or writes a todo: every {@code TodoController} response and request body, batches, pages and
+ * subtrees. The generated bean serializer calls each getter reflectively and formats every timestamp
+ * through a {@code DateTimeFormatter}, allocating a builder and a {@code String} per field per row.
+ * This one writes pre-encoded field names and formats timestamps into a per-thread buffer
+ * ({@link TimestampText}), so serializing a list allocates next to nothing per todo.
+ * <p>
+ * The output is byte for byte what the bean serializer produced: properties in declaration order,
+ * nulls written, timestamps as ISO local date-times. Reading accepts the same input as before, including
+ * timestamps with a trailing {@code Z}; unusual values (numbers as strings, timestamp arrays) are
+ * handed to the default deserializers so they are coerced or rejected as before, and unknown
+ * properties follow {@code FAIL_ON_UNKNOWN_PROPERTIES}. The rarely set {@link Recurrence} is left to the
+ * default record serializer and deserializer.
+ */
+@JsonComponent
+public class TodoJson {
+    static final SerializedString ID = new SerializedString("id");
+    static final SerializedString TITLE = new SerializedString("title");
+    static final SerializedString DESCRIPTION = new SerializedString("description");
+    static final SerializedString COMPLETED = new SerializedString("completed");
+    static final SerializedString PRIORITY = new SerializedString("priority");
+    static final SerializedString DUE_DATE = new SerializedString("dueDate");
+    static final SerializedString TAGS = new SerializedString("tags");
+    static final SerializedString PARENT_ID = new SerializedString("parentId");
+    static final SerializedString RECURRENCE = new SerializedString("recurrence");
+    static final SerializedString SERIES_ID = new SerializedString("seriesId");
+    static final SerializedString OCCURRENCE_DATE = new SerializedString("occurrenceDate");
+    static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    private static final SerializedString[] PRIORITY_NAMES = new SerializedString[Priority.values().length];
+
+    static {
+        for (Priority priority : Priority.values()) {
+            PRIORITY_NAMES[priority.ordinal()] = new SerializedString(priority.name());
+        }
+    }
+
+    public static class Serializer extends JsonSerializer<Todo> {
+        private static final ThreadLocal<TimestampText> TIMESTAMPS = ThreadLocal.withInitial(TimestampText::new);
+
+        @Override
+        public void serialize(Todo todo, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            TimestampText timestamps = TIMESTAMPS.get();
+            gen.writeStartObject(todo);
+            gen.writeFieldName(ID);
+            writeLong(gen, todo.getId());
+            gen.writeFieldName(TITLE);
+            gen.writeString(todo.getTitle());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(todo.getDescription());
+            gen.writeFieldName(COMPLETED);
+            gen.writeBoolean(todo.isCompleted());
+            gen.writeFieldName(PRIORITY);
+            if (todo.getPriority() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(PRIORITY_NAMES[todo.getPriority().ordinal()]);
+            }
+            gen.writeFieldName(DUE_DATE);
+            writeTimestamp(gen, timestamps, todo.getDueDate());
+            gen.writeFieldName(TAGS);
+            writeTags(gen, todo.getTags());
+            gen.writeFieldName(PARENT_ID);
+            writeLong(gen, todo.getParentId());
+            gen.writeFieldName(RECURRENCE);
+            if (todo.getRecurrence() == null) {
+                gen.writeNull();
+            } else {
+                provider.defaultSerializeValue(todo.getRecurrence(), gen);
+            }
+            gen.writeFieldName(SERIES_ID);
+            writeLong(gen, todo.getSeriesId());
+            gen.writeFieldName(OCCURRENCE_DATE);
+            writeTimestamp(gen, timestamps, todo.getOccurrenceDate());
+            gen.writeFieldName(CREATED_AT);
+            writeTimestamp(gen, timestamps, todo.getCreatedAt());
+            gen.writeFieldName(UPDATED_AT);
+            writeTimestamp(gen, timestamps, todo.getUpdatedAt());
+            gen.writeEndObject();
+        }
+
+        @Override
+        public Class<Todo> handledType() {
+            return Todo.class;
+        }
+
+        private static void writeLong(JsonGenerator gen, Long value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.longValue());
+            }
+        }
+
+        private static void writeTimestamp(JsonGenerator gen, TimestampText timestamps, LocalDateTime value)
+                throws IOException {
+            if (value == null) {
+                gen.writeNull();
+                return;
+            }
+            int length = timestamps.format(value);
+            if (length < 0) {
+                gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            } else {
+                gen.writeString(timestamps.chars(), 0, length);
+            }
+        }
+
+        private static void writeTags(JsonGenerator gen, Set<String> tags) throws IOException {
+            if (tags == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartArray(tags, tags.size());
+            for (String tag : tags) {
+                gen.writeString(tag);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Todo> {
+        private static final JavaType TAG_LIST = TypeFactory.defaultInstance().constructCollectionType(List.class, String.class);
+
+        @Override
+        public Todo deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String name;
+            if (p.isExpectedStartObjectToken()) {
+                name = p.nextFieldName();
+            } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+                name = p.currentName();
+            } else {
+                return (Todo) ctxt.handleUnexpectedToken(Todo.class, p);
+            }
+
+            Todo todo = new Todo();
+            for (; name != null; name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "id" -> todo.setId(readLong(p, ctxt));
+                    case "title" -> todo.setTitle(readString(p, ctxt));
+                    case "description" -> todo.setDescription(readString(p, ctxt));
+                    case "completed" -> todo.setCompleted(readBoolean(p, ctxt));
+                    case "priority" -> todo.setPriority(read(p, ctxt, Priority.class));
+                    case "dueDate" -> todo.setDueDate(read(p, ctxt, LocalDateTime.class));
+                    case "tags" -> todo.setTags(readTags(p, ctxt));
+                    case "parentId" -> todo.setParentId(readLong(p, ctxt));
+                    case "recurrence" -> todo.setRecurrence(read(p, ctxt, Recurrence.class));
+                    case "seriesId" -> todo.setSeriesId(readLong(p, ctxt));
+                    case "occurrenceDate" -> todo.setOccurrenceDate(read(p, ctxt, LocalDateTime.class));
+                    case "createdAt" -> todo.setCreatedAt(read(p, ctxt, LocalDateTime.class));
+                    case "updatedAt" -> todo.setUpdatedAt(read(p, ctxt, LocalDateTime.class));
+                    default -> ctxt.handleUnknownProperty(p, this, Todo.class, name);
+                }
+            }
+            return todo;
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return Todo.class;
+        }
+
+        private static <T> T read(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+            return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, type);
+        }
+
+        private static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getLongValue() : read(p, ctxt, Long.class);
+        }
+
+        private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.hasToken(JsonToken.VALUE_STRING) ? p.getText() : read(p, ctxt, String.class);
+        }
+
+        private static boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_TRUE) || p.hasToken(JsonToken.VALUE_FALSE)) {
+                return p.getBooleanValue();
+            }
+            return Boolean.TRUE.equals(read(p, ctxt, Boolean.class));
+        }
+
+        private static List<String> readTags(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, TAG_LIST);
+            }
+            List<String> tags = new ArrayList<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                tags.add(readString(p, ctxt));
+            }
+            return tags;
+        }
+    }
+}
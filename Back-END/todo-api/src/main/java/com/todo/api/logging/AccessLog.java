@@ -0,0 +1,197 @@
+package com.todo.api.logging;
+
+import com.todo.api.dto.AccessLogStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log, written off the request path. Request threads copy a record into a slot of a
+ * pre-allocated {@link AccessLogRing}; a single writer thread encodes the records as JSON lines and writes
+ * them to the file {@code todo.access-log.path} in as few writes as it can. Without a path the log is
+ * off: standard output is shared with the application log, and a line written there in several writes
+ * could be split by another. When the ring is full a record is dropped rather than making the request wait; the writer then
+ * logs a {@code dropped} line with the number lost, and the total is in {@code /api/admin/access-log}.
+ * <p>
+ * Replaces Hibernate's {@code show-sql}, which printed every statement synchronously; set
+ * {@code todo.access-log.statements=true} to log each statement this way instead.
+ */
+@Slf4j
+@Component
+public class AccessLog {
+    static final String TRACE_ID = "traceId";
+    static final int BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final boolean statements;
+    private final String path;
+    private final AccessLogRing ring;
+    private final AccessLogEncoder encoder = new AccessLogEncoder(BUFFER_SIZE);
+    private final LongAdder written = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+    private WritableByteChannel channel;
+    private long reportedDrops;
+
+    public AccessLog(@Value("${todo.access-log.enabled:true}") boolean enabled,
+                     @Value("${todo.access-log.capacity:8192}") int capacity,
+                     @Value("${todo.access-log.path:}") String path,
+                     @Value("${todo.access-log.statements:false}") boolean statements) {
+        if (enabled && path.isBlank()) {
+            log.info("Access log is off: todo.access-log.path is not set");
+        }
+        this.enabled = enabled && !path.isBlank();
+        this.statements = statements;
+        this.path = path;
+        this.ring = new AccessLogRing(capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        channel = openChannel();
+        running = true;
+        worker = new Thread(this::drainLoop, "todo-access-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close access log {}", path, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean logsStatements() {
+        return statements;
+    }
+
+    void access(String method, String requestPath, String handler, int status, long durationNanos,
+                int statementCount, long statementNanos, String traceId) {
+        AccessLogRecord record = ring.claim();
+        if (record == null) {
+            return;
+        }
+        record.type = AccessLogRecord.Type.ACCESS;
+        record.epochMillis = System.currentTimeMillis();
+        record.durationNanos = durationNanos;
+        record.traceId = traceId;
+        record.method = method;
+        record.path = requestPath;
+        record.handler = handler;
+        record.status = status;
+        record.statements = statementCount;
+        record.statementNanos = statementNanos;
+        ring.publish(record);
+    }
+
+    void statement(String sql, long durationNanos, boolean failed, String traceId) {
+        AccessLogRecord record = ring.claim();
+        if (record == null) {
+            return;
+        }
+        record.type = AccessLogRecord.Type.STATEMENT;
+        record.epochMillis = System.currentTimeMillis();
+        record.durationNanos = durationNanos;
+        record.traceId = traceId;
+        record.sql = sql;
+        record.failed = failed;
+        ring.publish(record);
+    }
+
+    public AccessLogStats getStats() {
+        return new AccessLogStats(enabled, ring.capacity(), written.sum(), ring.dropped(), ring.pending());
+    }
+
+    private WritableByteChannel openChannel() {
+        try {
+            Path file = Path.of(path);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open access log " + path, e);
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            // Read before draining, so records published before stop() are still written.
+            boolean stopping = !running;
+            if (drain() == 0) {
+                flush();
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        AccessLogRecord record;
+        while ((record = ring.peek()) != null) {
+            if (!encoder.hasRoomForLine()) {
+                flush();
+            }
+            encoder.encode(record);
+            record.clear();
+            ring.release();
+            count++;
+        }
+        written.add(count);
+        long dropped = ring.dropped();
+        if (dropped > reportedDrops) {
+            if (!encoder.hasRoomForLine()) {
+                flush();
+            }
+            encoder.encodeDropped(System.currentTimeMillis(), dropped - reportedDrops);
+            reportedDrops = dropped;
+            count++;
+        }
+        return count;
+    }
+
+    private void flush() {
+        if (encoder.isEmpty()) {
+            return;
+        }
+        try {
+            encoder.writeTo(channel);
+        } catch (IOException e) {
+            log.warn("Failed to write access log records", e);
+        }
+    }
+}
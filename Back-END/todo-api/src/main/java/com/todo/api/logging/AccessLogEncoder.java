@@ -0,0 +1,257 @@
+package com.todo.api.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes records as JSON lines straight into a fixed byte buffer: no {@code String}, formatter or
+ * Jackson generator per record. Timestamps are UTC with millisecond precision; the date part is
+ * formatted once per day. Strings are truncated and escaped, so a line never exceeds
+ * {@link #MAX_LINE_BYTES}. Used by the writer thread only.
+ */
+final class AccessLogEncoder {
+    static final int MAX_NAME_LENGTH = 64;
+    static final int MAX_PATH_LENGTH = 512;
+    static final int MAX_STATEMENT_LENGTH = 2048;
+    // Every character may need six bytes (a \\u escape); the rest of a line is well under 256 bytes.
+    static final int MAX_LINE_BYTES = 6 * (MAX_STATEMENT_LENGTH + 2 * MAX_NAME_LENGTH) + 256;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private final byte[] bytes;
+    private final ByteBuffer view;
+    private int position;
+    private long cachedDay = Long.MIN_VALUE;
+    private final byte[] datePrefix = new byte[11];
+
+    AccessLogEncoder(int bufferSize) {
+        if (bufferSize < MAX_LINE_BYTES) {
+            throw new IllegalArgumentException("bufferSize must be at least " + MAX_LINE_BYTES);
+        }
+        this.bytes = new byte[bufferSize];
+        this.view = ByteBuffer.wrap(bytes);
+    }
+
+    boolean hasRoomForLine() {
+        return bytes.length - position >= MAX_LINE_BYTES;
+    }
+
+    boolean isEmpty() {
+        return position == 0;
+    }
+
+    void encode(AccessLogRecord record) {
+        start(record.epochMillis, record.type == AccessLogRecord.Type.ACCESS ? "access" : "sql");
+        if (record.type == AccessLogRecord.Type.ACCESS) {
+            field("method", record.method, MAX_NAME_LENGTH);
+            field("path", record.path, MAX_PATH_LENGTH);
+            field("handler", record.handler, MAX_NAME_LENGTH);
+            field("status", record.status);
+            field("durationUs", record.durationNanos / 1_000);
+            field("statements", record.statements);
+            field("statementUs", record.statementNanos / 1_000);
+        } else {
+            field("durationUs", record.durationNanos / 1_000);
+            field("failed", record.failed);
+            field("statement", record.sql, MAX_STATEMENT_LENGTH);
+        }
+        if (record.traceId != null) {
+            field("traceId", record.traceId, MAX_NAME_LENGTH);
+        }
+        end();
+    }
+
+    /**
+     * Line reporting {@code count} records dropped because the ring was full.
+     */
+    void encodeDropped(long epochMillis, long count) {
+        start(epochMillis, "dropped");
+        field("count", count);
+        end();
+    }
+
+    /**
+     * Writes the encoded lines to {@code channel} and empties the buffer, also when the write fails.
+     */
+    void writeTo(WritableByteChannel channel) throws IOException {
+        view.clear().limit(position);
+        position = 0;
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    private void start(long epochMillis, String type) {
+        put('{');
+        name("ts");
+        put('"');
+        timestamp(epochMillis);
+        put('"');
+        put(',');
+        name("type");
+        put('"');
+        ascii(type);
+        put('"');
+    }
+
+    private void end() {
+        put('}');
+        put('\n');
+    }
+
+    private void field(String name, String value, int maxLength) {
+        put(',');
+        name(name);
+        if (value == null) {
+            ascii("null");
+        } else {
+            string(value, maxLength);
+        }
+    }
+
+    private void field(String name, long value) {
+        put(',');
+        name(name);
+        number(value);
+    }
+
+    private void field(String name, boolean value) {
+        put(',');
+        name(name);
+        ascii(value ? "true" : "false");
+    }
+
+    private void name(String name) {
+        put('"');
+        ascii(name);
+        put('"');
+        put(':');
+    }
+
+    private void timestamp(long epochMillis) {
+        long day = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        if (day != cachedDay) {
+            formatDate(day);
+            cachedDay = day;
+        }
+        System.arraycopy(datePrefix, 0, bytes, position, datePrefix.length);
+        position += datePrefix.length;
+        int millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        twoDigits(millisOfDay / 3_600_000);
+        put(':');
+        twoDigits(millisOfDay / 60_000 % 60);
+        put(':');
+        twoDigits(millisOfDay / 1_000 % 60);
+        put('.');
+        int millis = millisOfDay % 1_000;
+        put((char) ('0' + millis / 100));
+        twoDigits(millis % 100);
+        put('Z');
+    }
+
+    // Civil date of an epoch day, after Howard Hinnant's days_from_civil inverse.
+    private void formatDate(long epochDay) {
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        datePrefix[0] = (byte) ('0' + year / 1000 % 10);
+        datePrefix[1] = (byte) ('0' + year / 100 % 10);
+        datePrefix[2] = (byte) ('0' + year / 10 % 10);
+        datePrefix[3] = (byte) ('0' + year % 10);
+        datePrefix[4] = '-';
+        datePrefix[5] = (byte) ('0' + month / 10);
+        datePrefix[6] = (byte) ('0' + month % 10);
+        datePrefix[7] = '-';
+        datePrefix[8] = (byte) ('0' + day / 10);
+        datePrefix[9] = (byte) ('0' + day % 10);
+        datePrefix[10] = 'T';
+    }
+
+    private void twoDigits(int value) {
+        put((char) ('0' + value / 10));
+        put((char) ('0' + value % 10));
+    }
+
+    private void number(long value) {
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private void ascii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    private void string(String value, int maxLength) {
+        put('"');
+        int length = Math.min(value.length(), maxLength);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                put('\\');
+                put(c);
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else if (c < 0x80) {
+                put(c);
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xc0 | c >> 6);
+                bytes[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                bytes[position++] = (byte) (0xf0 | codePoint >> 18);
+                bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                bytes[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                put('?');
+            } else {
+                bytes[position++] = (byte) (0xe0 | c >> 12);
+                bytes[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                bytes[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        put('"');
+    }
+
+    private void escapeControl(char c) {
+        put('\\');
+        switch (c) {
+            case '\n' -> put('n');
+            case '\r' -> put('r');
+            case '\t' -> put('t');
+            default -> {
+                put('u');
+                put('0');
+                put('0');
+                bytes[position++] = HEX[c >> 4];
+                bytes[position++] = HEX[c & 0xf];
+            }
+        }
+    }
+
+    private void put(char c) {
+        bytes[position++] = (byte) c;
+    }
+}
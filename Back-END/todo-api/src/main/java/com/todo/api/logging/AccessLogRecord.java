@@ -0,0 +1,41 @@
+package com.todo.api.logging;
+
+/**
+ * One slot of the {@link AccessLogRing}. Slots are allocated once and refilled for every record, so
+ * logging a request allocates nothing; the strings are references the caller already holds.
+ */
+final class AccessLogRecord {
+    enum Type { ACCESS, STATEMENT }
+
+    /** Sequence of the record the slot holds once it is ready to be encoded; -1 before the first one. */
+    volatile long published = -1;
+    long sequence;
+
+    Type type;
+    long epochMillis;
+    long durationNanos;
+    String traceId;
+
+    // ACCESS
+    String method;
+    String path;
+    String handler;
+    int status;
+    int statements;
+    long statementNanos;
+
+    // STATEMENT
+    String sql;
+    boolean failed;
+
+    /**
+     * Drops the string references so a slot does not keep a request's strings alive until it is reused.
+     */
+    void clear() {
+        traceId = null;
+        method = null;
+        path = null;
+        handler = null;
+        sql = null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.todo.api.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded ring of pre-allocated {@link AccessLogRecord} slots with many producers and one consumer.
+ * A producer claims the next sequence with a CAS, fills the slot and publishes it; when every slot is
+ * claimed or still waiting to be encoded the record is dropped and counted instead, so producers never
+ * block or allocate.
+ */
+final class AccessLogRing {
+    private final AccessLogRecord[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    // Written by the consumer only.
+    private volatile long head;
+
+    /**
+     * @param capacity slots, rounded up to a power of two
+     */
+    AccessLogRing(int capacity) {
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + (1 << 24));
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AccessLogRecord[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AccessLogRecord();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Claims a free slot for the caller to fill and {@link #publish}, or returns {@code null} and counts a
+     * dropped record when the ring is full.
+     */
+    AccessLogRecord claim() {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= slots.length) {
+                dropped.increment();
+                return null;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        AccessLogRecord record = slots[(int) (sequence & mask)];
+        record.sequence = sequence;
+        return record;
+    }
+
+    void publish(AccessLogRecord record) {
+        record.published = record.sequence;
+    }
+
+    /**
+     * Next published record in sequence order, or {@code null} if it is not published yet. The slot stays
+     * owned by the consumer until {@link #release()}. Consumer thread only.
+     */
+    AccessLogRecord peek() {
+        long next = head;
+        AccessLogRecord record = slots[(int) (next & mask)];
+        return record.published == next ? record : null;
+    }
+
+    /**
+     * Hands the slot returned by {@link #peek()} back to the producers. Consumer thread only.
+     */
+    void release() {
+        head = head + 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long pending() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
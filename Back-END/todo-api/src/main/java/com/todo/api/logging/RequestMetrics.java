@@ -0,0 +1,45 @@
+package com.todo.api.logging;
+
+/**
+ * Statement count and time of the request running on the current thread. One instance per thread is
+ * reused for every request. Statements a request runs on other threads, such as the per-shard queries of
+ * a sharded list, are not counted.
+ */
+final class RequestMetrics {
+    private static final ThreadLocal<RequestMetrics> CURRENT = ThreadLocal.withInitial(RequestMetrics::new);
+
+    private boolean active;
+    private int statements;
+    private long statementNanos;
+
+    static RequestMetrics start() {
+        RequestMetrics metrics = CURRENT.get();
+        metrics.active = true;
+        metrics.statements = 0;
+        metrics.statementNanos = 0;
+        return metrics;
+    }
+
+    /**
+     * Adds a statement to the current request; statements outside a request are ignored.
+     */
+    static void recordStatement(long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics.active) {
+            metrics.statements++;
+            metrics.statementNanos += nanos;
+        }
+    }
+
+    void finish() {
+        active = false;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long statementNanos() {
+        return statementNanos;
+    }
+}
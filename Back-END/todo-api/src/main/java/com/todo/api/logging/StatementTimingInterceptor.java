@@ -0,0 +1,40 @@
+package com.todo.api.logging;
+
+import com.todo.api.tracing.StatementInterceptor;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * Times every JDBC statement for the access log: adds it to the running request's statement count and,
+ * with {@code todo.access-log.statements=true}, logs it as a record of its own.
+ */
+@Component
+public class StatementTimingInterceptor implements StatementInterceptor {
+    private final AccessLog accessLog;
+
+    public StatementTimingInterceptor(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    public Object intercept(String sql, Execution execution) throws SQLException {
+        if (!accessLog.isEnabled()) {
+            return execution.proceed();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = execution.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            RequestMetrics.recordStatement(elapsed);
+            if (accessLog.logsStatements()) {
+                accessLog.statement(sql, elapsed, failed, MDC.get(AccessLog.TRACE_ID));
+            }
+        }
+    }
+}
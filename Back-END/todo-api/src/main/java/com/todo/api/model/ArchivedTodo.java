@@ -0,0 +1,57 @@
+package com.todo.api.model;
+
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A completed todo moved out of {@code todos} by the {@link com.todo.api.service.TodoArchiver}. Rows keep
+ * their original id and timestamps and are written only by the archiver's set-based SQL, never through
+ * this entity.
+ */
+@Entity
+@Table(name = "todos_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedTodo {
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private boolean completed;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    private LocalDateTime dueDate;
+
+    @Convert(converter = TagSetConverter.class)
+    private SortedSet<String> tags = new TreeSet<>();
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime archivedAt;
+
+    /**
+     * Detached copy in the shape the API returns. Subtasks and their parents are never archived, so an
+     * archived todo has no parent; neither are recurring todos and their occurrences.
+     */
+    public Todo toTodo() {
+        return new Todo(id, title, description, completed, priority, dueDate, new TreeSet<>(tags), null,
+                null, null, null, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,14 @@
+package com.todo.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * How urgent a todo is, in ascending order; {@code GET /api/todos/next} ranks by it first.
+ */
+@Schema(description = "Priority of a todo", example = "HIGH")
+public enum Priority {
+    LOW,
+    MEDIUM,
+    HIGH,
+    URGENT
+}
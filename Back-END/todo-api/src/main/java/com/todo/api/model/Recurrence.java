@@ -0,0 +1,78 @@
+package com.todo.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repeat rule of a recurring todo. The todo's due date is the first occurrence; occurrence {@code n} is
+ * due {@code n * interval} days, weeks, months or years later (months and years from the first due date,
+ * so a series starting on the 31st falls on the last day of shorter months), up to and including
+ * {@code until}. Stored in the {@code recurrence} column by {@link RecurrenceConverter}.
+ */
+@Schema(description = "Repeat rule of a recurring todo; its due date is the first occurrence")
+public record Recurrence(
+        @NotNull(message = "Recurrence frequency is required")
+        @Schema(description = "Unit the todo repeats in", example = "WEEKLY")
+        Frequency frequency,
+        @Positive(message = "Recurrence interval must be at least 1")
+        @Schema(description = "Number of units between occurrences", example = "1")
+        int interval,
+        @Schema(description = "Last time an occurrence may be due; repeats forever when absent", example = "2025-12-31T23:59:59")
+        LocalDateTime until) {
+
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS, 1),
+        WEEKLY(ChronoUnit.DAYS, 7),
+        MONTHLY(ChronoUnit.MONTHS, 1),
+        YEARLY(ChronoUnit.MONTHS, 12);
+
+        private final ChronoUnit unit;
+        private final int units;
+
+        Frequency(ChronoUnit unit, int units) {
+            this.unit = unit;
+            this.units = units;
+        }
+    }
+
+    /**
+     * Due date of occurrence {@code n} (from 0) of a series first due at {@code start}, ignoring
+     * {@code until}.
+     */
+    public LocalDateTime occurrence(LocalDateTime start, long n) {
+        return start.plus(n * interval * frequency.units, frequency.unit);
+    }
+
+    /**
+     * Due dates of the occurrences in {@code [from, to)}, in order. Only the occurrences in the window
+     * are computed, whatever its distance from {@code start}.
+     */
+    public List<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        long step = (long) interval * frequency.units;
+        // Whole units from start to from, rounded down: never past the first occurrence in the window.
+        long n = from.isAfter(start) ? frequency.unit.between(start, from) / step : 0;
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (LocalDateTime due = occurrence(start, n); due.isBefore(to); due = occurrence(start, ++n)) {
+            if (until != null && due.isAfter(until)) {
+                break;
+            }
+            if (!due.isBefore(from)) {
+                occurrences.add(due);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Whether a series first due at {@code start} has an occurrence due exactly at {@code due}.
+     */
+    public boolean isOccurrence(LocalDateTime start, LocalDateTime due) {
+        return !occurrences(start, due, due.plusNanos(1)).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.todo.api.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Stores a {@link Recurrence} as one column in the style of an iCalendar RRULE, for example
+ * {@code FREQ=WEEKLY;INTERVAL=2;UNTIL=2025-12-31T23:59:59}, so recurring todos are found with
+ * {@code recurrence IS NOT NULL} and need no join.
+ */
+@Converter
+public class RecurrenceConverter implements AttributeConverter<Recurrence, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Recurrence recurrence) {
+        return format(recurrence);
+    }
+
+    @Override
+    public Recurrence convertToEntityAttribute(String column) {
+        return parse(column);
+    }
+
+    public static String format(Recurrence recurrence) {
+        if (recurrence == null) {
+            return null;
+        }
+        String rule = "FREQ=" + recurrence.frequency() + ";INTERVAL=" + recurrence.interval();
+        return recurrence.until() == null ? rule : rule + ";UNTIL=" + recurrence.until();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code column} is not a rule written by {@link #format}
+     */
+    public static Recurrence parse(String column) {
+        if (column == null || column.isBlank()) {
+            return null;
+        }
+        Recurrence.Frequency frequency = null;
+        int interval = 1;
+        LocalDateTime until = null;
+        for (String part : column.split(";")) {
+            int equals = part.indexOf('=');
+            String value = part.substring(equals + 1);
+            switch (equals < 0 ? part : part.substring(0, equals)) {
+                case "FREQ" -> frequency = Recurrence.Frequency.valueOf(value);
+                case "INTERVAL" -> interval = Integer.parseInt(value);
+                case "UNTIL" -> until = parseUntil(value, column);
+                default -> throw new IllegalArgumentException("Invalid recurrence rule: " + column);
+            }
+        }
+        if (frequency == null || interval < 1) {
+            throw new IllegalArgumentException("Invalid recurrence rule: " + column);
+        }
+        return new Recurrence(frequency, interval, until);
+    }
+
+    private static LocalDateTime parseUntil(String value, String column) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid recurrence rule: " + column, e);
+        }
+    }
+}
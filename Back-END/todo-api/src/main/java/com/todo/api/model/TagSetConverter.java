@@ -0,0 +1,53 @@
+package com.todo.api.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Stores a todo's tags as one comma-separated column, sorted, so a todo's tags are read with the row
+ * and need no join. Tags are normalized to lower case without surrounding whitespace; the validation
+ * on {@link Todo#getTags()} keeps commas out of them.
+ */
+@Converter
+public class TagSetConverter implements AttributeConverter<SortedSet<String>, String> {
+    public static final String TAG_PATTERN = "[a-z0-9][a-z0-9_-]{0,29}";
+
+    @Override
+    public String convertToDatabaseColumn(SortedSet<String> tags) {
+        return tags == null || tags.isEmpty() ? null : String.join(",", tags);
+    }
+
+    @Override
+    public SortedSet<String> convertToEntityAttribute(String column) {
+        return parse(column);
+    }
+
+    public static SortedSet<String> parse(String column) {
+        SortedSet<String> tags = new TreeSet<>();
+        if (column != null && !column.isBlank()) {
+            Collections.addAll(tags, column.split(","));
+        }
+        return tags;
+    }
+
+    /**
+     * Lower-cased, trimmed, sorted copy without blanks; {@code null} becomes an empty set.
+     */
+    public static SortedSet<String> normalize(Collection<String> tags) {
+        SortedSet<String> normalized = new TreeSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    normalized.add(tag.strip().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return normalized;
+    }
+}
@@ -2,24 +2,39 @@ package com.todo.api.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+    @Index(name = "idx_todos_completed_due_date", columnList = "completed, due_date"),
+    @Index(name = "idx_todos_completed_updated_at", columnList = "completed, updated_at"),
+    @Index(name = "idx_todos_created_at", columnList = "created_at"),
+    @Index(name = "idx_todos_parent_id", columnList = "parent_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_todos_series_occurrence", columnNames = {"series_id", "occurrence_date"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Todo entity representing a task in the todo list")
 public class Todo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Schema(description = "Unique identifier of the todo", example = "1")
+    @TodoId
+    @Schema(description = "Unique identifier of the todo; time-sortable and assigned on creation",
+            example = "90751795200097")
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -34,15 +49,52 @@ public class Todo {
     @Schema(description = "Completion status of the todo", example = "false")
     private boolean completed;
 
+    @NotNull(message = "Priority is required")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    @ColumnDefault("'MEDIUM'")
+    @Schema(description = "Priority of the todo; MEDIUM when not given", example = "HIGH")
+    private Priority priority = Priority.MEDIUM;
+
     @Schema(description = "Due date of the todo", example = "2025-09-21T15:00:00Z")
     private LocalDateTime dueDate;
 
+    @Convert(converter = TagSetConverter.class)
+    @Column(length = 400)
+    @Size(max = 10, message = "A todo can have at most 10 tags")
+    @Schema(description = "Labels of the todo, stored lower-case", example = "[\"docs\", \"release\"]")
+    private SortedSet<@Pattern(regexp = TagSetConverter.TAG_PATTERN,
+            message = "Tags must be 1-30 letters, digits, '-' or '_'") String> tags = new TreeSet<>();
+
+    @Schema(description = "ID of the parent todo when this todo is a subtask; set on creation and changed only by a move",
+            example = "7")
+    private Long parentId;
+
+    @Valid
+    @Convert(converter = RecurrenceConverter.class)
+    @Column(length = 60)
+    @Schema(description = "Repeat rule; a recurring todo stands for all its occurrences, which list, status and overdue "
+            + "queries generate within the requested window")
+    private Recurrence recurrence;
+
+    @Schema(description = "ID of the recurring todo this todo is an occurrence of; set when an occurrence is "
+            + "generated or stored, never by the client", example = "90751795200097")
+    private Long seriesId;
+
+    @Schema(description = "Due date the occurrence was generated for; identifies it within its series",
+            example = "2025-09-22T09:00:00")
+    private LocalDateTime occurrenceDate;
+
     @Schema(description = "Creation timestamp of the todo", example = "2025-09-14T10:30:00Z")
     private LocalDateTime createdAt;
 
     @Schema(description = "Last update timestamp of the todo", example = "2025-09-14T10:30:00Z")
     private LocalDateTime updatedAt;
 
+    public void setTags(Collection<String> tags) {
+        this.tags = TagSetConverter.normalize(tags);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,50 @@
+package com.todo.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "todo_history", indexes = @Index(name = "idx_todo_history_todo_id", columnList = "todo_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One recorded change of a todo")
+public class TodoHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier of the history entry, also used as pagination cursor", example = "42")
+    private Long id;
+
+    @Column(name = "todo_id", nullable = false)
+    @Schema(description = "ID of the changed todo", example = "1")
+    private Long todoId;
+
+    @Column(nullable = false, length = 20)
+    @Schema(description = "Kind of change", example = "TOGGLED")
+    private String action;
+
+    @Schema(description = "Principal that made the change", example = "anonymousUser")
+    private String changedBy;
+
+    @Column(nullable = false)
+    @Schema(description = "When the change was committed", example = "2025-09-14T10:30:00")
+    private LocalDateTime changedAt;
+
+    @Schema(description = "Title after the change (before it, for deletions)", example = "Complete project documentation")
+    private String title;
+
+    @Column(length = 500)
+    @Schema(description = "Description after the change (before it, for deletions)")
+    private String description;
+
+    @Schema(description = "Completion status after the change (before it, for deletions)", example = "true")
+    private boolean completed;
+
+    @Schema(description = "Due date after the change (before it, for deletions)", example = "2025-09-21T15:00:00")
+    private LocalDateTime dueDate;
+}
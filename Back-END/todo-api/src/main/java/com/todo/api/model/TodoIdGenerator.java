@@ -0,0 +1,34 @@
+package com.todo.api.model;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Assigns {@link TodoId} ids from the {@link LongSupplier} registered under {@link #ID_SOURCE} in the
+ * Hibernate properties, so each persistence unit uses its application context's generator. Without
+ * one, ids come from a {@link TsidGenerator} with a random node id.
+ */
+public class TodoIdGenerator implements IdentifierGenerator {
+    public static final String ID_SOURCE = "todo.id.source";
+
+    private static final TsidGenerator FALLBACK =
+            new TsidGenerator(ThreadLocalRandom.current().nextInt(TsidGenerator.MAX_NODE_ID + 1));
+
+    private final LongSupplier ids;
+
+    public TodoIdGenerator(TodoId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object source = context.getServiceRegistry().getService(ConfigurationService.class).getSettings().get(ID_SOURCE);
+        this.ids = source instanceof LongSupplier supplier ? supplier : FALLBACK::next;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return ids.getAsLong();
+    }
+}
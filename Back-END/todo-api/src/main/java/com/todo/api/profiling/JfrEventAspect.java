@@ -0,0 +1,109 @@
+package com.todo.api.profiling;
+
+import com.todo.api.dto.KeysetPage;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a {@link TodoOperationEvent} per {@code TodoService} call and a {@link RepositoryCallEvent} per
+ * repository call. When no recording has the events enabled, the advice only checks
+ * {@link jdk.jfr.Event#isEnabled()} and proceeds.
+ */
+@Aspect
+@Component
+public class JfrEventAspect {
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.todo.api.service.TodoService.*(..))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        TodoOperationEvent event = new TodoOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = "TodoService." + joinPoint.getSignature().getName();
+                event.todoId = todoId(joinPoint.getArgs());
+                event.rows = rows(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * *(..)) && this(org.springframework.data.repository.Repository)")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = repositoryName(joinPoint.getThis()) + "." + joinPoint.getSignature().getName();
+                event.todoId = todoId(joinPoint.getArgs());
+                event.rows = rows(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Name of the application's repository interface; inherited methods such as {@code findById} are
+     * declared on Spring Data types, which would not tell the repositories apart.
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (candidate.getName().startsWith("com.todo.api.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    private static long todoId(Object[] args) {
+        return args.length > 0 && args[0] instanceof Long id ? id : 0;
+    }
+
+    static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof KeysetPage<?> page) {
+            return page.items().size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,213 @@
+package com.todo.api.profiling;
+
+import com.todo.api.dto.ProfilingReport;
+import com.todo.api.dto.ProfilingReport.OperationProfile;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summarizes a JFR file into per-operation latency and allocation tables.
+ * <p>
+ * Allocation comes from {@code jdk.ObjectAllocationSample} events: each sample's weight (the bytes it
+ * stands for) is charged to the innermost {@link TodoOperationEvent} or {@link RepositoryCallEvent} that
+ * was open on the sampling thread at that moment. A service call therefore reports what it allocated
+ * itself, and the repository calls it made report theirs. Samples outside any operation are ignored.
+ * <p>
+ * Also runs standalone: {@code java -cp todo-api.jar com.todo.api.profiling.JfrRecordingAnalyzer dump.jfr}
+ * (with the Spring Boot jar use {@code -Dloader.main=... org.springframework.boot.loader.launch.PropertiesLauncher}).
+ */
+public final class JfrRecordingAnalyzer {
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    private JfrRecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrRecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(format(analyze(Path.of(args[0]))));
+    }
+
+    public static ProfilingReport analyze(Path file) throws IOException {
+        Map<String, Accumulator> service = new HashMap<>();
+        Map<String, Accumulator> repository = new HashMap<>();
+        Map<Long, List<Span>> spansByThread = new HashMap<>();
+        List<Sample> samples = new ArrayList<>();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                long start = nanos(event.getStartTime());
+                long end = nanos(event.getEndTime());
+                first = Math.min(first, start);
+                last = Math.max(last, end);
+                switch (event.getEventType().getName()) {
+                    case TodoOperationEvent.NAME -> recordOperation(service, spansByThread, event, start, end);
+                    case RepositoryCallEvent.NAME -> recordOperation(repository, spansByThread, event, start, end);
+                    case ALLOCATION_SAMPLE -> {
+                        RecordedThread thread = event.getThread();
+                        if (thread != null) {
+                            samples.add(new Sample(thread.getJavaThreadId(), start, event.getLong("weight")));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        spansByThread.values().forEach(spans -> spans.sort(Comparator.comparingLong(Span::start)));
+        for (Sample sample : samples) {
+            Span span = innermost(spansByThread.get(sample.threadId()), sample.time());
+            if (span != null) {
+                span.owner().allocatedBytes += sample.weight();
+            }
+        }
+
+        return new ProfilingReport(file.toString(), first <= last ? (last - first) / 1_000_000 : 0, samples.size(),
+                profiles(service), profiles(repository));
+    }
+
+    /**
+     * Renders a report as fixed-width text tables.
+     */
+    public static String format(ProfilingReport report) {
+        StringBuilder out = new StringBuilder();
+        out.append("Recording: ").append(report.recording())
+                .append(" (").append(report.durationMs()).append(" ms, ")
+                .append(report.allocationSamples()).append(" allocation samples)\n");
+        table(out, "Service operations", report.serviceOperations());
+        table(out, "Repository calls", report.repositoryCalls());
+        return out.toString();
+    }
+
+    private static void recordOperation(Map<String, Accumulator> accumulators, Map<Long, List<Span>> spansByThread,
+                                        RecordedEvent event, long start, long end) {
+        Accumulator accumulator = accumulators.computeIfAbsent(event.getString("operation"), Accumulator::new);
+        accumulator.add(end - start, event.getInt("rows"), event.getBoolean("failed"));
+        RecordedThread thread = event.getThread();
+        if (thread != null) {
+            spansByThread.computeIfAbsent(thread.getJavaThreadId(), id -> new ArrayList<>())
+                    .add(new Span(start, end, accumulator));
+        }
+    }
+
+    /**
+     * Operations on one thread nest, so the open span with the latest start is the innermost one.
+     */
+    private static Span innermost(List<Span> spans, long time) {
+        if (spans == null) {
+            return null;
+        }
+        int low = 0;
+        int high = spans.size() - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (spans.get(mid).start() <= time) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int i = candidate; i >= 0; i--) {
+            if (spans.get(i).end() >= time) {
+                return spans.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static List<OperationProfile> profiles(Map<String, Accumulator> accumulators) {
+        return accumulators.values().stream()
+                .map(Accumulator::toProfile)
+                .sorted(Comparator.comparingDouble(OperationProfile::totalMs).reversed()
+                        .thenComparing(OperationProfile::operation))
+                .toList();
+    }
+
+    private static void table(StringBuilder out, String title, List<OperationProfile> profiles) {
+        out.append('\n').append(title).append('\n');
+        out.append(String.format("%-44s %8s %6s %10s %10s %10s %12s %12s%n",
+                "operation", "count", "failed", "p50 ms", "p99 ms", "max ms", "alloc MB", "alloc/call"));
+        for (OperationProfile profile : profiles) {
+            out.append(String.format("%-44s %8d %6d %10.3f %10.3f %10.3f %12.1f %12d%n",
+                    profile.operation(), profile.count(), profile.failures(), profile.p50Ms(), profile.p99Ms(),
+                    profile.maxMs(), profile.allocatedBytes() / (1024.0 * 1024.0), profile.allocatedBytesPerCall()));
+        }
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Span(long start, long end, Accumulator owner) {
+    }
+
+    private record Sample(long threadId, long time, long weight) {
+    }
+
+    private static final class Accumulator {
+        private final String operation;
+        private long[] durations = new long[64];
+        private int count;
+        private long failures;
+        private long rows;
+        private long allocatedBytes;
+
+        Accumulator(String operation) {
+            this.operation = operation;
+        }
+
+        void add(long durationNanos, int rows, boolean failed) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = durationNanos;
+            this.rows += rows;
+            if (failed) {
+                failures++;
+            }
+        }
+
+        OperationProfile toProfile() {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long duration : sorted) {
+                total += duration;
+            }
+            return new OperationProfile(operation, count, failures,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(sorted[count - 1]),
+                    millis(total), (double) rows / count, allocatedBytes, allocatedBytes / count);
+        }
+
+        /**
+         * Nearest-rank percentile.
+         */
+        private static long percentile(long[] sorted, double p) {
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
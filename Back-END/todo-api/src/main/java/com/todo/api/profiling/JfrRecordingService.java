@@ -0,0 +1,172 @@
+package com.todo.api.profiling;
+
+import com.todo.api.dto.ProfilingReport;
+import com.todo.api.dto.ProfilingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs at most one JFR recording at a time with the todo events and allocation sampling enabled. A
+ * recording stops by itself after {@code todo.profiling.max-duration-ms} so one that is never stopped
+ * does not keep costing overhead; its data can still be dumped until the next start.
+ */
+@Slf4j
+@Service
+public class JfrRecordingService {
+    static final String RECORDING_NAME = "todo-api";
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final String allocationThrottle;
+    private final Clock clock;
+
+    private Recording recording;
+    private Instant startedAt;
+    private Path lastDump;
+
+    @Autowired
+    public JfrRecordingService(@Value("${todo.profiling.directory:${java.io.tmpdir}/todo-api/jfr}") Path directory,
+                               @Value("${todo.profiling.max-duration-ms:600000}") long maxDurationMs,
+                               @Value("${todo.profiling.allocation-throttle:150/s}") String allocationThrottle) {
+        this(directory, maxDurationMs, allocationThrottle, Clock.systemUTC());
+    }
+
+    JfrRecordingService(Path directory, long maxDurationMs, String allocationThrottle, Clock clock) {
+        this.directory = directory;
+        this.maxDuration = Duration.ofMillis(maxDurationMs);
+        this.allocationThrottle = allocationThrottle;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized ProfilingStatus start() {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeRecording();
+        Recording started = new Recording();
+        started.setName(RECORDING_NAME);
+        started.enable(TodoOperationEvent.class);
+        started.enable(RepositoryCallEvent.class);
+        started.enable(JfrRecordingAnalyzer.ALLOCATION_SAMPLE).with("throttle", allocationThrottle);
+        started.setToDisk(true);
+        started.setDuration(maxDuration);
+        started.start();
+        recording = started;
+        startedAt = clock.instant();
+        log.info("Started JFR recording, stops by itself after {}", maxDuration);
+        return getStatus();
+    }
+
+    /**
+     * Writes what has been recorded so far to a new file; the recording keeps running.
+     *
+     * @throws IllegalStateException if nothing has been recorded since the last stop
+     */
+    public synchronized ProfilingStatus dump() {
+        requireRecording();
+        writeDump();
+        return getStatus();
+    }
+
+    /**
+     * Stops the recording and dumps it.
+     *
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized ProfilingStatus stop() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        writeDump();
+        closeRecording();
+        return getStatus();
+    }
+
+    /**
+     * @throws IllegalStateException if nothing has been dumped yet
+     */
+    public synchronized ProfilingReport report() {
+        try {
+            return JfrRecordingAnalyzer.analyze(requireLastDump());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + lastDump, e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if nothing has been dumped yet
+     */
+    public synchronized Path getLastDump() {
+        return requireLastDump();
+    }
+
+    public synchronized ProfilingStatus getStatus() {
+        boolean running = isRunning();
+        return new ProfilingStatus(running, running ? startedAt : null,
+                lastDump != null ? lastDump.toString() : null);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeRecording();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void requireRecording() {
+        // A recording that hit max-duration has STOPPED but still holds its data
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No recording to dump; start one first");
+        }
+    }
+
+    private Path requireLastDump() {
+        if (lastDump == null || !Files.exists(lastDump)) {
+            throw new IllegalStateException("No recording has been dumped yet");
+        }
+        return lastDump;
+    }
+
+    private void writeDump() {
+        Path file = directory.resolve(RECORDING_NAME + "-" + FILE_TIMESTAMP.format(clock.instant()) + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+        lastDump = file;
+        log.info("Dumped JFR recording to {}", file);
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            startedAt = null;
+        }
+    }
+}
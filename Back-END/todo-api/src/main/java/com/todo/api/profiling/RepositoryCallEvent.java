@@ -0,0 +1,33 @@
+package com.todo.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a Spring Data repository method, including the SQL it runs and the entity mapping.
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({"Todo API", "Repository"})
+@Description("A Spring Data repository call, from entry to return")
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.todo.api.RepositoryCall";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Todo Id")
+    @Description("Id argument of the call, 0 if it has none")
+    long todoId;
+
+    @Label("Rows")
+    @Description("Entities returned: list size, 1 for a single entity, 0 for none")
+    int rows;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,33 @@
+package com.todo.api.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a public {@link com.todo.api.service.TodoService} method.
+ */
+@Name(TodoOperationEvent.NAME)
+@Label("Todo Operation")
+@Category({"Todo API", "Service"})
+@Description("A TodoService call, from entry to return")
+@StackTrace(false)
+public class TodoOperationEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.todo.api.TodoOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Todo Id")
+    @Description("Id argument of the call, 0 if it has none")
+    long todoId;
+
+    @Label("Rows")
+    @Description("Todos returned: list size, 1 for a single todo, 0 for none")
+    int rows;
+
+    @Label("Failed")
+    boolean failed;
+}
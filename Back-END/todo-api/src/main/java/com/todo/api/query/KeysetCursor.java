@@ -0,0 +1,69 @@
+package com.todo.api.query;
+
+import com.todo.api.model.Todo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursor holding the sort spec and the sort values of the last row of a page. The spec is
+ * checked on decode, so a cursor cannot be replayed against a different sort.
+ */
+final class KeysetCursor {
+    private static final String NULL = "~";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    static String encode(TodoQuery query, Todo last) {
+        StringBuilder cursor = new StringBuilder(query.sortSpec());
+        for (TodoQuery.SortKey key : query.sort()) {
+            Object value = key.field().valueOf(last);
+            cursor.append('.').append(value == null ? NULL : encodePart(value.toString()));
+        }
+        return encodePart(cursor.toString());
+    }
+
+    static List<Object> decode(String cursor, List<TodoQuery.SortKey> sort, String sortSpec) {
+        String[] parts;
+        try {
+            parts = decodePart(cursor).split("\\.", -1);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+        if (parts.length != sort.size() + 1 || !parts[0].equals(sortSpec)) {
+            throw new IllegalArgumentException("Cursor does not belong to sort " + sortSpec);
+        }
+        List<Object> values = new ArrayList<>(sort.size());
+        for (int i = 0; i < sort.size(); i++) {
+            SortField field = sort.get(i).field();
+            String part = parts[i + 1];
+            if (NULL.equals(part) && field.nullable()) {
+                values.add(null);
+                continue;
+            }
+            try {
+                values.add(field.parse(decodePart(part)));
+            } catch (RuntimeException e) {
+                throw invalid(cursor);
+            }
+        }
+        return values;
+    }
+
+    private static String encodePart(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+
+    private static IllegalArgumentException invalid(String cursor) {
+        return new IllegalArgumentException("Invalid query cursor: " + cursor);
+    }
+}
@@ -0,0 +1,54 @@
+package com.todo.api.query;
+
+import com.todo.api.model.Todo;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Properties a {@link TodoQuery} can be sorted by. Null values of a nullable field sort last in both
+ * directions.
+ */
+public enum SortField {
+    ID("id", false, Todo::getId, Long::valueOf),
+    TITLE("title", false, Todo::getTitle, value -> value),
+    DUE_DATE("dueDate", true, Todo::getDueDate, LocalDateTime::parse),
+    CREATED_AT("createdAt", false, Todo::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", false, Todo::getUpdatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final boolean nullable;
+    private final Function<Todo, Object> getter;
+    private final Function<String, Object> parser;
+
+    SortField(String property, boolean nullable, Function<Todo, Object> getter, Function<String, Object> parser) {
+        this.property = property;
+        this.nullable = nullable;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public boolean nullable() {
+        return nullable;
+    }
+
+    Object valueOf(Todo todo) {
+        return getter.apply(todo);
+    }
+
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    static SortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort field: " + property));
+    }
+}
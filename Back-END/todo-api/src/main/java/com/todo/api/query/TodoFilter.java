@@ -0,0 +1,118 @@
+package com.todo.api.query;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * A predicate of a {@link TodoQuery}. Each filter renders to a fixed JPQL fragment on the alias
+ * {@code t} with one named parameter, so the compiled query only depends on which filters are present,
+ * never on their values. Fragments compare indexed columns directly (no functions or casts), so the
+ * database can use {@code idx_todos_completed_due_date} and {@code idx_todos_created_at} for them.
+ */
+public sealed interface TodoFilter {
+
+    String predicate();
+
+    String parameter();
+
+    Object value();
+
+    record Completed(boolean completed) implements TodoFilter {
+        @Override
+        public String predicate() {
+            return "t.completed = :completed";
+        }
+
+        @Override
+        public String parameter() {
+            return "completed";
+        }
+
+        @Override
+        public Object value() {
+            return completed;
+        }
+    }
+
+    /**
+     * Due strictly before the instant; todos without a due date never match.
+     */
+    record DueBefore(LocalDateTime dueBefore) implements TodoFilter {
+        @Override
+        public String predicate() {
+            return "t.dueDate < :dueBefore";
+        }
+
+        @Override
+        public String parameter() {
+            return "dueBefore";
+        }
+
+        @Override
+        public Object value() {
+            return dueBefore;
+        }
+    }
+
+    /**
+     * Due at or after the instant; todos without a due date never match.
+     */
+    record DueAfter(LocalDateTime dueAfter) implements TodoFilter {
+        @Override
+        public String predicate() {
+            return "t.dueDate >= :dueAfter";
+        }
+
+        @Override
+        public String parameter() {
+            return "dueAfter";
+        }
+
+        @Override
+        public Object value() {
+            return dueAfter;
+        }
+    }
+
+    record CreatedAfter(LocalDateTime createdAfter) implements TodoFilter {
+        @Override
+        public String predicate() {
+            return "t.createdAt >= :createdAfter";
+        }
+
+        @Override
+        public String parameter() {
+            return "createdAfter";
+        }
+
+        @Override
+        public Object value() {
+            return createdAfter;
+        }
+    }
+
+    /**
+     * Case-insensitive substring of the title or description. {@code %}, {@code _} and {@code \} in the
+     * text match literally.
+     */
+    record TextContains(String text) implements TodoFilter {
+        @Override
+        public String predicate() {
+            return "(LOWER(t.title) LIKE :text ESCAPE '\\' OR LOWER(t.description) LIKE :text ESCAPE '\\')";
+        }
+
+        @Override
+        public String parameter() {
+            return "text";
+        }
+
+        @Override
+        public Object value() {
+            String escaped = text.toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+            return "%" + escaped + "%";
+        }
+    }
+}
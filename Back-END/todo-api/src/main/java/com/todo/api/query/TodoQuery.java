@@ -0,0 +1,50 @@
+package com.todo.api.query;
+
+import com.todo.api.model.Todo;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Validated query against the {@code todos} table, produced by {@link TodoQueryParser}: filters that
+ * are all required to match, sort keys ending with {@link SortField#ID} so the order is total, and the
+ * sort values of the last row of the previous page ({@code null} for the first page).
+ */
+public record TodoQuery(List<TodoFilter> filters, List<SortKey> sort, int size, List<Object> after) {
+
+    public record SortKey(SortField field, boolean descending) {
+        @Override
+        public String toString() {
+            return (descending ? "-" : "") + field.property();
+        }
+    }
+
+    /**
+     * Canonical form of the sort, e.g. {@code dueDate,-createdAt,id}.
+     */
+    public String sortSpec() {
+        return sort.stream().map(SortKey::toString).collect(Collectors.joining(","));
+    }
+
+    /**
+     * The order the query returns rows in, for merging pages read from several shards.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<Todo> comparator() {
+        Comparator<Todo> order = (a, b) -> 0;
+        for (SortKey key : sort) {
+            Comparator<Comparable> values = key.descending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            // Nulls last in both directions, as in the compiled ORDER BY.
+            order = order.thenComparing(todo -> (Comparable) key.field().valueOf(todo), Comparator.nullsLast(values));
+        }
+        return order;
+    }
+
+    /**
+     * Cursor that continues this query after {@code last}.
+     */
+    public String cursorAfter(Todo last) {
+        return KeysetCursor.encode(this, last);
+    }
+}
@@ -0,0 +1,123 @@
+package com.todo.api.query;
+
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles a {@link TodoQuery} to one JPQL statement. The statement only depends on the query's
+ * shape (which filters are present, the sort, and which cursor values are null), so it is built once
+ * per shape and cached; values are bound as parameters. Keeping the JPQL text stable per shape also
+ * lets Hibernate reuse its own parsed plan instead of interpreting a new string each time.
+ * <p>
+ * Pagination is by keyset: for sort keys {@code k1..kn} and cursor values {@code v1..vn}, a row comes
+ * after the cursor if for some {@code i} it equals {@code v1..v(i-1)} and is past {@code vi}. Nulls sort
+ * last, so past a non-null value also includes null and nothing is past a null.
+ */
+@Component
+public class TodoQueryCompiler {
+    private final Map<Shape, String> plans = new ConcurrentHashMap<>();
+    private final int maxPlans;
+
+    public TodoQueryCompiler(@Value("${todo.query.plan-cache-size:256}") int maxPlans) {
+        this.maxPlans = maxPlans;
+    }
+
+    public String compile(TodoQuery query) {
+        Shape shape = Shape.of(query);
+        String plan = plans.get(shape);
+        if (plan != null) {
+            return plan;
+        }
+        plan = toJpql(query);
+        if (plans.size() >= maxPlans) {
+            return plan;
+        }
+        String existing = plans.putIfAbsent(shape, plan);
+        return existing != null ? existing : plan;
+    }
+
+    public void bind(TypedQuery<?> typedQuery, TodoQuery query) {
+        for (TodoFilter filter : query.filters()) {
+            typedQuery.setParameter(filter.parameter(), filter.value());
+        }
+        if (query.after() != null) {
+            for (int i = 0; i < query.after().size(); i++) {
+                Object value = query.after().get(i);
+                if (value != null) {
+                    typedQuery.setParameter(cursorParameter(i), value);
+                }
+            }
+        }
+    }
+
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    private static String toJpql(TodoQuery query) {
+        List<String> predicates = new ArrayList<>();
+        query.filters().forEach(filter -> predicates.add(filter.predicate()));
+        if (query.after() != null) {
+            predicates.add(keysetPredicate(query.sort(), query.after()));
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT t FROM Todo t");
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (TodoQuery.SortKey key : query.sort()) {
+            orderBy.add(column(key.field()) + (key.descending() ? " DESC" : " ASC")
+                    + (key.field().nullable() ? " NULLS LAST" : ""));
+        }
+        return jpql.append(orderBy).toString();
+    }
+
+    private static String keysetPredicate(List<TodoQuery.SortKey> sort, List<Object> after) {
+        StringJoiner anyOf = new StringJoiner(" OR ", "(", ")");
+        List<String> equalSoFar = new ArrayList<>();
+        for (int i = 0; i < sort.size(); i++) {
+            TodoQuery.SortKey key = sort.get(i);
+            String column = column(key.field());
+            Object value = after.get(i);
+            if (value != null) {
+                String past = column + (key.descending() ? " < :" : " > :") + cursorParameter(i);
+                if (key.field().nullable()) {
+                    past = "(" + past + " OR " + column + " IS NULL)";
+                }
+                List<String> terms = new ArrayList<>(equalSoFar);
+                terms.add(past);
+                anyOf.add("(" + String.join(" AND ", terms) + ")");
+                equalSoFar.add(column + " = :" + cursorParameter(i));
+            } else {
+                equalSoFar.add(column + " IS NULL");
+            }
+        }
+        return anyOf.toString();
+    }
+
+    private static String column(SortField field) {
+        return "t." + field.property();
+    }
+
+    private static String cursorParameter(int index) {
+        return "after" + index;
+    }
+
+    private record Shape(List<Class<?>> filters, List<TodoQuery.SortKey> sort, List<Boolean> nullCursorValues) {
+        static Shape of(TodoQuery query) {
+            List<Class<?>> filters = query.filters().stream().<Class<?>>map(Object::getClass).toList();
+            List<Boolean> nullCursorValues = query.after() == null
+                    ? null
+                    : query.after().stream().map(value -> value == null).toList();
+            return new Shape(filters, query.sort(), nullCursorValues);
+        }
+    }
+}
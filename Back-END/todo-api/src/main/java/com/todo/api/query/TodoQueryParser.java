@@ -0,0 +1,107 @@
+package com.todo.api.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds a {@link TodoQuery} from request parameters and rejects invalid combinations with an
+ * {@link IllegalArgumentException}. Filters are always added in the same order, so equal sets of
+ * filters produce equal query shapes.
+ */
+public final class TodoQueryParser {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SORT_KEYS = 4;
+    static final int MAX_TEXT_LENGTH = 100;
+
+    private TodoQueryParser() {
+    }
+
+    /**
+     * @param sort comma-separated {@link SortField} properties, each optionally prefixed with {@code -} for
+     *             descending order; {@code id} is appended as the final tie-breaker if absent
+     */
+    public static TodoQuery parse(Boolean completed,
+                                  LocalDateTime dueBefore,
+                                  LocalDateTime dueAfter,
+                                  LocalDateTime createdAfter,
+                                  String text,
+                                  String sort,
+                                  int size,
+                                  String cursor) {
+        List<TodoFilter> filters = parseFilters(completed, dueBefore, dueAfter, createdAfter, text);
+        List<TodoQuery.SortKey> sortKeys = parseSort(sort);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TodoQuery query = new TodoQuery(filters, sortKeys, pageSize, null);
+        if (cursor == null || cursor.isBlank()) {
+            return query;
+        }
+        List<Object> after = KeysetCursor.decode(cursor, sortKeys, query.sortSpec());
+        return new TodoQuery(query.filters(), sortKeys, pageSize, after);
+    }
+
+    /**
+     * Validates the filter parameters alone, for operations that select todos without paging through them.
+     */
+    public static List<TodoFilter> parseFilters(Boolean completed,
+                                                LocalDateTime dueBefore,
+                                                LocalDateTime dueAfter,
+                                                LocalDateTime createdAfter,
+                                                String text) {
+        List<TodoFilter> filters = new ArrayList<>();
+        if (completed != null) {
+            filters.add(new TodoFilter.Completed(completed));
+        }
+        if (dueBefore != null && dueAfter != null && !dueAfter.isBefore(dueBefore)) {
+            throw new IllegalArgumentException("dueAfter must be before dueBefore");
+        }
+        if (dueBefore != null) {
+            filters.add(new TodoFilter.DueBefore(dueBefore));
+        }
+        if (dueAfter != null) {
+            filters.add(new TodoFilter.DueAfter(dueAfter));
+        }
+        if (createdAfter != null) {
+            filters.add(new TodoFilter.CreatedAfter(createdAfter));
+        }
+        if (text != null && !text.isBlank()) {
+            if (text.length() > MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException("text cannot exceed " + MAX_TEXT_LENGTH + " characters");
+            }
+            filters.add(new TodoFilter.TextContains(text.strip()));
+        }
+        return List.copyOf(filters);
+    }
+
+    private static List<TodoQuery.SortKey> parseSort(String sort) {
+        List<TodoQuery.SortKey> keys = new ArrayList<>();
+        Set<SortField> seen = EnumSet.noneOf(SortField.class);
+        if (sort != null && !sort.isBlank()) {
+            for (String token : sort.split(",")) {
+                String property = token.strip();
+                boolean descending = property.startsWith("-");
+                if (descending) {
+                    property = property.substring(1);
+                }
+                SortField field = SortField.fromProperty(property);
+                if (!seen.add(field)) {
+                    throw new IllegalArgumentException("Duplicate sort field: " + property);
+                }
+                keys.add(new TodoQuery.SortKey(field, descending));
+                // Ids are unique, so later keys could never decide the order.
+                if (field == SortField.ID) {
+                    break;
+                }
+            }
+        }
+        if (!seen.contains(SortField.ID)) {
+            keys.add(new TodoQuery.SortKey(SortField.ID, false));
+        }
+        if (keys.size() > MAX_SORT_KEYS) {
+            throw new IllegalArgumentException("At most " + (MAX_SORT_KEYS - 1) + " sort fields besides id are supported");
+        }
+        return List.copyOf(keys);
+    }
+}
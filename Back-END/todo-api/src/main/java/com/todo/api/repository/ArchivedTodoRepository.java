@@ -0,0 +1,19 @@
+package com.todo.api.repository;
+
+import com.todo.api.model.ArchivedTodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+    List<ArchivedTodo> findByTitleContainingIgnoreCase(String title);
+
+    @Query("SELECT extract(date from t.createdAt), COUNT(t) FROM ArchivedTodo t " +
+           "WHERE t.createdAt >= :since GROUP BY extract(date from t.createdAt)")
+    List<Object[]> countCreatedByDaySince(@Param("since") LocalDateTime since);
+}
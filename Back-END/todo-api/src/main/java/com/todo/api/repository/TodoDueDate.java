@@ -0,0 +1,11 @@
+package com.todo.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection used to load the due-date schedule without materialising whole entities.
+ */
+public interface TodoDueDate {
+    Long getId();
+    LocalDateTime getDueDate();
+}
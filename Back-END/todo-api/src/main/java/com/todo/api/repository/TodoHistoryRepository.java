@@ -0,0 +1,14 @@
+package com.todo.api.repository;
+
+import com.todo.api.model.TodoHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoHistoryRepository extends JpaRepository<TodoHistory, Long> {
+    List<TodoHistory> findByTodoIdOrderByIdDesc(Long todoId, Pageable pageable);
+    List<TodoHistory> findByTodoIdAndIdLessThanOrderByIdDesc(Long todoId, Long id, Pageable pageable);
+}
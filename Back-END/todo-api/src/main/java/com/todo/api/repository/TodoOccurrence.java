@@ -0,0 +1,12 @@
+package com.todo.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection identifying a stored occurrence of a recurring todo, used to leave it out when the
+ * occurrences are generated.
+ */
+public interface TodoOccurrence {
+    Long getSeriesId();
+    LocalDateTime getOccurrenceDate();
+}
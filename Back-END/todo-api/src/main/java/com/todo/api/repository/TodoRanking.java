@@ -0,0 +1,14 @@
+package com.todo.api.repository;
+
+import com.todo.api.model.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection used to rebuild the priority index without materialising whole entities.
+ */
+public interface TodoRanking {
+    Long getId();
+    Priority getPriority();
+    LocalDateTime getDueDate();
+}
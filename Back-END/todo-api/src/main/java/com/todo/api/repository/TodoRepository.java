@@ -1,13 +1,75 @@
 package com.todo.api.repository;
 
 import com.todo.api.model.Todo;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByCompleted(boolean completed);
     List<Todo> findByTitleContainingIgnoreCase(String title);
-}
\ No newline at end of file
+
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Todo t " +
+           "WHERE t.completed = false AND t.dueDate IS NOT NULL AND t.recurrence IS NULL")
+    List<TodoDueDate> findPendingDueDates();
+
+    @Query("SELECT t.id AS id, t.completed AS completed, t.tags AS tags FROM Todo t")
+    List<TodoTags> findAllTags();
+
+    @Query("SELECT t.id AS id, t.priority AS priority, t.dueDate AS dueDate FROM Todo t " +
+           "WHERE t.completed = false AND t.recurrence IS NULL")
+    List<TodoRanking> findPendingRankings();
+
+    @Query("SELECT t FROM Todo t WHERE t.completed = false AND t.recurrence IS NOT NULL")
+    List<Todo> findPendingSeries();
+
+    @Query("SELECT t.seriesId AS seriesId, t.occurrenceDate AS occurrenceDate FROM Todo t " +
+           "WHERE t.seriesId IN :seriesIds AND t.occurrenceDate >= :from AND t.occurrenceDate < :to")
+    List<TodoOccurrence> findOccurrences(@Param("seriesIds") Collection<Long> seriesIds,
+                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    Optional<Todo> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDateTime occurrenceDate);
+
+    List<Todo> findBySeriesId(Long seriesId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Todo> findBySeriesIdIn(Collection<Long> seriesIds);
+
+    long countByCompleted(boolean completed);
+
+    @Query("SELECT extract(date from t.dueDate), COUNT(t) FROM Todo t " +
+           "WHERE t.completed = false AND t.dueDate IS NOT NULL GROUP BY extract(date from t.dueDate)")
+    List<Object[]> countPendingByDueDay();
+
+    @Query("SELECT extract(date from t.createdAt), COUNT(t) FROM Todo t " +
+           "WHERE t.createdAt >= :since GROUP BY extract(date from t.createdAt)")
+    List<Object[]> countCreatedByDaySince(@Param("since") LocalDateTime since);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.completed = true, t.updatedAt = :now WHERE t.id IN :ids AND t.completed = false")
+    int completeAllById(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.id IN :ids AND t.completed = true")
+    int deleteCompletedById(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.seriesId IN :seriesIds")
+    int deleteBySeriesIdIn(@Param("seriesIds") Collection<Long> seriesIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE todos SET due_date = TIMESTAMPADD(SECOND, :seconds, due_date), updated_at = :now " +
+                   "WHERE id IN (:ids) AND due_date IS NOT NULL", nativeQuery = true)
+    int shiftDueDatesById(@Param("ids") Collection<Long> ids, @Param("seconds") long seconds,
+                          @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,12 @@
+package com.todo.api.repository;
+
+import java.util.Set;
+
+/**
+ * Projection used to rebuild the tag index without materialising whole entities.
+ */
+public interface TodoTags {
+    Long getId();
+    boolean isCompleted();
+    Set<String> getTags();
+}
@@ -0,0 +1,146 @@
+package com.todo.api.scheduler;
+
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.repository.TodoDueDate;
+import com.todo.api.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every pending todo with a due date in a {@link HierarchicalTimingWheel} and moves it to
+ * the overdue set when the wheel passes its deadline, notifying all {@link OverdueSink}s.
+ * <p>
+ * The schedule is loaded once at startup and then kept current from {@link TodoChangedEvent}s,
+ * so {@code GET /api/todos/overdue} never scans the table.
+ */
+@Slf4j
+@Component
+public class DueDateScheduler {
+    private final TodoRepository todoRepository;
+    private final List<OverdueSink> sinks;
+    private final Clock clock;
+    private final HierarchicalTimingWheel wheel;
+    private final Set<Long> overdueIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public DueDateScheduler(TodoRepository todoRepository,
+                            List<OverdueSink> sinks,
+                            @Value("${todo.scheduler.tick-ms:1000}") long tickMs,
+                            @Value("${todo.scheduler.wheel-size:512}") int wheelSize,
+                            @Value("${todo.scheduler.levels:4}") int levels) {
+        this(todoRepository, sinks, Clock.systemDefaultZone(), tickMs, wheelSize, levels);
+    }
+
+    DueDateScheduler(TodoRepository todoRepository, List<OverdueSink> sinks, Clock clock,
+                     long tickMs, int wheelSize, int levels) {
+        this.todoRepository = todoRepository;
+        this.sinks = sinks;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel(tickMs, wheelSize, levels, clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSchedule() {
+        List<TodoDueDate> pending = todoRepository.findPendingDueDates();
+        synchronized (wheel) {
+            for (TodoDueDate todo : pending) {
+                // Todos that were already overdue at startup are not re-announced to the sinks.
+                if (!wheel.schedule(todo.getId(), toEpochMilli(todo.getDueDate()))) {
+                    overdueIds.add(todo.getId());
+                }
+            }
+        }
+        log.info("Loaded {} pending due dates ({} already overdue)", pending.size(), overdueIds.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoSnapshot after = event.after();
+        if (after == null || !after.isPendingWithDueDate()) {
+            unschedule(event.todoId());
+        } else {
+            reschedule(after.id(), after.dueDate());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${todo.scheduler.tick-ms:1000}")
+    public void tick() {
+        List<OverdueEvent> fired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advanceTo(clock.millis(), (id, deadlineMs) -> {
+                overdueIds.add(id);
+                fired.add(new OverdueEvent(id, toLocalDateTime(deadlineMs)));
+            });
+        }
+        fired.forEach(this::publish);
+    }
+
+    /**
+     * Ids of all pending todos whose due date has passed.
+     */
+    public Set<Long> getOverdueIds() {
+        return Collections.unmodifiableSet(overdueIds);
+    }
+
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void reschedule(Long id, LocalDateTime dueDate) {
+        boolean becameOverdue;
+        synchronized (wheel) {
+            if (wheel.schedule(id, toEpochMilli(dueDate))) {
+                overdueIds.remove(id);
+                becameOverdue = false;
+            } else {
+                becameOverdue = overdueIds.add(id);
+            }
+        }
+        if (becameOverdue) {
+            publish(new OverdueEvent(id, dueDate));
+        }
+    }
+
+    private void unschedule(Long id) {
+        synchronized (wheel) {
+            wheel.cancel(id);
+            overdueIds.remove(id);
+        }
+    }
+
+    private void publish(OverdueEvent event) {
+        for (OverdueSink sink : sinks) {
+            try {
+                sink.onOverdue(event);
+            } catch (RuntimeException e) {
+                log.warn("Overdue sink {} failed for todo {}", sink.getClass().getSimpleName(), event.todoId(), e);
+            }
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), clock.getZone());
+    }
+}
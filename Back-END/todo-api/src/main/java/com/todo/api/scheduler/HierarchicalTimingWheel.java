@@ -0,0 +1,210 @@
+package com.todo.api.scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by todo id.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of one tick each; every higher level has {@code wheelSize}
+ * slots spanning a full turn of the level below. Timers are kept in intrusive doubly-linked slot
+ * lists, so {@link #schedule} and {@link #cancel} are O(1) regardless of how many timers are
+ * pending. Timers in upper levels are cascaded down when the lower wheel wraps around.
+ * <p>
+ * Not thread-safe; {@link DueDateScheduler} serialises access.
+ */
+final class HierarchicalTimingWheel {
+
+    @FunctionalInterface
+    interface ExpiryListener {
+        void expired(long key, long deadlineMs);
+    }
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Slot[][] wheels;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        if (levels < 1 || (long) bits * levels > 62) {
+            throw new IllegalArgumentException("levels must be between 1 and " + (62 / bits));
+        }
+        this.tickMs = tickMs;
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.wheels = new Slot[levels][wheelSize];
+        for (Slot[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Slot();
+            }
+        }
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /**
+     * Schedules (or reschedules) the timer for {@code key}.
+     *
+     * @return {@code false} if the deadline has already been reached, in which case nothing is scheduled
+     */
+    boolean schedule(long key, long deadlineMs) {
+        cancel(key);
+        long expiryTick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+        if (expiryTick <= currentTick) {
+            return false;
+        }
+        Entry entry = new Entry(key, deadlineMs, expiryTick);
+        entries.put(key, entry);
+        place(entry);
+        return true;
+    }
+
+    boolean cancel(long key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.unlink();
+        return true;
+    }
+
+    boolean contains(long key) {
+        return entries.containsKey(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long currentTimeMs() {
+        return currentTick * tickMs;
+    }
+
+    /**
+     * Turns the wheel up to {@code nowMs}, reporting every timer whose deadline has passed.
+     */
+    void advanceTo(long nowMs, ExpiryListener listener) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < targetTick) {
+            if (entries.isEmpty()) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            for (int level = highestLevelToCascade(); level >= 1; level--) {
+                cascade(wheels[level][(int) (currentTick >>> (bits * level)) & mask], listener);
+            }
+            expire(wheels[0][(int) currentTick & mask], listener);
+        }
+    }
+
+    private int highestLevelToCascade() {
+        int level = 0;
+        while (level + 1 < levels && (currentTick & ((1L << (bits * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.expiryTick - currentTick;
+        for (int level = 0; level < levels; level++) {
+            int shift = bits * level;
+            if (delta < (1L << (shift + bits))) {
+                wheels[level][(int) (entry.expiryTick >>> shift) & mask].push(entry);
+                return;
+            }
+        }
+        // Beyond the span of the top wheel: park it in the slot cascaded last; it is re-placed from there.
+        int shift = bits * (levels - 1);
+        wheels[levels - 1][(int) ((currentTick >>> shift) - 1) & mask].push(entry);
+    }
+
+    private void cascade(Slot slot, ExpiryListener listener) {
+        Entry entry = slot.detachAll();
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = entry.next = null;
+            if (entry.expiryTick <= currentTick) {
+                entries.remove(entry.key);
+                listener.expired(entry.key, entry.deadlineMs);
+            } else {
+                place(entry);
+            }
+            entry = next;
+        }
+    }
+
+    private void expire(Slot slot, ExpiryListener listener) {
+        Entry entry = slot.detachAll();
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = entry.next = null;
+            entries.remove(entry.key);
+            listener.expired(entry.key, entry.deadlineMs);
+            entry = next;
+        }
+    }
+
+    private static class Entry {
+        final long key;
+        final long deadlineMs;
+        final long expiryTick;
+        Entry prev;
+        Entry next;
+
+        Entry(long key, long deadlineMs, long expiryTick) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.expiryTick = expiryTick;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = next = null;
+        }
+    }
+
+    /**
+     * Slot list with a sentinel head. Order within a slot does not matter, so entries are pushed at the front.
+     */
+    private static final class Slot {
+        private final Entry head = new Entry(Long.MIN_VALUE, 0, 0);
+
+        void push(Entry entry) {
+            Entry first = head.next;
+            entry.prev = head;
+            entry.next = first;
+            if (first != null) {
+                first.prev = entry;
+            }
+            head.next = entry;
+        }
+
+        /**
+         * Empties the slot and returns the former contents as a {@code null}-terminated chain.
+         */
+        Entry detachAll() {
+            Entry first = head.next;
+            if (first != null) {
+                first.prev = null;
+            }
+            head.next = null;
+            return first;
+        }
+    }
+}
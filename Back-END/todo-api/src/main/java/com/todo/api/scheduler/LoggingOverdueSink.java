@@ -0,0 +1,14 @@
+package com.todo.api.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingOverdueSink implements OverdueSink {
+
+    @Override
+    public void onOverdue(OverdueEvent event) {
+        log.info("Todo {} is overdue (due {})", event.todoId(), event.dueDate());
+    }
+}
@@ -0,0 +1,9 @@
+package com.todo.api.scheduler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Emitted once when a pending todo passes its due date.
+ */
+public record OverdueEvent(Long todoId, LocalDateTime dueDate) {
+}
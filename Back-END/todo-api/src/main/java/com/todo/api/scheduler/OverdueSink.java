@@ -0,0 +1,10 @@
+package com.todo.api.scheduler;
+
+/**
+ * Receives overdue notifications from {@link DueDateScheduler}. Every bean implementing this
+ * interface is notified; implementations are called on the scheduler thread and should hand
+ * slow work off elsewhere.
+ */
+public interface OverdueSink {
+    void onOverdue(OverdueEvent event);
+}
@@ -0,0 +1,11 @@
+package com.todo.api.service;
+
+/**
+ * An {@code Idempotency-Key} was sent again with a different request than the one it was first used for.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
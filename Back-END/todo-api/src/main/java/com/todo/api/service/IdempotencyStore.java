@@ -0,0 +1,151 @@
+package com.todo.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of recent mutations by their {@code Idempotency-Key}, so a client retrying a
+ * request gets the original response instead of running it again. A duplicate that arrives while the
+ * first request is still running waits for it. Only successful responses are kept; when the request
+ * fails the key is released and a retry runs again.
+ * <p>
+ * Keys expire after {@code todo.idempotency.ttl-ms}, and at most {@code todo.idempotency.max-entries}
+ * are kept, oldest evicted first. The store is per node.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Clock clock;
+    private final long ttlMs;
+    private final int maxEntries;
+    // Insertion order is also expiry order, since every entry gets the same TTL.
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${todo.idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${todo.idempotency.max-entries:10000}") int maxEntries) {
+        this(Clock.systemDefaultZone(), ttlMs, maxEntries);
+    }
+
+    IdempotencyStore(Clock clock, long ttlMs, int maxEntries) {
+        this.clock = clock;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Runs {@code action} once per key. {@code fingerprint} identifies the request (operation and
+     * payload); reusing a key with a different fingerprint is rejected. It is only built when there is
+     * a key, so requests without one do not pay for formatting their payload.
+     *
+     * @param key the client's key, or {@code null} to just run the action
+     */
+    public <T> ResponseEntity<T> execute(String key, Supplier<String> fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        return execute(key, fingerprint.get(), action);
+    }
+
+    private <T> ResponseEntity<T> execute(String key, String fingerprint, Supplier<ResponseEntity<T>> action) {
+
+        Entry entry;
+        boolean first;
+        synchronized (entries) {
+            long now = clock.millis();
+            evictExpired(now);
+            entry = entries.get(key);
+            first = entry == null;
+            if (first) {
+                evictOldest();
+                entry = new Entry(fingerprint, new CompletableFuture<>(), now + ttlMs);
+                entries.put(key, entry);
+            }
+        }
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        if (!first) {
+            return replay(await(entry.response()));
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> oldestFirst = entries.values().iterator();
+        while (oldestFirst.hasNext() && oldestFirst.next().expiresAtMs() <= now) {
+            oldestFirst.remove();
+        }
+    }
+
+    /**
+     * Makes room for one entry. An evicted request that is still running completes normally, but a
+     * retry arriving after the eviction runs again.
+     */
+    private void evictOldest() {
+        Iterator<Entry> oldestFirst = entries.values().iterator();
+        while (entries.size() >= maxEntries && oldestFirst.hasNext()) {
+            oldestFirst.next();
+            oldestFirst.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> replay(ResponseEntity<?> original) {
+        return (ResponseEntity<T>) ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    private static ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<ResponseEntity<?>> response, long expiresAtMs) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.CoalescingStats;
+import com.todo.api.event.TodoChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of reads: while a call for an operation and argument is running, identical
+ * calls wait for it and receive the same result (or exception) instead of querying again. Results are
+ * shared between callers and must be treated as read-only.
+ * <p>
+ * Every committed {@link TodoChangedEvent} detaches the in-flight calls, so a read that starts after a
+ * write never joins a query that may have started before it.
+ */
+@Component
+public class RequestCoalescer {
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Key, KeyCounters> perKey = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public RequestCoalescer(@Value("${todo.coalescing.max-tracked-keys:1000}") int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object argument, Supplier<T> loader) {
+        Key key = new Key(operation, argument);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.increment();
+            KeyCounters counters = counters(key);
+            if (counters != null) {
+                counters.collapsed.increment();
+            }
+            return (T) await(existing);
+        }
+
+        executions.increment();
+        KeyCounters counters = counters(key);
+        if (counters != null) {
+            counters.executions.increment();
+        }
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        detachAll();
+    }
+
+    /**
+     * Makes later callers start a fresh call; callers already waiting still get their result.
+     */
+    public void detachAll() {
+        inFlight.clear();
+    }
+
+    public CoalescingStats getStats() {
+        List<CoalescingStats.KeyStats> keys = perKey.entrySet().stream()
+                .map(entry -> new CoalescingStats.KeyStats(
+                        entry.getKey().operation(),
+                        String.valueOf(entry.getKey().argument()),
+                        entry.getValue().executions.sum(),
+                        entry.getValue().collapsed.sum()))
+                .sorted(Comparator.comparingLong(CoalescingStats.KeyStats::collapsed).reversed())
+                .toList();
+        return new CoalescingStats(executions.sum(), collapsed.sum(), inFlight.size(), keys);
+    }
+
+    /**
+     * Counters for the key, or {@code null} once {@code todo.coalescing.max-tracked-keys} distinct keys
+     * are tracked; search terms are unbounded, so later keys only count towards the totals.
+     */
+    private KeyCounters counters(Key key) {
+        KeyCounters counters = perKey.get(key);
+        if (counters != null || perKey.size() >= maxTrackedKeys) {
+            return counters;
+        }
+        return perKey.computeIfAbsent(key, k -> new KeyCounters());
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String operation, Object argument) {
+    }
+
+    private static final class KeyCounters {
+        final LongAdder executions = new LongAdder();
+        final LongAdder collapsed = new LongAdder();
+    }
+}
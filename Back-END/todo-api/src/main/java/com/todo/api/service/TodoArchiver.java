@@ -0,0 +1,169 @@
+package com.todo.api.service;
+
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Priority;
+import com.todo.api.model.TagSetConverter;
+import com.todo.api.shard.TodoShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves completed todos that have not changed for {@code todo.archive.age-days} from {@code todos} into
+ * {@code todos_archive}, so the hot table only holds what the default queries return. Each batch of
+ * {@code todo.archive.batch-size} rows is locked, copied and deleted with set-based statements in its
+ * own transaction, which keeps lock times short and lets a run stop part way without losing anything.
+ * An {@link TodoChangedEvent#archived ARCHIVED} event is published per row. Subtasks and todos that
+ * have subtasks stay in {@code todos}, so the archive holds no hierarchy. Recurring todos and their
+ * stored occurrences stay too: an occurrence missing from {@code todos} would be generated again. With
+ * several shards, each shard archives into its own {@code todos_archive}.
+ * <p>
+ * {@link #restore} moves a row back within the caller's transaction; {@link TodoService} does that
+ * before it mutates an archived todo.
+ */
+@Slf4j
+@Component
+public class TodoArchiver {
+    static final String COLUMNS = "id, title, description, completed, priority, due_date, tags, created_at, updated_at";
+    static final String SELECT_BATCH_SQL = "SELECT " + COLUMNS + " FROM todos "
+            + "WHERE completed = TRUE AND updated_at < :cutoff AND parent_id IS NULL "
+            + "AND recurrence IS NULL AND series_id IS NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM todo_tree WHERE ancestor_id = todos.id) "
+            + "ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE";
+    static final String ARCHIVE_SQL = "INSERT INTO todos_archive (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", :archivedAt FROM todos WHERE id IN (:ids)";
+    static final String DELETE_HOT_SQL = "DELETE FROM todos WHERE id IN (:ids)";
+    static final String LOCK_ARCHIVED_SQL = "SELECT id FROM todos_archive WHERE id = :id FOR UPDATE";
+    static final String RESTORE_SQL = "INSERT INTO todos (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM todos_archive WHERE id = :id";
+    static final String DELETE_ARCHIVED_SQL = "DELETE FROM todos_archive WHERE id = :id";
+
+    private static final RowMapper<TodoSnapshot> SNAPSHOT_MAPPER = (rs, rowNum) -> new TodoSnapshot(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getBoolean("completed"),
+            Priority.valueOf(rs.getString("priority")),
+            rs.getObject("due_date", LocalDateTime.class),
+            List.copyOf(TagSetConverter.parse(rs.getString("tags"))),
+            null,
+            null,
+            null,
+            null,
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoShards todoShards;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int ageDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public TodoArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        TodoShards todoShards,
+                        @Value("${todo.archive.enabled:true}") boolean enabled,
+                        @Value("${todo.archive.age-days:30}") int ageDays,
+                        @Value("${todo.archive.batch-size:500}") int batchSize,
+                        @Value("${todo.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this(jdbcTemplate, transactionTemplate, eventPublisher, todoShards, Clock.systemDefaultZone(), enabled,
+                ageDays, batchSize, maxBatchesPerRun);
+    }
+
+    TodoArchiver(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                 ApplicationEventPublisher eventPublisher, TodoShards todoShards, Clock clock, boolean enabled,
+                 int ageDays, int batchSize, int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.todoShards = todoShards;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.ageDays = ageDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Archives up to {@code todo.archive.max-batches-per-run} batches per shard; whatever is left is
+     * picked up by the next run.
+     *
+     * @return number of todos archived
+     */
+    @Scheduled(initialDelayString = "${todo.archive.interval-ms:3600000}", fixedDelayString = "${todo.archive.interval-ms:3600000}")
+    public int archive() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(ageDays);
+        int archived = todoShards.onEachShard(() -> archiveShard(cutoff)).stream().mapToInt(Integer::intValue).sum();
+        if (archived > 0) {
+            log.info("Archived {} completed todos last updated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Moves an archived todo back to {@code todos}. Must run inside the caller's transaction so the
+     * restored row and the caller's change commit together.
+     *
+     * @return {@code false} if the todo is not in the archive
+     */
+    public boolean restore(Long id) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        // Lock first: a concurrent restore of the same todo waits here and then finds nothing to move.
+        if (jdbcTemplate.queryForList(LOCK_ARCHIVED_SQL, params, Long.class).isEmpty()) {
+            return false;
+        }
+        jdbcTemplate.update(RESTORE_SQL, params);
+        jdbcTemplate.update(DELETE_ARCHIVED_SQL, params);
+        log.debug("Restored todo {} from the archive", id);
+        return true;
+    }
+
+    private int archiveShard(LocalDateTime cutoff) {
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved != null ? moved : 0;
+            if (moved == null || moved < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<TodoSnapshot> rows = jdbcTemplate.query(SELECT_BATCH_SQL,
+                Map.of("cutoff", Timestamp.valueOf(cutoff), "limit", batchSize), SNAPSHOT_MAPPER);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rows.stream().map(TodoSnapshot::id).toList();
+        jdbcTemplate.update(ARCHIVE_SQL, new MapSqlParameterSource("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now(clock))));
+        jdbcTemplate.update(DELETE_HOT_SQL, new MapSqlParameterSource("ids", ids));
+        rows.forEach(row -> eventPublisher.publishEvent(TodoChangedEvent.archived(row)));
+        return rows.size();
+    }
+}
@@ -0,0 +1,81 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.BatchItemResult;
+import com.todo.api.dto.BatchOperation;
+import com.todo.api.model.Todo;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the operations of a batch request in order, each in its own transaction exactly as if it had been
+ * sent on its own, and reports one outcome per operation. A failing operation neither stops nor rolls
+ * back the others. Lets clients send many small creates and toggles in a single round trip.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoBatchService {
+    public static final int MAX_OPERATIONS = 100;
+
+    private final TodoService todoService;
+    private final Validator validator;
+
+    /**
+     * @throws IllegalArgumentException if there are no operations or more than {@link #MAX_OPERATIONS}
+     */
+    public List<BatchItemResult> execute(List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("A batch must have 1 to " + MAX_OPERATIONS + " operations");
+        }
+        List<BatchItemResult> results = new ArrayList<>(operations.size());
+        for (BatchOperation operation : operations) {
+            results.add(run(operation));
+        }
+        return results;
+    }
+
+    private BatchItemResult run(BatchOperation operation) {
+        try {
+            if (operation == null || operation.op() == null) {
+                throw new IllegalArgumentException("op is required");
+            }
+            return switch (operation.op()) {
+                case CREATE -> BatchItemResult.succeeded(HttpStatus.CREATED, todoService.createTodo(validate(operation.todo())));
+                case TOGGLE -> BatchItemResult.succeeded(HttpStatus.OK, todoService.toggleTodoStatus(requireId(operation)));
+            };
+        } catch (EntityNotFoundException e) {
+            return BatchItemResult.failed(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return BatchItemResult.failed(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private Todo validate(Todo todo) {
+        if (todo == null) {
+            throw new IllegalArgumentException("todo is required for create");
+        }
+        Set<ConstraintViolation<Todo>> violations = validator.validate(todo);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return todo;
+    }
+
+    private static Long requireId(BatchOperation operation) {
+        if (operation.id() == null) {
+            throw new IllegalArgumentException("id is required for toggle");
+        }
+        return operation.id();
+    }
+}
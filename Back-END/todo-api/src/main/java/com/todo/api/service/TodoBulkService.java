@@ -0,0 +1,212 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.BulkResult;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Todo;
+import com.todo.api.query.SortField;
+import com.todo.api.query.TodoFilter;
+import com.todo.api.query.TodoQuery;
+import com.todo.api.query.TodoQueryCompiler;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.shard.TodoShards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Filter-based bulk changes to the {@code todos} table. Matching rows are walked in id order in chunks
+ * of {@code todo.bulk.chunk-size}; each chunk is locked, changed with one set-based statement and
+ * committed in its own transaction, so no lock is held for longer than one chunk and a failure leaves
+ * earlier chunks applied. A {@link TodoChangedEvent} is published per row, as for single-todo changes.
+ * With several shards, each shard is walked separately and in parallel.
+ * <p>
+ * Archived todos are not touched.
+ */
+@Slf4j
+@Service
+public class TodoBulkService {
+    private static final List<TodoQuery.SortKey> BY_ID = List.of(new TodoQuery.SortKey(SortField.ID, false));
+
+    private final EntityManager entityManager;
+    private final TodoQueryCompiler todoQueryCompiler;
+    private final TodoRepository todoRepository;
+    private final TodoTreeService todoTreeService;
+    private final TodoShards todoShards;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final int chunkSize;
+
+    @Autowired
+    public TodoBulkService(EntityManager entityManager,
+                           TodoQueryCompiler todoQueryCompiler,
+                           TodoRepository todoRepository,
+                           TodoTreeService todoTreeService,
+                           TodoShards todoShards,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${todo.bulk.chunk-size:500}") int chunkSize) {
+        this(entityManager, todoQueryCompiler, todoRepository, todoTreeService, todoShards, transactionTemplate,
+                eventPublisher, Clock.systemDefaultZone(), chunkSize);
+    }
+
+    TodoBulkService(EntityManager entityManager, TodoQueryCompiler todoQueryCompiler, TodoRepository todoRepository,
+                    TodoTreeService todoTreeService, TodoShards todoShards, TransactionTemplate transactionTemplate,
+                    ApplicationEventPublisher eventPublisher, Clock clock, int chunkSize) {
+        this.entityManager = entityManager;
+        this.todoQueryCompiler = todoQueryCompiler;
+        this.todoRepository = todoRepository;
+        this.todoTreeService = todoTreeService;
+        this.todoShards = todoShards;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Marks every pending todo that matches the filters completed.
+     */
+    public BulkResult completeAll(List<TodoFilter> filters) {
+        return forEachChunk(withStatus(filters, false), "complete", (rows, now) -> {
+            int affected = todoRepository.completeAllById(ids(rows), now);
+            rows.forEach(row -> eventPublisher.publishEvent(TodoChangedEvent.toggled(row, row.withCompleted(true, now))));
+            return affected;
+        });
+    }
+
+    /**
+     * Deletes every completed todo that matches the filters, except todos that have subtasks; those are
+     * only deleted together with their subtasks, by {@link TodoService#deleteTodo}. A recurring todo is
+     * deleted with its stored occurrences, as by {@link TodoService#deleteTodo}.
+     */
+    public BulkResult deleteCompleted(List<TodoFilter> filters) {
+        return forEachChunk(withStatus(filters, true), "delete completed", (rows, now) -> {
+            // The chunk's row locks keep subtasks from being added to these todos until it commits.
+            Set<Long> parents = todoTreeService.withSubtasks(ids(rows));
+            List<TodoSnapshot> leaves = rows.stream().filter(row -> !parents.contains(row.id())).toList();
+            if (leaves.isEmpty()) {
+                return 0;
+            }
+            List<Long> series = leaves.stream().filter(row -> row.recurrence() != null).map(TodoSnapshot::id).toList();
+            Set<Long> leafIds = Set.copyOf(ids(leaves));
+            List<TodoSnapshot> occurrences = series.isEmpty() ? List.of() : todoRepository.findBySeriesIdIn(series).stream()
+                    .filter(occurrence -> !leafIds.contains(occurrence.getId()))
+                    .map(TodoSnapshot::of)
+                    .toList();
+            int affected = todoRepository.deleteCompletedById(ids(leaves));
+            leaves.forEach(row -> eventPublisher.publishEvent(TodoChangedEvent.deleted(row)));
+            if (!occurrences.isEmpty()) {
+                affected += todoRepository.deleteBySeriesIdIn(series);
+                occurrences.forEach(row -> eventPublisher.publishEvent(TodoChangedEvent.deleted(row)));
+            }
+            return affected;
+        });
+    }
+
+    /**
+     * Moves the due date of every matching todo that has one by {@code shift}, which may be negative.
+     * Recurring todos are left alone: their stored occurrences are keyed by the dates the old start
+     * produced, so the moved series would generate them a second time.
+     *
+     * @throws IllegalArgumentException if the shift is zero or not a whole number of seconds
+     */
+    public BulkResult shiftDueDates(List<TodoFilter> filters, Duration shift) {
+        if (shift.isZero() || shift.getNano() != 0) {
+            throw new IllegalArgumentException("shift must be a non-zero whole number of seconds");
+        }
+        return forEachChunk(filters, "reschedule", (rows, now) -> {
+            List<TodoSnapshot> scheduled = rows.stream()
+                    .filter(row -> row.dueDate() != null && row.recurrence() == null)
+                    .toList();
+            if (scheduled.isEmpty()) {
+                return 0;
+            }
+            int affected = todoRepository.shiftDueDatesById(ids(scheduled), shift.getSeconds(), now);
+            scheduled.forEach(row -> eventPublisher.publishEvent(
+                    TodoChangedEvent.updated(row, row.withDueDate(row.dueDate().plus(shift), now))));
+            return affected;
+        });
+    }
+
+    /**
+     * @param change applies the operation to one locked chunk and returns the rows it affected
+     */
+    private BulkResult forEachChunk(List<TodoFilter> filters, String operation,
+                                    BiFunction<List<TodoSnapshot>, LocalDateTime, Integer> change) {
+        List<BulkResult> shards = todoShards.onEachShard(() -> forEachChunkOnShard(filters, change));
+        BulkResult result = new BulkResult(shards.stream().mapToInt(BulkResult::affected).sum(),
+                shards.stream().mapToInt(BulkResult::chunks).sum());
+        log.info("Bulk {} affected {} todos in {} chunks", operation, result.affected(), result.chunks());
+        return result;
+    }
+
+    private BulkResult forEachChunkOnShard(List<TodoFilter> filters,
+                                           BiFunction<List<TodoSnapshot>, LocalDateTime, Integer> change) {
+        int affected = 0;
+        int chunks = 0;
+        List<Object> after = null;
+        while (true) {
+            TodoQuery chunk = new TodoQuery(filters, BY_ID, chunkSize, after);
+            Chunk result = transactionTemplate.execute(status -> applyChunk(chunk, change));
+            if (result == null || result.rows() == 0) {
+                break;
+            }
+            affected += result.affected();
+            chunks++;
+            if (result.rows() < chunkSize) {
+                break;
+            }
+            after = List.of(result.lastId());
+        }
+        return new BulkResult(affected, chunks);
+    }
+
+    private Chunk applyChunk(TodoQuery chunk, BiFunction<List<TodoSnapshot>, LocalDateTime, Integer> change) {
+        TypedQuery<Todo> query = entityManager.createQuery(todoQueryCompiler.compile(chunk), Todo.class);
+        todoQueryCompiler.bind(query, chunk);
+        List<TodoSnapshot> rows = query.setMaxResults(chunkSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList()
+                .stream()
+                .map(TodoSnapshot::of)
+                .toList();
+        if (rows.isEmpty()) {
+            return new Chunk(0, 0, null);
+        }
+        // Same precision as the column, so snapshots compare equal to what is read back.
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        int affected = change.apply(rows, now);
+        return new Chunk(rows.size(), affected, rows.get(rows.size() - 1).id());
+    }
+
+    private static List<TodoFilter> withStatus(List<TodoFilter> filters, boolean completed) {
+        List<TodoFilter> withStatus = new ArrayList<>(filters.size() + 1);
+        withStatus.add(new TodoFilter.Completed(completed));
+        filters.stream().filter(filter -> !(filter instanceof TodoFilter.Completed)).forEach(withStatus::add);
+        return List.copyOf(withStatus);
+    }
+
+    private static List<Long> ids(List<TodoSnapshot> rows) {
+        return rows.stream().map(TodoSnapshot::id).toList();
+    }
+
+    private record Chunk(int rows, int affected, Long lastId) {
+    }
+}
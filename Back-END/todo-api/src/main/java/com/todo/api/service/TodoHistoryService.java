@@ -0,0 +1,70 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.TodoHistory;
+import com.todo.api.repository.TodoHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TodoHistoryService {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final TodoHistoryRepository todoHistoryRepository;
+    private final TodoHistoryWriter todoHistoryWriter;
+
+    /**
+     * Returns the history of a todo, newest first. {@code cursor} is the {@code nextCursor} of the
+     * previous page, or {@code null} for the first page.
+     */
+    public KeysetPage<TodoHistory> getHistory(Long todoId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<TodoHistory> rows = cursor == null || cursor.isBlank()
+                ? todoHistoryRepository.findByTodoIdOrderByIdDesc(todoId, limit)
+                : todoHistoryRepository.findByTodoIdAndIdLessThanOrderByIdDesc(todoId, parseCursor(cursor), limit);
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<TodoHistory> page = rows.subList(0, pageSize);
+        return new KeysetPage<>(page, String.valueOf(page.get(pageSize - 1).getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoSnapshot state = event.after() != null ? event.after() : event.before();
+        TodoHistory entry = new TodoHistory();
+        entry.setTodoId(event.todoId());
+        entry.setAction(event.type().name());
+        entry.setChangedBy(currentPrincipal());
+        entry.setChangedAt(LocalDateTime.now());
+        entry.setTitle(state.title());
+        entry.setDescription(state.description());
+        entry.setCompleted(state.completed());
+        entry.setDueDate(state.dueDate());
+        todoHistoryWriter.enqueue(entry);
+    }
+
+    private static Long parseCursor(String cursor) {
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid history cursor: " + cursor);
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+}
@@ -0,0 +1,166 @@
+package com.todo.api.service;
+
+import com.todo.api.model.TodoHistory;
+import com.todo.api.shard.TodoShards;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Writes {@code todo_history} rows off the request path. Entries go into a bounded ring buffer and a
+ * single writer thread drains it in JDBC batches. When the buffer is full the producer waits up to
+ * {@code todo.history.offer-timeout-ms}; if it is still full the entry is written synchronously on the
+ * caller's thread, which slows producers down instead of losing audit records.
+ * <p>
+ * Rows are written to the shard of their todo.
+ */
+@Slf4j
+@Component
+public class TodoHistoryWriter {
+    static final String INSERT_SQL = "INSERT INTO todo_history " +
+            "(todo_id, action, changed_by, changed_at, title, description, completed, due_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoShards todoShards;
+    private final BlockingQueue<TodoHistory> buffer;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder writtenInline = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public TodoHistoryWriter(JdbcTemplate jdbcTemplate,
+                             TodoShards todoShards,
+                             @Value("${todo.history.queue-capacity:8192}") int queueCapacity,
+                             @Value("${todo.history.batch-size:256}") int batchSize,
+                             @Value("${todo.history.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.todoShards = todoShards;
+        this.buffer = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "todo-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // The worker notices within one poll interval; interrupting it could abort an in-flight batch.
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        flushRemaining();
+    }
+
+    public void enqueue(TodoHistory entry) {
+        try {
+            if (running && buffer.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writtenInline.increment();
+        write(List.of(entry));
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getWrittenInlineCount() {
+        return writtenInline.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void drainLoop() {
+        List<TodoHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                TodoHistory first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void flushRemaining() {
+        List<TodoHistory> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<TodoHistory> batch) {
+        if (todoShards.count() == 1) {
+            writeOnShard(batch);
+            return;
+        }
+        Map<Integer, List<TodoHistory>> byShard = batch.stream().collect(Collectors.groupingBy(
+                entry -> todoShards.shardOf(entry.getTodoId()), TreeMap::new, Collectors.toList()));
+        byShard.values().forEach(entries -> todoShards.onShardOf(entries.get(0).getTodoId(), () -> {
+            writeOnShard(entries);
+            return null;
+        }));
+    }
+
+    private void writeOnShard(List<TodoHistory> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getTodoId());
+                ps.setString(2, entry.getAction());
+                ps.setString(3, entry.getChangedBy());
+                ps.setTimestamp(4, Timestamp.valueOf(entry.getChangedAt()));
+                ps.setString(5, entry.getTitle());
+                ps.setString(6, entry.getDescription());
+                ps.setBoolean(7, entry.isCompleted());
+                ps.setTimestamp(8, entry.getDueDate() != null ? Timestamp.valueOf(entry.getDueDate()) : null);
+            });
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Failed to write {} todo history entries", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.model.Todo;
+import com.todo.api.query.TodoQuery;
+import com.todo.api.query.TodoQueryCompiler;
+import com.todo.api.shard.TodoShards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@link TodoQuery} pages against the {@code todos} table as one statement each. Results are not
+ * cached: the combinations of filter values are unbounded and pages are rarely requested twice.
+ * <p>
+ * With several shards the statement runs on every shard and the pages are merged in the query's
+ * order; each shard's page already holds every row of that shard that can be on the merged page.
+ */
+@Service
+public class TodoQueryService {
+    private final EntityManager entityManager;
+    private final TodoQueryCompiler todoQueryCompiler;
+    private final TodoShards todoShards;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TodoQueryService(EntityManager entityManager, TodoQueryCompiler todoQueryCompiler, TodoShards todoShards,
+                            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.todoQueryCompiler = todoQueryCompiler;
+        this.todoShards = todoShards;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public KeysetPage<Todo> query(TodoQuery query) {
+        // One extra row tells whether there is a next page.
+        List<Todo> rows = new ArrayList<>();
+        todoShards.onEachShard(() -> readOnlyTransaction.execute(status -> fetch(query))).forEach(rows::addAll);
+        if (todoShards.count() > 1) {
+            rows.sort(query.comparator());
+        }
+        if (rows.size() <= query.size()) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Todo> page = rows.subList(0, query.size());
+        return new KeysetPage<>(page, query.cursorAfter(page.get(page.size() - 1)));
+    }
+
+    private List<Todo> fetch(TodoQuery query) {
+        TypedQuery<Todo> typedQuery = entityManager.createQuery(todoQueryCompiler.compile(query), Todo.class);
+        todoQueryCompiler.bind(typedQuery, query);
+        return typedQuery.setMaxResults(query.size() + 1).getResultList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.todo.api.service;
+
+import com.todo.api.cache.TodoNearCache;
+import com.todo.api.model.Todo;
+import com.todo.api.repository.TodoOccurrence;
+import com.todo.api.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the occurrences of recurring todos when todos are listed, so a repeating task is one row
+ * however long it runs. Only the occurrences due within the requested window are computed, from the
+ * {@link com.todo.api.model.Recurrence} of each pending recurring todo. An occurrence is stored as a
+ * todo of its own (with {@code seriesId} and {@code occurrenceDate} set) only once it is toggled or
+ * edited; a stored occurrence is returned like any other todo and is never generated again.
+ * <p>
+ * Generated occurrences have no id. The due-date scheduler only tracks stored todos, so overdue
+ * occurrences are found here, within {@code todo.recurrence.overdue-lookback-days} unless the caller asks
+ * for a longer look back.
+ */
+@Service
+public class TodoRecurrenceService {
+    private static final Comparator<Todo> BY_DUE_DATE = Comparator.comparing(Todo::getDueDate)
+            .thenComparing(Todo::getSeriesId);
+
+    private final TodoRepository todoRepository;
+    private final TodoNearCache todoNearCache;
+    private final Clock clock;
+    private final int maxWindowDays;
+    private final int overdueLookbackDays;
+
+    @Autowired
+    public TodoRecurrenceService(TodoRepository todoRepository,
+                                 TodoNearCache todoNearCache,
+                                 @Value("${todo.recurrence.max-window-days:366}") int maxWindowDays,
+                                 @Value("${todo.recurrence.overdue-lookback-days:7}") int overdueLookbackDays) {
+        this(todoRepository, todoNearCache, Clock.systemDefaultZone(), maxWindowDays, overdueLookbackDays);
+    }
+
+    TodoRecurrenceService(TodoRepository todoRepository, TodoNearCache todoNearCache, Clock clock,
+                          int maxWindowDays, int overdueLookbackDays) {
+        this.todoRepository = todoRepository;
+        this.todoNearCache = todoNearCache;
+        this.clock = clock;
+        this.maxWindowDays = maxWindowDays;
+        this.overdueLookbackDays = overdueLookbackDays;
+    }
+
+    /**
+     * {@code todos} with every recurring todo replaced by its occurrences due in {@code [from, to)} that
+     * are not stored, after the other todos and in due-date order. Completed recurring todos have
+     * ended and are dropped. Other todos are kept whatever their due date.
+     *
+     * @throws IllegalArgumentException if the window is incomplete, empty or longer than
+     *                                  {@code todo.recurrence.max-window-days}
+     */
+    public List<Todo> expand(List<Todo> todos, LocalDateTime from, LocalDateTime to) {
+        requireWindow(from, to);
+        List<Todo> expanded = new ArrayList<>(todos.size());
+        List<Todo> series = new ArrayList<>();
+        for (Todo todo : todos) {
+            if (todo.getRecurrence() == null) {
+                expanded.add(todo);
+            } else if (!todo.isCompleted()) {
+                series.add(todo);
+            }
+        }
+        expanded.addAll(occurrences(series, from, to));
+        return expanded;
+    }
+
+    /**
+     * Occurrences of pending recurring todos that are due in {@code [since, now)} and not stored; since
+     * defaults to {@code todo.recurrence.overdue-lookback-days} ago.
+     *
+     * @throws IllegalArgumentException if {@code since} is not in the past or further back than
+     *                                  {@code todo.recurrence.max-window-days}
+     */
+    public List<Todo> getOverdueOccurrences(LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime from = since != null ? since : now.minusDays(overdueLookbackDays);
+        requireWindow(from, now);
+        return occurrences(todoNearCache.getList("getPendingSeries", null, todoRepository::findPendingSeries), from, now);
+    }
+
+    /**
+     * A pending copy of {@code series} due at {@code due}, linked to it by {@code seriesId} and
+     * {@code occurrenceDate}. It has no id until it is saved.
+     */
+    static Todo occurrenceOf(Todo series, LocalDateTime due) {
+        Todo occurrence = new Todo();
+        occurrence.setTitle(series.getTitle());
+        occurrence.setDescription(series.getDescription());
+        occurrence.setPriority(series.getPriority());
+        occurrence.setDueDate(due);
+        occurrence.setTags(series.getTags());
+        occurrence.setParentId(series.getParentId());
+        occurrence.setSeriesId(series.getId());
+        occurrence.setOccurrenceDate(due);
+        occurrence.setCreatedAt(series.getCreatedAt());
+        occurrence.setUpdatedAt(series.getUpdatedAt());
+        return occurrence;
+    }
+
+    private List<Todo> occurrences(List<Todo> series, LocalDateTime from, LocalDateTime to) {
+        if (series.isEmpty()) {
+            return List.of();
+        }
+        Set<Stored> stored = new HashSet<>();
+        for (TodoOccurrence occurrence : todoRepository.findOccurrences(series.stream().map(Todo::getId).toList(), from, to)) {
+            stored.add(new Stored(occurrence.getSeriesId(), occurrence.getOccurrenceDate()));
+        }
+        List<Todo> occurrences = new ArrayList<>();
+        for (Todo todo : series) {
+            for (LocalDateTime due : todo.getRecurrence().occurrences(todo.getDueDate(), from, to)) {
+                if (!stored.contains(new Stored(todo.getId(), due))) {
+                    occurrences.add(occurrenceOf(todo, due));
+                }
+            }
+        }
+        occurrences.sort(BY_DUE_DATE);
+        return occurrences;
+    }
+
+    private void requireWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to must be given together");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The occurrence window must end after it starts");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxWindowDays)) > 0) {
+            throw new IllegalArgumentException("The occurrence window cannot be longer than " + maxWindowDays + " days");
+        }
+    }
+
+    private record Stored(Long seriesId, LocalDateTime occurrenceDate) {
+    }
+}
@@ -1,61 +1,384 @@
 package com.todo.api.service;
 
+import com.todo.api.cache.TodoNearCache;
+import com.todo.api.dto.TodoTreeNode;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.index.TodoPriorityIndex;
+import com.todo.api.model.ArchivedTodo;
 import com.todo.api.model.Todo;
+import com.todo.api.repository.ArchivedTodoRepository;
 import com.todo.api.repository.TodoRepository;
+import com.todo.api.scheduler.DueDateScheduler;
+import com.todo.api.shard.TodoShards;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class TodoService {
+    public static final int MAX_NEXT_TODOS = 100;
+
     private final TodoRepository todoRepository;
+    private final DueDateScheduler dueDateScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoNearCache todoNearCache;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoArchiver todoArchiver;
+    private final TodoTreeService todoTreeService;
+    private final TodoPriorityIndex todoPriorityIndex;
+    private final TodoRecurrenceService todoRecurrenceService;
+    private final TodoShards todoShards;
 
     public List<Todo> getAllTodos() {
-        return todoRepository.findAll();
+        return todoNearCache.getList("getAllTodos", null, todoRepository::findAll);
+    }
+
+    /**
+     * Like {@link #getAllTodos()}, followed by the archived todos if {@code includeArchived} is set.
+     */
+    public List<Todo> getAllTodos(boolean includeArchived) {
+        if (!includeArchived) {
+            return getAllTodos();
+        }
+        return todoNearCache.getList("getAllTodosWithArchive", null,
+                () -> withArchived(todoRepository.findAll(), archivedTodoRepository.findAll()));
     }
 
+    /**
+     * Like {@link #getAllTodos(boolean)}, with recurring todos replaced by their occurrences due in
+     * {@code [from, to)}; see {@link TodoRecurrenceService#expand}.
+     */
+    public List<Todo> getAllTodos(boolean includeArchived, LocalDateTime from, LocalDateTime to) {
+        return todoRecurrenceService.expand(getAllTodos(includeArchived), from, to);
+    }
+
+    /**
+     * Falls back to the archive when the todo is not in the hot table, so links to archived todos keep
+     * working without reading the archive for every lookup.
+     */
     public Todo getTodoById(Long id) {
-        return todoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Todo not found with id: " + id));
+        return todoNearCache.getTodo(id, () -> todoRepository.findById(id)
+                .or(() -> archivedTodoRepository.findById(id).map(ArchivedTodo::toTodo))
+                .orElseThrow(() -> notFound(id)));
     }
 
     public List<Todo> getTodosByStatus(boolean completed) {
-        return todoRepository.findByCompleted(completed);
+        return todoNearCache.getList("getTodosByStatus", completed, () -> todoRepository.findByCompleted(completed));
+    }
+
+    /**
+     * Only completed todos are ever archived, so the archive is not read for {@code completed=false}.
+     */
+    public List<Todo> getTodosByStatus(boolean completed, boolean includeArchived) {
+        if (!includeArchived || !completed) {
+            return getTodosByStatus(completed);
+        }
+        return todoNearCache.getList("getTodosByStatusWithArchive", true,
+                () -> withArchived(todoRepository.findByCompleted(true), archivedTodoRepository.findAll()));
+    }
+
+    /**
+     * Like {@link #getTodosByStatus(boolean, boolean)}, with recurring todos replaced by their occurrences
+     * due in {@code [from, to)}. Occurrences that have not been stored are pending, so they are only
+     * returned for {@code completed=false}.
+     */
+    public List<Todo> getTodosByStatus(boolean completed, boolean includeArchived, LocalDateTime from, LocalDateTime to) {
+        return todoRecurrenceService.expand(getTodosByStatus(completed, includeArchived), from, to);
     }
 
     public List<Todo> searchTodos(String title) {
-        return todoRepository.findByTitleContainingIgnoreCase(title);
+        // The search ignores case, so differently-cased terms can share one query.
+        return todoNearCache.getList("searchTodos", title.toLowerCase(Locale.ROOT),
+                () -> todoRepository.findByTitleContainingIgnoreCase(title));
+    }
+
+    public List<Todo> searchTodos(String title, boolean includeArchived) {
+        if (!includeArchived) {
+            return searchTodos(title);
+        }
+        return todoNearCache.getList("searchTodosWithArchive", title.toLowerCase(Locale.ROOT),
+                () -> withArchived(todoRepository.findByTitleContainingIgnoreCase(title),
+                        archivedTodoRepository.findByTitleContainingIgnoreCase(title)));
     }
 
+    public List<Todo> getOverdueTodos() {
+        return getOverdueTodos(null);
+    }
+
+    /**
+     * Stored todos whose due date has passed, and the occurrences of recurring todos that fell due since
+     * {@code since} (by default {@code todo.recurrence.overdue-lookback-days} ago) and were not completed.
+     */
+    public List<Todo> getOverdueTodos(LocalDateTime since) {
+        List<Todo> overdue = new ArrayList<>(todoRepository.findAllById(dueDateScheduler.getOverdueIds()));
+        overdue.addAll(todoRecurrenceService.getOverdueOccurrences(since));
+        overdue.sort(Comparator.comparing(Todo::getDueDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        return overdue;
+    }
+
+    /**
+     * The {@code k} most urgent pending todos, in the order of the {@link TodoPriorityIndex}: highest
+     * priority first, then earliest due date, then oldest. Only those todos are read from the database.
+     *
+     * @throws IllegalArgumentException if {@code k} is not between 1 and {@value #MAX_NEXT_TODOS}
+     */
+    public List<Todo> getNextTodos(int k) {
+        if (k < 1 || k > MAX_NEXT_TODOS) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEXT_TODOS);
+        }
+        List<Long> ids = todoPriorityIndex.top(k);
+        Map<Long, Todo> byId = new HashMap<>();
+        todoRepository.findAllById(ids).forEach(todo -> byId.put(todo.getId(), todo));
+        List<Todo> next = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            // Missing if it was deleted after the ranking was read.
+            Todo todo = byId.get(id);
+            if (todo != null) {
+                next.add(todo);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * The todo with all its subtasks and their progress. A todo outside any hierarchy (including an
+     * archived one) is returned without subtasks.
+     */
+    public TodoTreeNode getSubtree(Long id) {
+        return todoTreeService.getSubtree(id).orElseGet(() -> new TodoTreeNode(getTodoById(id), 0, 0, List.of()));
+    }
+
+    /**
+     * Creates the todo, as a subtask if {@code parentId} is set. The id is always generated; one sent by
+     * the client is dropped, so a create can never overwrite an existing todo. So are {@code seriesId} and
+     * {@code occurrenceDate}: occurrences are only stored by {@link #toggleOccurrence} and
+     * {@link #updateOccurrence}.
+     *
+     * @throws IllegalArgumentException if the parent does not exist, or the todo recurs without a due date
+     */
     @Transactional
     public Todo createTodo(Todo todo) {
-        return todoRepository.save(todo);
+        todo.setId(null);
+        todo.setSeriesId(null);
+        todo.setOccurrenceDate(null);
+        requireValidRecurrence(todo);
+        if (todo.getParentId() != null) {
+            // The subtask's id is drawn on the parent's shard, so both stay on one shard.
+            todoShards.pinShardOf(todo.getParentId());
+            requireParent(todo.getParentId());
+        }
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(saved));
+        return saved;
     }
 
+    /**
+     * Replaces the todo's fields with those of {@code todoDetails}. The parent, and the series of an
+     * occurrence, stay unchanged.
+     *
+     * @throws IllegalArgumentException if the todo would recur without a due date, or is an occurrence and
+     *                                  would recur itself
+     */
     @Transactional
     public Todo updateTodo(Long id, Todo todoDetails) {
-        Todo todo = getTodoById(id);
-        todo.setTitle(todoDetails.getTitle());
-        todo.setDescription(todoDetails.getDescription());
-        todo.setCompleted(todoDetails.isCompleted());
-        todo.setDueDate(todoDetails.getDueDate());
-        return todoRepository.save(todo);
+        Todo todo = findTodo(id);
+        TodoSnapshot before = TodoSnapshot.of(todo);
+        copyDetails(todoDetails, todo);
+        todo.setRecurrence(todoDetails.getRecurrence());
+        requireValidRecurrence(todo);
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(before, saved));
+        return saved;
+    }
+
+    /**
+     * Toggles one occurrence of a recurring todo. An occurrence that has not been stored is pending, so it
+     * is stored completed; a stored one is toggled like any todo.
+     *
+     * @throws IllegalArgumentException if the todo is not recurring, has ended, or has no occurrence due at
+     *                                  {@code occurrenceDate}
+     */
+    @Transactional
+    public Todo toggleOccurrence(Long seriesId, LocalDateTime occurrenceDate) {
+        Todo occurrence = findOccurrence(seriesId, occurrenceDate);
+        if (occurrence.getId() != null) {
+            return toggleTodoStatus(occurrence.getId());
+        }
+        occurrence.setCompleted(true);
+        return saveOccurrence(occurrence);
     }
 
+    /**
+     * Edits one occurrence of a recurring todo like {@link #updateTodo}, storing it first if it has only
+     * been generated so far. The recurring todo and its other occurrences are unchanged.
+     *
+     * @throws IllegalArgumentException as {@link #toggleOccurrence}, or if {@code todoDetails} recurs
+     */
+    @Transactional
+    public Todo updateOccurrence(Long seriesId, LocalDateTime occurrenceDate, Todo todoDetails) {
+        Todo occurrence = findOccurrence(seriesId, occurrenceDate);
+        if (occurrence.getId() != null) {
+            return updateTodo(occurrence.getId(), todoDetails);
+        }
+        copyDetails(todoDetails, occurrence);
+        occurrence.setRecurrence(todoDetails.getRecurrence());
+        requireValidRecurrence(occurrence);
+        return saveOccurrence(occurrence);
+    }
+
+    /**
+     * Deletes the todo together with all its subtasks and, for a recurring todo, its stored occurrences.
+     */
     @Transactional
     public void deleteTodo(Long id) {
-        Todo todo = getTodoById(id);
+        Todo todo = findTodo(id);
+        List<Todo> occurrences = todoRepository.findBySeriesId(id);
+        if (!occurrences.isEmpty()) {
+            todoRepository.deleteAll(occurrences);
+            occurrences.forEach(occurrence -> eventPublisher.publishEvent(TodoChangedEvent.deleted(TodoSnapshot.of(occurrence))));
+        }
+        List<Long> subtaskIds = todoTreeService.getDescendantIds(id);
+        if (!subtaskIds.isEmpty()) {
+            List<Todo> subtasks = todoRepository.findAllById(subtaskIds);
+            todoRepository.deleteAll(subtasks);
+            subtasks.forEach(subtask -> eventPublisher.publishEvent(TodoChangedEvent.deleted(TodoSnapshot.of(subtask))));
+        }
         todoRepository.delete(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(TodoSnapshot.of(todo)));
     }
 
     @Transactional
     public Todo toggleTodoStatus(Long id) {
-        Todo todo = getTodoById(id);
+        Todo todo = findTodo(id);
+        TodoSnapshot before = TodoSnapshot.of(todo);
         todo.setCompleted(!todo.isCompleted());
-        return todoRepository.save(todo);
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.toggled(before, saved));
+        return saved;
+    }
+
+    /**
+     * Makes the todo, with its subtasks, a subtask of {@code parentId}, or a top-level todo if
+     * {@code parentId} is {@code null}. {@link #updateTodo} leaves the parent unchanged.
+     *
+     * @throws IllegalArgumentException if the parent does not exist, is in the todo's own subtree or, with
+     *                                  sharding enabled, is on another shard
+     */
+    @Transactional
+    public Todo moveTodo(Long id, Long parentId) {
+        Todo todo = findTodo(id);
+        if (Objects.equals(todo.getParentId(), parentId)) {
+            return todo;
+        }
+        if (parentId != null) {
+            requireParent(parentId);
+        }
+        TodoSnapshot before = TodoSnapshot.of(todo);
+        todoTreeService.move(id, todo.isCompleted(), parentId);
+        todo.setParentId(parentId);
+        Todo saved = todoRepository.save(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(before, saved));
+        return saved;
+    }
+
+    /**
+     * The stored occurrence of the recurring todo due at {@code occurrenceDate}, or a new unsaved one
+     * generated from it.
+     */
+    private Todo findOccurrence(Long seriesId, LocalDateTime occurrenceDate) {
+        Todo series = findTodo(seriesId);
+        return todoRepository.findBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate).orElseGet(() -> {
+            if (series.getRecurrence() == null) {
+                throw new IllegalArgumentException("Todo " + seriesId + " is not recurring");
+            }
+            if (series.isCompleted()) {
+                throw new IllegalArgumentException("Recurring todo " + seriesId + " has ended");
+            }
+            if (!series.getRecurrence().isOccurrence(series.getDueDate(), occurrenceDate)) {
+                throw new IllegalArgumentException("Todo " + seriesId + " has no occurrence due at " + occurrenceDate);
+            }
+            return TodoRecurrenceService.occurrenceOf(series, occurrenceDate);
+        });
+    }
+
+    /**
+     * Stores a generated occurrence. It is saved within the transaction of its recurring todo, so with
+     * sharding enabled it lands on the same shard.
+     */
+    private Todo saveOccurrence(Todo occurrence) {
+        Todo saved = todoRepository.save(occurrence);
+        eventPublisher.publishEvent(TodoChangedEvent.created(saved));
+        return saved;
+    }
+
+    private static void copyDetails(Todo from, Todo to) {
+        to.setTitle(from.getTitle());
+        to.setDescription(from.getDescription());
+        to.setCompleted(from.isCompleted());
+        to.setPriority(from.getPriority());
+        to.setDueDate(from.getDueDate());
+        to.setTags(from.getTags());
+    }
+
+    /**
+     * A recurring todo's due date is its first occurrence, and occurrences do not recur.
+     */
+    private static void requireValidRecurrence(Todo todo) {
+        if (todo.getRecurrence() == null) {
+            return;
+        }
+        if (todo.getDueDate() == null) {
+            throw new IllegalArgumentException("A recurring todo needs a due date for its first occurrence");
+        }
+        if (todo.getSeriesId() != null) {
+            throw new IllegalArgumentException("An occurrence of a recurring todo cannot recur itself");
+        }
+    }
+
+    /**
+     * Restores an archived parent first, so subtasks can be added to any existing todo.
+     */
+    private void requireParent(Long parentId) {
+        if (!todoRepository.existsById(parentId) && !todoArchiver.restore(parentId)) {
+            throw new IllegalArgumentException("Parent todo not found: " + parentId);
+        }
+    }
+
+    /**
+     * Loads the todo within the caller's transaction; mutations must not use a cached (shared) entity.
+     * An archived todo is restored to the hot table first, so every mutation works on {@code todos}.
+     */
+    private Todo findTodo(Long id) {
+        return todoRepository.findById(id)
+                .or(() -> {
+                    // Re-read even if nothing was restored: a concurrent call may just have restored it.
+                    todoArchiver.restore(id);
+                    return todoRepository.findById(id);
+                })
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private static List<Todo> withArchived(List<Todo> hot, List<ArchivedTodo> archived) {
+        List<Todo> todos = new ArrayList<>(hot.size() + archived.size());
+        todos.addAll(hot);
+        archived.forEach(todo -> todos.add(todo.toTodo()));
+        return todos;
+    }
+
+    private static EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Todo not found with id: " + id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.TodoStats;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.repository.ArchivedTodoRepository;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.scheduler.DueDateScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves {@code GET /api/todos/stats} from counters that are updated on every {@link TodoChangedEvent}
+ * instead of counting rows per request. Counters are striped {@link LongAdder}s so concurrent writers
+ * do not contend, and the whole set is periodically rebuilt from the database to correct any drift
+ * (e.g. from transactions that committed while a reconciliation was reading). Archived todos are
+ * still counted; archiving them changes nothing but the table they live in.
+ */
+@Slf4j
+@Service
+public class TodoStatsService {
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final DueDateScheduler dueDateScheduler;
+    private final Clock clock;
+    private final int historyDays;
+
+    private volatile Counters counters = new Counters();
+    private final Map<LocalDate, LongAdder> completedPerDay = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+
+    @Autowired
+    public TodoStatsService(TodoRepository todoRepository,
+                            ArchivedTodoRepository archivedTodoRepository,
+                            DueDateScheduler dueDateScheduler,
+                            @Value("${todo.stats.history-days:30}") int historyDays) {
+        this(todoRepository, archivedTodoRepository, dueDateScheduler, Clock.systemDefaultZone(), historyDays);
+    }
+
+    TodoStatsService(TodoRepository todoRepository, ArchivedTodoRepository archivedTodoRepository,
+                     DueDateScheduler dueDateScheduler, Clock clock, int historyDays) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.dueDateScheduler = dueDateScheduler;
+        this.clock = clock;
+        this.historyDays = historyDays;
+    }
+
+    public TodoStats getStats() {
+        Counters current = counters;
+        LocalDate today = LocalDate.now(clock);
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        long dueThisWeek = 0;
+        for (LocalDate day = today; !day.isAfter(endOfWeek); day = day.plusDays(1)) {
+            dueThisWeek += sum(current.pendingByDueDay, day);
+        }
+        long total = current.total.sum();
+        long completed = current.completed.sum();
+        return new TodoStats(
+                total,
+                completed,
+                total - completed,
+                dueDateScheduler.getOverdueIds().size(),
+                sum(current.pendingByDueDay, today),
+                dueThisWeek,
+                window(current.createdPerDay, today),
+                window(completedPerDay, today),
+                reconciledAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Counters current = counters;
+        TodoSnapshot before = event.before();
+        TodoSnapshot after = event.after();
+        if (before != null) {
+            current.remove(before);
+        }
+        if (after != null) {
+            current.add(after);
+        }
+        if (event.type() == TodoChangedEvent.ChangeType.CREATED) {
+            LocalDate createdOn = after.createdAt() != null ? after.createdAt().toLocalDate() : LocalDate.now(clock);
+            increment(current.createdPerDay, createdOn, 1);
+        }
+        if (after != null && after.completed() && (before == null || !before.completed())) {
+            increment(completedPerDay, LocalDate.now(clock), 1);
+        }
+    }
+
+    /**
+     * Rebuilds the status, due-date and created-per-day counters from the database. Completions per day
+     * have no backing column and are only pruned to the retention window.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${todo.stats.reconcile-ms:300000}", fixedDelayString = "${todo.stats.reconcile-ms:300000}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate oldest = today.minusDays(historyDays - 1L);
+        Counters rebuilt = new Counters();
+        // Only completed todos are archived.
+        long archived = archivedTodoRepository.count();
+        rebuilt.total.add(todoRepository.count() + archived);
+        rebuilt.completed.add(todoRepository.countByCompleted(true) + archived);
+        for (Object[] row : todoRepository.countPendingByDueDay()) {
+            increment(rebuilt.pendingByDueDay, toLocalDate(row[0]), ((Number) row[1]).longValue());
+        }
+        for (Object[] row : todoRepository.countCreatedByDaySince(oldest.atStartOfDay())) {
+            increment(rebuilt.createdPerDay, toLocalDate(row[0]), ((Number) row[1]).longValue());
+        }
+        for (Object[] row : archivedTodoRepository.countCreatedByDaySince(oldest.atStartOfDay())) {
+            increment(rebuilt.createdPerDay, toLocalDate(row[0]), ((Number) row[1]).longValue());
+        }
+        completedPerDay.keySet().removeIf(day -> day.isBefore(oldest));
+
+        Counters previous = counters;
+        counters = rebuilt;
+        reconciledAt = LocalDateTime.now(clock);
+        long drift = rebuilt.total.sum() - previous.total.sum();
+        if (drift != 0) {
+            log.debug("Reconciled todo stats; total drifted by {}", drift);
+        }
+    }
+
+    private SortedMap<LocalDate, Long> window(Map<LocalDate, LongAdder> perDay, LocalDate today) {
+        LocalDate oldest = today.minusDays(historyDays - 1L);
+        SortedMap<LocalDate, Long> result = new TreeMap<>();
+        perDay.forEach((day, count) -> {
+            if (!day.isBefore(oldest) && !day.isAfter(today)) {
+                result.put(day, count.sum());
+            }
+        });
+        return result;
+    }
+
+    private static long sum(Map<LocalDate, LongAdder> perDay, LocalDate day) {
+        LongAdder count = perDay.get(day);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static void increment(Map<LocalDate, LongAdder> perDay, LocalDate day, long delta) {
+        perDay.computeIfAbsent(day, d -> new LongAdder()).add(delta);
+    }
+
+    private static final class Counters {
+        final LongAdder total = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final Map<LocalDate, LongAdder> pendingByDueDay = new ConcurrentHashMap<>();
+        final Map<LocalDate, LongAdder> createdPerDay = new ConcurrentHashMap<>();
+
+        void add(TodoSnapshot todo) {
+            apply(todo, 1);
+        }
+
+        void remove(TodoSnapshot todo) {
+            apply(todo, -1);
+        }
+
+        private void apply(TodoSnapshot todo, long delta) {
+            total.add(delta);
+            if (todo.completed()) {
+                completed.add(delta);
+            } else if (todo.dueDate() != null) {
+                increment(pendingByDueDay, todo.dueDate().toLocalDate(), delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.index.TagQuery;
+import com.todo.api.index.TodoTagIndex;
+import com.todo.api.model.Todo;
+import com.todo.api.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Serves tag queries: {@link TodoTagIndex} resolves the ids of a page, and only those rows are loaded.
+ * Rows are checked against the query again after loading, since the index is updated after commit and
+ * may briefly lag behind the table; a page can therefore be shorter than {@code size}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoTagService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TodoTagIndex todoTagIndex;
+    private final TodoRepository todoRepository;
+
+    /**
+     * Returns matching todos in id order. {@code cursor} is the {@code nextCursor} of the previous page.
+     */
+    public KeysetPage<Todo> findTagged(TagQuery query, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long after = cursor == null || cursor.isBlank() ? -1 : parseCursor(cursor);
+        // One extra id tells whether there is a next page.
+        long[] ids = todoTagIndex.resolve(query, after, pageSize + 1);
+        boolean hasNext = ids.length > pageSize;
+        List<Long> pageIds = new ArrayList<>(Math.min(ids.length, pageSize));
+        for (int i = 0; i < ids.length && i < pageSize; i++) {
+            pageIds.add(ids[i]);
+        }
+        List<Todo> todos = new ArrayList<>(todoRepository.findAllById(pageIds));
+        todos.removeIf(todo -> !query.matches(todo.getTags(), todo.isCompleted()));
+        todos.sort(Comparator.comparing(Todo::getId));
+        String nextCursor = hasNext ? String.valueOf(pageIds.get(pageIds.size() - 1)) : null;
+        return new KeysetPage<>(todos, nextCursor);
+    }
+
+    public SortedMap<String, Long> getTagCounts() {
+        return todoTagIndex.tagCounts();
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid tag cursor: " + cursor);
+        }
+    }
+}
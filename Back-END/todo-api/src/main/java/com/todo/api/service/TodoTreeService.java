@@ -0,0 +1,278 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.TodoTreeNode;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Priority;
+import com.todo.api.model.RecurrenceConverter;
+import com.todo.api.model.TagSetConverter;
+import com.todo.api.model.Todo;
+import com.todo.api.shard.TodoShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maintains the subtask hierarchy in the {@code todo_tree} closure table, which holds one row per
+ * ancestor/descendant pair (depth 1 for a direct subtask), and the descendant counts in
+ * {@code todo_progress}. A whole subtree is read with one indexed query, and a status change updates
+ * the counts of all ancestors with one statement instead of recounting.
+ * <p>
+ * Tree rows and counts follow {@link TodoChangedEvent}s before commit, in the transaction of the change,
+ * so they cover every write path (single, bulk and PUT) and roll back with it. Moves change the tree
+ * directly through {@link #move}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodoTreeService {
+    static final String ANCESTORS_SQL = "SELECT ancestor_id AS id, depth FROM todo_tree WHERE descendant_id = :id";
+    static final String DESCENDANTS_SQL = "SELECT descendant_id AS id, depth FROM todo_tree WHERE ancestor_id = :id "
+            + "ORDER BY depth, descendant_id";
+    static final String WITH_SUBTASKS_SQL = "SELECT DISTINCT ancestor_id FROM todo_tree WHERE ancestor_id IN (:ids)";
+    static final String LOCK_SQL = "SELECT id FROM todos WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    static final String INSERT_LINK_SQL = "INSERT INTO todo_tree (ancestor_id, descendant_id, depth) "
+            + "VALUES (:ancestorId, :descendantId, :depth)";
+    static final String UNLINK_SQL = "DELETE FROM todo_tree WHERE ancestor_id IN (:ancestors) AND descendant_id IN (:descendants)";
+    static final String DELETE_LINKS_SQL = "DELETE FROM todo_tree WHERE descendant_id = :id OR ancestor_id = :id";
+    static final String PROGRESS_SQL = "SELECT subtasks, completed_subtasks FROM todo_progress WHERE todo_id = :id";
+    static final String INSERT_PROGRESS_SQL = "INSERT INTO todo_progress (todo_id, subtasks, completed_subtasks) "
+            + "VALUES (:id, 0, 0)";
+    static final String DELETE_PROGRESS_SQL = "DELETE FROM todo_progress WHERE todo_id = :id";
+    static final String ADD_PROGRESS_SQL = "UPDATE todo_progress SET subtasks = subtasks + :subtasks, "
+            + "completed_subtasks = completed_subtasks + :completed WHERE todo_id IN (:ids)";
+    static final String ADD_COMPLETED_TO_ANCESTORS_SQL = "UPDATE todo_progress "
+            + "SET completed_subtasks = completed_subtasks + :delta "
+            + "WHERE todo_id IN (SELECT ancestor_id FROM todo_tree WHERE descendant_id = :id)";
+    static final String REMOVE_FROM_ANCESTORS_SQL = "UPDATE todo_progress "
+            + "SET subtasks = subtasks - 1, completed_subtasks = completed_subtasks - :completed "
+            + "WHERE todo_id IN (SELECT ancestor_id FROM todo_tree WHERE descendant_id = :id)";
+    static final String SUBTREE_SQL = "SELECT t.id, t.title, t.description, t.completed, t.priority, t.due_date, t.tags, "
+            + "t.parent_id, t.recurrence, t.series_id, t.occurrence_date, t.created_at, t.updated_at, "
+            + "p.subtasks, p.completed_subtasks "
+            + "FROM (SELECT CAST(:id AS BIGINT) AS node_id, 0 AS depth "
+            + "      UNION ALL SELECT descendant_id, depth FROM todo_tree WHERE ancestor_id = :id) s "
+            + "JOIN todos t ON t.id = s.node_id "
+            + "LEFT JOIN todo_progress p ON p.todo_id = t.id "
+            + "ORDER BY s.depth, t.id";
+
+    private static final RowMapper<Link> LINK_MAPPER = (rs, rowNum) -> new Link(rs.getLong("id"), rs.getInt("depth"));
+
+    private static final RowMapper<TodoTreeNode> NODE_MAPPER = (rs, rowNum) -> {
+        Todo todo = new Todo();
+        todo.setId(rs.getLong("id"));
+        todo.setTitle(rs.getString("title"));
+        todo.setDescription(rs.getString("description"));
+        todo.setCompleted(rs.getBoolean("completed"));
+        todo.setPriority(Priority.valueOf(rs.getString("priority")));
+        todo.setDueDate(rs.getObject("due_date", LocalDateTime.class));
+        todo.setTags(TagSetConverter.parse(rs.getString("tags")));
+        todo.setParentId(rs.getObject("parent_id", Long.class));
+        todo.setRecurrence(RecurrenceConverter.parse(rs.getString("recurrence")));
+        todo.setSeriesId(rs.getObject("series_id", Long.class));
+        todo.setOccurrenceDate(rs.getObject("occurrence_date", LocalDateTime.class));
+        todo.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        todo.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        return new TodoTreeNode(todo, rs.getInt("subtasks"), rs.getInt("completed_subtasks"), new ArrayList<>());
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TodoShards todoShards;
+
+    /**
+     * The todo and all its descendants, each with its direct subtasks in id order, read with one query.
+     * Subtasks are created on their parent's shard, so the subtree is on the todo's shard.
+     *
+     * @return empty if the todo is not in {@code todos}
+     */
+    public Optional<TodoTreeNode> getSubtree(Long id) {
+        List<TodoTreeNode> nodes = todoShards.onShardOf(id,
+                () -> jdbcTemplate.query(SUBTREE_SQL, new MapSqlParameterSource("id", id), NODE_MAPPER));
+        if (nodes.isEmpty()) {
+            return Optional.empty();
+        }
+        // Rows come parents first, so every parent is registered before its subtasks.
+        Map<Long, TodoTreeNode> byId = new HashMap<>();
+        for (TodoTreeNode node : nodes) {
+            byId.put(node.todo().getId(), node);
+            TodoTreeNode parent = byId.get(node.todo().getParentId());
+            if (parent != null) {
+                parent.children().add(node);
+            }
+        }
+        return Optional.of(nodes.get(0));
+    }
+
+    /**
+     * Ids of all descendants of the todo, nearest first.
+     */
+    public List<Long> getDescendantIds(Long id) {
+        return links(DESCENDANTS_SQL, id).stream().map(Link::id).toList();
+    }
+
+    /**
+     * Those of the given todos that have at least one subtask.
+     */
+    public Set<Long> withSubtasks(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(WITH_SUBTASKS_SQL, new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    /**
+     * Re-links the todo and its subtree under {@code newParentId} ({@code null} for top level) and moves
+     * their counts from the old ancestors to the new ones. Must run inside the caller's transaction,
+     * which also updates {@code parent_id}.
+     * <p>
+     * The todo, the new parent and the new parent's ancestors are locked first, so two moves that could
+     * together form a cycle are serialized and the second one sees the first.
+     *
+     * @throws IllegalArgumentException if the new parent is the todo itself or one of its descendants,
+     *                                  or no longer exists
+     */
+    public void move(Long id, boolean completed, Long newParentId) {
+        Set<Long> toLock = new TreeSet<>();
+        toLock.add(id);
+        if (newParentId != null) {
+            toLock.add(newParentId);
+            links(ANCESTORS_SQL, newParentId).forEach(link -> toLock.add(link.id()));
+        }
+        List<Long> locked = jdbcTemplate.queryForList(LOCK_SQL, new MapSqlParameterSource("ids", toLock), Long.class);
+        if (newParentId != null && !locked.contains(newParentId)) {
+            throw new IllegalArgumentException("Parent todo not found: " + newParentId);
+        }
+
+        List<Link> oldAncestors = links(ANCESTORS_SQL, id);
+        List<Link> descendants = links(DESCENDANTS_SQL, id);
+        if (newParentId != null && (id.equals(newParentId)
+                || descendants.stream().anyMatch(link -> newParentId.equals(link.id())))) {
+            throw new IllegalArgumentException("Cannot move todo " + id + " under itself or one of its subtasks");
+        }
+        List<Link> subtree = new ArrayList<>(descendants.size() + 1);
+        subtree.add(new Link(id, 0));
+        subtree.addAll(descendants);
+        int subtasks = subtree.size();
+        int completedSubtasks = (completed ? 1 : 0) + completedDescendants(id);
+
+        if (!oldAncestors.isEmpty()) {
+            List<Long> ancestorIds = oldAncestors.stream().map(Link::id).toList();
+            addProgress(ancestorIds, -subtasks, -completedSubtasks);
+            jdbcTemplate.update(UNLINK_SQL, new MapSqlParameterSource("ancestors", ancestorIds)
+                    .addValue("descendants", subtree.stream().map(Link::id).toList()));
+        }
+        if (newParentId != null) {
+            List<Link> newAncestors = new ArrayList<>(links(ANCESTORS_SQL, newParentId));
+            newAncestors.add(new Link(newParentId, 0));
+            ensureProgress(newParentId);
+            insertLinks(newAncestors, subtree);
+            addProgress(newAncestors.stream().map(Link::id).toList(), subtasks, completedSubtasks);
+        }
+        log.debug("Moved todo {} and {} subtasks under {}", id, descendants.size(), newParentId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoSnapshot before = event.before();
+        TodoSnapshot after = event.after();
+        switch (event.type()) {
+            case CREATED -> {
+                if (after.parentId() != null) {
+                    link(after);
+                }
+            }
+            case UPDATED, TOGGLED -> {
+                if (before.completed() != after.completed()) {
+                    jdbcTemplate.update(ADD_COMPLETED_TO_ANCESTORS_SQL, new MapSqlParameterSource("id", after.id())
+                            .addValue("delta", after.completed() ? 1 : -1));
+                }
+            }
+            case DELETED -> unlink(before);
+            // Todos in a hierarchy are never archived.
+            case ARCHIVED -> {
+            }
+        }
+    }
+
+    private void link(TodoSnapshot todo) {
+        Long parentId = todo.parentId();
+        if (jdbcTemplate.queryForList(LOCK_SQL, new MapSqlParameterSource("ids", List.of(parentId)), Long.class).isEmpty()) {
+            throw new IllegalArgumentException("Parent todo not found: " + parentId);
+        }
+        List<Link> ancestors = new ArrayList<>(links(ANCESTORS_SQL, parentId));
+        ancestors.add(new Link(parentId, 0));
+        ensureProgress(parentId);
+        insertLinks(ancestors, List.of(new Link(todo.id(), 0)));
+        addProgress(ancestors.stream().map(Link::id).toList(), 1, todo.completed() ? 1 : 0);
+    }
+
+    private void unlink(TodoSnapshot todo) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", todo.id())
+                .addValue("completed", todo.completed() ? 1 : 0);
+        jdbcTemplate.update(REMOVE_FROM_ANCESTORS_SQL, params);
+        jdbcTemplate.update(DELETE_LINKS_SQL, params);
+        jdbcTemplate.update(DELETE_PROGRESS_SQL, params);
+    }
+
+    /**
+     * Links every node of {@code subtree} (depths relative to its root) below every node of
+     * {@code ancestors} (depths relative to the new parent, which has depth 0).
+     */
+    private void insertLinks(List<Link> ancestors, List<Link> subtree) {
+        SqlParameterSource[] rows = new SqlParameterSource[ancestors.size() * subtree.size()];
+        int i = 0;
+        for (Link ancestor : ancestors) {
+            for (Link descendant : subtree) {
+                rows[i++] = new MapSqlParameterSource("ancestorId", ancestor.id())
+                        .addValue("descendantId", descendant.id())
+                        .addValue("depth", ancestor.depth() + descendant.depth() + 1);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINK_SQL, rows);
+    }
+
+    /**
+     * Creates the parent's counts when it gets its first subtask; the caller holds the parent's row lock.
+     */
+    private void ensureProgress(Long id) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        if (jdbcTemplate.queryForList(PROGRESS_SQL, params).isEmpty()) {
+            jdbcTemplate.update(INSERT_PROGRESS_SQL, params);
+        }
+    }
+
+    private void addProgress(List<Long> ids, int subtasks, int completed) {
+        jdbcTemplate.update(ADD_PROGRESS_SQL, new MapSqlParameterSource("ids", ids)
+                .addValue("subtasks", subtasks)
+                .addValue("completed", completed));
+    }
+
+    private int completedDescendants(Long id) {
+        List<Integer> completed = jdbcTemplate.query(PROGRESS_SQL, new MapSqlParameterSource("id", id),
+                (rs, rowNum) -> rs.getInt("completed_subtasks"));
+        return completed.isEmpty() ? 0 : completed.get(0);
+    }
+
+    private List<Link> links(String sql, Long id) {
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("id", id), LINK_MAPPER);
+    }
+
+    private record Link(long id, int depth) {
+    }
+}
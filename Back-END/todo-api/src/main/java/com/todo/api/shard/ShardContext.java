@@ -0,0 +1,70 @@
+package com.todo.api.shard;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's statements go to, read by {@link ShardRoutingDataSource} when a
+ * connection is first used. {@code null} means the default shard 0.
+ * <p>
+ * Within a transaction the shard is pinned by the first routed call and stays until the transaction
+ * completes: the connection is bound to the transaction, so later statements cannot move elsewhere.
+ * A pinned shard only says where the transaction's connection is; code that means to work on one shard
+ * runs inside {@link #call}, which {@link #isScoped()} reports.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> SCOPES = ThreadLocal.withInitial(() -> 0);
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Whether the current code runs inside {@link #call}, on a shard chosen on purpose.
+     */
+    public static boolean isScoped() {
+        return SCOPES.get() > 0;
+    }
+
+    /**
+     * Runs {@code action} with its statements on {@code shard} and restores the previous shard.
+     */
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        SCOPES.set(SCOPES.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            SCOPES.set(SCOPES.get() - 1);
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Sends the rest of the current transaction to {@code shard}. Does nothing outside a transaction,
+     * where there is nothing to clear the shard afterwards.
+     */
+    static void pin(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        CURRENT.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                CURRENT.remove();
+            }
+        });
+    }
+}
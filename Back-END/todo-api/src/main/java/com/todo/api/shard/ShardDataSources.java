@@ -0,0 +1,30 @@
+package com.todo.api.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The connection pools of the shards, in shard order. Closed with the application context.
+ */
+public class ShardDataSources implements AutoCloseable {
+    private final List<HikariDataSource> dataSources;
+
+    public ShardDataSources(List<HikariDataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+
+    public List<DataSource> all() {
+        return List.copyOf(dataSources);
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,252 @@
+package com.todo.api.shard;
+
+import com.todo.api.model.ArchivedTodo;
+import com.todo.api.model.Todo;
+import com.todo.api.repository.TodoDueDate;
+import com.todo.api.repository.ArchivedTodoRepository;
+import com.todo.api.repository.TodoHistoryRepository;
+import com.todo.api.repository.TodoRanking;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.repository.TodoTags;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Routes repository calls to the shard of the todo they are about:
+ * <ul>
+ *   <li>calls by todo id ({@code findById}, {@code findByTodoId...}, {@code findBySeriesId...}) and saves
+ *       or deletes of an entity go to that todo's shard; inside a transaction the first one pins the
+ *       transaction to its shard and a later one for another shard fails with
+ *       {@link IllegalArgumentException};</li>
+ *   <li>calls with a collection of ids or entities are split by shard and run on each, unless they all
+ *       fall on one shard;</li>
+ *   <li>everything else (lists, status and title queries, counts) is scattered to every shard and the
+ *       results are merged: todos in id order, which is creation order, counts added up. Inside
+ *       {@link TodoShards#onShardOf} or {@link TodoShards#onShards} it runs on that one shard, as the
+ *       caller asked; inside a transaction it fails, since a transaction only sees its own shard.</li>
+ * </ul>
+ * The pointcut matches every Spring Data repository and filters by type here: {@code this(TodoRepository)}
+ * would not match the methods inherited from {@code CrudRepository}, such as {@code findById} and
+ * {@code save}.
+ * Saving a new todo is not routed here; its id, and with it the shard, is chosen by
+ * {@link TodoShards#nextId()} when Hibernate persists it.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "todo.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+    private static final Comparator<Object> BY_ID = Comparator.comparing(ShardRoutingAspect::idOf,
+            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final TodoShards todoShards;
+
+    @Around("execution(public * *(..)) && this(org.springframework.data.repository.Repository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object repository = joinPoint.getThis();
+        if (!(repository instanceof TodoRepository || repository instanceof ArchivedTodoRepository
+                || repository instanceof TodoHistoryRepository)) {
+            return joinPoint.proceed();
+        }
+        if (!Repository.class.isAssignableFrom(joinPoint.getSignature().getDeclaringType())) {
+            // equals, hashCode, toString
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Object[] args = joinPoint.getArgs();
+        Object first = args.length > 0 ? args[0] : null;
+        boolean keyedByTodoId = !(repository instanceof TodoHistoryRepository);
+
+        if (first instanceof Long id && (method.startsWith("findByTodoId") || method.startsWith("findBySeriesId")
+                || keyedByTodoId && method.endsWith("ById"))) {
+            return onShard(todoShards.shardOf(id), joinPoint, method);
+        }
+        if (first instanceof Todo || first instanceof ArchivedTodo) {
+            Long id = idOf(first);
+            return id == null ? joinPoint.proceed() : onShard(todoShards.shardOf(id), joinPoint, method);
+        }
+        if (first instanceof Iterable<?> items) {
+            return split(items, joinPoint, method);
+        }
+        if (first != null && !keyedByTodoId && method.startsWith("save")) {
+            return joinPoint.proceed();
+        }
+        return scatter(joinPoint, method);
+    }
+
+    private Object onShard(int shard, ProceedingJoinPoint joinPoint, String method) throws Throwable {
+        Integer current = ShardContext.current();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (current == null) {
+                ShardContext.pin(shard);
+            } else if (current != shard) {
+                throw new IllegalArgumentException("Cannot " + method + " a todo on shard " + shard
+                        + " in a transaction on shard " + current + "; todos on different shards cannot change together");
+            }
+            return joinPoint.proceed();
+        }
+        if (current != null && current == shard) {
+            return joinPoint.proceed();
+        }
+        return proceedOn(shard, joinPoint, joinPoint.getArgs());
+    }
+
+    private Object split(Iterable<?> items, ProceedingJoinPoint joinPoint, String method) throws Throwable {
+        Map<Integer, List<Object>> byShard = new TreeMap<>();
+        for (Object item : items) {
+            Long id = idOf(item);
+            if (id == null) {
+                // New entities: their ids, and shards, are assigned on persist.
+                return joinPoint.proceed();
+            }
+            byShard.computeIfAbsent(todoShards.shardOf(id), shard -> new ArrayList<>()).add(item);
+        }
+        if (byShard.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        if (byShard.size() == 1) {
+            return onShard(byShard.keySet().iterator().next(), joinPoint, method);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(method + " spans shards " + byShard.keySet()
+                    + " and cannot run inside one transaction");
+        }
+        List<Object> parts = proceedOnEach(List.copyOf(byShard.keySet()), joinPoint, shard -> {
+            Object[] args = joinPoint.getArgs().clone();
+            args[0] = byShard.get(shard);
+            return args;
+        });
+        return merge(parts, ((MethodSignature) joinPoint.getSignature()).getReturnType());
+    }
+
+    private Object scatter(ProceedingJoinPoint joinPoint, String method) throws Throwable {
+        if (ShardContext.isScoped()) {
+            // The caller chose the shard, for example one branch of a per-shard operation.
+            return joinPoint.proceed();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Running on the pinned shard would quietly return only that shard's rows.
+            throw new IllegalStateException(method + " reads every shard and cannot run inside a transaction");
+        }
+        List<Object> parts = proceedOnEach(todoShards.all(), joinPoint,
+                shard -> joinPoint.getArgs().clone());
+        return merge(parts, ((MethodSignature) joinPoint.getSignature()).getReturnType());
+    }
+
+    private List<Object> proceedOnEach(List<Integer> shards, ProceedingJoinPoint joinPoint,
+                                       IntFunction<Object[]> args) throws Throwable {
+        try {
+            // proceed(args) runs a copy of the invocation, so the branches can proceed concurrently.
+            return todoShards.onShards(shards, shard -> {
+                try {
+                    return joinPoint.proceed(args.apply(shard));
+                } catch (Throwable e) {
+                    throw new ProceedFailure(e);
+                }
+            });
+        } catch (ProceedFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object proceedOn(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        try {
+            return ShardContext.call(shard, () -> {
+                try {
+                    return joinPoint.proceed(args);
+                } catch (Throwable e) {
+                    throw new ProceedFailure(e);
+                }
+            });
+        } catch (ProceedFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    static Object merge(List<Object> parts, Class<?> type) {
+        if (type == void.class) {
+            return null;
+        }
+        if (type == long.class || type == Long.class) {
+            return parts.stream().mapToLong(part -> (Long) part).sum();
+        }
+        if (type == int.class || type == Integer.class) {
+            return parts.stream().mapToInt(part -> (Integer) part).sum();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return parts.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (type == Optional.class) {
+            return parts.stream().map(part -> (Optional<?>) part).filter(Optional::isPresent).findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (type.isAssignableFrom(List.class)) {
+            List<Object> merged = new ArrayList<>();
+            parts.forEach(part -> ((Iterable<?>) part).forEach(merged::add));
+            if (!merged.isEmpty() && merged.get(0) instanceof Object[]) {
+                return mergeCounts(merged);
+            }
+            merged.sort(BY_ID);
+            return merged;
+        }
+        throw new IllegalStateException("Cannot merge " + type.getName() + " results of several shards");
+    }
+
+    /**
+     * Adds up {@code [key, count]} rows of grouped count queries that have the same key.
+     */
+    private static List<Object[]> mergeCounts(List<Object> rows) {
+        Map<Object, Long> counts = new LinkedHashMap<>();
+        for (Object row : rows) {
+            Object[] values = (Object[]) row;
+            counts.merge(values[0], ((Number) values[1]).longValue(), Long::sum);
+        }
+        List<Object[]> merged = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> merged.add(new Object[]{key, count}));
+        return merged;
+    }
+
+    private static Long idOf(Object item) {
+        if (item instanceof Long id) {
+            return id;
+        }
+        if (item instanceof Todo todo) {
+            return todo.getId();
+        }
+        if (item instanceof ArchivedTodo archived) {
+            return archived.getId();
+        }
+        if (item instanceof TodoDueDate dueDate) {
+            return dueDate.getId();
+        }
+        if (item instanceof TodoTags tags) {
+            return tags.getId();
+        }
+        if (item instanceof TodoRanking ranking) {
+            return ranking.getId();
+        }
+        return null;
+    }
+
+    private static final class ProceedFailure extends RuntimeException {
+        ProceedFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.todo.api.shard;
+
+import com.todo.api.model.TodoIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+@Configuration
+public class ShardingConfig {
+
+    /**
+     * Todo ids come from {@link TodoShards#nextId()}, whether or not sharding is enabled.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer todoIdSource(TodoShards todoShards) {
+        return properties -> properties.put(TodoIdGenerator.ID_SOURCE, (LongSupplier) todoShards::nextId);
+    }
+
+    /**
+     * One pool per {@code todo.sharding.urls} entry, each initialized from {@code schema.sql}, behind a
+     * single routing data source. Hibernate DDL and {@code data.sql} would only reach shard 0, so the
+     * {@code sharded} profile turns both off.
+     */
+    @Slf4j
+    @Configuration
+    @ConditionalOnProperty(name = "todo.sharding.enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+
+        @Bean
+        public ShardDataSources shardDataSources(@Value("${todo.sharding.urls}") List<String> urls,
+                                                 DataSourceProperties properties) {
+            List<HikariDataSource> shards = new ArrayList<>(urls.size());
+            ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+            for (String url : urls) {
+                HikariDataSource shard = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(url.trim())
+                        .username(properties.determineUsername())
+                        .password(properties.determinePassword())
+                        .build();
+                shard.setPoolName("todo-shard-" + shards.size());
+                schema.execute(shard);
+                shards.add(shard);
+            }
+            log.info("Sharded persistence over {} databases", shards.size());
+            return new ShardDataSources(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources) {
+            return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.all()));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.todo.api.shard;
+
+import com.todo.api.model.TsidGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Where todos live: shard {@code hash(id) mod count}. A todo's archive, subtree, progress, history and
+ * invalidation rows are kept on the same shard, so everything about one todo is one database away.
+ * Without {@code todo.sharding.enabled} there is one shard and every method runs its action directly.
+ * <p>
+ * Also the source of todo ids. A new todo in a transaction that is already pinned to a shard gets an
+ * id that hashes to that shard; {@code TodoService} pins a subtask's transaction to its parent's shard
+ * with {@link #pinShardOf} before saving it, which keeps subtasks next to their parent.
+ */
+@Slf4j
+@Component
+public class TodoShards {
+    private final int count;
+    private final TsidGenerator tsids;
+    private final ExecutorService scatter;
+
+    @Autowired
+    public TodoShards(@Value("${todo.sharding.enabled:false}") boolean enabled,
+                      @Value("${todo.sharding.urls:}") List<String> urls,
+                      @Value("${todo.id.node-id:-1}") int nodeId) {
+        this(enabled ? Math.max(1, urls.size()) : 1,
+                new TsidGenerator(nodeId >= 0 ? nodeId : ThreadLocalRandom.current().nextInt(TsidGenerator.MAX_NODE_ID + 1)));
+        if (nodeId < 0) {
+            log.info("todo.id.node-id is not set; generating todo ids as node {}", tsids.nodeId());
+        }
+    }
+
+    TodoShards(int count, TsidGenerator tsids) {
+        this.count = count;
+        this.tsids = tsids;
+        this.scatter = count > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    /**
+     * A single shard, for tests that construct components by hand.
+     */
+    public static TodoShards single() {
+        return new TodoShards(1, new TsidGenerator(0));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scatter != null) {
+            scatter.shutdownNow();
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * The shard numbers, {@code 0} to {@code count() - 1}.
+     */
+    public List<Integer> all() {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    public int shardOf(long id) {
+        return count == 1 ? 0 : Math.floorMod(mix(id), count);
+    }
+
+    /**
+     * A new todo id. Outside a pinned transaction the transaction is pinned to the new id's shard, so
+     * the insert goes there.
+     */
+    public long nextId() {
+        long id = tsids.next();
+        if (count == 1) {
+            return id;
+        }
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            ShardContext.pin(shardOf(id));
+            return id;
+        }
+        // About count ids are drawn per match; each draw only costs a sequence step.
+        while (shardOf(id) != shard) {
+            id = tsids.next();
+        }
+        return id;
+    }
+
+    /**
+     * Sends the rest of the current transaction to the shard of todo {@code id}, so todos created in it
+     * get ids on that shard. Does nothing outside a transaction.
+     *
+     * @throws IllegalArgumentException if the transaction is already pinned to another shard
+     */
+    public void pinShardOf(long id) {
+        if (count == 1) {
+            return;
+        }
+        int shard = shardOf(id);
+        Integer current = ShardContext.current();
+        if (current == null) {
+            ShardContext.pin(shard);
+        } else if (current != shard) {
+            throw new IllegalArgumentException("Todo " + id + " is on shard " + shard
+                    + ", not on shard " + current + " of the current transaction");
+        }
+    }
+
+    public <T> T onShardOf(long id, Supplier<T> action) {
+        return count == 1 ? action.get() : ShardContext.call(shardOf(id), action);
+    }
+
+    /**
+     * Runs {@code action} once per shard, in parallel, and returns the results in shard order.
+     */
+    public <T> List<T> onEachShard(Supplier<T> action) {
+        return onShards(all(), shard -> action.get());
+    }
+
+    /**
+     * Runs {@code action} on each of {@code shards}, in parallel when there are several, and returns the
+     * results in the same order. Each call gets its own connections and transactions.
+     */
+    public <T> List<T> onShards(Collection<Integer> shards, IntFunction<T> action) {
+        if (count == 1) {
+            return shards.stream().map(shard -> action.apply(shard)).toList();
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(scatter.submit(() -> ShardContext.call(shard, () -> action.apply(shard))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Murmur3's 64-bit finalizer: spreads the time-ordered ids evenly over the shards.
+     */
+    private static int mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
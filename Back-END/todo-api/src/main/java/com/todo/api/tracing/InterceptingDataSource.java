@@ -0,0 +1,129 @@
+package com.todo.api.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections whose statements run every {@code execute*} call through the
+ * {@link StatementInterceptor}s. Everything else, including {@code unwrap}, goes straight to the pool's
+ * objects, so only statement execution pays for the indirection.
+ */
+public class InterceptingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Supplier<List<StatementInterceptor>> interceptors;
+
+    /**
+     * @param interceptors looked up on every statement, so interceptor beans may be created after the
+     *                     data source
+     */
+    public InterceptingDataSource(DataSource target, Supplier<List<StatementInterceptor>> interceptors) {
+        super(target);
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return intercept(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return intercept(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection intercept(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private Object execute(String sql, Statement statement, Method method, Object[] args) throws Throwable {
+        List<StatementInterceptor> chain = interceptors.get();
+        if (chain.isEmpty()) {
+            return invoke(statement, method, args);
+        }
+        return proceed(chain, 0, sql, () -> {
+            try {
+                return invoke(statement, method, args);
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // execute* methods only declare SQLException
+                throw new SQLException(e);
+            }
+        });
+    }
+
+    private static Object proceed(List<StatementInterceptor> chain, int index, String sql,
+                                  StatementInterceptor.Execution statement) throws SQLException {
+        if (index == chain.size()) {
+            return statement.proceed();
+        }
+        return chain.get(index).intercept(sql, () -> proceed(chain, index + 1, sql, statement));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InterceptingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statementProxy(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statementProxy(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statementProxy(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object statementProxy(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(InterceptingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return InterceptingDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            return execute(sql != null ? sql : "", target, method, args);
+        }
+    }
+}
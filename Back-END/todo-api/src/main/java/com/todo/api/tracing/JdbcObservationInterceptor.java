@@ -0,0 +1,60 @@
+package com.todo.api.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Observes each JDBC statement as a {@code todo.jdbc} span. Only statements that run inside another
+ * observation (an HTTP request, a controller or service call) are observed; background polling such as
+ * the JDBC invalidation bus would otherwise start a root trace every few hundred milliseconds.
+ */
+@Component
+public class JdbcObservationInterceptor implements StatementInterceptor {
+    static final String NAME = "todo.jdbc";
+    static final int MAX_STATEMENT_LENGTH = 2048;
+
+    private final ObservationRegistry observationRegistry;
+
+    public JdbcObservationInterceptor(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object intercept(String sql, Execution execution) throws SQLException {
+        if (observationRegistry.getCurrentObservation() == null) {
+            return execution.proceed();
+        }
+        String operation = operation(sql);
+        Observation observation = Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName("jdbc " + operation)
+                .lowCardinalityKeyValue(KeyValue.of("db.operation", operation))
+                .highCardinalityKeyValue(KeyValue.of("db.statement",
+                        sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return execution.proceed();
+        } catch (SQLException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * First keyword of the statement, lower case: {@code select}, {@code insert}, {@code merge}...
+     */
+    static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "statement" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,115 @@
+package com.todo.api.tracing;
+
+import com.todo.api.dto.TraceSpan;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Default span exporter: keeps the last {@code todo.tracing.recent-spans} finished spans in memory for
+ * {@code /api/admin/traces} and logs each one at DEBUG. Spring Boot adds it next to the OTLP exporter
+ * when {@code management.otlp.tracing.endpoint} is set.
+ */
+@Slf4j
+@Component
+public class RecentSpanExporter implements SpanExporter {
+    private final int capacity;
+    private final ArrayDeque<SpanData> spans;
+
+    public RecentSpanExporter(@Value("${todo.tracing.recent-spans:2000}") int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        synchronized (spans) {
+            for (SpanData span : batch) {
+                if (spans.size() == capacity) {
+                    spans.pollFirst();
+                }
+                spans.addLast(span);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            batch.forEach(span -> log.debug("Span {} trace={} span={} parent={} {}us",
+                    span.getName(), span.getTraceId(), span.getSpanId(), span.getParentSpanId(),
+                    (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000));
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Root spans of the most recent traces, newest first. A span counts as a root when its parent came
+     * from another service or it has none.
+     */
+    public List<TraceSpan> recentTraces(int limit) {
+        List<TraceSpan> roots = new ArrayList<>();
+        synchronized (spans) {
+            var newestFirst = spans.descendingIterator();
+            while (newestFirst.hasNext() && roots.size() < limit) {
+                SpanData span = newestFirst.next();
+                if (!span.getParentSpanContext().isValid() || span.getParentSpanContext().isRemote()) {
+                    roots.add(toTraceSpan(span));
+                }
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Spans of one trace that are still in memory, in start order.
+     */
+    public List<TraceSpan> trace(String traceId) {
+        List<SpanData> matching = new ArrayList<>();
+        synchronized (spans) {
+            for (SpanData span : spans) {
+                if (span.getTraceId().equals(traceId)) {
+                    matching.add(span);
+                }
+            }
+        }
+        return matching.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(RecentSpanExporter::toTraceSpan)
+                .toList();
+    }
+
+    private static TraceSpan toTraceSpan(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return new TraceSpan(
+                span.getTraceId(),
+                span.getSpanId(),
+                span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                span.getName(),
+                span.getKind().name(),
+                Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000,
+                span.getStatus().getStatusCode() == StatusCode.ERROR,
+                attributes);
+    }
+}
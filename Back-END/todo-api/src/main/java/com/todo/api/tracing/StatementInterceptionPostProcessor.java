@@ -0,0 +1,37 @@
+package com.todo.api.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps every {@link DataSource} bean in an {@link InterceptingDataSource}. The interceptors are looked
+ * up once all singletons exist; statements run before that (schema initialization, Hibernate bootstrap)
+ * are not intercepted.
+ */
+@Component
+public class StatementInterceptionPostProcessor implements BeanPostProcessor, SmartInitializingSingleton {
+    private final ObjectProvider<StatementInterceptor> interceptorProvider;
+    private volatile List<StatementInterceptor> interceptors = List.of();
+
+    public StatementInterceptionPostProcessor(ObjectProvider<StatementInterceptor> interceptorProvider) {
+        this.interceptorProvider = interceptorProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InterceptingDataSource)) {
+            return new InterceptingDataSource(dataSource, () -> interceptors);
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        interceptors = interceptorProvider.orderedStream().toList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.todo.api.tracing;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps the execution of every JDBC statement run through an {@link InterceptingDataSource}. Interceptors
+ * are applied in {@link org.springframework.core.annotation.Order order}, the first one outermost.
+ */
+@FunctionalInterface
+public interface StatementInterceptor {
+
+    /**
+     * @param sql the statement text; for a batch, the prepared statement's text
+     * @param execution runs the next interceptor or, for the last one, the statement itself
+     * @return whatever {@code execution.proceed()} returned
+     */
+    Object intercept(String sql, Execution execution) throws SQLException;
+
+    @FunctionalInterface
+    interface Execution {
+        Object proceed() throws SQLException;
+    }
+}
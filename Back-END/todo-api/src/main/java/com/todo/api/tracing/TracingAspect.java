@@ -0,0 +1,58 @@
+package com.todo.api.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes {@code TodoController} handlers as {@code todo.controller} observations and {@code TodoService}
+ * methods as {@code todo.service} observations, with the contextual name {@code Class.method}. The
+ * tracing handler lower-hyphenates span names, so the spans are named like
+ * {@code todo-service.create-todo}. Ordered ahead of the transaction advice, so a service span also
+ * covers the Hibernate flush and commit at the end of the method.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+    private final ObservationRegistry observationRegistry;
+
+    public TracingAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(public * com.todo.api.controller.TodoController.*(..))")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("todo.controller", "TodoController", joinPoint);
+    }
+
+    @Around("execution(public * com.todo.api.service.TodoService.*(..))")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("todo.service", "TodoService", joinPoint);
+    }
+
+    private Object observe(String name, String type, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (observationRegistry.isNoop()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(type + "." + method)
+                .lowCardinalityKeyValue(KeyValue.of("code.function", method))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -3,7 +3,70 @@ CREATE TABLE IF NOT EXISTS todos (
     title VARCHAR(100) NOT NULL,
     description VARCHAR(500),
     completed BOOLEAN DEFAULT FALSE,
+    priority VARCHAR(10) DEFAULT 'MEDIUM' NOT NULL,
     due_date TIMESTAMP,
+    tags VARCHAR(400),
+    parent_id BIGINT,
+    recurrence VARCHAR(60),
+    series_id BIGINT,
+    occurrence_date TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
\ No newline at end of file
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_todos_series_occurrence UNIQUE (series_id, occurrence_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todos_completed_due_date ON todos (completed, due_date);
+CREATE INDEX IF NOT EXISTS idx_todos_completed_updated_at ON todos (completed, updated_at);
+CREATE INDEX IF NOT EXISTS idx_todos_created_at ON todos (created_at);
+CREATE INDEX IF NOT EXISTS idx_todos_parent_id ON todos (parent_id);
+
+CREATE TABLE IF NOT EXISTS todo_tree (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tree_descendant_id ON todo_tree (descendant_id);
+
+CREATE TABLE IF NOT EXISTS todo_progress (
+    todo_id BIGINT PRIMARY KEY,
+    subtasks INT NOT NULL,
+    completed_subtasks INT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS todos_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    completed BOOLEAN DEFAULT TRUE,
+    priority VARCHAR(10) DEFAULT 'MEDIUM' NOT NULL,
+    due_date TIMESTAMP,
+    tags VARCHAR(400),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS todo_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    todo_id BIGINT NOT NULL,
+    action VARCHAR(20) NOT NULL,
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL,
+    title VARCHAR(100),
+    description VARCHAR(500),
+    completed BOOLEAN,
+    due_date TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_history_todo_id ON todo_history (todo_id, id);
+
+CREATE TABLE IF NOT EXISTS todo_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    origin VARCHAR(64) NOT NULL,
+    todo_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_invalidations_created_at ON todo_invalidations (created_at);
@@ -0,0 +1,152 @@
+package com.todo.api.cache;
+
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Todo;
+import com.todo.api.service.RequestCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo Near Cache Tests")
+class TodoNearCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-09-14T10:00:00Z"));
+    private final LoopbackInvalidationBus bus = new LoopbackInvalidationBus();
+    private TodoNearCache nodeA;
+    private TodoNearCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = node("node-a");
+        nodeB = node("node-b");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache")
+    void getTodo_ShouldLoadOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        nodeA.getTodo(1L, () -> todo(1L, "v" + loads.incrementAndGet()));
+        Todo second = nodeA.getTodo(1L, () -> todo(1L, "v" + loads.incrementAndGet()));
+
+        // Then
+        assertEquals("v1", second.getTitle());
+        assertEquals(1, loads.get());
+        assertEquals(1, nodeA.getStats().hits());
+        assertEquals(1, nodeA.getStats().misses());
+    }
+
+    @Test
+    @DisplayName("Should evict a todo and all list results on other nodes when it changes")
+    void onTodoChanged_ShouldInvalidateOtherNodes() {
+        // Given: both nodes cached version 1
+        nodeA.getTodo(1L, () -> todo(1L, "v1"));
+        nodeB.getTodo(1L, () -> todo(1L, "v1"));
+        nodeB.getList("getAllTodos", null, () -> List.of(todo(1L, "v1")));
+
+        // When: node A commits a change
+        nodeA.onTodoChanged(TodoChangedEvent.updated(TodoSnapshot.of(todo(1L, "v1")), todo(1L, "v2")));
+
+        // Then
+        assertEquals("v2", nodeB.getTodo(1L, () -> todo(1L, "v2")).getTitle());
+        assertEquals("v2", nodeB.getList("getAllTodos", null, () -> List.of(todo(1L, "v2"))).get(0).getTitle());
+        assertEquals(1, nodeA.getStats().invalidationsSent());
+        assertEquals(0, nodeA.getStats().invalidationsReceived());
+        assertEquals(1, nodeB.getStats().invalidationsReceived());
+        assertEquals(1, nodeB.getStats().lastSequence());
+    }
+
+    @Test
+    @DisplayName("Should not store a value that was read before a concurrent invalidation")
+    void getTodo_WhenInvalidatedDuringLoad_ShouldNotCacheStaleValue() {
+        // Given: node B's read races with a write committed on node A
+        Todo stale = nodeB.getTodo(1L, () -> {
+            Todo old = todo(1L, "v1");
+            nodeA.onTodoChanged(TodoChangedEvent.updated(TodoSnapshot.of(old), todo(1L, "v2")));
+            return old;
+        });
+
+        // When
+        Todo next = nodeB.getTodo(1L, () -> todo(1L, "v2"));
+
+        // Then
+        assertEquals("v1", stale.getTitle());
+        assertEquals("v2", next.getTitle());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL even without an invalidation")
+    void getTodo_AfterTtl_ShouldReload() {
+        // Given
+        nodeB.getTodo(1L, () -> todo(1L, "v1"));
+
+        // When
+        clock.advanceMillis(30_000);
+
+        // Then
+        assertEquals("v2", nodeB.getTodo(1L, () -> todo(1L, "v2")).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should return read-only list results")
+    void getList_ShouldReturnImmutableCopy() {
+        // When
+        List<Todo> todos = nodeA.getList("getTodosByStatus", false, () -> new ArrayList<>(List.of(todo(1L, "v1"))));
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, todos::clear);
+    }
+
+    private TodoNearCache node(String nodeId) {
+        TodoNearCache cache = new TodoNearCache(bus, new RequestCoalescer(100), nodeId, clock, 30_000, 100);
+        cache.start();
+        return cache;
+    }
+
+    private static Todo todo(Long id, String title) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        return todo;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceMillis(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
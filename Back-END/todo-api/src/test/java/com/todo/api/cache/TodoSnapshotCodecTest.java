@@ -0,0 +1,84 @@
+package com.todo.api.cache;
+
+import com.todo.api.model.Priority;
+import com.todo.api.model.Recurrence;
+import com.todo.api.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo Snapshot Codec Tests")
+class TodoSnapshotCodecTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 9, 14, 10, 30, 15, 123_456_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should read back exactly what was written, including nulls and non-ASCII text")
+    void writeAndRead_ShouldRoundTrip() throws IOException {
+        // Given
+        Path file = dir.resolve("cache.snapshot");
+        Todo full = todo(1L, "Prüfung vorbereiten ✓", "Kapitel 1–3", LocalDateTime.of(2025, 9, 21, 15, 0));
+        full.setCompleted(true);
+        full.setTags(List.of("exam", "uni"));
+        full.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 2, LocalDateTime.of(2025, 12, 31, 23, 59)));
+        Todo occurrence = todo(3L, "Weekly report", null, LocalDateTime.of(2025, 9, 22, 9, 0));
+        occurrence.setSeriesId(1L);
+        occurrence.setOccurrenceDate(LocalDateTime.of(2025, 9, 22, 9, 0));
+        Todo sparse = todo(2L, "Call back", null, null);
+        sparse.setParentId(1L);
+        TodoSnapshotCodec.Watermark watermark = new TodoSnapshotCodec.Watermark(UPDATED, 42);
+
+        // When
+        TodoSnapshotCodec.write(file, 1_000L, watermark, List.of(full, sparse, occurrence));
+        TodoSnapshotCodec.Snapshot snapshot = TodoSnapshotCodec.read(file);
+
+        // Then
+        assertEquals(1_000L, snapshot.writtenAtMs());
+        assertEquals(watermark, snapshot.watermark());
+        assertEquals(List.of(full, sparse, occurrence), snapshot.todos());
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose bytes were changed")
+    void read_WhenCorrupted_ShouldFail() throws IOException {
+        // Given
+        Path file = dir.resolve("cache.snapshot");
+        TodoSnapshotCodec.write(file, 1_000L, new TodoSnapshotCodec.Watermark(UPDATED, 1),
+                List.of(todo(1L, "Title", "Description", null)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        // When & Then
+        IOException e = assertThrows(IOException.class, () -> TodoSnapshotCodec.read(file));
+        assertTrue(e.getMessage().contains("checksum"));
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a snapshot")
+    void read_WhenNotASnapshot_ShouldFail() throws IOException {
+        // Given
+        Path file = dir.resolve("cache.snapshot");
+        Files.writeString(file, "not a snapshot");
+
+        // When & Then
+        assertThrows(IOException.class, () -> TodoSnapshotCodec.read(file));
+    }
+
+    private static Todo todo(Long id, String title, String description, LocalDateTime dueDate) {
+        return new Todo(id, title, description, false, Priority.HIGH, dueDate, new TreeSet<>(), null,
+                null, null, null, UPDATED.minusDays(1), UPDATED);
+    }
+}
@@ -0,0 +1,127 @@
+package com.todo.api.cache;
+
+import com.todo.api.model.Priority;
+import com.todo.api.model.Todo;
+import com.todo.api.service.RequestCoalescer;
+import com.todo.api.shard.TodoShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Warm-start Snapshot Tests")
+class WarmStartSnapshotTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 9, 14, 10, 30, 15, 123_456_000);
+
+    @TempDir
+    Path dir;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE todos (id BIGINT PRIMARY KEY, title VARCHAR(100), "
+                + "description VARCHAR(500), completed BOOLEAN, due_date TIMESTAMP, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO todos (id, title, completed, created_at, updated_at) "
+                    + "VALUES (:id, :title, FALSE, :updated, :updated)",
+                    Map.of("id", id, "title", "Todo " + id, "updated", Timestamp.valueOf(UPDATED)));
+        }
+        file = dir.resolve("near-cache.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should restore all cached todos when nothing changed while the node was down")
+    void load_WhenDatabaseUnchanged_ShouldRestoreEverything() {
+        // Given
+        snapshot(warmCache(1L, 2L, 3L)).save();
+        TodoNearCache restarted = cache();
+
+        // When
+        snapshot(restarted).load();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), cachedIds(restarted));
+    }
+
+    @Test
+    @DisplayName("Should drop entries that changed or were deleted after the snapshot was written")
+    void load_WhenDatabaseChanged_ShouldDropStaleEntries() {
+        // Given
+        snapshot(warmCache(1L, 2L, 3L)).save();
+        jdbcTemplate.update("UPDATE todos SET title = 'Changed', updated_at = :now WHERE id = 2",
+                Map.of("now", Timestamp.valueOf(UPDATED.plusMinutes(5))));
+        jdbcTemplate.update("DELETE FROM todos WHERE id = 3", Map.of());
+        TodoNearCache restarted = cache();
+
+        // When
+        snapshot(restarted).load();
+
+        // Then
+        assertEquals(List.of(1L), cachedIds(restarted));
+    }
+
+    @Test
+    @DisplayName("Should not write entries that were already stale in the cache")
+    void save_ShouldSkipStaleCacheEntries() {
+        // Given: the cache still holds todo 1 with an older updatedAt
+        TodoNearCache cache = warmCache(2L);
+        cache.getTodo(1L, () -> todo(1L, UPDATED.minusMinutes(1)));
+
+        // When
+        snapshot(cache).save();
+        TodoNearCache restarted = cache();
+        snapshot(restarted).load();
+
+        // Then
+        assertTrue(Files.exists(file));
+        assertEquals(List.of(2L), cachedIds(restarted));
+    }
+
+    private TodoNearCache warmCache(Long... ids) {
+        TodoNearCache cache = cache();
+        for (Long id : ids) {
+            cache.getTodo(id, () -> todo(id, UPDATED));
+        }
+        return cache;
+    }
+
+    private WarmStartSnapshot snapshot(TodoNearCache cache) {
+        return new WarmStartSnapshot(cache, jdbcTemplate, TodoShards.single(), file, 100, Clock.systemUTC());
+    }
+
+    private static TodoNearCache cache() {
+        TodoNearCache cache = new TodoNearCache(new LoopbackInvalidationBus(), new RequestCoalescer(100), "node",
+                Clock.systemUTC(), 60_000, 100);
+        cache.start();
+        return cache;
+    }
+
+    private static List<Long> cachedIds(TodoNearCache cache) {
+        return cache.cachedTodos().stream().map(Todo::getId).sorted(Comparator.naturalOrder()).toList();
+    }
+
+    private static Todo todo(Long id, LocalDateTime updatedAt) {
+        return new Todo(id, "Todo " + id, null, false, Priority.MEDIUM, null, new TreeSet<>(), null,
+                null, null, null, updatedAt, updatedAt);
+    }
+}
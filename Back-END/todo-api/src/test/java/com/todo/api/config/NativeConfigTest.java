@@ -0,0 +1,32 @@
+package com.todo.api.config;
+
+import com.todo.api.model.Todo;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Native Config Tests")
+class NativeConfigTest {
+
+    @Test
+    @DisplayName("Should register reflection hints for entities and the OpenAPI model")
+    void registerHints_ShouldCoverEntitiesAndSpringdocModel() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new NativeConfig.TodoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Todo.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(OpenAPI.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("schema.sql").test(hints));
+    }
+}
@@ -1,29 +1,62 @@
 package com.todo.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.api.config.SecurityConfig;
+import com.todo.api.dto.BatchItemResult;
+import com.todo.api.dto.BatchOperation;
+import com.todo.api.dto.BulkResult;
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.dto.TodoStats;
+import com.todo.api.dto.TodoTreeNode;
+import com.todo.api.index.TagQuery;
+import com.todo.api.logging.AccessLog;
+import com.todo.api.model.Priority;
 import com.todo.api.model.Todo;
+import com.todo.api.model.TodoHistory;
+import com.todo.api.query.TodoFilter;
+import com.todo.api.query.TodoQuery;
+import com.todo.api.service.IdempotencyStore;
+import com.todo.api.service.TodoBatchService;
+import com.todo.api.service.TodoBulkService;
+import com.todo.api.service.TodoHistoryService;
+import com.todo.api.service.TodoQueryService;
 import com.todo.api.service.TodoService;
+import com.todo.api.service.TodoStatsService;
+import com.todo.api.service.TodoTagService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TodoController.class)
+@Import({SecurityConfig.class, IdempotencyStore.class, AccessLog.class})
 @DisplayName("Todo Controller Tests")
 class TodoControllerTest {
 
@@ -33,6 +66,27 @@ class TodoControllerTest {
     @MockBean
     private TodoService todoService;
 
+    @MockBean
+    private TodoStatsService todoStatsService;
+
+    @MockBean
+    private TodoHistoryService todoHistoryService;
+
+    @MockBean
+    private TodoQueryService todoQueryService;
+
+    @MockBean
+    private TodoBulkService todoBulkService;
+
+    @MockBean
+    private TodoTagService todoTagService;
+
+    @MockBean
+    private TodoBatchService todoBatchService;
+
+    @Captor
+    private ArgumentCaptor<List<BatchOperation>> batchCaptor;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,7 +108,7 @@ class TodoControllerTest {
     void getAllTodos_ShouldReturnListOfTodos() throws Exception {
         // Given
         List<Todo> todos = Arrays.asList(sampleTodo);
-        when(todoService.getAllTodos()).thenReturn(todos);
+        when(todoService.getAllTodos(false)).thenReturn(todos);
 
         // When & Then
         mockMvc.perform(get("/api/todos"))
@@ -66,7 +120,22 @@ class TodoControllerTest {
                 .andExpect(jsonPath("$[0].description").value("Test Description"))
                 .andExpect(jsonPath("$[0].completed").value(false));
 
-        verify(todoService).getAllTodos();
+        verify(todoService).getAllTodos(false);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos?includeArchived=true should include archived todos")
+    void getAllTodos_WithIncludeArchived_ShouldPassFlag() throws Exception {
+        // Given
+        when(todoService.getAllTodos(true)).thenReturn(List.of(sampleTodo));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos")
+                .param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        verify(todoService).getAllTodos(true);
     }
 
     @Test
@@ -103,7 +172,7 @@ class TodoControllerTest {
     void getTodosByStatus_ShouldReturnFilteredTodos() throws Exception {
         // Given
         List<Todo> completedTodos = Arrays.asList(sampleTodo);
-        when(todoService.getTodosByStatus(true)).thenReturn(completedTodos);
+        when(todoService.getTodosByStatus(true, false)).thenReturn(completedTodos);
 
         // When & Then
         mockMvc.perform(get("/api/todos/status")
@@ -112,7 +181,7 @@ class TodoControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray());
 
-        verify(todoService).getTodosByStatus(true);
+        verify(todoService).getTodosByStatus(true, false);
     }
 
     @Test
@@ -120,7 +189,7 @@ class TodoControllerTest {
     void searchTodos_ShouldReturnMatchingTodos() throws Exception {
         // Given
         List<Todo> matchingTodos = Arrays.asList(sampleTodo);
-        when(todoService.searchTodos("Test")).thenReturn(matchingTodos);
+        when(todoService.searchTodos("Test", false)).thenReturn(matchingTodos);
 
         // When & Then
         mockMvc.perform(get("/api/todos/search")
@@ -129,7 +198,7 @@ class TodoControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray());
 
-        verify(todoService).searchTodos("Test");
+        verify(todoService).searchTodos("Test", false);
     }
 
     @Test
@@ -153,6 +222,48 @@ class TodoControllerTest {
         verify(todoService).createTodo(any(Todo.class));
     }
 
+    @Test
+    @DisplayName("POST /api/todos should answer a retry with the same Idempotency-Key from memory")
+    void createTodo_WithIdempotencyKey_ShouldCreateOnce() throws Exception {
+        // Given
+        Todo newTodo = new Todo();
+        newTodo.setTitle("New Todo");
+        String body = objectMapper.writeValueAsString(newTodo);
+        when(todoService.createTodo(any(Todo.class))).thenReturn(sampleTodo);
+
+        // When & Then
+        mockMvc.perform(post("/api/todos")
+                .header(IdempotencyStore.HEADER, "create-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+        mockMvc.perform(post("/api/todos")
+                .header(IdempotencyStore.HEADER, "create-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(1L));
+
+        verify(todoService, times(1)).createTodo(any(Todo.class));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/todos/{id}/toggle should return 422 when the Idempotency-Key was used for another todo")
+    void toggleTodoStatus_WithReusedIdempotencyKey_ShouldReturn422() throws Exception {
+        // Given
+        when(todoService.toggleTodoStatus(anyLong())).thenReturn(sampleTodo);
+        mockMvc.perform(patch("/api/todos/1/toggle").header(IdempotencyStore.HEADER, "toggle-7"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(patch("/api/todos/2/toggle").header(IdempotencyStore.HEADER, "toggle-7"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(todoService, never()).toggleTodoStatus(2L);
+    }
+
     @Test
     @DisplayName("POST /api/todos should return 400 for invalid data")
     void createTodo_WithInvalidData_ShouldReturn400() throws Exception {
@@ -224,4 +335,329 @@ class TodoControllerTest {
 
         verify(todoService).toggleTodoStatus(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/todos/overdue should return overdue todos")
+    void getOverdueTodos_ShouldReturnOverdueTodos() throws Exception {
+        // Given
+        sampleTodo.setDueDate(LocalDateTime.now().minusHours(1));
+        when(todoService.getOverdueTodos()).thenReturn(List.of(sampleTodo));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        verify(todoService).getOverdueTodos();
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/next should return the most urgent todos with their priority")
+    void getNextTodos_ShouldReturnRankedTodos() throws Exception {
+        // Given
+        sampleTodo.setPriority(Priority.URGENT);
+        when(todoService.getNextTodos(3)).thenReturn(List.of(sampleTodo));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/next").param("k", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].priority").value("URGENT"));
+
+        verify(todoService).getNextTodos(3);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/stats should return aggregated counters")
+    void getStats_ShouldReturnCounters() throws Exception {
+        // Given
+        TreeMap<LocalDate, Long> created = new TreeMap<>();
+        created.put(LocalDate.of(2025, 9, 14), 3L);
+        when(todoStatsService.getStats()).thenReturn(
+                new TodoStats(10, 4, 6, 1, 2, 3, created, new TreeMap<>(), LocalDateTime.now()));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.total").value(10))
+                .andExpect(jsonPath("$.pending").value(6))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.createdPerDay['2025-09-14']").value(3));
+
+        verify(todoStatsService).getStats();
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/{id}/history should return a page of history entries")
+    void getTodoHistory_ShouldReturnKeysetPage() throws Exception {
+        // Given
+        TodoHistory entry = new TodoHistory(42L, 1L, "TOGGLED", "anonymousUser",
+                LocalDateTime.now(), "Test Todo", null, true, null);
+        when(todoHistoryService.getHistory(1L, "50", 1)).thenReturn(new KeysetPage<>(List.of(entry), "42"));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/1/history")
+                .param("cursor", "50")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items[0].action").value("TOGGLED"))
+                .andExpect(jsonPath("$.nextCursor").value("42"));
+
+        verify(todoHistoryService).getHistory(1L, "50", 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/query should parse filters and sort into a query")
+    void queryTodos_ShouldPassParsedQuery() throws Exception {
+        // Given
+        when(todoQueryService.query(any(TodoQuery.class))).thenReturn(new KeysetPage<>(List.of(sampleTodo), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/query")
+                .param("completed", "false")
+                .param("dueBefore", "2025-09-30T00:00:00")
+                .param("sort", "dueDate,-createdAt")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        ArgumentCaptor<TodoQuery> captor = ArgumentCaptor.forClass(TodoQuery.class);
+        verify(todoQueryService).query(captor.capture());
+        TodoQuery query = captor.getValue();
+        assertEquals(List.of(new TodoFilter.Completed(false), new TodoFilter.DueBefore(LocalDateTime.of(2025, 9, 30, 0, 0))),
+                query.filters());
+        assertEquals("dueDate,-createdAt,id", query.sortSpec());
+        assertEquals(10, query.size());
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/query should return 400 for an unknown sort field")
+    void queryTodos_WithUnknownSortField_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos/query")
+                .param("sort", "priority"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoQueryService);
+    }
+
+    @Test
+    @DisplayName("POST /api/todos/bulk/complete should pass the parsed filters and return the affected count")
+    void completeAll_ShouldReturnBulkResult() throws Exception {
+        // Given
+        List<TodoFilter> filters = List.of(new TodoFilter.DueBefore(LocalDateTime.of(2025, 9, 30, 0, 0)));
+        when(todoBulkService.completeAll(filters)).thenReturn(new BulkResult(12, 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/bulk/complete")
+                .param("dueBefore", "2025-09-30T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(12))
+                .andExpect(jsonPath("$.chunks").value(1));
+
+        verify(todoBulkService).completeAll(filters);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/todos/completed should delete completed todos instead of matching /{id}")
+    void deleteCompleted_ShouldReturnBulkResult() throws Exception {
+        // Given
+        when(todoBulkService.deleteCompleted(List.of())).thenReturn(new BulkResult(3, 1));
+
+        // When & Then
+        mockMvc.perform(delete("/api/todos/completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+
+        verify(todoBulkService).deleteCompleted(List.of());
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    @DisplayName("POST /api/todos/bulk/reschedule should parse the shift and reject invalid durations")
+    void rescheduleAll_ShouldParseShift() throws Exception {
+        // Given
+        List<TodoFilter> filters = List.of(new TodoFilter.Completed(false));
+        when(todoBulkService.shiftDueDates(filters, Duration.ofDays(1))).thenReturn(new BulkResult(4, 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/bulk/reschedule")
+                .param("shift", "P1D")
+                .param("completed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(4));
+        mockMvc.perform(post("/api/todos/bulk/reschedule")
+                .param("shift", "tomorrow"))
+                .andExpect(status().isBadRequest());
+
+        verify(todoBulkService).shiftDueDates(filters, Duration.ofDays(1));
+        verifyNoMoreInteractions(todoBulkService);
+    }
+
+    @Test
+    @DisplayName("POST /api/todos/batch should return one result per operation and replay retries")
+    void runBatch_ShouldReturnResultPerOperation() throws Exception {
+        // Given
+        Todo newTodo = new Todo();
+        newTodo.setTitle("Batched");
+        List<BatchOperation> operations = List.of(BatchOperation.create(newTodo), BatchOperation.toggle(7L));
+        when(todoBatchService.execute(any())).thenReturn(List.of(
+                BatchItemResult.succeeded(HttpStatus.CREATED, sampleTodo),
+                BatchItemResult.failed(HttpStatus.NOT_FOUND, "Todo not found with id: 7")));
+        String body = objectMapper.writeValueAsString(operations);
+
+        // When & Then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/todos/batch")
+                    .header(IdempotencyStore.HEADER, "batch-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value(201))
+                    .andExpect(jsonPath("$[0].todo.id").value(1L))
+                    .andExpect(jsonPath("$[1].status").value(404))
+                    .andExpect(jsonPath("$[1].error").value("Todo not found with id: 7"));
+        }
+
+        verify(todoBatchService, times(1)).execute(batchCaptor.capture());
+        assertEquals(BatchOperation.Type.CREATE, batchCaptor.getValue().get(0).op());
+        assertEquals("Batched", batchCaptor.getValue().get(0).todo().getTitle());
+        assertEquals(7L, batchCaptor.getValue().get(1).id());
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/tagged should normalize the tag conditions and reject invalid tags")
+    void getTaggedTodos_ShouldPassNormalizedQuery() throws Exception {
+        // Given
+        TagQuery query = new TagQuery(Set.of("work", "urgent"), Set.of(), Set.of("blocked"), false);
+        sampleTodo.setTags(List.of("work", "urgent"));
+        when(todoTagService.findTagged(query, null, 20)).thenReturn(new KeysetPage<>(List.of(sampleTodo), "1"));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/tagged")
+                .param("all", "Work,urgent")
+                .param("none", "blocked")
+                .param("completed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].tags[0]").value("urgent"))
+                .andExpect(jsonPath("$.items[0].tags[1]").value("work"))
+                .andExpect(jsonPath("$.nextCursor").value("1"));
+        mockMvc.perform(get("/api/todos/tagged")
+                .param("all", "no spaces"))
+                .andExpect(status().isBadRequest());
+
+        verify(todoTagService).findTagged(query, null, 20);
+        verifyNoMoreInteractions(todoTagService);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/tags should return counts per tag instead of matching /{id}")
+    void getTagCounts_ShouldReturnCounts() throws Exception {
+        // Given
+        when(todoTagService.getTagCounts()).thenReturn(new TreeMap<>(Map.of("home", 2L, "work", 5L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.home").value(2))
+                .andExpect(jsonPath("$.work").value(5));
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos/{id}/subtree should return the nested subtasks with progress")
+    void getSubtree_ShouldReturnTree() throws Exception {
+        // Given
+        Todo subtask = new Todo();
+        subtask.setId(2L);
+        subtask.setTitle("Subtask");
+        subtask.setCompleted(true);
+        subtask.setParentId(1L);
+        TodoTreeNode tree = new TodoTreeNode(sampleTodo, 1, 1,
+                List.of(new TodoTreeNode(subtask, 0, 0, List.of())));
+        when(todoService.getSubtree(1L)).thenReturn(tree);
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/1/subtree"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todo.id").value(1L))
+                .andExpect(jsonPath("$.progress").value(100))
+                .andExpect(jsonPath("$.children[0].todo.parentId").value(1L))
+                .andExpect(jsonPath("$.children[0].progress").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/todos/{id}/move should move under the given parent and return 400 for a cycle")
+    void moveTodo_ShouldPassParent() throws Exception {
+        // Given
+        sampleTodo.setParentId(5L);
+        when(todoService.moveTodo(1L, 5L)).thenReturn(sampleTodo);
+        when(todoService.moveTodo(5L, 1L)).thenThrow(new IllegalArgumentException("Cannot move todo 5 under itself or one of its subtasks"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/todos/1/move").param("parentId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentId").value(5L));
+        mockMvc.perform(patch("/api/todos/5/move").param("parentId", "1"))
+                .andExpect(status().isBadRequest());
+
+        verify(todoService).moveTodo(1L, 5L);
+    }
+
+    @Test
+    @DisplayName("GET /api/todos with from and to should list occurrences of recurring todos in the window")
+    void getAllTodos_WithWindow_ShouldExpandOccurrences() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 1, 6, 0, 0);
+        Todo occurrence = new Todo();
+        occurrence.setTitle("Weekly standup");
+        occurrence.setDueDate(from.plusHours(9));
+        occurrence.setSeriesId(1L);
+        occurrence.setOccurrenceDate(from.plusHours(9));
+        when(todoService.getAllTodos(false, from, from.plusWeeks(1))).thenReturn(List.of(occurrence));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos")
+                .param("from", "2025-01-06T00:00:00")
+                .param("to", "2025-01-13T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].seriesId").value(1L))
+                .andExpect(jsonPath("$[0].occurrenceDate").value("2025-01-06T09:00:00"));
+
+        verify(todoService, never()).getAllTodos(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/todos/{id}/occurrences/{date}/toggle should toggle one occurrence")
+    void toggleOccurrence_ShouldPassSeriesAndDate() throws Exception {
+        // Given
+        LocalDateTime due = LocalDateTime.of(2025, 1, 13, 9, 0);
+        Todo occurrence = new Todo();
+        occurrence.setId(7L);
+        occurrence.setTitle("Weekly standup");
+        occurrence.setCompleted(true);
+        occurrence.setSeriesId(1L);
+        occurrence.setOccurrenceDate(due);
+        when(todoService.toggleOccurrence(1L, due)).thenReturn(occurrence);
+        when(todoService.toggleOccurrence(1L, due.plusDays(1)))
+                .thenThrow(new IllegalArgumentException("Todo 1 has no occurrence due at 2025-01-14T09:00"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/todos/1/occurrences/2025-01-13T09:00:00/toggle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7L))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.seriesId").value(1L));
+        mockMvc.perform(patch("/api/todos/1/occurrences/2025-01-14T09:00:00/toggle"))
+                .andExpect(status().isBadRequest());
+
+        verify(todoService).toggleOccurrence(1L, due);
+    }
+}
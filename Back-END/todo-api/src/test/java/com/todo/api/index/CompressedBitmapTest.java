@@ -0,0 +1,119 @@
+package com.todo.api.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compressed Bitmap Tests")
+class CompressedBitmapTest {
+
+    @Test
+    @DisplayName("Should combine bitmaps like the equivalent set operations")
+    void andOrAndNot_ShouldMatchSetOperations() {
+        // Given
+        CompressedBitmap work = CompressedBitmap.of(1, 2, 3, 70_000, 70_001);
+        CompressedBitmap urgent = CompressedBitmap.of(2, 3, 4, 70_001, 1L << 40);
+
+        // When & Then
+        assertArrayEquals(new long[]{2, 3, 70_001}, work.and(urgent).toArray());
+        assertArrayEquals(new long[]{1, 2, 3, 4, 70_000, 70_001, 1L << 40}, work.or(urgent).toArray());
+        assertArrayEquals(new long[]{1, 70_000}, work.andNot(urgent).toArray());
+        assertEquals(5, work.cardinality());
+    }
+
+    @Test
+    @DisplayName("Should switch between array and bitmap containers without losing ids")
+    void add_ShouldConvertContainersAtTheLimit() {
+        // Given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (long id = 0; id <= CompressedBitmap.ARRAY_LIMIT; id++) {
+            bitmap.add(id * 2);
+        }
+        long dense = bitmap.sizeInBytes();
+
+        // When
+        for (long id = 100; id <= CompressedBitmap.ARRAY_LIMIT; id++) {
+            bitmap.remove(id * 2);
+        }
+
+        // Then
+        assertEquals(100, bitmap.cardinality());
+        assertTrue(bitmap.contains(198));
+        assertFalse(bitmap.contains(200));
+        assertTrue(bitmap.sizeInBytes() < dense);
+    }
+
+    @Test
+    @DisplayName("Should hold a sequential batch of ids in about one bit per id")
+    void sizeInBytes_WithSequentialIds_ShouldCostAboutOneBitPerId() {
+        // Given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        int count = 200_000;
+        for (long id = 0; id < count; id++) {
+            bitmap.add(id);
+        }
+
+        // When
+        long size = bitmap.sizeInBytes();
+
+        // Then
+        assertEquals(count, bitmap.cardinality());
+        assertTrue(size <= count / 8 + 8 * 1024 + 64, "size " + size);
+    }
+
+    @Test
+    @DisplayName("Should page through ids after a cursor across containers")
+    void idsAfter_ShouldReturnNextIdsInOrder() {
+        // Given
+        CompressedBitmap bitmap = CompressedBitmap.of(5, 65_535, 65_536, 200_000);
+
+        // When & Then
+        assertArrayEquals(new long[]{5, 65_535}, bitmap.idsAfter(-1, 2));
+        assertArrayEquals(new long[]{65_536, 200_000}, bitmap.idsAfter(65_535, 10));
+        assertArrayEquals(new long[0], bitmap.idsAfter(200_000, 10));
+    }
+
+    @Test
+    @DisplayName("Should agree with a TreeSet on random operations")
+    void randomOperations_ShouldMatchTreeSet() {
+        // Given
+        Random random = new Random(41);
+        CompressedBitmap left = new CompressedBitmap();
+        CompressedBitmap right = new CompressedBitmap();
+        TreeSet<Long> leftSet = new TreeSet<>();
+        TreeSet<Long> rightSet = new TreeSet<>();
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            long id = random.nextInt(i % 2 == 0 ? 20_000 : 300_000);
+            boolean toLeft = random.nextBoolean();
+            if (random.nextInt(4) == 0) {
+                (toLeft ? left : right).remove(id);
+                (toLeft ? leftSet : rightSet).remove(id);
+            } else {
+                (toLeft ? left : right).add(id);
+                (toLeft ? leftSet : rightSet).add(id);
+            }
+        }
+
+        // Then
+        TreeSet<Long> and = new TreeSet<>(leftSet);
+        and.retainAll(rightSet);
+        TreeSet<Long> or = new TreeSet<>(leftSet);
+        or.addAll(rightSet);
+        TreeSet<Long> andNot = new TreeSet<>(leftSet);
+        andNot.removeAll(rightSet);
+        assertArrayEquals(toArray(leftSet), left.toArray());
+        assertArrayEquals(toArray(and), left.and(right).toArray());
+        assertArrayEquals(toArray(or), left.or(right).toArray());
+        assertArrayEquals(toArray(andNot), left.andNot(right).toArray());
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
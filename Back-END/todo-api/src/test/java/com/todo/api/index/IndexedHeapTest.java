@@ -0,0 +1,76 @@
+package com.todo.api.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Indexed Heap Tests")
+class IndexedHeapTest {
+
+    private record Entry(long id, int rank) {
+    }
+
+    private static final Comparator<Entry> BY_RANK = Comparator.comparingInt(Entry::rank).thenComparingLong(Entry::id);
+
+    @Test
+    @DisplayName("Should list the smallest entries in order after changes and removals")
+    void top_ShouldReturnSmallestInOrder() {
+        // Given
+        IndexedHeap<Entry> heap = new IndexedHeap<>(BY_RANK);
+        for (long id = 1; id <= 6; id++) {
+            heap.put(id, new Entry(id, (int) (10 - id)));
+        }
+
+        // When
+        heap.put(1, new Entry(1, 0));
+        heap.put(6, new Entry(6, 20));
+        heap.remove(5);
+
+        // Then
+        assertEquals(List.of(1L, 4L, 3L), heap.top(3).stream().map(Entry::id).toList());
+        assertEquals(5, heap.size());
+        assertEquals(5, heap.top(10).size());
+        assertNull(heap.get(5));
+        assertFalse(heap.remove(5));
+        assertTrue(heap.top(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match a sorted list under random puts, updates and removals")
+    void top_ShouldMatchSortedListUnderRandomChanges() {
+        // Given
+        Random random = new Random(46);
+        IndexedHeap<Entry> heap = new IndexedHeap<>(BY_RANK);
+        Map<Long, Entry> expected = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, heap.remove(id));
+            } else {
+                Entry entry = new Entry(id, random.nextInt(50));
+                heap.put(id, entry);
+                expected.put(id, entry);
+            }
+
+            // Then
+            if (i % 1_000 == 0) {
+                List<Entry> sorted = new ArrayList<>(expected.values());
+                sorted.sort(BY_RANK);
+                assertEquals(sorted.subList(0, Math.min(25, sorted.size())), heap.top(25));
+            }
+        }
+        List<Entry> sorted = new ArrayList<>(expected.values());
+        sorted.sort(BY_RANK);
+        assertEquals(sorted, heap.top(sorted.size()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.todo.api.index;
+
+import com.todo.api.model.TsidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo Ordinals Tests")
+class TodoOrdinalsTest {
+
+    @Test
+    @DisplayName("Should keep bitmaps of time-sorted ids at about one bit per id")
+    void ordinalFor_WithTimeSortedIds_ShouldGiveDenseBitmaps() {
+        // Given: one todo a second, so every id has high bits of its own
+        TodoOrdinals ordinals = new TodoOrdinals();
+        CompressedBitmap all = new CompressedBitmap();
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        int count = 100_000;
+
+        // When
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new TsidGenerator(3, Clock.fixed(start.plus(Duration.ofSeconds(i)), ZoneOffset.UTC)).next();
+            all.add(ordinals.ordinalFor(ids[i]));
+        }
+
+        // Then
+        assertEquals(count, ordinals.size());
+        assertEquals(0, ordinals.lateCount());
+        assertTrue(all.sizeInBytes() <= count / 8 + 8 * 1024 + 64, "size " + all.sizeInBytes());
+        assertArrayEquals(new long[]{ids[500], ids[501]}, ordinals.idsAfter(all, ids[499], 2));
+        assertEquals(count - 1, ordinals.ordinalOf(ids[count - 1]));
+    }
+
+    @Test
+    @DisplayName("Should page in id order when ids arrive out of order")
+    void idsAfter_WithLateIds_ShouldReturnIdsInOrder() {
+        // Given
+        TodoOrdinals ordinals = new TodoOrdinals();
+        CompressedBitmap matches = new CompressedBitmap();
+        for (long id : new long[]{10, 20, 40, 30, 50, 15, 60}) {
+            matches.add(ordinals.ordinalFor(id));
+        }
+        matches.remove(ordinals.ordinalOf(50));
+
+        // When & Then
+        assertEquals(2, ordinals.lateCount());
+        assertEquals(3, ordinals.ordinalFor(30));
+        assertEquals(-1, ordinals.ordinalOf(35));
+        assertArrayEquals(new long[]{10, 15, 20, 30, 40, 60}, ordinals.idsAfter(matches, -1, 10));
+        assertArrayEquals(new long[]{15, 20, 30}, ordinals.idsAfter(matches, 10, 3));
+        assertArrayEquals(new long[]{30, 40, 60}, ordinals.idsAfter(matches, 20, 10));
+        assertArrayEquals(new long[0], ordinals.idsAfter(matches, 60, 10));
+    }
+}
@@ -0,0 +1,139 @@
+package com.todo.api.integration;
+
+import com.todo.api.TodoApiApplication;
+import com.todo.api.cache.TodoNearCache;
+import com.todo.api.model.Todo;
+import com.todo.api.service.TodoService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application nodes sharing one database, each with its own near-cache, talking over the JDBC
+ * invalidation transport. A change made on one node must become visible on the other within the
+ * polling interval plus some slack, well before the cache TTL would expire the stale entry.
+ */
+@DisplayName("Cluster Cache Coherence Tests")
+class ClusterCacheCoherenceTest {
+    private static final long POLL_MS = 50;
+    private static final Duration STALENESS_BOUND = Duration.ofSeconds(2);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static TodoService serviceA;
+    private static TodoService serviceB;
+
+    @BeforeAll
+    static void startNodes() {
+        String database = "jdbc:h2:mem:cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        // Node A creates the schema; node B joins the existing database.
+        nodeA = startNode("node-a", database, "always");
+        nodeB = startNode("node-b", database, "never");
+        serviceA = nodeA.getBean(TodoService.class);
+        serviceB = nodeB.getBean(TodoService.class);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    @DisplayName("Should show an update made on another node within the staleness bound")
+    void update_ShouldPropagateToOtherNode() throws InterruptedException {
+        // Given: both nodes have the todo cached, after node B has seen the create, which would evict it
+        TodoNearCache cacheB = nodeB.getBean(TodoNearCache.class);
+        long received = cacheB.getStats().invalidationsReceived();
+        Todo todo = serviceA.createTodo(newTodo("Original"));
+        Long id = todo.getId();
+        awaitOnNodeB(() -> cacheB.getStats().invalidationsReceived() > received);
+        assertEquals("Original", serviceA.getTodoById(id).getTitle());
+        assertEquals("Original", serviceB.getTodoById(id).getTitle());
+        long hits = cacheB.getStats().hits();
+        assertEquals("Original", serviceB.getTodoById(id).getTitle());
+        assertEquals(hits + 1, cacheB.getStats().hits());
+
+        // When
+        serviceA.updateTodo(id, newTodo("Updated"));
+
+        // Then
+        assertEquals("Updated", serviceA.getTodoById(id).getTitle());
+        Duration staleFor = awaitOnNodeB(() -> "Updated".equals(serviceB.getTodoById(id).getTitle()));
+        assertTrue(staleFor.compareTo(STALENESS_BOUND) < 0, "node B was stale for " + staleFor);
+    }
+
+    @Test
+    @DisplayName("Should drop list results and deleted todos on another node within the staleness bound")
+    void delete_ShouldPropagateToOtherNode() throws InterruptedException {
+        // Given
+        Todo todo = serviceA.createTodo(newTodo("Short-lived"));
+        Long id = todo.getId();
+        awaitOnNodeB(() -> serviceB.getAllTodos().stream().anyMatch(t -> t.getId().equals(id)));
+        serviceB.getTodoById(id);
+
+        // When
+        serviceA.deleteTodo(id);
+
+        // Then
+        Duration staleFor = awaitOnNodeB(() -> {
+            try {
+                serviceB.getTodoById(id);
+                return false;
+            } catch (EntityNotFoundException e) {
+                return true;
+            }
+        });
+        assertTrue(staleFor.compareTo(STALENESS_BOUND) < 0, "node B was stale for " + staleFor);
+        assertTrue(serviceB.getAllTodos().stream().noneMatch(t -> t.getId().equals(id)));
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String database, String sqlInitMode) {
+        // Passed as command-line arguments so they override application-test.properties.
+        return new SpringApplicationBuilder(TodoApiApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + database,
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.sql.init.mode=" + sqlInitMode,
+                        "--todo.cache.node-id=" + nodeId,
+                        "--todo.cache.invalidation.transport=jdbc",
+                        "--todo.cache.invalidation.poll-ms=" + POLL_MS,
+                        "--todo.cache.ttl-ms=600000",
+                        "--logging.level.com.todo.api=INFO",
+                        "--logging.level.org.springframework.web=INFO");
+    }
+
+    /**
+     * Polls node B until the condition holds and returns how long that took.
+     */
+    private static Duration awaitOnNodeB(BooleanSupplier condition) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + STALENESS_BOUND.toNanos() * 5;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Node B did not converge within " + STALENESS_BOUND.multipliedBy(5));
+            }
+            Thread.sleep(5);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static Todo newTodo(String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription("Cluster test");
+        return todo;
+    }
+}
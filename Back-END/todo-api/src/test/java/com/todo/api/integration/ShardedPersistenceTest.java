@@ -0,0 +1,183 @@
+package com.todo.api.integration;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.model.Todo;
+import com.todo.api.query.TodoFilter;
+import com.todo.api.query.TodoQueryParser;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.service.TodoBulkService;
+import com.todo.api.service.TodoQueryService;
+import com.todo.api.service.TodoService;
+import com.todo.api.shard.ShardDataSources;
+import com.todo.api.shard.TodoShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application over three in-memory H2 databases; not {@code @Transactional} because every
+ * shard has its own connections and transactions.
+ */
+@SpringBootTest(properties = "todo.sharding.urls="
+        + "jdbc:h2:mem:sharded-test-0;DB_CLOSE_DELAY=-1,"
+        + "jdbc:h2:mem:sharded-test-1;DB_CLOSE_DELAY=-1,"
+        + "jdbc:h2:mem:sharded-test-2;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "sharded"})
+@DisplayName("Sharded Persistence Tests")
+class ShardedPersistenceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 3, 1, 9, 0);
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoQueryService todoQueryService;
+
+    @Autowired
+    private TodoBulkService todoBulkService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoShards todoShards;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @BeforeEach
+    void setUp() {
+        for (int shard = 0; shard < todoShards.count(); shard++) {
+            JdbcTemplate jdbcTemplate = shard(shard);
+            for (String table : List.of("todos", "todos_archive", "todo_tree", "todo_progress", "todo_history")) {
+                jdbcTemplate.update("DELETE FROM " + table);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should store each todo on the shard of its id and merge lists in id order")
+    void create_ShouldSpreadTodosOverShards() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add(create((i % 3 == 0 ? "Shared task " : "Task ") + i, null, null).getId());
+        }
+
+        // Then
+        assertEquals(3, todoShards.count());
+        Set<Long> stored = new HashSet<>();
+        for (int shard = 0; shard < todoShards.count(); shard++) {
+            List<Long> onShard = shard(shard).queryForList("SELECT id FROM todos", Long.class);
+            assertFalse(onShard.isEmpty(), "shard " + shard + " is empty");
+            int expectedShard = shard;
+            assertTrue(onShard.stream().allMatch(id -> todoShards.shardOf(id) == expectedShard));
+            stored.addAll(onShard);
+        }
+        assertEquals(new HashSet<>(ids), stored);
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(ids, todoService.getAllTodos().stream().map(Todo::getId).toList());
+        assertEquals(10, todoService.searchTodos("SHARED").size());
+        assertEquals(30, todoRepository.count());
+        ids.forEach(id -> assertEquals(id, todoService.getTodoById(id).getId()));
+    }
+
+    @Test
+    @DisplayName("Should page a query across shards in sort order without gaps or duplicates")
+    void query_ShouldMergePagesInSortOrder() {
+        // Given
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 17; i++) {
+            todos.add(create("Item " + i, null, i % 4 == 0 ? null : BASE.plusDays(i % 5)));
+        }
+        List<Long> expected = todos.stream()
+                .sorted(Comparator.comparing(Todo::getDueDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                        .thenComparing(Todo::getId))
+                .map(Todo::getId)
+                .toList();
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<Todo> page = todoQueryService.query(
+                    TodoQueryParser.parse(null, null, null, null, null, "-dueDate", 4, cursor));
+            page.items().forEach(todo -> seen.add(todo.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    @DisplayName("Should keep subtasks on their parent's shard and reject moves to another shard")
+    void subtasks_ShouldStayOnParentShard() {
+        // Given
+        Todo parent = create("Parent", null, null);
+        Todo child = create("Child", null, null, parent.getId());
+        Todo grandchild = create("Grandchild", null, null, child.getId());
+        Todo elsewhere = create("Elsewhere", null, null);
+        while (todoShards.shardOf(elsewhere.getId()) == todoShards.shardOf(parent.getId())) {
+            elsewhere = create("Elsewhere", null, null);
+        }
+        Long otherShardParent = elsewhere.getId();
+
+        // When
+        todoService.toggleTodoStatus(grandchild.getId());
+
+        // Then
+        assertEquals(todoShards.shardOf(parent.getId()), todoShards.shardOf(child.getId()));
+        assertEquals(todoShards.shardOf(parent.getId()), todoShards.shardOf(grandchild.getId()));
+        assertEquals(50, todoService.getSubtree(parent.getId()).progress());
+        assertThrows(IllegalArgumentException.class, () -> todoService.moveTodo(child.getId(), otherShardParent));
+        assertEquals(parent.getId(), todoService.getTodoById(child.getId()).getParentId());
+    }
+
+    @Test
+    @DisplayName("Should apply bulk changes on every shard")
+    void completeAll_ShouldCoverAllShards() {
+        // Given
+        for (int i = 0; i < 12; i++) {
+            create("Pending " + i, null, BASE);
+        }
+
+        // When
+        int affected = todoBulkService.completeAll(List.<TodoFilter>of()).affected();
+
+        // Then
+        assertEquals(12, affected);
+        assertEquals(12, todoRepository.countByCompleted(true));
+        assertEquals(12, todoService.getTodosByStatus(true).size());
+    }
+
+    private Todo create(String title, String description, LocalDateTime dueDate) {
+        return create(title, description, dueDate, null);
+    }
+
+    private Todo create(String title, String description, LocalDateTime dueDate, Long parentId) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription(description);
+        todo.setDueDate(dueDate);
+        todo.setParentId(parentId);
+        return todoService.createTodo(todo);
+    }
+
+    private JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(shardDataSources.get(shard));
+    }
+}
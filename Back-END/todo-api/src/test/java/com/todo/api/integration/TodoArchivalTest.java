@@ -0,0 +1,115 @@
+package com.todo.api.integration;
+
+import com.todo.api.model.Todo;
+import com.todo.api.repository.ArchivedTodoRepository;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.service.TodoArchiver;
+import com.todo.api.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the archiver against the real schema; not {@code @Transactional} because every archive batch
+ * commits in its own transaction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Todo Archival Tests")
+class TodoArchivalTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoArchiver todoArchiver;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todos_archive");
+    }
+
+    @Test
+    @DisplayName("Should archive only old completed todos and read the archive only when asked")
+    void archive_ShouldMoveOldCompletedTodos() {
+        // Given
+        Todo oldDone = completed(create("Old done"));
+        Todo recentDone = completed(create("Recent done"));
+        Todo oldPending = create("Old pending");
+        makeOld(oldDone, oldPending);
+
+        // When
+        int archived = todoArchiver.archive();
+
+        // Then
+        assertEquals(1, archived);
+        assertFalse(todoRepository.existsById(oldDone.getId()));
+        assertTrue(archivedTodoRepository.existsById(oldDone.getId()));
+        assertEquals(List.of(recentDone.getId(), oldPending.getId()), ids(todoService.getAllTodos(false)));
+        assertEquals(List.of(oldDone.getId(), recentDone.getId(), oldPending.getId()), ids(todoService.getAllTodos(true)));
+        assertEquals(List.of(oldPending.getId()), ids(todoService.searchTodos("old", false)));
+        assertEquals(List.of(oldDone.getId(), oldPending.getId()), ids(todoService.searchTodos("old", true)));
+        assertEquals("Old done", todoService.getTodoById(oldDone.getId()).getTitle());
+        assertEquals(0, todoArchiver.archive());
+    }
+
+    @Test
+    @DisplayName("Should restore an archived todo to the hot table when it is toggled back to pending")
+    void toggle_ShouldRestoreArchivedTodo() {
+        // Given
+        Todo todo = completed(create("Archived then reopened"));
+        makeOld(todo);
+        todoArchiver.archive();
+
+        // When
+        Todo toggled = todoService.toggleTodoStatus(todo.getId());
+
+        // Then
+        assertFalse(toggled.isCompleted());
+        assertEquals(todo.getCreatedAt().withNano(0), toggled.getCreatedAt().withNano(0));
+        assertTrue(todoRepository.existsById(todo.getId()));
+        assertEquals(0, archivedTodoRepository.count());
+        assertEquals(List.of(todo.getId()), ids(todoService.getTodosByStatus(false)));
+    }
+
+    private Todo create(String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        return todoService.createTodo(todo);
+    }
+
+    private Todo completed(Todo todo) {
+        return todoService.toggleTodoStatus(todo.getId());
+    }
+
+    private void makeOld(Todo... todos) {
+        Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(45));
+        for (Todo todo : todos) {
+            jdbcTemplate.update("UPDATE todos SET updated_at = ? WHERE id = ?", longAgo, todo.getId());
+        }
+    }
+
+    private static List<Long> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).sorted().toList();
+    }
+}
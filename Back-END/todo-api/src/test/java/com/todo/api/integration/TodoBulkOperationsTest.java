@@ -0,0 +1,173 @@
+package com.todo.api.integration;
+
+import com.todo.api.dto.BulkResult;
+import com.todo.api.model.Recurrence;
+import com.todo.api.model.Todo;
+import com.todo.api.query.TodoFilter;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.service.TodoBulkService;
+import com.todo.api.service.TodoService;
+import com.todo.api.service.TodoStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bulk operations against the real schema with a chunk size of 2, so every operation spans
+ * several transactions; not {@code @Transactional} for that reason.
+ */
+@SpringBootTest(properties = "todo.bulk.chunk-size=2")
+@ActiveProfiles("test")
+@DisplayName("Todo Bulk Operations Tests")
+class TodoBulkOperationsTest {
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 10, 9, 0);
+
+    @Autowired
+    private TodoBulkService todoBulkService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todos_archive");
+        todoStatsService.reconcile();
+    }
+
+    @Test
+    @DisplayName("Should complete only matching pending todos across chunks and keep derived state in sync")
+    void completeAll_ShouldCompleteMatchingTodos() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            create("Report " + i, null);
+        }
+        Todo other = create("Groceries", null);
+        todoService.getTodosByStatus(false);
+
+        // When
+        BulkResult result = todoBulkService.completeAll(List.of(new TodoFilter.TextContains("report")));
+
+        // Then
+        assertEquals(5, result.affected());
+        assertEquals(3, result.chunks());
+        assertEquals(List.of(other.getId()), todoService.getTodosByStatus(false).stream().map(Todo::getId).toList());
+        assertEquals(5, todoStatsService.getStats().completed());
+        assertEquals(0, todoBulkService.completeAll(List.of(new TodoFilter.TextContains("report"))).affected());
+    }
+
+    @Test
+    @DisplayName("Should delete completed todos only")
+    void deleteCompleted_ShouldKeepPendingTodos() {
+        // Given
+        Todo done1 = todoService.toggleTodoStatus(create("Done 1", null).getId());
+        Todo done2 = todoService.toggleTodoStatus(create("Done 2", null).getId());
+        Todo done3 = todoService.toggleTodoStatus(create("Done 3", null).getId());
+        Todo pending = create("Pending", null);
+
+        // When
+        BulkResult result = todoBulkService.deleteCompleted(List.of());
+
+        // Then
+        assertEquals(3, result.affected());
+        assertFalse(todoRepository.existsById(done1.getId()));
+        assertFalse(todoRepository.existsById(done2.getId()));
+        assertFalse(todoRepository.existsById(done3.getId()));
+        assertEquals(List.of(pending.getId()), todoService.getAllTodos().stream().map(Todo::getId).toList());
+        assertEquals(1, todoStatsService.getStats().total());
+    }
+
+    @Test
+    @DisplayName("Should shift due dates of matching todos that have one")
+    void shiftDueDates_ShouldMoveDueDates() {
+        // Given
+        Todo early = create("Early", DUE);
+        Todo later = create("Later", DUE.plusDays(5));
+        Todo undated = create("Undated", null);
+        todoService.getTodoById(early.getId());
+
+        // When
+        BulkResult result = todoBulkService.shiftDueDates(
+                List.of(new TodoFilter.DueBefore(DUE.plusDays(1))), Duration.ofDays(2));
+
+        // Then
+        assertEquals(1, result.affected());
+        assertEquals(DUE.plusDays(2), todoService.getTodoById(early.getId()).getDueDate());
+        assertEquals(DUE.plusDays(5), todoService.getTodoById(later.getId()).getDueDate());
+        assertNull(todoService.getTodoById(undated.getId()).getDueDate());
+        assertThrows(IllegalArgumentException.class,
+                () -> todoBulkService.shiftDueDates(List.of(), Duration.ofMillis(1500)));
+    }
+
+    @Test
+    @DisplayName("Should delete a completed recurring todo together with its stored occurrences")
+    void deleteCompleted_ShouldDeleteOccurrencesWithSeries() {
+        // Given
+        Todo series = createWeekly("Weekly review");
+        todoService.toggleOccurrence(series.getId(), DUE.plusWeeks(1));
+        Todo moved = new Todo();
+        moved.setTitle("Weekly review, moved");
+        moved.setDueDate(DUE.plusWeeks(2).plusHours(1));
+        todoService.updateOccurrence(series.getId(), DUE.plusWeeks(2), moved);
+        todoService.toggleTodoStatus(series.getId());
+        Todo pending = create("Pending", null);
+
+        // When
+        BulkResult result = todoBulkService.deleteCompleted(List.of());
+
+        // Then
+        assertEquals(3, result.affected());
+        assertEquals(List.of(pending.getId()), todoService.getAllTodos().stream().map(Todo::getId).toList());
+        assertEquals(1, todoStatsService.getStats().total());
+    }
+
+    @Test
+    @DisplayName("Should leave recurring todos out of a due date shift")
+    void shiftDueDates_ShouldSkipRecurringTodos() {
+        // Given
+        Todo series = createWeekly("Weekly review");
+        Todo once = create("Once", DUE);
+
+        // When
+        BulkResult result = todoBulkService.shiftDueDates(List.of(), Duration.ofDays(2));
+
+        // Then
+        assertEquals(1, result.affected());
+        assertEquals(DUE, todoService.getTodoById(series.getId()).getDueDate());
+        assertEquals(DUE.plusDays(2), todoService.getTodoById(once.getId()).getDueDate());
+    }
+
+    private Todo createWeekly(String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDueDate(DUE);
+        todo.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 1, null));
+        return todoService.createTodo(todo);
+    }
+
+    private Todo create(String title, LocalDateTime dueDate) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDueDate(dueDate);
+        return todoService.createTodo(todo);
+    }
+}
@@ -0,0 +1,150 @@
+package com.todo.api.integration;
+
+import com.todo.api.dto.TodoTreeNode;
+import com.todo.api.model.Todo;
+import com.todo.api.query.TodoFilter;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.service.TodoArchiver;
+import com.todo.api.service.TodoBulkService;
+import com.todo.api.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the subtask hierarchy against the real schema; not {@code @Transactional} because the tree and
+ * progress rows are written just before commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Todo Hierarchy Tests")
+class TodoHierarchyTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBulkService todoBulkService;
+
+    @Autowired
+    private TodoArchiver todoArchiver;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todos_archive");
+        jdbcTemplate.update("DELETE FROM todo_tree");
+        jdbcTemplate.update("DELETE FROM todo_progress");
+    }
+
+    @Test
+    @DisplayName("Should return the whole subtree with progress kept up to date by toggles")
+    void getSubtree_ShouldAggregateProgress() {
+        // Given
+        Todo release = create("Release", null);
+        Todo docs = create("Docs", release.getId());
+        Todo api = create("API docs", docs.getId());
+        Todo guide = create("User guide", docs.getId());
+        Todo tests = create("Tests", release.getId());
+
+        // When
+        todoService.toggleTodoStatus(api.getId());
+        todoService.toggleTodoStatus(tests.getId());
+
+        // Then
+        TodoTreeNode tree = todoService.getSubtree(release.getId());
+        assertEquals(4, tree.subtasks());
+        assertEquals(2, tree.completedSubtasks());
+        assertEquals(50, tree.progress());
+        assertEquals(List.of(docs.getId(), tests.getId()), childIds(tree));
+        TodoTreeNode docsNode = tree.children().get(0);
+        assertEquals(List.of(api.getId(), guide.getId()), childIds(docsNode));
+        assertEquals(50, docsNode.progress());
+        assertNull(docsNode.children().get(0).progress());
+
+        todoService.toggleTodoStatus(api.getId());
+        assertEquals(25, todoService.getSubtree(release.getId()).progress());
+    }
+
+    @Test
+    @DisplayName("Should move a subtree with its counts and reject moves under its own subtasks")
+    void moveTodo_ShouldRelinkSubtree() {
+        // Given
+        Todo work = create("Work", null);
+        Todo home = create("Home", null);
+        Todo project = create("Project", work.getId());
+        Todo step = create("Step", project.getId());
+        todoService.toggleTodoStatus(step.getId());
+
+        // When
+        todoService.moveTodo(project.getId(), home.getId());
+
+        // Then
+        assertEquals(0, todoService.getSubtree(work.getId()).subtasks());
+        TodoTreeNode homeTree = todoService.getSubtree(home.getId());
+        assertEquals(2, homeTree.subtasks());
+        assertEquals(1, homeTree.completedSubtasks());
+        assertEquals(List.of(step.getId()), childIds(homeTree.children().get(0)));
+        assertEquals(home.getId(), todoService.getTodoById(project.getId()).getParentId());
+        assertThrows(IllegalArgumentException.class, () -> todoService.moveTodo(home.getId(), step.getId()));
+
+        todoService.moveTodo(project.getId(), null);
+        assertEquals(0, todoService.getSubtree(home.getId()).subtasks());
+        assertEquals(1, todoService.getSubtree(project.getId()).subtasks());
+    }
+
+    @Test
+    @DisplayName("Should delete subtasks with their parent and keep parents out of bulk delete and archive")
+    void delete_ShouldKeepHierarchyConsistent() {
+        // Given
+        Todo parent = create("Parent", null);
+        Todo child = create("Child", parent.getId());
+        Todo grandchild = create("Grandchild", child.getId());
+        todoService.toggleTodoStatus(parent.getId());
+        todoService.toggleTodoStatus(grandchild.getId());
+        Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(45));
+        jdbcTemplate.update("UPDATE todos SET updated_at = ?", longAgo);
+
+        // When
+        int archived = todoArchiver.archive();
+        int bulkDeleted = todoBulkService.deleteCompleted(List.<TodoFilter>of()).affected();
+
+        // Then
+        assertEquals(0, archived);
+        assertEquals(1, bulkDeleted);
+        assertFalse(todoRepository.existsById(grandchild.getId()));
+        assertEquals(0, todoService.getSubtree(parent.getId()).completedSubtasks());
+        assertEquals(1, todoService.getSubtree(parent.getId()).subtasks());
+
+        todoService.deleteTodo(parent.getId());
+        assertEquals(0, todoRepository.count());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tree", Integer.class));
+    }
+
+    private Todo create(String title, Long parentId) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setParentId(parentId);
+        return todoService.createTodo(todo);
+    }
+
+    private static List<Long> childIds(TodoTreeNode node) {
+        return node.children().stream().map(child -> child.todo().getId()).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.todo.api.integration;
+
+import com.todo.api.index.TodoPriorityIndex;
+import com.todo.api.model.Priority;
+import com.todo.api.model.Todo;
+import com.todo.api.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Todo Priority Index Tests")
+class TodoPriorityIndexTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoPriorityIndex todoPriorityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todos_archive");
+        todoPriorityIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank pending todos by priority, then due date, with undated ones last")
+    void getNextTodos_ShouldRankByPriorityAndDueDate() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Todo report = create("Quarterly report", Priority.HIGH, now.plusDays(3));
+        Todo outage = create("Fix outage", Priority.URGENT, null);
+        Todo taxes = create("File taxes", Priority.HIGH, now.plusDays(1));
+        Todo plants = create("Water plants", Priority.LOW, now.minusDays(1));
+        Todo idea = create("Someday idea", Priority.HIGH, null);
+
+        // When & Then
+        assertEquals(List.of(outage.getId(), taxes.getId(), report.getId(), idea.getId()),
+                ids(todoService.getNextTodos(4)));
+        assertEquals(List.of(outage.getId(), taxes.getId(), report.getId(), idea.getId(), plants.getId()),
+                ids(todoService.getNextTodos(100)));
+    }
+
+    @Test
+    @DisplayName("Should follow updates, toggles and deletes, and match a rebuild from the table")
+    void index_ShouldStayInSyncWithWrites() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Todo report = create("Quarterly report", Priority.MEDIUM, now.plusDays(3));
+        Todo outage = create("Fix outage", Priority.URGENT, null);
+        Todo taxes = create("File taxes", Priority.HIGH, now.plusDays(1));
+        Todo plants = create("Water plants", Priority.LOW, null);
+
+        // When
+        Todo update = new Todo();
+        update.setTitle(report.getTitle());
+        update.setPriority(Priority.URGENT);
+        update.setDueDate(now.plusDays(2));
+        todoService.updateTodo(report.getId(), update);
+        todoService.toggleTodoStatus(outage.getId());
+        todoService.deleteTodo(plants.getId());
+
+        // Then
+        List<Long> expected = List.of(report.getId(), taxes.getId());
+        assertEquals(expected, ids(todoService.getNextTodos(10)));
+        todoPriorityIndex.rebuild();
+        assertEquals(expected, ids(todoService.getNextTodos(10)));
+        assertEquals(2, todoPriorityIndex.size());
+    }
+
+    private Todo create(String title, Priority priority, LocalDateTime dueDate) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setPriority(priority);
+        todo.setDueDate(dueDate);
+        return todoService.createTodo(todo);
+    }
+
+    private static List<Long> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).toList();
+    }
+}
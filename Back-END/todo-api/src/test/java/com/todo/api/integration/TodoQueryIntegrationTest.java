@@ -0,0 +1,107 @@
+package com.todo.api.integration;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.model.Todo;
+import com.todo.api.query.TodoQueryParser;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.service.TodoQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Todo Query Integration Tests")
+class TodoQueryIntegrationTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 9, 20, 9, 0);
+
+    @Autowired
+    private TodoQueryService todoQueryService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private List<Todo> todos;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        todos = new ArrayList<>();
+        Integer[] dueInDays = {3, null, 1, 3, null, 5, 1, null, 2};
+        for (int i = 0; i < dueInDays.length; i++) {
+            Todo todo = new Todo();
+            todo.setTitle((i % 2 == 0 ? "Write" : "Review") + " item " + i);
+            todo.setDescription(i == 4 ? "50% done" : "Plain");
+            todo.setCompleted(i % 3 == 0);
+            todo.setDueDate(dueInDays[i] == null ? null : BASE.plusDays(dueInDays[i]));
+            todos.add(todoRepository.save(todo));
+        }
+    }
+
+    @Test
+    @DisplayName("Should walk all pages in sort order without gaps or duplicates, nulls last")
+    void query_ShouldPageThroughAllRowsByKeyset() {
+        // Given
+        List<Long> expected = todos.stream()
+                .sorted(Comparator.comparing(Todo::getDueDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                        .thenComparing(Todo::getId))
+                .map(Todo::getId)
+                .toList();
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<Todo> page = todoQueryService.query(
+                    TodoQueryParser.parse(null, null, null, null, null, "-dueDate", 2, cursor));
+            page.items().forEach(todo -> seen.add(todo.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    @DisplayName("Should combine filters in one query")
+    void query_ShouldApplyAllFilters() {
+        // When
+        KeysetPage<Todo> page = todoQueryService.query(TodoQueryParser.parse(
+                false, BASE.plusDays(4), BASE.plusDays(1), null, "write", "dueDate,title", 20, null));
+
+        // Then
+        List<Long> expected = todos.stream()
+                .filter(todo -> !todo.isCompleted() && todo.getTitle().startsWith("Write"))
+                .filter(todo -> todo.getDueDate() != null
+                        && !todo.getDueDate().isBefore(BASE.plusDays(1)) && todo.getDueDate().isBefore(BASE.plusDays(4)))
+                .sorted(Comparator.comparing(Todo::getDueDate).thenComparing(Todo::getTitle))
+                .map(Todo::getId)
+                .toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, page.items().stream().map(Todo::getId).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in the text literally")
+    void query_ShouldEscapeWildcards() {
+        // When
+        KeysetPage<Todo> page = todoQueryService.query(
+                TodoQueryParser.parse(null, null, null, null, "50%", null, 20, null));
+
+        // Then
+        assertEquals(List.of(todos.get(4).getId()), page.items().stream().map(Todo::getId).toList());
+    }
+}
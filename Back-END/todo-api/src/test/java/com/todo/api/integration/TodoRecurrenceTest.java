@@ -0,0 +1,114 @@
+package com.todo.api.integration;
+
+import com.todo.api.model.Recurrence;
+import com.todo.api.model.Todo;
+import com.todo.api.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Todo Recurrence Tests")
+class TodoRecurrenceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todos_archive");
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusWeeks(2).minusHours(1);
+    }
+
+    @Test
+    @DisplayName("Should list generated occurrences in the window without storing them")
+    void getAllTodos_WithWindow_ShouldExpandOccurrencesLazily() {
+        // Given
+        Todo standup = createWeekly("Weekly standup");
+        Todo errand = new Todo();
+        errand.setTitle("One-off errand");
+        errand = todoService.createTodo(errand);
+
+        // When
+        List<Todo> todos = todoService.getAllTodos(false, start, start.plusWeeks(5));
+
+        // Then
+        assertEquals(errand.getId(), todos.get(0).getId());
+        assertEquals(List.of(start, start.plusWeeks(1), start.plusWeeks(2), start.plusWeeks(3), start.plusWeeks(4)),
+                todos.subList(1, todos.size()).stream().map(Todo::getDueDate).toList());
+        assertTrue(todos.subList(1, todos.size()).stream()
+                .allMatch(todo -> todo.getId() == null && standup.getId().equals(todo.getSeriesId())));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+        assertEquals(2, todoService.getAllTodos(false).size());
+        assertThrows(IllegalArgumentException.class, () -> todoService.getAllTodos(false, start, start.plusYears(2)));
+    }
+
+    @Test
+    @DisplayName("Should store an occurrence only once it is toggled or edited, and never generate it again")
+    void toggleOccurrence_ShouldStoreOccurrenceAndDropItFromGenerated() {
+        // Given
+        Todo standup = createWeekly("Weekly standup");
+
+        // When
+        Todo done = todoService.toggleOccurrence(standup.getId(), start.plusWeeks(1));
+        Todo update = new Todo();
+        update.setTitle("Standup moved online");
+        update.setDueDate(start.plusWeeks(3).plusHours(2));
+        Todo moved = todoService.updateOccurrence(standup.getId(), start.plusWeeks(3), update);
+
+        // Then
+        assertNotNull(done.getId());
+        assertTrue(done.isCompleted());
+        assertEquals(start.plusWeeks(1), done.getOccurrenceDate());
+        assertEquals(start.plusWeeks(3), moved.getOccurrenceDate());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+        List<Todo> pending = todoService.getTodosByStatus(false, false, start, start.plusWeeks(5));
+        assertEquals(List.of(start.plusWeeks(3).plusHours(2), start, start.plusWeeks(2), start.plusWeeks(4)),
+                pending.stream().map(Todo::getDueDate).toList());
+        assertFalse(todoService.toggleOccurrence(standup.getId(), start.plusWeeks(1)).isCompleted());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should report missed occurrences as overdue and delete stored occurrences with the series")
+    void getOverdueTodos_ShouldIncludeMissedOccurrences() {
+        // Given
+        Todo standup = createWeekly("Weekly standup");
+        todoService.toggleOccurrence(standup.getId(), start.plusWeeks(1));
+
+        // When
+        List<Todo> recent = todoService.getOverdueTodos();
+        List<Todo> sinceStart = todoService.getOverdueTodos(start);
+        todoService.deleteTodo(standup.getId());
+
+        // Then
+        assertEquals(List.of(start.plusWeeks(2)), recent.stream().map(Todo::getDueDate).toList());
+        assertEquals(List.of(start, start.plusWeeks(2)), sinceStart.stream().map(Todo::getDueDate).toList());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+    }
+
+    private Todo createWeekly(String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDueDate(start);
+        todo.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 1, null));
+        return todoService.createTodo(todo);
+    }
+}
@@ -0,0 +1,127 @@
+package com.todo.api.integration;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.index.TagQuery;
+import com.todo.api.index.TodoTagIndex;
+import com.todo.api.model.Todo;
+import com.todo.api.service.TodoService;
+import com.todo.api.service.TodoTagService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Todo Tag Index Tests")
+class TodoTagIndexTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoTagService todoTagService;
+
+    @Autowired
+    private TodoTagIndex todoTagIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todos_archive");
+        todoTagIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should resolve AND, OR and NOT tag conditions combined with status")
+    void findTagged_ShouldCombineConditions() {
+        // Given
+        Todo release = create("Release notes", "Work", "docs");
+        Todo outage = create("Fix outage", "work", "urgent");
+        Todo taxes = create("File taxes", "home", "urgent");
+        Todo blocked = create("Migrate database", "work", "urgent", "blocked");
+        todoService.toggleTodoStatus(outage.getId());
+
+        // When & Then
+        assertEquals(List.of(outage.getId(), blocked.getId()),
+                ids(query(Set.of("work", "urgent"), Set.of(), Set.of(), null)));
+        assertEquals(List.of(blocked.getId()),
+                ids(query(Set.of("work", "urgent"), Set.of(), Set.of(), false)));
+        assertEquals(List.of(release.getId(), taxes.getId()),
+                ids(query(Set.of(), Set.of("docs", "home"), Set.of(), null)));
+        assertEquals(List.of(release.getId(), outage.getId(), taxes.getId()),
+                ids(query(Set.of(), Set.of(), Set.of("blocked"), null)));
+        assertTrue(query(Set.of("work", "missing"), Set.of(), Set.of(), null).items().isEmpty());
+        assertEquals(Map.of("blocked", 1L, "docs", 1L, "home", 1L, "urgent", 3L, "work", 3L),
+                todoTagService.getTagCounts());
+    }
+
+    @Test
+    @DisplayName("Should follow updates and deletes, and match a rebuild from the table")
+    void index_ShouldStayInSyncWithWrites() {
+        // Given
+        Todo todo = create("Quarterly report", "work");
+        Todo other = create("Weekly report", "work");
+
+        // When
+        Todo update = new Todo();
+        update.setTitle(todo.getTitle());
+        update.setTags(List.of("home"));
+        todoService.updateTodo(todo.getId(), update);
+        todoService.deleteTodo(other.getId());
+
+        // Then
+        assertTrue(query(Set.of("work"), Set.of(), Set.of(), null).items().isEmpty());
+        assertEquals(List.of(todo.getId()), ids(query(Set.of("home"), Set.of(), Set.of(), null)));
+        Map<String, Long> counts = todoTagService.getTagCounts();
+        todoTagIndex.rebuild();
+        assertEquals(counts, todoTagService.getTagCounts());
+        assertEquals(Map.of("home", 1L), counts);
+    }
+
+    @Test
+    @DisplayName("Should page through matches with the id cursor")
+    void findTagged_ShouldPageByCursor() {
+        // Given
+        Todo first = create("One", "work");
+        Todo second = create("Two", "work");
+        Todo third = create("Three", "work");
+        TagQuery query = new TagQuery(Set.of("work"), Set.of(), Set.of(), null);
+
+        // When
+        KeysetPage<Todo> page1 = todoTagService.findTagged(query, null, 2);
+        KeysetPage<Todo> page2 = todoTagService.findTagged(query, page1.nextCursor(), 2);
+
+        // Then
+        assertEquals(List.of(first.getId(), second.getId()), ids(page1));
+        assertEquals(List.of(third.getId()), ids(page2));
+        assertNull(page2.nextCursor());
+    }
+
+    private KeysetPage<Todo> query(Set<String> all, Set<String> any, Set<String> none, Boolean completed) {
+        return todoTagService.findTagged(new TagQuery(all, any, none, completed), null, 100);
+    }
+
+    private Todo create(String title, String... tags) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setTags(List.of(tags));
+        return todoService.createTodo(todo);
+    }
+
+    private static List<Long> ids(KeysetPage<Todo> page) {
+        return page.items().stream().map(Todo::getId).toList();
+    }
+}
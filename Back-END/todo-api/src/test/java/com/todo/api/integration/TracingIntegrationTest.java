@@ -0,0 +1,88 @@
+package com.todo.api.integration;
+
+import com.todo.api.dto.TraceSpan;
+import com.todo.api.tracing.RecentSpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.tracing.sampling.probability=1.0"
+})
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+@DisplayName("Tracing Integration Tests")
+class TracingIntegrationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecentSpanExporter recentSpanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    @DisplayName("Should continue the caller's trace through controller, service and JDBC spans")
+    void createTodo_ShouldRecordNestedSpans() throws Exception {
+        // Given
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todos"))
+                .header("Content-Type", "application/json")
+                .header("traceparent", "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Traced\"}"))
+                .build();
+
+        // When
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(201, response.statusCode());
+        List<TraceSpan> spans = recentSpanExporter.trace(TRACE_ID);
+        TraceSpan server = span(spans, "http post /api/todos");
+        TraceSpan controller = span(spans, "todo-controller.create-todo");
+        TraceSpan service = span(spans, "todo-service.create-todo");
+        TraceSpan insert = span(spans, "jdbc insert");
+        assertEquals(CALLER_SPAN_ID, server.parentSpanId());
+        // Spring Security's "secured request" span sits between the server and the handler
+        assertTrue(descendsFrom(spans, controller, server));
+        assertEquals(controller.spanId(), service.parentSpanId());
+        assertEquals(service.spanId(), insert.parentSpanId());
+        assertTrue(insert.attributes().get("db.statement").startsWith("insert into todos"));
+        assertTrue(recentSpanExporter.recentTraces(10).stream().anyMatch(root -> root.spanId().equals(server.spanId())));
+    }
+
+    private static boolean descendsFrom(List<TraceSpan> spans, TraceSpan span, TraceSpan ancestor) {
+        TraceSpan current = span;
+        while (current != null && current.parentSpanId() != null) {
+            if (current.parentSpanId().equals(ancestor.spanId())) {
+                return true;
+            }
+            String parentId = current.parentSpanId();
+            current = spans.stream().filter(candidate -> candidate.spanId().equals(parentId)).findFirst().orElse(null);
+        }
+        return false;
+    }
+
+    private static TraceSpan span(List<TraceSpan> spans, String name) {
+        return spans.stream().filter(span -> span.name().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans));
+    }
+}
@@ -0,0 +1,57 @@
+package com.todo.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.api.model.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation of writing a list of todos with the default bean serializer and with
+ * {@link TodoJson}. Not a unit test; run with {@code mvn -Pjmh test}, which adds the GC profiler so the
+ * report includes {@code gc.alloc.rate.norm} (bytes allocated per list).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoJsonBenchmark {
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectMapper defaultMapper;
+    private ObjectMapper todoJsonMapper;
+    private List<Todo> todos;
+
+    @Setup
+    public void setUp() {
+        defaultMapper = TodoJsonTest.mapper(false);
+        todoJsonMapper = TodoJsonTest.mapper(true);
+        todos = TodoJsonTest.todos(size);
+    }
+
+    @Benchmark
+    public void defaultJackson() throws IOException {
+        defaultMapper.writeValue(OutputStream.nullOutputStream(), todos);
+    }
+
+    @Benchmark
+    public void todoJson() throws IOException {
+        todoJsonMapper.writeValue(OutputStream.nullOutputStream(), todos);
+    }
+}
@@ -0,0 +1,152 @@
+package com.todo.api.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.todo.api.model.Priority;
+import com.todo.api.model.Recurrence;
+import com.todo.api.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo JSON Tests")
+class TodoJsonTest {
+    private static final ObjectMapper DEFAULT_MAPPER = mapper(false);
+    private static final ObjectMapper TODO_JSON_MAPPER = mapper(true);
+
+    @Test
+    @DisplayName("Should write exactly what the default bean serializer writes")
+    void serialize_ShouldMatchDefaultJackson() throws IOException {
+        // Given
+        List<Todo> todos = todos(200);
+        Todo sparse = new Todo();
+        sparse.setTitle("Only a title");
+        sparse.setPriority(null);
+        sparse.setTags(null);
+        sparse.setDueDate(LocalDateTime.of(12_024, 1, 1, 0, 0));
+        todos.add(sparse);
+
+        // When
+        String expected = DEFAULT_MAPPER.writeValueAsString(todos);
+        String actual = TODO_JSON_MAPPER.writeValueAsString(todos);
+
+        // Then
+        assertEquals(expected, actual);
+        assertTrue(actual.contains("\"dueDate\":\"2025-03-07T09:06:00.12\""));
+    }
+
+    @Test
+    @DisplayName("Should read what it writes, timestamps with a trailing Z and unknown properties")
+    void deserialize_ShouldAcceptDefaultJacksonInput() throws IOException {
+        // Given
+        Todo original = todos(1).get(0);
+        String json = "{\"title\":\"Ship\",\"completed\":\"true\",\"priority\":\"URGENT\",\"dueDate\":\"2025-09-21T15:00:00Z\","
+                + "\"tags\":[\" Docs \",\"release\"],\"parentId\":\"7\",\"recurrence\":{\"frequency\":\"WEEKLY\",\"interval\":2},"
+                + "\"unknown\":{\"nested\":[1,2]}}";
+
+        // When
+        Todo roundTripped = TODO_JSON_MAPPER.readValue(TODO_JSON_MAPPER.writeValueAsBytes(original), Todo.class);
+        Todo parsed = TODO_JSON_MAPPER.readValue(json, Todo.class);
+
+        // Then
+        assertEquals(original, roundTripped);
+        assertEquals("Ship", parsed.getTitle());
+        assertTrue(parsed.isCompleted());
+        assertEquals(Priority.URGENT, parsed.getPriority());
+        assertEquals(LocalDateTime.of(2025, 9, 21, 15, 0), parsed.getDueDate());
+        assertEquals(Set.of("docs", "release"), parsed.getTags());
+        assertEquals(7L, parsed.getParentId());
+        assertEquals(new Recurrence(Recurrence.Frequency.WEEKLY, 2, null), parsed.getRecurrence());
+        assertNull(parsed.getId());
+        assertThrows(InvalidFormatException.class,
+                () -> TODO_JSON_MAPPER.readValue("{\"title\":\"Ship\",\"priority\":\"SOMEDAY\"}", Todo.class));
+    }
+
+    @Test
+    @DisplayName("Should allocate far less than the default bean serializer when writing a list")
+    void serialize_ShouldAllocateLessThanDefaultJackson() throws IOException {
+        // Given
+        List<Todo> todos = todos(1_000);
+
+        // When
+        long defaultBytes = allocatedBytes(DEFAULT_MAPPER, todos);
+        long todoJsonBytes = allocatedBytes(TODO_JSON_MAPPER, todos);
+
+        // Then
+        assertTrue(todoJsonBytes * 4 < defaultBytes,
+                () -> "Bytes allocated per todo: TodoJson " + todoJsonBytes / todos.size()
+                        + ", default Jackson " + defaultBytes / todos.size());
+    }
+
+    static ObjectMapper mapper(boolean todoJson) {
+        // Configured like Spring Boot's auto-configured mapper
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (todoJson) {
+            builder.addModule(new SimpleModule()
+                    .addSerializer(new TodoJson.Serializer())
+                    .addDeserializer(Todo.class, new TodoJson.Deserializer()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Bytes allocated by this thread per serialization of {@code todos}, after a warm-up that lets the
+     * JIT compile both paths.
+     */
+    private static long allocatedBytes(ObjectMapper mapper, List<Todo> todos) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < 200; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), todos);
+        }
+        int rounds = 50;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < rounds; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), todos);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / rounds;
+    }
+
+    static List<Todo> todos(int count) {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 1, 8, 0, 0, 123_456_789);
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Todo todo = new Todo();
+            todo.setId(90_751_795_200_097L + i);
+            todo.setTitle("Todo \"" + i + "\"");
+            todo.setDescription(i % 3 == 0 ? null : "Description of todo " + i);
+            todo.setCompleted(i % 2 == 0);
+            todo.setPriority(Priority.values()[i % Priority.values().length]);
+            todo.setDueDate(i % 4 == 0 ? null : LocalDateTime.of(2025, 3, 7, 9, 5, 0, 120_000_000).plusMinutes(i));
+            todo.setTags(i % 5 == 0 ? List.of() : List.of("docs", "release-" + i % 7));
+            todo.setParentId(i % 10 == 0 ? 90_751_795_200_097L : null);
+            if (i % 20 == 1) {
+                todo.setRecurrence(new Recurrence(Recurrence.Frequency.MONTHLY, 1, i % 40 == 1 ? null : created.plusYears(1)));
+            } else if (i % 20 == 2) {
+                todo.setSeriesId(90_751_795_200_098L);
+                todo.setOccurrenceDate(todo.getDueDate());
+            }
+            todo.setCreatedAt(created.plusSeconds(i * 37L));
+            todo.setUpdatedAt(created.plusSeconds(i * 37L).withNano(0));
+            todos.add(todo);
+        }
+        return todos;
+    }
+}
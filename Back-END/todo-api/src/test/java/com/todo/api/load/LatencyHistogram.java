@@ -0,0 +1,75 @@
+package com.todo.api.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds. Values below 128 µs are exact; above that
+ * every power of two is split into 64 buckets, so any reported percentile is within ~1.6% of the
+ * recorded value.
+ */
+final class LatencyHistogram {
+    private static final int LINEAR_LIMIT = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int MAX_EXPONENT = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_LIMIT + MAX_EXPONENT * SUB_BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(index(micros));
+        max.accumulate(micros);
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the {@code quantile} (0..1) of all recorded values, in µs.
+     */
+    long percentileMicros(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(lowerBound(i + 1) - 1, maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    static int index(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros) - 6;
+        if (exponent > MAX_EXPONENT) {
+            return LINEAR_LIMIT + MAX_EXPONENT * SUB_BUCKETS - 1;
+        }
+        return LINEAR_LIMIT + (exponent - 1) * SUB_BUCKETS + (int) ((micros >> exponent) - SUB_BUCKETS);
+    }
+
+    static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long mantissa = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return mantissa << exponent;
+    }
+}
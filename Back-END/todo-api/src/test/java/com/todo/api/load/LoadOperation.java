@@ -0,0 +1,16 @@
+package com.todo.api.load;
+
+/**
+ * Requests replayed by the load driver; the same set the Postman collection and
+ * {@code Curl-Scripts/test-api.sh} exercise one at a time.
+ */
+enum LoadOperation {
+    LIST_ALL,
+    GET_BY_ID,
+    CREATE,
+    UPDATE,
+    TOGGLE,
+    LIST_BY_STATUS,
+    SEARCH,
+    DELETE
+}
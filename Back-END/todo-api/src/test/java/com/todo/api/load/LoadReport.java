@@ -0,0 +1,69 @@
+package com.todo.api.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a load run: latency percentiles per operation and overall, plus error counts.
+ * Latencies are measured from each request's intended start time, so queueing delay caused by a
+ * saturated server is included (no coordinated omission).
+ */
+record LoadReport(Map<LoadOperation, OperationStats> operations,
+                  OperationStats overall,
+                  long dropped,
+                  double achievedRatePerSecond) {
+
+    record OperationStats(long requests, long errors, long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+
+        static OperationStats of(LatencyHistogram histogram, long errors) {
+            return new OperationStats(histogram.count() + errors, errors,
+                    histogram.percentileMicros(0.50), histogram.percentileMicros(0.95),
+                    histogram.percentileMicros(0.99), histogram.maxMicros());
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    /**
+     * Service-level objectives the run must meet.
+     */
+    record Slo(double p50Ms, double p99Ms, double maxErrorRate) {
+    }
+
+    List<String> violations(Slo slo) {
+        List<String> violations = new ArrayList<>();
+        if (overall.p50Micros() > slo.p50Ms() * 1_000) {
+            violations.add(String.format("p50 %.1f ms exceeds %.1f ms", overall.p50Micros() / 1_000.0, slo.p50Ms()));
+        }
+        if (overall.p99Micros() > slo.p99Ms() * 1_000) {
+            violations.add(String.format("p99 %.1f ms exceeds %.1f ms", overall.p99Micros() / 1_000.0, slo.p99Ms()));
+        }
+        long requests = overall.requests() + dropped;
+        double errorRate = requests == 0 ? 0 : (double) (overall.errors() + dropped) / requests;
+        if (errorRate > slo.maxErrorRate()) {
+            violations.add(String.format("error rate %.4f exceeds %.4f", errorRate, slo.maxErrorRate()));
+        }
+        return violations;
+    }
+
+    String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-15s %9s %7s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        Map<LoadOperation, OperationStats> ordered = new EnumMap<>(operations);
+        ordered.forEach((operation, stats) -> row(out, operation.name(), stats));
+        row(out, "TOTAL", overall);
+        out.append(String.format("dropped (in-flight limit): %d, achieved rate: %.1f req/s%n", dropped, achievedRatePerSecond));
+        return out.toString();
+    }
+
+    private static void row(StringBuilder out, String name, OperationStats stats) {
+        out.append(String.format("%-15s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", name, stats.requests(), stats.errors(),
+                stats.p50Micros() / 1_000.0, stats.p95Micros() / 1_000.0, stats.p99Micros() / 1_000.0,
+                stats.maxMicros() / 1_000.0));
+    }
+}
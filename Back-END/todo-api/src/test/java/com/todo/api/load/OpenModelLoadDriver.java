@@ -0,0 +1,278 @@
+package com.todo.api.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model load generator: requests are started at a fixed arrival rate (constant or Poisson
+ * inter-arrival times) regardless of how quickly earlier ones complete, each on its own virtual
+ * thread, using the JDK {@link HttpClient}. A slow server therefore builds a queue and shows up in the
+ * latencies instead of silently lowering the offered load.
+ */
+final class OpenModelLoadDriver {
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    record Config(URI baseUri,
+                  double ratePerSecond,
+                  Duration duration,
+                  Duration warmup,
+                  int maxInFlight,
+                  boolean poisson,
+                  int seedTodos,
+                  Map<LoadOperation, Integer> mix) {
+    }
+
+    private final Config config;
+    private final HttpClient client;
+    private final URI todosUri;
+    private final LoadOperation[] schedule;
+    private final IdPool ids = new IdPool();
+
+    private final Map<LoadOperation, LatencyHistogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private final LatencyHistogram overall = new LatencyHistogram();
+    private final LongAdder overallErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelLoadDriver(Config config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.todosUri = config.baseUri().resolve("/api/todos");
+        this.schedule = weightedSchedule(config.mix());
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        seed();
+        long intervalNanos = (long) (1_000_000_000L / config.ratePerSecond());
+        Random arrivals = new Random();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        long issued = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (next < end) {
+                long now;
+                while ((now = System.nanoTime()) < next) {
+                    LockSupport.parkNanos(next - now);
+                }
+                long intended = next;
+                boolean measured = intended >= measureFrom;
+                if (inFlight.incrementAndGet() > config.maxInFlight()) {
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        dropped.increment();
+                    }
+                } else {
+                    LoadOperation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                    executor.execute(() -> {
+                        try {
+                            execute(operation, intended, measured);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+                    if (measured) {
+                        issued++;
+                    }
+                }
+                next += config.poisson()
+                        ? (long) (-Math.log(1 - arrivals.nextDouble()) * intervalNanos)
+                        : intervalNanos;
+            }
+        }
+        double seconds = config.duration().toNanos() / 1e9;
+        return report(issued / seconds);
+    }
+
+    private void seed() {
+        for (int i = 0; i < config.seedTodos(); i++) {
+            try {
+                HttpResponse<String> response = client.send(create("Seed " + i), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 201) {
+                    throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+                }
+                ids.add(parseId(response.body()));
+            } catch (IOException e) {
+                throw new IllegalStateException("Seeding failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Seeding interrupted", e);
+            }
+        }
+    }
+
+    private void execute(LoadOperation operation, long intendedNanos, boolean measured) {
+        boolean ok;
+        try {
+            HttpResponse<String> response = client.send(request(operation), HttpResponse.BodyHandlers.ofString());
+            ok = accept(operation, response);
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        if (!measured) {
+            return;
+        }
+        if (ok) {
+            long latency = System.nanoTime() - intendedNanos;
+            latencies.get(operation).recordNanos(latency);
+            overall.recordNanos(latency);
+        } else {
+            errors.get(operation).increment();
+            overallErrors.increment();
+        }
+    }
+
+    private HttpRequest request(LoadOperation operation) {
+        long id = ids.random();
+        return switch (operation) {
+            case LIST_ALL -> get(todosUri);
+            case GET_BY_ID -> get(todoUri(id, ""));
+            case CREATE -> create("Load test todo");
+            case UPDATE -> HttpRequest.newBuilder(todoUri(id, ""))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"title\":\"Load test todo (updated)\",\"description\":\"Updated by load driver\",\"completed\":false}"))
+                    .build();
+            case TOGGLE -> HttpRequest.newBuilder(todoUri(id, "/toggle"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case LIST_BY_STATUS -> get(URI.create(todosUri + "/status?completed=" + ThreadLocalRandom.current().nextBoolean()));
+            case SEARCH -> get(URI.create(todosUri + "/search?title=load"));
+            case DELETE -> HttpRequest.newBuilder(todoUri(ids.take(), ""))
+                    .timeout(REQUEST_TIMEOUT)
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    /**
+     * Ids are shared by all virtual users, so a concurrent delete can legitimately turn a read,
+     * update or toggle into a 404; those count as successful round trips.
+     */
+    private boolean accept(LoadOperation operation, HttpResponse<String> response) {
+        int status = response.statusCode();
+        return switch (operation) {
+            case CREATE -> {
+                if (status != 201) {
+                    yield false;
+                }
+                ids.add(parseId(response.body()));
+                yield true;
+            }
+            case DELETE -> status == 204 || status == 404;
+            case GET_BY_ID, UPDATE, TOGGLE -> status == 200 || status == 404;
+            default -> status == 200;
+        };
+    }
+
+    private HttpRequest create(String title) {
+        return HttpRequest.newBuilder(todosUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"" + title + "\",\"description\":\"Created by load driver\",\"completed\":false}"))
+                .build();
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private URI todoUri(long id, String suffix) {
+        return URI.create(todosUri + "/" + id + suffix);
+    }
+
+    private LoadReport report(double achievedRate) {
+        Map<LoadOperation, LoadReport.OperationStats> operations = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            if (config.mix().getOrDefault(operation, 0) > 0) {
+                operations.put(operation, LoadReport.OperationStats.of(latencies.get(operation), errors.get(operation).sum()));
+            }
+        }
+        return new LoadReport(operations, LoadReport.OperationStats.of(overall, overallErrors.sum()),
+                dropped.sum(), achievedRate);
+    }
+
+    private static long parseId(String body) {
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response: " + body);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static LoadOperation[] weightedSchedule(Map<LoadOperation, Integer> mix) {
+        List<LoadOperation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix must contain at least one positive weight");
+        }
+        return slots.toArray(LoadOperation[]::new);
+    }
+
+    /**
+     * Ids of todos created during the run, shared by all virtual users.
+     */
+    private static final class IdPool {
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized long random() {
+            return ids.isEmpty() ? 1 : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        /**
+         * Removes and returns a random id so two deletes rarely target the same todo.
+         */
+        synchronized long take() {
+            if (ids.isEmpty()) {
+                return 1;
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.todo.api.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays the Postman collection's requests against an embedded server at a fixed arrival rate and
+ * fails when the latency or error-rate objectives are missed. Excluded from the default build; run with
+ * {@code mvn -Pload-test test} and tune it through {@code -Dload.*} system properties
+ * (see Setup-Instructions/setup-instructions.md). Tracing stays on as in production, so
+ * {@code -Dmanagement.tracing.sampling.probability} can be varied to measure its overhead. The report
+ * is written to {@code target/load-report.txt}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.todo.api=WARN",
+        "logging.level.org.springframework.web=WARN"
+})
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class TodoLoadTest {
+    private static final Path REPORT = Path.of("target", "load-report.txt");
+    private static final String DEFAULT_MIX =
+            "LIST_ALL=20,GET_BY_ID=30,CREATE=15,UPDATE=10,TOGGLE=10,LIST_BY_STATUS=5,SEARCH=5,DELETE=5";
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Should meet latency and error-rate objectives at the configured arrival rate")
+    void shouldMeetServiceLevelObjectives() throws InterruptedException, IOException {
+        // Given
+        OpenModelLoadDriver.Config config = new OpenModelLoadDriver.Config(
+                URI.create("http://localhost:" + port),
+                doubleProperty("load.rate", 200),
+                Duration.ofSeconds(longProperty("load.duration-seconds", 30)),
+                Duration.ofSeconds(longProperty("load.warmup-seconds", 5)),
+                (int) longProperty("load.max-in-flight", 1_000),
+                Boolean.parseBoolean(System.getProperty("load.poisson", "true")),
+                (int) longProperty("load.seed-todos", 50),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)));
+        LoadReport.Slo slo = new LoadReport.Slo(
+                doubleProperty("load.slo.p50-ms", 20),
+                doubleProperty("load.slo.p99-ms", 200),
+                doubleProperty("load.slo.max-error-rate", 0.001));
+
+        // When
+        LoadReport report = new OpenModelLoadDriver(config).run();
+
+        // Then
+        Files.writeString(REPORT, report.format());
+        List<String> violations = report.violations(slo);
+        assertTrue(violations.isEmpty(), () -> "SLO violations: " + violations);
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static long longProperty(String name, long defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+}
@@ -0,0 +1,147 @@
+package com.todo.api.logging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Access Log Tests")
+class AccessLogTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should write one JSON line per record on the writer thread")
+    void access_ShouldWriteJsonLines() throws Exception {
+        // Given
+        Path file = directory.resolve("logs/access.log");
+        AccessLog accessLog = new AccessLog(true, 16, file.toString(), true);
+        accessLog.start();
+
+        // When
+        accessLog.statement("select t from todos t where t.id=?", 88_000, false, "4bf92f3577b34da6a3ce929d0e0e4736");
+        accessLog.access("GET", "/api/todos/5", "getTodoById", 200, 1_834_000, 1, 88_000, "4bf92f3577b34da6a3ce929d0e0e4736");
+        accessLog.stop();
+
+        // Then
+        List<JsonNode> lines = read(file);
+        assertEquals(2, lines.size());
+        JsonNode statement = lines.get(0);
+        assertEquals("sql", statement.get("type").asText());
+        assertEquals(88, statement.get("durationUs").asLong());
+        assertFalse(statement.get("failed").asBoolean());
+        assertEquals("select t from todos t where t.id=?", statement.get("statement").asText());
+        JsonNode access = lines.get(1);
+        assertEquals("access", access.get("type").asText());
+        assertEquals("GET", access.get("method").asText());
+        assertEquals("/api/todos/5", access.get("path").asText());
+        assertEquals("getTodoById", access.get("handler").asText());
+        assertEquals(200, access.get("status").asInt());
+        assertEquals(1834, access.get("durationUs").asLong());
+        assertEquals(1, access.get("statements").asInt());
+        assertEquals(88, access.get("statementUs").asLong());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", access.get("traceId").asText());
+        assertTrue(access.get("ts").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z"));
+        assertEquals(2, accessLog.getStats().written());
+    }
+
+    @Test
+    @DisplayName("Should drop and count records that do not fit in the ring buffer")
+    void access_WhenRingFull_ShouldDropAndCount() throws Exception {
+        // Given: the writer is not running yet, so nothing is taken out of the four slots
+        Path file = directory.resolve("access.log");
+        AccessLog accessLog = new AccessLog(true, 4, file.toString(), false);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            accessLog.access("GET", "/api/todos/" + i, "getTodoById", 200, 1_000, 0, 0, null);
+        }
+        assertEquals(2, accessLog.getStats().dropped());
+        assertEquals(4, accessLog.getStats().pending());
+        accessLog.start();
+        accessLog.stop();
+
+        // Then
+        List<JsonNode> lines = read(file);
+        assertEquals(5, lines.size());
+        assertEquals("/api/todos/3", lines.get(3).get("path").asText());
+        assertFalse(lines.get(3).has("traceId"));
+        assertEquals("dropped", lines.get(4).get("type").asText());
+        assertEquals(2, lines.get(4).get("count").asLong());
+        assertEquals(4, accessLog.getStats().written());
+        assertEquals(0, accessLog.getStats().pending());
+    }
+
+    @Test
+    @DisplayName("Should stay off without a path instead of writing to standard output")
+    void start_WithoutPath_ShouldNotRun() throws Exception {
+        // Given
+        AccessLog accessLog = new AccessLog(true, 4, " ", false);
+
+        // When
+        accessLog.start();
+        accessLog.stop();
+
+        // Then
+        assertFalse(accessLog.isEnabled());
+        assertFalse(accessLog.getStats().enabled());
+    }
+
+    @Test
+    @DisplayName("Should escape and truncate strings so every record stays one valid line")
+    void statement_ShouldEscapeAndTruncate() throws Exception {
+        // Given
+        Path file = directory.resolve("access.log");
+        AccessLog accessLog = new AccessLog(true, 8, file.toString(), true);
+        accessLog.start();
+        String sql = "select \"title\"\nfrom todos where title = 'café ☕ 🚀'\t\\\u0001";
+
+        // When
+        accessLog.statement(sql, 1_000, true, null);
+        accessLog.statement("x".repeat(AccessLogEncoder.MAX_STATEMENT_LENGTH + 100), 1_000, false, null);
+        accessLog.stop();
+
+        // Then
+        List<JsonNode> lines = read(file);
+        assertEquals(2, lines.size());
+        assertEquals(sql, lines.get(0).get("statement").asText());
+        assertTrue(lines.get(0).get("failed").asBoolean());
+        assertEquals(AccessLogEncoder.MAX_STATEMENT_LENGTH, lines.get(1).get("statement").asText().length());
+    }
+
+    @Test
+    @DisplayName("Should count only the statements of the running request")
+    void recordStatement_ShouldCountWithinRequestOnly() {
+        // Given
+        RequestMetrics.recordStatement(5_000);
+        RequestMetrics metrics = RequestMetrics.start();
+
+        // When
+        RequestMetrics.recordStatement(1_000);
+        RequestMetrics.recordStatement(2_000);
+        metrics.finish();
+        RequestMetrics.recordStatement(4_000);
+
+        // Then
+        assertEquals(2, metrics.statements());
+        assertEquals(3_000, metrics.statementNanos());
+    }
+
+    private static List<JsonNode> read(Path file) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            lines.add(MAPPER.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,71 @@
+package com.todo.api.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Recurrence Tests")
+class RecurrenceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 31, 9, 0);
+
+    @Test
+    @DisplayName("Should compute only the occurrences in the window, however far it is from the start")
+    void occurrences_ShouldStayWithinWindow() {
+        // Given
+        Recurrence everyOtherWeek = new Recurrence(Recurrence.Frequency.WEEKLY, 2, null);
+        LocalDateTime from = START.plusYears(1_000).withHour(0);
+
+        // When
+        List<LocalDateTime> occurrences = everyOtherWeek.occurrences(START, from, from.plusWeeks(6));
+
+        // Then
+        assertEquals(3, occurrences.size());
+        for (LocalDateTime due : occurrences) {
+            assertFalse(due.isBefore(from));
+            assertTrue(everyOtherWeek.isOccurrence(START, due));
+            assertFalse(everyOtherWeek.isOccurrence(START, due.plusWeeks(1)));
+        }
+        assertEquals(List.of(START), everyOtherWeek.occurrences(START, START.minusDays(3), START.plusWeeks(1)));
+    }
+
+    @Test
+    @DisplayName("Should keep monthly occurrences on the start's day where the month allows, and stop at until")
+    void occurrences_ShouldClampMonthEndsAndHonourUntil() {
+        // Given
+        Recurrence monthly = new Recurrence(Recurrence.Frequency.MONTHLY, 1, LocalDateTime.of(2025, 4, 30, 9, 0));
+
+        // When
+        List<LocalDateTime> occurrences = monthly.occurrences(START, START, START.plusYears(1));
+
+        // Then
+        assertEquals(List.of(START, LocalDateTime.of(2025, 2, 28, 9, 0), LocalDateTime.of(2025, 3, 31, 9, 0),
+                LocalDateTime.of(2025, 4, 30, 9, 0)), occurrences);
+        assertFalse(monthly.isOccurrence(START, LocalDateTime.of(2025, 5, 31, 9, 0)));
+    }
+
+    @Test
+    @DisplayName("Should store rules as one column and read them back")
+    void converter_ShouldRoundTripRules() {
+        // Given
+        Recurrence open = new Recurrence(Recurrence.Frequency.DAILY, 3, null);
+        Recurrence bounded = new Recurrence(Recurrence.Frequency.YEARLY, 1, LocalDateTime.of(2030, 12, 31, 23, 59, 59));
+
+        // When
+        String openColumn = RecurrenceConverter.format(open);
+        String boundedColumn = RecurrenceConverter.format(bounded);
+
+        // Then
+        assertEquals("FREQ=DAILY;INTERVAL=3", openColumn);
+        assertEquals("FREQ=YEARLY;INTERVAL=1;UNTIL=2030-12-31T23:59:59", boundedColumn);
+        assertEquals(open, RecurrenceConverter.parse(openColumn));
+        assertEquals(bounded, RecurrenceConverter.parse(boundedColumn));
+        assertNull(RecurrenceConverter.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceConverter.parse("INTERVAL=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceConverter.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceConverter.parse("FREQ=DAILY;INTERVAL=0"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.todo.api.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TSID Generator Tests")
+class TsidGeneratorTest {
+    private static final Instant NOW = Instant.parse("2025-09-14T10:30:00Z");
+
+    @Test
+    @DisplayName("Should encode the timestamp and node id in increasing ids")
+    void next_ShouldEncodeTimestampAndNode() {
+        // Given
+        TsidGenerator generator = new TsidGenerator(7, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When
+        long first = generator.next();
+        long second = generator.next();
+
+        // Then
+        assertTrue(second > first);
+        assertEquals(NOW, TsidGenerator.timestampOf(first));
+        assertEquals(7, TsidGenerator.nodeIdOf(first));
+        assertEquals(7, TsidGenerator.nodeIdOf(second));
+    }
+
+    @Test
+    @DisplayName("Should carry into the next millisecond when a millisecond's sequence is used up")
+    void next_ShouldNotRepeatWhenSequenceOverflows() {
+        // Given
+        TsidGenerator generator = new TsidGenerator(3, Clock.fixed(NOW, ZoneOffset.UTC));
+        int perMillisecond = 1 << TsidGenerator.SEQUENCE_BITS;
+
+        // When
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i <= perMillisecond; i++) {
+            ids.add(generator.next());
+        }
+
+        // Then
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(NOW.plusMillis(1), TsidGenerator.timestampOf(ids.get(perMillisecond)));
+        assertTrue(ids.stream().allMatch(id -> TsidGenerator.nodeIdOf(id) == 3));
+    }
+
+    @Test
+    @DisplayName("Should stay within JavaScript's safe integer range and keep increasing if the clock goes back")
+    void next_ShouldStaySafeAndMonotonic() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2094-01-01T00:00:00Z"));
+        TsidGenerator generator = new TsidGenerator(TsidGenerator.MAX_NODE_ID, clock);
+
+        // When
+        long late = generator.next();
+        clock.advanceMillis(-5_000);
+        long afterClockStep = generator.next();
+
+        // Then
+        assertTrue(late < (1L << 53));
+        assertTrue(afterClockStep > late);
+        assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(TsidGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    @DisplayName("Should hand out unique ids to concurrent callers")
+    void next_ShouldBeUniqueAcrossThreads() throws InterruptedException {
+        // Given
+        TsidGenerator generator = new TsidGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.next());
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        // Then
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceMillis(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.todo.api.profiling;
+
+import com.todo.api.dto.ProfilingReport;
+import com.todo.api.dto.ProfilingReport.OperationProfile;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR Recording Analyzer Tests")
+class JfrRecordingAnalyzerTest {
+
+    private static volatile Object sink;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should summarize latency per operation and charge allocation to the innermost operation")
+    void analyze_ShouldBuildPerOperationTables() throws Exception {
+        // Given
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TodoOperationEvent.class);
+            recording.enable(RepositoryCallEvent.class);
+            recording.enable(JfrRecordingAnalyzer.ALLOCATION_SAMPLE).with("throttle", "10000/s");
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                serviceCall("TodoService.getAllTodos", 0, () -> repositoryCall("TodoRepository.findAll", 0, 20));
+            }
+            serviceCall("TodoService.getTodoById", 7, () -> {
+            });
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // When
+        ProfilingReport report = JfrRecordingAnalyzer.analyze(file);
+
+        // Then
+        OperationProfile getAll = find(report.serviceOperations(), "TodoService.getAllTodos");
+        OperationProfile findAll = find(report.repositoryCalls(), "TodoRepository.findAll");
+        assertEquals(3, getAll.count());
+        assertEquals(1, find(report.serviceOperations(), "TodoService.getTodoById").count());
+        assertEquals(3, findAll.count());
+        assertEquals(20.0, findAll.avgRows());
+        assertTrue(getAll.p50Ms() <= getAll.p99Ms() && getAll.p99Ms() <= getAll.maxMs());
+        assertTrue(getAll.maxMs() >= findAll.maxMs());
+        assertTrue(findAll.allocatedBytes() > 0);
+        assertTrue(JfrRecordingAnalyzer.format(report).contains("TodoRepository.findAll"));
+    }
+
+    private static void serviceCall(String operation, long todoId, Runnable body) {
+        TodoOperationEvent event = new TodoOperationEvent();
+        event.begin();
+        body.run();
+        event.operation = operation;
+        event.todoId = todoId;
+        event.rows = 1;
+        event.commit();
+    }
+
+    private static void repositoryCall(String operation, long todoId, int rows) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        // Large arrays are allocated outside TLABs, each one a sampling opportunity
+        List<byte[]> garbage = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            garbage.add(new byte[1 << 20]);
+        }
+        event.operation = operation;
+        event.todoId = todoId;
+        event.rows = rows;
+        sink = garbage;
+        event.commit();
+    }
+
+    private static OperationProfile find(List<OperationProfile> profiles, String operation) {
+        return profiles.stream().filter(p -> p.operation().equals(operation)).findFirst().orElseThrow();
+    }
+}
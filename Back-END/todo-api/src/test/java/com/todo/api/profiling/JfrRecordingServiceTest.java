@@ -0,0 +1,66 @@
+package com.todo.api.profiling;
+
+import com.todo.api.dto.ProfilingReport;
+import com.todo.api.dto.ProfilingStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR Recording Service Tests")
+class JfrRecordingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JfrRecordingService(directory, 60_000, "150/s", Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Should record todo events between start and stop and report on the dump")
+    void startStop_ShouldDumpRecording() {
+        // Given
+        service.start();
+        TodoOperationEvent event = new TodoOperationEvent();
+        event.begin();
+        event.operation = "TodoService.createTodo";
+        event.commit();
+
+        // When
+        ProfilingStatus status = service.stop();
+        ProfilingReport report = service.report();
+
+        // Then
+        assertFalse(status.recording());
+        assertTrue(Files.exists(Path.of(status.lastDump())));
+        assertEquals(1, report.serviceOperations().size());
+        assertEquals("TodoService.createTodo", report.serviceOperations().get(0).operation());
+    }
+
+    @Test
+    @DisplayName("Should reject starting twice and stopping or reporting without a recording")
+    void invalidTransitions_ShouldThrow() {
+        // When / Then
+        assertThrows(IllegalStateException.class, service::stop);
+        assertThrows(IllegalStateException.class, service::dump);
+        assertThrows(IllegalStateException.class, service::report);
+        assertTrue(service.start().recording());
+        assertThrows(IllegalStateException.class, service::start);
+    }
+}
@@ -0,0 +1,114 @@
+package com.todo.api.query;
+
+import com.todo.api.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo Query Compiler Tests")
+class TodoQueryCompilerTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2025, 9, 30, 12, 0);
+
+    private final TodoQueryCompiler compiler = new TodoQueryCompiler(16);
+
+    @Test
+    @DisplayName("Should compile filters and sort into one statement with NULLS LAST on nullable keys")
+    void compile_ShouldRenderFiltersAndOrder() {
+        // Given
+        TodoQuery query = TodoQueryParser.parse(false, DUE, null, null, "docs", "dueDate,-createdAt", 20, null);
+
+        // When
+        String jpql = compiler.compile(query);
+
+        // Then
+        assertEquals("SELECT t FROM Todo t WHERE t.completed = :completed AND t.dueDate < :dueBefore"
+                + " AND (LOWER(t.title) LIKE :text ESCAPE '\\' OR LOWER(t.description) LIKE :text ESCAPE '\\')"
+                + " ORDER BY t.dueDate ASC NULLS LAST, t.createdAt DESC, t.id ASC", jpql);
+    }
+
+    @Test
+    @DisplayName("Should reuse the plan for queries of the same shape with different values")
+    void compile_ShouldCachePlansPerShape() {
+        // Given
+        TodoQuery first = TodoQueryParser.parse(true, null, null, null, "a", "title", 20, null);
+        TodoQuery second = TodoQueryParser.parse(false, null, null, null, "b", "title", 50, null);
+        TodoQuery otherSort = TodoQueryParser.parse(false, null, null, null, "b", "-title", 50, null);
+
+        // When
+        String firstPlan = compiler.compile(first);
+        String secondPlan = compiler.compile(second);
+        compiler.compile(otherSort);
+
+        // Then
+        assertSame(firstPlan, secondPlan);
+        assertEquals(2, compiler.cachedPlans());
+    }
+
+    @Test
+    @DisplayName("Should continue after a null due date only among null due dates")
+    void compile_WithNullCursorValue_ShouldOnlyMatchRemainingNulls() {
+        // Given
+        TodoQuery page = TodoQueryParser.parse(null, null, null, null, null, "dueDate", 20, null);
+        String cursor = page.cursorAfter(todo(7L, null));
+
+        // When
+        String jpql = compiler.compile(TodoQueryParser.parse(null, null, null, null, null, "dueDate", 20, cursor));
+
+        // Then
+        assertTrue(jpql.contains("WHERE ((t.dueDate IS NULL AND t.id > :after1))"), jpql);
+    }
+
+    @Test
+    @DisplayName("Should treat nulls as past any non-null value of a nullable key")
+    void compile_WithCursorValue_ShouldIncludeNullsAfterIt() {
+        // Given
+        TodoQuery page = TodoQueryParser.parse(null, null, null, null, null, "-dueDate", 20, null);
+        String cursor = page.cursorAfter(todo(7L, DUE));
+
+        // When
+        TodoQuery next = TodoQueryParser.parse(null, null, null, null, null, "-dueDate", 20, cursor);
+        String jpql = compiler.compile(next);
+
+        // Then
+        assertEquals(Arrays.asList(DUE, 7L), next.after());
+        assertTrue(jpql.contains("WHERE (((t.dueDate < :after0 OR t.dueDate IS NULL)) OR (t.dueDate = :after0 AND t.id > :after1))"), jpql);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sorts, ranges and foreign cursors")
+    void parse_ShouldRejectInvalidInput() {
+        String cursor = TodoQueryParser.parse(null, null, null, null, null, "title", 20, null).cursorAfter(todo(1L, null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoQueryParser.parse(null, null, null, null, null, "priority", 20, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoQueryParser.parse(null, null, null, null, null, "title,-title", 20, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoQueryParser.parse(null, DUE, DUE, null, null, null, 20, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoQueryParser.parse(null, null, null, null, null, "-title", 20, cursor));
+        assertThrows(IllegalArgumentException.class,
+                () -> TodoQueryParser.parse(null, null, null, null, null, "title", 20, "not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards in the text filter")
+    void textFilter_ShouldMatchWildcardsLiterally() {
+        assertEquals("%100\\%\\_done%", new TodoFilter.TextContains("100%_Done").value());
+    }
+
+    private static Todo todo(Long id, LocalDateTime dueDate) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("Todo " + id);
+        todo.setDueDate(dueDate);
+        todo.setCreatedAt(DUE.minusDays(10));
+        todo.setUpdatedAt(DUE.minusDays(10));
+        return todo;
+    }
+}
@@ -0,0 +1,132 @@
+package com.todo.api.scheduler;
+
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.model.Todo;
+import com.todo.api.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Due Date Scheduler Tests")
+class DueDateSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 9, 14, 10, 0);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private MutableClock clock;
+    private List<OverdueEvent> received;
+    private DueDateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        received = new ArrayList<>();
+        scheduler = new DueDateScheduler(todoRepository, List.of(received::add), clock, 1000, 64, 4);
+    }
+
+    @Test
+    @DisplayName("Should notify sinks once the due date passes")
+    void tick_WhenDueDatePasses_ShouldFireOverdueEvent() {
+        // Given
+        scheduler.onTodoChanged(TodoChangedEvent.created(todo(1L, NOW.plusMinutes(5), false)));
+
+        // When
+        clock.advanceSeconds(299);
+        scheduler.tick();
+        assertTrue(received.isEmpty());
+        clock.advanceSeconds(1);
+        scheduler.tick();
+
+        // Then
+        assertEquals(List.of(new OverdueEvent(1L, NOW.plusMinutes(5))), received);
+        assertTrue(scheduler.getOverdueIds().contains(1L));
+        assertEquals(0, scheduler.getScheduledCount());
+    }
+
+    @Test
+    @DisplayName("Should drop the timer when a todo is completed")
+    void onTodoChanged_WhenCompleted_ShouldUnschedule() {
+        // Given
+        Todo todo = todo(1L, NOW.plusMinutes(5), false);
+        scheduler.onTodoChanged(TodoChangedEvent.created(todo));
+
+        // When
+        todo.setCompleted(true);
+        scheduler.onTodoChanged(TodoChangedEvent.toggled(null, todo));
+        clock.advanceSeconds(600);
+        scheduler.tick();
+
+        // Then
+        assertTrue(received.isEmpty());
+        assertTrue(scheduler.getOverdueIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should clear overdue state when the due date is moved into the future")
+    void onTodoChanged_WhenRescheduled_ShouldLeaveOverdueSet() {
+        // Given
+        Todo todo = todo(1L, NOW.minusMinutes(1), false);
+        scheduler.onTodoChanged(TodoChangedEvent.created(todo));
+        assertTrue(scheduler.getOverdueIds().contains(1L));
+
+        // When
+        todo.setDueDate(NOW.plusDays(1));
+        scheduler.onTodoChanged(TodoChangedEvent.updated(null, todo));
+
+        // Then
+        assertFalse(scheduler.getOverdueIds().contains(1L));
+        assertEquals(1, scheduler.getScheduledCount());
+    }
+
+    private static Todo todo(Long id, LocalDateTime dueDate, boolean completed) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("Todo " + id);
+        todo.setDueDate(dueDate);
+        todo.setCompleted(completed);
+        return todo;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.todo.api.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hierarchical Timing Wheel Tests")
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("Should fire timers on the first tick at or after their deadline")
+    void advanceTo_ShouldFireExpiredTimers() {
+        // Given
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 3, 0);
+        wheel.schedule(1L, 25);
+        wheel.schedule(2L, 70);
+        List<Long> fired = new ArrayList<>();
+
+        // When
+        wheel.advanceTo(30, (key, deadline) -> fired.add(key));
+
+        // Then
+        assertEquals(List.of(1L), fired);
+        assertTrue(wheel.contains(2L));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade timers from upper levels without firing early")
+    void advanceTo_ShouldCascadeUpperLevels() {
+        // Given: level 0 spans 80 ms, level 1 spans 640 ms, level 2 spans 5120 ms
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 3, 0);
+        wheel.schedule(1L, 500);
+        wheel.schedule(2L, 4_000);
+        wheel.schedule(3L, 60_000);
+        List<Long> fired = new ArrayList<>();
+
+        // When & Then
+        wheel.advanceTo(490, (key, deadline) -> fired.add(key));
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(500, (key, deadline) -> fired.add(key));
+        assertEquals(List.of(1L), fired);
+        wheel.advanceTo(3_990, (key, deadline) -> fired.add(key));
+        assertEquals(List.of(1L), fired);
+        wheel.advanceTo(60_000, (key, deadline) -> fired.add(key));
+        assertEquals(List.of(1L, 2L, 3L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled or rescheduled timers at the old deadline")
+    void cancelAndReschedule_ShouldReplaceExistingTimer() {
+        // Given
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 3, 0);
+        wheel.schedule(1L, 50);
+        wheel.schedule(2L, 50);
+        List<Long> fired = new ArrayList<>();
+
+        // When
+        assertTrue(wheel.cancel(1L));
+        wheel.schedule(2L, 300);
+        wheel.advanceTo(100, (key, deadline) -> fired.add(key));
+
+        // Then
+        assertTrue(fired.isEmpty());
+        assertFalse(wheel.cancel(1L));
+        wheel.advanceTo(300, (key, deadline) -> fired.add(key));
+        assertEquals(List.of(2L), fired);
+    }
+
+    @Test
+    @DisplayName("Should reject deadlines that have already passed")
+    void schedule_WhenDeadlinePassed_ShouldReturnFalse() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, 3, 1_000);
+
+        assertFalse(wheel.schedule(1L, 1_000));
+        assertFalse(wheel.schedule(2L, 10));
+        assertEquals(0, wheel.size());
+    }
+}
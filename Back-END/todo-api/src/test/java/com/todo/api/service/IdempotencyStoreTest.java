@@ -0,0 +1,155 @@
+package com.todo.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-09-14T10:00:00Z"), ZoneOffset.UTC);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should replay the first response for a retried key without running the action again")
+    void execute_WithSameKey_ShouldReplay() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 100);
+        store.execute("key-1", () -> "POST /api/todos", this::create);
+
+        // When
+        ResponseEntity<String> retry = store.execute("key-1", () -> "POST /api/todos", this::create);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("todo-1", retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should let concurrent duplicates wait for the first execution")
+    void execute_ConcurrentDuplicates_ShouldRunOnce() throws Exception {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            Future<ResponseEntity<String>> first = executor.submit(() -> store.execute("key-1", () -> "toggle", () -> {
+                started.countDown();
+                await(release);
+                return create();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<ResponseEntity<String>> duplicate = executor.submit(() -> store.execute("key-1", () -> "toggle", this::create));
+            Thread.sleep(50);
+            assertFalse(duplicate.isDone());
+            release.countDown();
+
+            // Then
+            assertEquals("todo-1", first.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals("todo-1", duplicate.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void execute_WithDifferentFingerprint_ShouldThrow() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 100);
+        store.execute("key-1", () -> "PATCH /api/todos/1/toggle", this::create);
+
+        // When & Then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute("key-1", () -> "PATCH /api/todos/2/toggle", this::create));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep failed executions, so a retry runs again")
+    void execute_WhenActionFails_ShouldReleaseKey() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 100);
+        assertThrows(IllegalStateException.class, () -> store.execute("key-1", () -> "POST /api/todos", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        // When
+        ResponseEntity<String> retry = store.execute("key-1", () -> "POST /api/todos", this::create);
+
+        // Then
+        assertEquals("todo-1", retry.getBody());
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should bound the number of remembered keys, evicting the oldest")
+    void execute_WhenFull_ShouldEvictOldest() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 2);
+        store.execute("key-1", () -> "POST /api/todos", this::create);
+        store.execute("key-2", () -> "POST /api/todos", this::create);
+
+        // When
+        store.execute("key-3", () -> "POST /api/todos", this::create);
+        store.execute("key-1", () -> "POST /api/todos", this::create);
+
+        // Then
+        assertEquals(2, store.size());
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should run the action without building a fingerprint when there is no key")
+    void execute_WithoutKey_ShouldNotBuildFingerprint() {
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 2);
+
+        store.execute(null, () -> fail("fingerprint built without a key"), this::create);
+
+        assertEquals(1, executions.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should reject blank and oversized keys")
+    void execute_WithInvalidKey_ShouldThrow() {
+        IdempotencyStore store = new IdempotencyStore(CLOCK, 60_000, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> store.execute(" ", () -> "POST /api/todos", this::create));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute("k".repeat(256), () -> "POST /api/todos", this::create));
+        assertEquals(0, executions.get());
+    }
+
+    private ResponseEntity<String> create() {
+        return new ResponseEntity<>("todo-" + executions.incrementAndGet(), HttpStatus.CREATED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
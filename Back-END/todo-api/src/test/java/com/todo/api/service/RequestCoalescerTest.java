@@ -0,0 +1,166 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.CoalescingStats;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request Coalescer Tests")
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(100);
+
+    @Test
+    @DisplayName("Should share one in-flight call between concurrent identical requests")
+    void execute_ConcurrentIdenticalCalls_ShouldRunLoaderOnce() throws Exception {
+        // Given: a leader blocked inside its loader
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results.add(executor.submit(() -> coalescer.execute("getTodosByStatus", false, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+            while (coalescer.getStats().executions() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> coalescer.execute("getTodosByStatus", false, () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (coalescer.getStats().collapsed() < 10) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        }
+
+        // Then
+        assertEquals(1, loads.get());
+        for (Future<String> result : results) {
+            assertEquals("result", result.get());
+        }
+        CoalescingStats stats = coalescer.getStats();
+        assertEquals(1, stats.executions());
+        assertEquals(10, stats.collapsed());
+        assertEquals(0, stats.inFlight());
+        assertEquals(new CoalescingStats.KeyStats("getTodosByStatus", "false", 1, 10), stats.keys().get(0));
+    }
+
+    @Test
+    @DisplayName("Should run calls with different arguments independently")
+    void execute_DifferentArguments_ShouldNotCoalesce() {
+        // When
+        String first = coalescer.execute("searchTodos", "groceries", () -> "a");
+        String second = coalescer.execute("searchTodos", "dentist", () -> "b");
+        String third = coalescer.execute("searchTodos", "groceries", () -> "c");
+
+        // Then
+        assertEquals(List.of("a", "b", "c"), List.of(first, second, third));
+        assertEquals(3, coalescer.getStats().executions());
+        assertEquals(0, coalescer.getStats().collapsed());
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's exception to every waiting caller")
+    void execute_WhenLoaderFails_ShouldRethrowToFollowers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader;
+        Future<Object> follower;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            leader = executor.submit(() -> coalescer.execute("getTodoById", 1L, () -> {
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            while (coalescer.getStats().executions() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // When
+            follower = executor.submit(() -> coalescer.execute("getTodoById", 1L, () -> "unused"));
+            while (coalescer.getStats().collapsed() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        }
+
+        // Then
+        assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, leader::get).getCause());
+        assertInstanceOf(IllegalStateException.class, assertThrows(Exception.class, follower::get).getCause());
+        assertEquals(0, coalescer.getStats().inFlight());
+    }
+
+    @Test
+    @DisplayName("Should start a fresh call after a todo changes")
+    void onTodoChanged_ShouldDetachInFlightCalls() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            stale = executor.submit(() -> coalescer.execute("getAllTodos", null, () -> {
+                await(release);
+                return "before write";
+            }));
+            while (coalescer.getStats().inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            Todo todo = new Todo();
+            todo.setId(1L);
+            todo.setTitle("Written");
+
+            // When
+            coalescer.onTodoChanged(TodoChangedEvent.created(todo));
+            String fresh = coalescer.execute("getAllTodos", null, () -> "after write");
+
+            // Then
+            assertEquals("after write", fresh);
+            release.countDown();
+        }
+        assertEquals("before write", stale.get());
+        assertEquals(2, coalescer.getStats().executions());
+    }
+
+    @Test
+    @DisplayName("Should stop tracking new keys once the limit is reached but keep counting totals")
+    void getStats_ShouldBoundPerKeyCounters() {
+        // Given
+        RequestCoalescer bounded = new RequestCoalescer(2);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            String title = "term" + i;
+            bounded.execute("searchTodos", title, () -> title);
+        }
+
+        // Then
+        CoalescingStats stats = bounded.getStats();
+        assertEquals(5, stats.executions());
+        assertEquals(2, stats.keys().size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.BatchItemResult;
+import com.todo.api.dto.BatchOperation;
+import com.todo.api.model.Todo;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo Batch Service Tests")
+class TodoBatchServiceTest {
+
+    @Mock
+    private TodoService todoService;
+
+    private ValidatorFactory validatorFactory;
+    private TodoBatchService todoBatchService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        todoBatchService = new TodoBatchService(todoService, validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should run every operation and report failures per operation")
+    void execute_ShouldReportOutcomePerOperation() {
+        // Given
+        Todo created = todo(10L, "Write report");
+        Todo toggled = todo(3L, "Call dentist");
+        toggled.setCompleted(true);
+        when(todoService.createTodo(any(Todo.class))).thenReturn(created);
+        when(todoService.toggleTodoStatus(3L)).thenReturn(toggled);
+        when(todoService.toggleTodoStatus(4L)).thenThrow(new EntityNotFoundException("Todo not found with id: 4"));
+
+        // When
+        List<BatchItemResult> results = todoBatchService.execute(List.of(
+                BatchOperation.create(todo(null, "Write report")),
+                BatchOperation.toggle(4L),
+                BatchOperation.create(todo(null, " ")),
+                BatchOperation.toggle(3L),
+                BatchOperation.toggle(null)));
+
+        // Then
+        assertEquals(List.of(201, 404, 400, 200, 400), results.stream().map(BatchItemResult::status).toList());
+        assertSame(created, results.get(0).todo());
+        assertEquals("Todo not found with id: 4", results.get(1).error());
+        assertEquals("title: Title is required", results.get(2).error());
+        assertSame(toggled, results.get(3).todo());
+        assertNull(results.get(4).todo());
+        verify(todoService, times(1)).createTodo(any(Todo.class));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void execute_WithInvalidSize_ShouldThrowException() {
+        // Given
+        List<BatchOperation> tooMany = new ArrayList<>(
+                Collections.nCopies(TodoBatchService.MAX_OPERATIONS + 1, BatchOperation.toggle(1L)));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> todoBatchService.execute(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> todoBatchService.execute(tooMany));
+        verifyNoInteractions(todoService);
+    }
+
+    private static Todo todo(Long id, String title) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        return todo;
+    }
+}
@@ -0,0 +1,104 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.KeysetPage;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Todo;
+import com.todo.api.model.TodoHistory;
+import com.todo.api.repository.TodoHistoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo History Service Tests")
+class TodoHistoryServiceTest {
+
+    @Mock
+    private TodoHistoryRepository todoHistoryRepository;
+
+    @Mock
+    private TodoHistoryWriter todoHistoryWriter;
+
+    @InjectMocks
+    private TodoHistoryService todoHistoryService;
+
+    @Test
+    @DisplayName("Should return next cursor when more rows exist than the page size")
+    void getHistory_WhenMoreRowsExist_ShouldReturnCursor() {
+        // Given
+        when(todoHistoryRepository.findByTodoIdOrderByIdDesc(1L, PageRequest.of(0, 3)))
+                .thenReturn(entries(9, 8, 7));
+
+        // When
+        KeysetPage<TodoHistory> page = todoHistoryService.getHistory(1L, null, 2);
+
+        // Then
+        assertEquals(2, page.items().size());
+        assertEquals("8", page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and end pagination on the last page")
+    void getHistory_WithCursor_ShouldSeekPastCursor() {
+        // Given
+        when(todoHistoryRepository.findByTodoIdAndIdLessThanOrderByIdDesc(1L, 8L, PageRequest.of(0, 3)))
+                .thenReturn(entries(7));
+
+        // When
+        KeysetPage<TodoHistory> page = todoHistoryService.getHistory(1L, "8", 2);
+
+        // Then
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void getHistory_WithInvalidCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> todoHistoryService.getHistory(1L, "abc", 20));
+        verifyNoInteractions(todoHistoryRepository);
+    }
+
+    @Test
+    @DisplayName("Should hand change events to the async writer")
+    void onTodoChanged_ShouldEnqueueHistoryEntry() {
+        // Given
+        Todo todo = new Todo();
+        todo.setId(5L);
+        todo.setTitle("Audit me");
+        TodoSnapshot before = TodoSnapshot.of(todo);
+        todo.setCompleted(true);
+
+        // When
+        todoHistoryService.onTodoChanged(TodoChangedEvent.toggled(before, todo));
+
+        // Then
+        ArgumentCaptor<TodoHistory> captor = ArgumentCaptor.forClass(TodoHistory.class);
+        verify(todoHistoryWriter).enqueue(captor.capture());
+        assertEquals(5L, captor.getValue().getTodoId());
+        assertEquals("TOGGLED", captor.getValue().getAction());
+        assertTrue(captor.getValue().isCompleted());
+        assertNotNull(captor.getValue().getChangedAt());
+    }
+
+    private static List<TodoHistory> entries(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            TodoHistory entry = new TodoHistory();
+            entry.setId(id);
+            entry.setTodoId(1L);
+            return entry;
+        }).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.todo.api.service;
+
+import com.todo.api.model.TodoHistory;
+import com.todo.api.shard.TodoShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo History Writer Tests")
+class TodoHistoryWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should write buffered entries in batches on the writer thread")
+    void enqueue_ShouldBatchWritesOffTheCallerThread() throws Exception {
+        // Given
+        TodoHistoryWriter writer = new TodoHistoryWriter(jdbcTemplate, TodoShards.single(), 16, 8, 50);
+        writer.start();
+
+        // When
+        for (long i = 0; i < 10; i++) {
+            writer.enqueue(entry(i));
+        }
+        writer.stop();
+
+        // Then
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(TodoHistoryWriter.INSERT_SQL), anyList(), anyInt(), any());
+        assertEquals(10, writer.getWrittenCount());
+        assertEquals(0, writer.getWrittenInlineCount());
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should fall back to writing on the caller thread when the buffer stays full")
+    void enqueue_WhenBufferFull_ShouldApplyBackPressure() throws Exception {
+        // Given: the writer thread is stuck on its first batch and the single-slot buffer is full
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("todo-history-writer")) {
+                release.await();
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(eq(TodoHistoryWriter.INSERT_SQL), anyList(), anyInt(), any());
+        TodoHistoryWriter writer = new TodoHistoryWriter(jdbcTemplate, TodoShards.single(), 1, 8, 1);
+        writer.start();
+        writer.enqueue(entry(1));
+        while (writer.getPendingCount() > 0) {
+            Thread.onSpinWait();
+        }
+        writer.enqueue(entry(2));
+
+        // When
+        writer.enqueue(entry(3));
+
+        // Then
+        assertEquals(1, writer.getWrittenInlineCount());
+        verify(jdbcTemplate).batchUpdate(eq(TodoHistoryWriter.INSERT_SQL), eq(List.of(entry(3))), eq(1), any());
+        release.countDown();
+        writer.stop();
+        assertEquals(3, writer.getWrittenCount());
+    }
+
+    private static TodoHistory entry(long todoId) {
+        return new TodoHistory(null, todoId, "UPDATED", "anonymousUser",
+                LocalDateTime.of(2025, 9, 14, 10, 0), "Todo " + todoId, null, false, null);
+    }
+}
@@ -1,24 +1,39 @@
 package com.todo.api.service;
 
+import com.todo.api.cache.LoopbackInvalidationBus;
+import com.todo.api.cache.TodoNearCache;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.index.TodoPriorityIndex;
+import com.todo.api.model.ArchivedTodo;
+import com.todo.api.model.Recurrence;
 import com.todo.api.model.Todo;
+import com.todo.api.repository.ArchivedTodoRepository;
 import com.todo.api.repository.TodoRepository;
+import com.todo.api.scheduler.DueDateScheduler;
+import com.todo.api.shard.TodoShards;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +43,34 @@ class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private DueDateScheduler dueDateScheduler;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TodoNearCache todoNearCache =
+            new TodoNearCache(new LoopbackInvalidationBus(), new RequestCoalescer(100), "test-node", 30_000, 1_000);
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private TodoArchiver todoArchiver;
+
+    @Mock
+    private TodoTreeService todoTreeService;
+
+    @Mock
+    private TodoPriorityIndex todoPriorityIndex;
+
+    @Mock
+    private TodoRecurrenceService todoRecurrenceService;
+
+    @Spy
+    private TodoShards todoShards = TodoShards.single();
+
     @InjectMocks
     private TodoService todoService;
 
@@ -138,6 +181,22 @@ class TodoServiceTest {
         verify(todoRepository).save(newTodo);
     }
 
+    @Test
+    @DisplayName("Should drop a client-supplied id on create")
+    void createTodo_WithId_ShouldLeaveIdToGenerator() {
+        // Given
+        Todo newTodo = new Todo();
+        newTodo.setId(1L);
+        newTodo.setTitle("Overwrite attempt");
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        todoService.createTodo(newTodo);
+
+        // Then
+        verify(todoRepository).save(argThat(todo -> todo.getId() == null));
+    }
+
     @Test
     @DisplayName("Should update existing todo")
     void updateTodo_WhenTodoExists_ShouldUpdateAndReturnTodo() {
@@ -193,4 +252,238 @@ class TodoServiceTest {
         verify(todoRepository).findById(1L);
         verify(todoRepository).save(sampleTodo);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should publish change event with previous state when toggling")
+    void toggleTodoStatus_ShouldPublishToggledEvent() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.save(any(Todo.class))).thenReturn(sampleTodo);
+
+        // When
+        todoService.toggleTodoStatus(1L);
+
+        // Then
+        ArgumentCaptor<TodoChangedEvent> captor = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        TodoChangedEvent event = captor.getValue();
+        assertEquals(TodoChangedEvent.ChangeType.TOGGLED, event.type());
+        assertFalse(event.before().completed());
+        assertTrue(event.after().completed());
+    }
+
+    @Test
+    @DisplayName("Should load overdue todos by id from the due-date schedule")
+    void getOverdueTodos_ShouldFetchOverdueIdsOnly() {
+        // Given
+        sampleTodo.setDueDate(LocalDateTime.now().minusDays(1));
+        when(dueDateScheduler.getOverdueIds()).thenReturn(Set.of(1L));
+        when(todoRepository.findAllById(Set.of(1L))).thenReturn(new ArrayList<>(List.of(sampleTodo)));
+
+        // When
+        List<Todo> overdue = todoService.getOverdueTodos();
+
+        // Then
+        assertEquals(List.of(sampleTodo), overdue);
+        verify(todoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return the next todos in ranking order, skipping ones deleted since")
+    void getNextTodos_ShouldKeepRankingOrder() {
+        // Given
+        Todo later = new Todo();
+        later.setId(2L);
+        when(todoPriorityIndex.top(3)).thenReturn(List.of(2L, 3L, 1L));
+        when(todoRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(sampleTodo, later));
+
+        // When
+        List<Todo> next = todoService.getNextTodos(3);
+
+        // Then
+        assertEquals(List.of(later, sampleTodo), next);
+        assertThrows(IllegalArgumentException.class, () -> todoService.getNextTodos(0));
+        assertThrows(IllegalArgumentException.class, () -> todoService.getNextTodos(TodoService.MAX_NEXT_TODOS + 1));
+    }
+
+    @Test
+    @DisplayName("Should serve reads through the near cache but load todos for mutations directly")
+    void toggleTodoStatus_ShouldNotUseCachedEntity() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        todoService.getTodoById(1L);
+        todoService.toggleTodoStatus(1L);
+
+        // Then
+        verify(todoNearCache).getTodo(eq(1L), any());
+        verify(todoRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the archive when a todo is not in the hot table")
+    void getTodoById_WhenArchived_ShouldReturnArchivedTodo() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedTodoRepository.findById(1L)).thenReturn(Optional.of(archived(1L)));
+
+        // When
+        Todo todo = todoService.getTodoById(1L);
+
+        // Then
+        assertEquals(1L, todo.getId());
+        assertTrue(todo.isCompleted());
+        verify(todoArchiver, never()).restore(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should only read the archive when a query asks for archived todos")
+    void getAllTodos_ShouldUnionArchiveOnlyWhenRequested() {
+        // Given
+        when(todoRepository.findAll()).thenReturn(List.of(sampleTodo));
+        when(archivedTodoRepository.findAll()).thenReturn(List.of(archived(2L)));
+
+        // When
+        List<Todo> hot = todoService.getAllTodos(false);
+        List<Todo> all = todoService.getAllTodos(true);
+
+        // Then
+        assertEquals(List.of(1L), hot.stream().map(Todo::getId).toList());
+        assertEquals(List.of(1L, 2L), all.stream().map(Todo::getId).toList());
+        verify(archivedTodoRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should restore an archived todo before toggling it back to pending")
+    void toggleTodoStatus_WhenArchived_ShouldRestoreFirst() {
+        // Given
+        Todo restored = archived(1L).toTodo();
+        when(todoRepository.findById(1L)).thenReturn(Optional.empty()).thenReturn(Optional.of(restored));
+        when(todoArchiver.restore(1L)).thenReturn(true);
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Todo toggled = todoService.toggleTodoStatus(1L);
+
+        // Then
+        assertFalse(toggled.isCompleted());
+        verify(todoArchiver).restore(1L);
+        verify(todoRepository).save(restored);
+    }
+
+    @Test
+    @DisplayName("Should delete a todo together with its subtasks")
+    void deleteTodo_WithSubtasks_ShouldDeleteSubtree() {
+        // Given
+        Todo subtask = new Todo();
+        subtask.setId(2L);
+        subtask.setTitle("Subtask");
+        subtask.setParentId(1L);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoTreeService.getDescendantIds(1L)).thenReturn(List.of(2L));
+        when(todoRepository.findAllById(List.of(2L))).thenReturn(List.of(subtask));
+
+        // When
+        todoService.deleteTodo(1L);
+
+        // Then
+        verify(todoRepository).deleteAll(List.of(subtask));
+        verify(todoRepository).delete(sampleTodo);
+        ArgumentCaptor<TodoChangedEvent> captor = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(List.of(2L, 1L), captor.getAllValues().stream().map(TodoChangedEvent::todoId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a subtask whose parent does not exist")
+    void createTodo_WithMissingParent_ShouldThrowException() {
+        // Given
+        Todo subtask = new Todo();
+        subtask.setTitle("Subtask");
+        subtask.setParentId(99L);
+        when(todoRepository.existsById(99L)).thenReturn(false);
+        when(todoArchiver.restore(99L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> todoService.createTodo(subtask));
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    @Test
+    @DisplayName("Should re-link the subtree and publish the new parent")
+    void moveTodo_ShouldMoveSubtreeAndPublishUpdate() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.existsById(5L)).thenReturn(true);
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Todo moved = todoService.moveTodo(1L, 5L);
+
+        // Then
+        assertEquals(5L, moved.getParentId());
+        verify(todoTreeService).move(1L, false, 5L);
+        ArgumentCaptor<TodoChangedEvent> captor = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertNull(captor.getValue().before().parentId());
+        assertEquals(5L, captor.getValue().after().parentId());
+    }
+
+    @Test
+    @DisplayName("Should store a generated occurrence as completed when toggled, leaving the series unchanged")
+    void toggleOccurrence_WhenNotStored_ShouldSaveCompletedOccurrence() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+        sampleTodo.setDueDate(start);
+        sampleTodo.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 1, null));
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.findBySeriesIdAndOccurrenceDate(1L, start.plusWeeks(3))).thenReturn(Optional.empty());
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Todo occurrence = todoService.toggleOccurrence(1L, start.plusWeeks(3));
+
+        // Then
+        assertTrue(occurrence.isCompleted());
+        assertEquals(1L, occurrence.getSeriesId());
+        assertEquals(start.plusWeeks(3), occurrence.getDueDate());
+        assertNull(occurrence.getRecurrence());
+        assertFalse(sampleTodo.isCompleted());
+        verify(todoRepository).save(occurrence);
+        verify(eventPublisher).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject occurrences the series does not have and recurring todos without a due date")
+    void recurrence_WhenInvalid_ShouldThrowException() {
+        // Given
+        sampleTodo.setRecurrence(new Recurrence(Recurrence.Frequency.WEEKLY, 1, null));
+        Todo withoutDueDate = new Todo();
+        withoutDueDate.setTitle("Every week");
+        withoutDueDate.setRecurrence(sampleTodo.getRecurrence());
+        sampleTodo.setDueDate(LocalDateTime.of(2025, 1, 6, 9, 0));
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.findBySeriesIdAndOccurrenceDate(eq(1L), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> todoService.createTodo(withoutDueDate));
+        assertThrows(IllegalArgumentException.class,
+                () -> todoService.toggleOccurrence(1L, LocalDateTime.of(2025, 1, 7, 9, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> todoService.toggleOccurrence(1L, LocalDateTime.of(2024, 12, 30, 9, 0)));
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    private static ArchivedTodo archived(Long id) {
+        ArchivedTodo todo = new ArchivedTodo();
+        todo.setId(id);
+        todo.setTitle("Archived " + id);
+        todo.setCompleted(true);
+        todo.setCreatedAt(LocalDateTime.now().minusDays(60));
+        todo.setUpdatedAt(LocalDateTime.now().minusDays(45));
+        todo.setArchivedAt(LocalDateTime.now());
+        return todo;
+    }
+}
@@ -0,0 +1,143 @@
+package com.todo.api.service;
+
+import com.todo.api.dto.TodoStats;
+import com.todo.api.event.TodoChangedEvent;
+import com.todo.api.event.TodoSnapshot;
+import com.todo.api.model.Todo;
+import com.todo.api.repository.ArchivedTodoRepository;
+import com.todo.api.repository.TodoRepository;
+import com.todo.api.scheduler.DueDateScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo Stats Service Tests")
+class TodoStatsServiceTest {
+
+    // Wednesday
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 9, 17, 10, 0);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private DueDateScheduler dueDateScheduler;
+
+    private TodoStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        statsService = new TodoStatsService(todoRepository, archivedTodoRepository, dueDateScheduler, clock, 30);
+        lenient().when(dueDateScheduler.getOverdueIds()).thenReturn(Set.of());
+    }
+
+    @Test
+    @DisplayName("Should maintain counters incrementally from change events")
+    void onTodoChanged_ShouldUpdateCounters() {
+        // Given
+        Todo dueToday = todo(1L, NOW.plusHours(2));
+        Todo dueSunday = todo(2L, NOW.plusDays(4));
+        Todo dueNextWeek = todo(3L, NOW.plusDays(6));
+
+        // When
+        statsService.onTodoChanged(TodoChangedEvent.created(dueToday));
+        statsService.onTodoChanged(TodoChangedEvent.created(dueSunday));
+        statsService.onTodoChanged(TodoChangedEvent.created(dueNextWeek));
+        TodoSnapshot before = TodoSnapshot.of(dueSunday);
+        dueSunday.setCompleted(true);
+        statsService.onTodoChanged(TodoChangedEvent.toggled(before, dueSunday));
+        statsService.onTodoChanged(TodoChangedEvent.deleted(TodoSnapshot.of(dueNextWeek)));
+
+        // Then
+        TodoStats stats = statsService.getStats();
+        assertEquals(2, stats.total());
+        assertEquals(1, stats.completed());
+        assertEquals(1, stats.pending());
+        assertEquals(1, stats.dueToday());
+        assertEquals(1, stats.dueThisWeek());
+        assertEquals(3L, stats.createdPerDay().get(NOW.toLocalDate()));
+        assertEquals(1L, stats.completedPerDay().get(NOW.toLocalDate()));
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    @DisplayName("Should replace counters with database totals when reconciling")
+    void reconcile_ShouldRebuildCountersFromDatabase() {
+        // Given
+        statsService.onTodoChanged(TodoChangedEvent.created(todo(1L, null)));
+        when(todoRepository.count()).thenReturn(5L);
+        when(todoRepository.countByCompleted(true)).thenReturn(2L);
+        when(todoRepository.countPendingByDueDay()).thenReturn(List.<Object[]>of(
+                new Object[]{LocalDate.of(2025, 9, 17), 2L},
+                new Object[]{LocalDate.of(2025, 9, 20), 1L}));
+        when(todoRepository.countCreatedByDaySince(any())).thenReturn(List.<Object[]>of(
+                new Object[]{LocalDate.of(2025, 9, 16), 5L}));
+
+        // When
+        statsService.reconcile();
+
+        // Then
+        TodoStats stats = statsService.getStats();
+        assertEquals(5, stats.total());
+        assertEquals(3, stats.pending());
+        assertEquals(2, stats.dueToday());
+        assertEquals(3, stats.dueThisWeek());
+        assertEquals(5L, stats.createdPerDay().get(LocalDate.of(2025, 9, 16)));
+        assertNull(stats.createdPerDay().get(NOW.toLocalDate()));
+        assertNotNull(stats.reconciledAt());
+    }
+
+    @Test
+    @DisplayName("Should keep counting archived todos as completed")
+    void archivedTodos_ShouldStayInTotals() {
+        // Given
+        Todo done = todo(1L, null);
+        done.setCompleted(true);
+        statsService.onTodoChanged(TodoChangedEvent.created(done));
+        when(todoRepository.count()).thenReturn(1L);
+        when(todoRepository.countByCompleted(true)).thenReturn(0L);
+        when(archivedTodoRepository.count()).thenReturn(3L);
+
+        // When
+        statsService.onTodoChanged(TodoChangedEvent.archived(TodoSnapshot.of(done)));
+        TodoStats beforeReconcile = statsService.getStats();
+        statsService.reconcile();
+
+        // Then
+        assertEquals(1, beforeReconcile.total());
+        assertEquals(1, beforeReconcile.completed());
+        TodoStats stats = statsService.getStats();
+        assertEquals(4, stats.total());
+        assertEquals(3, stats.completed());
+        assertEquals(1, stats.pending());
+    }
+
+    private static Todo todo(Long id, LocalDateTime dueDate) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("Todo " + id);
+        todo.setDueDate(dueDate);
+        todo.setCreatedAt(NOW);
+        todo.setUpdatedAt(NOW);
+        return todo;
+    }
+}
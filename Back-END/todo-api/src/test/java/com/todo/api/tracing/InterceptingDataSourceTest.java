@@ -0,0 +1,72 @@
+package com.todo.api.tracing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Intercepting DataSource Tests")
+class InterceptingDataSourceTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:intercept-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        StatementInterceptor outer = (sql, execution) -> {
+            calls.add("outer " + sql);
+            return execution.proceed();
+        };
+        StatementInterceptor inner = (sql, execution) -> {
+            calls.add("inner " + sql);
+            return execution.proceed();
+        };
+        jdbcTemplate = new JdbcTemplate(new InterceptingDataSource(h2, () -> List.of(outer, inner)));
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        calls.clear();
+    }
+
+    @Test
+    @DisplayName("Should run prepared statements and batches through the interceptors in order")
+    void execute_ShouldInvokeInterceptorsInOrder() {
+        // When
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}));
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items WHERE name <> ?", Integer.class, "x");
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(List.of(
+                "outer INSERT INTO items (id, name) VALUES (?, ?)",
+                "inner INSERT INTO items (id, name) VALUES (?, ?)",
+                "outer SELECT COUNT(*) FROM items WHERE name <> ?",
+                "inner SELECT COUNT(*) FROM items WHERE name <> ?"), calls);
+    }
+
+    @Test
+    @DisplayName("Should pass statement failures through unchanged")
+    void execute_WhenStatementFails_ShouldRethrowSqlException() {
+        // When / Then
+        Exception e = assertThrows(Exception.class, () -> jdbcTemplate.execute("SELECT * FROM missing"));
+        assertInstanceOf(SQLException.class, e.getCause());
+        assertEquals(List.of("outer SELECT * FROM missing", "inner SELECT * FROM missing"), calls);
+    }
+
+    @Test
+    @DisplayName("Should name JDBC spans after the statement's first keyword")
+    void operation_ShouldReturnFirstKeyword() {
+        assertEquals("select", JdbcObservationInterceptor.operation("  SELECT 1"));
+        assertEquals("insert", JdbcObservationInterceptor.operation("insert into todos values (?)"));
+        assertEquals("statement", JdbcObservationInterceptor.operation("{call x()}"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.todo.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Collects creates and toggles for up to {@code lingerNanos} after the first one arrives and sends them
+ * as one {@code POST /api/todos/batch}; a batch is sent at once when it reaches {@code maxBatchSize}.
+ * Each caller's future completes with its own operation's result, so a failed operation only fails its
+ * own future. Operations are sent in submission order.
+ */
+final class BatchCoalescer {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Operation(String op, Todo todo, Long id) {
+        static Operation create(Todo todo) {
+            return new Operation("create", todo, null);
+        }
+
+        static Operation toggle(long id) {
+            return new Operation("toggle", null, id);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Result(int status, Todo todo, String error) {
+    }
+
+    private record Pending(Operation operation, CompletableFuture<Todo> result) {
+    }
+
+    private final Function<List<Operation>, CompletableFuture<List<Result>>> sender;
+    private final ScheduledExecutorService scheduler;
+    private final long lingerNanos;
+    private final int maxBatchSize;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong operations = new AtomicLong();
+
+    // Guarded by this.
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    BatchCoalescer(Function<List<Operation>, CompletableFuture<List<Result>>> sender,
+                   ScheduledExecutorService scheduler, long lingerNanos, int maxBatchSize) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.lingerNanos = lingerNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    CompletableFuture<Todo> submit(Operation operation) {
+        Pending added = new Pending(operation, new CompletableFuture<>());
+        List<Pending> full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Client is closed");
+            }
+            pending.add(added);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return added.result();
+    }
+
+    /**
+     * Sends whatever is pending without waiting for the linger time.
+     */
+    void flush() {
+        List<Pending> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Sends what is pending and rejects further operations.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+    long batches() {
+        return batches.get();
+    }
+
+    long operations() {
+        return operations.get();
+    }
+
+    private List<Pending> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        batches.incrementAndGet();
+        operations.addAndGet(batch.size());
+        List<Operation> operationList = batch.stream().map(Pending::operation).toList();
+        CompletableFuture<List<Result>> response;
+        try {
+            response = sender.apply(operationList);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((results, error) -> {
+            Throwable failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (failure == null && results.size() != batch.size()) {
+                failure = new IllegalStateException(
+                        "Batch of " + batch.size() + " operations returned " + results.size() + " results");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<Todo> future = batch.get(i).result();
+                if (failure != null) {
+                    future.completeExceptionally(failure);
+                } else if (results.get(i).status() / 100 == 2) {
+                    future.complete(results.get(i).todo());
+                } else {
+                    future.completeExceptionally(new TodoApiException(results.get(i).status(), results.get(i).error()));
+                }
+            }
+        });
+    }
+}
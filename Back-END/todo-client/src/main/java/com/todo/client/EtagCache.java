@@ -0,0 +1,63 @@
+package com.todo.client;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The last response of each GET, by URI, with its {@code ETag}. Entries are only served after the API
+ * confirmed them with 304 Not Modified, so the cache never returns stale data; it saves transferring and
+ * parsing unchanged bodies. Least recently used entries are evicted beyond {@code maxEntries}.
+ */
+final class EtagCache {
+    record Entry(String etag, Object value) {
+    }
+
+    private final int maxEntries;
+    private final Map<URI, Entry> entries;
+    private long hits;
+    private long misses;
+
+    EtagCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    synchronized Entry get(URI uri) {
+        return entries.get(uri);
+    }
+
+    synchronized void put(URI uri, String etag, Object value) {
+        if (maxEntries == 0) {
+            return;
+        }
+        entries.put(uri, new Entry(etag, value));
+        if (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    synchronized void remove(URI uri) {
+        entries.remove(uri);
+    }
+
+    synchronized void recordRevalidation(boolean notModified) {
+        if (notModified) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
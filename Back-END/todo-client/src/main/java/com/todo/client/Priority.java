@@ -0,0 +1,11 @@
+package com.todo.client;
+
+/**
+ * How urgent a todo is, in ascending order.
+ */
+public enum Priority {
+    LOW,
+    MEDIUM,
+    HIGH,
+    URGENT
+}
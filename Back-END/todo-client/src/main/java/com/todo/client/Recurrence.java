@@ -0,0 +1,21 @@
+package com.todo.client;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repeat rule of a recurring todo. The todo's due date is its first occurrence; occurrences follow every
+ * {@code interval} days, weeks, months or years, up to and including {@code until} when it is set.
+ */
+public record Recurrence(Frequency frequency, int interval, LocalDateTime until) {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY
+    }
+
+    public static Recurrence every(Frequency frequency) {
+        return new Recurrence(frequency, 1, null);
+    }
+}
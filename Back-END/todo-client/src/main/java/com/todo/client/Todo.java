@@ -0,0 +1,91 @@
+package com.todo.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A todo as sent and returned by the API. Immutable, so values served from the client's cache can be
+ * shared between callers; use the {@code with...} methods to derive a changed copy. Occurrences of a
+ * recurring todo have {@code seriesId} and {@code occurrenceDate} set, and no id until they are toggled
+ * or updated through {@link TodoClient#toggleOccurrence} or {@link TodoClient#updateOccurrence}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Todo(
+        Long id,
+        String title,
+        String description,
+        boolean completed,
+        Priority priority,
+        LocalDateTime dueDate,
+        List<String> tags,
+        Long parentId,
+        Recurrence recurrence,
+        Long seriesId,
+        LocalDateTime occurrenceDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public Todo {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    /**
+     * A new pending todo, to be passed to {@link TodoClient#create}.
+     */
+    public static Todo of(String title) {
+        return new Todo(null, title, null, false, null, null, List.of(), null, null, null, null, null, null);
+    }
+
+    public Todo withTitle(String title) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    public Todo withDescription(String description) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    public Todo withCompleted(boolean completed) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    /**
+     * {@code null} leaves the priority to the API, which uses {@link Priority#MEDIUM}.
+     */
+    public Todo withPriority(Priority priority) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    public Todo withDueDate(LocalDateTime dueDate) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    public Todo withTags(List<String> tags) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    /**
+     * Only used when creating: the parent of an existing todo is changed by a move.
+     */
+    public Todo withParentId(Long parentId) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+
+    /**
+     * Makes the todo repeat from its due date, which must be set; {@code null} stops it repeating.
+     */
+    public Todo withRecurrence(Recurrence recurrence) {
+        return new Todo(id, title, description, completed, priority, dueDate, tags, parentId, recurrence, seriesId, occurrenceDate,
+                createdAt, updatedAt);
+    }
+}
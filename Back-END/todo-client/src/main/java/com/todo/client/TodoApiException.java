@@ -0,0 +1,24 @@
+package com.todo.client;
+
+/**
+ * The API answered with an error status; {@link #getDetail()} is the {@code detail} of its problem
+ * response. Futures returned by {@link TodoClient} complete exceptionally with it.
+ */
+public class TodoApiException extends RuntimeException {
+    private final int status;
+    private final String detail;
+
+    public TodoApiException(int status, String detail) {
+        super("HTTP " + status + (detail == null ? "" : ": " + detail));
+        this.status = status;
+        this.detail = detail;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,389 @@
+package com.todo.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Typed, asynchronous client for {@code /api/todos}.
+ * <ul>
+ *   <li>One {@link HttpClient} per client, preferring HTTP/2 (negotiated with h2c on plain HTTP), so
+ *       requests share connections; create a client once and reuse it.</li>
+ *   <li>{@link #create} and {@link #toggle} are coalesced: operations arriving within the linger time
+ *       are sent together as one {@code POST /api/todos/batch}, and each future completes with its own
+ *       operation's result.</li>
+ *   <li>Reads are sent with {@code If-None-Match} when a previous response is cached, and answered from
+ *       the cache on 304 Not Modified.</li>
+ *   <li>Mutations carry an {@code Idempotency-Key} and are retried with the same key after I/O errors,
+ *       so a retry never applies a change twice.</li>
+ * </ul>
+ * Futures complete exceptionally with {@link TodoApiException} for error responses. The client is
+ * thread-safe; {@link #close()} sends pending operations before releasing its threads.
+ */
+public final class TodoClient implements AutoCloseable {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String JSON = "application/json";
+
+    private final URI todosUri;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final BatchCoalescer coalescer;
+    private final EtagCache cache;
+    private final JavaType todoType;
+    private final JavaType todoListType;
+    private final JavaType resultListType;
+
+    private TodoClient(Builder builder) {
+        this.todosUri = URI.create(builder.baseUri.toString().replaceAll("/+$", "") + "/api/todos");
+        this.requestTimeout = builder.requestTimeout;
+        this.maxRetries = builder.maxRetries;
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(builder.connectTimeout)
+                .executor(executor)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-client-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coalescer = new BatchCoalescer(this::sendBatch, scheduler, builder.linger.toNanos(), builder.maxBatchSize);
+        this.cache = new EtagCache(builder.cacheSize);
+        this.todoType = objectMapper.constructType(Todo.class);
+        this.todoListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Todo.class);
+        this.resultListType = objectMapper.getTypeFactory().constructCollectionType(List.class, BatchCoalescer.Result.class);
+    }
+
+    /**
+     * @param baseUri where the API is served, such as {@code http://localhost:8080}
+     */
+    public static Builder builder(URI baseUri) {
+        return new Builder(baseUri);
+    }
+
+    public CompletableFuture<List<Todo>> getAll() {
+        return get("", todoListType);
+    }
+
+    /**
+     * All todos, with recurring todos replaced by their occurrences due in {@code [from, to)}.
+     */
+    public CompletableFuture<List<Todo>> getAll(LocalDateTime from, LocalDateTime to) {
+        return get("?from=" + from + "&to=" + to, todoListType);
+    }
+
+    public CompletableFuture<Todo> get(long id) {
+        return get("/" + id, todoType);
+    }
+
+    public CompletableFuture<List<Todo>> getByStatus(boolean completed) {
+        return get("/status?completed=" + completed, todoListType);
+    }
+
+    public CompletableFuture<List<Todo>> search(String title) {
+        return get("/search?title=" + URLEncoder.encode(title, StandardCharsets.UTF_8), todoListType);
+    }
+
+    public CompletableFuture<List<Todo>> getOverdue() {
+        return get("/overdue", todoListType);
+    }
+
+    /**
+     * The {@code k} (1 to 100) most urgent pending todos, by priority and then due date.
+     */
+    public CompletableFuture<List<Todo>> getNext(int k) {
+        return get("/next?k=" + k, todoListType);
+    }
+
+    /**
+     * Creates the todo as part of the next batch. Any id is ignored; the API assigns one.
+     */
+    public CompletableFuture<Todo> create(Todo todo) {
+        return coalescer.submit(BatchCoalescer.Operation.create(Objects.requireNonNull(todo)));
+    }
+
+    /**
+     * Toggles the completion status of the todo as part of the next batch.
+     */
+    public CompletableFuture<Todo> toggle(long id) {
+        cache.remove(uri("/" + id));
+        return coalescer.submit(BatchCoalescer.Operation.toggle(id));
+    }
+
+    public CompletableFuture<Todo> update(long id, Todo todo) {
+        cache.remove(uri("/" + id));
+        return mutate(request("/" + id).header("Content-Type", JSON).PUT(json(todo)), todoType);
+    }
+
+    /**
+     * Toggles the occurrence of recurring todo {@code seriesId} due at {@code occurrenceDate}, storing it
+     * as a todo of its own the first time. Not batched: the batch endpoint only takes stored todos.
+     */
+    public CompletableFuture<Todo> toggleOccurrence(long seriesId, LocalDateTime occurrenceDate) {
+        return mutate(request(occurrencePath(seriesId, occurrenceDate) + "/toggle")
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()), todoType);
+    }
+
+    /**
+     * Replaces the fields of one occurrence of recurring todo {@code seriesId}; the other occurrences keep
+     * those of the recurring todo.
+     */
+    public CompletableFuture<Todo> updateOccurrence(long seriesId, LocalDateTime occurrenceDate, Todo todo) {
+        return mutate(request(occurrencePath(seriesId, occurrenceDate)).header("Content-Type", JSON).PUT(json(todo)), todoType);
+    }
+
+    /**
+     * Deletes the todo and all its subtasks.
+     */
+    public CompletableFuture<Void> delete(long id) {
+        cache.remove(uri("/" + id));
+        return mutate(request("/" + id).DELETE(), null);
+    }
+
+    /**
+     * Sends pending creates and toggles now instead of after the linger time.
+     */
+    public void flush() {
+        coalescer.flush();
+    }
+
+    public Stats stats() {
+        return new Stats(coalescer.batches(), coalescer.operations(), cache.hits(), cache.misses(), cache.size());
+    }
+
+    @Override
+    public void close() {
+        coalescer.close();
+        scheduler.shutdown();
+        // Lets requests in flight, including the batch just flushed, finish.
+        httpClient.close();
+        executor.close();
+    }
+
+    /**
+     * @param batches            batch requests sent
+     * @param batchedOperations  creates and toggles sent in them
+     * @param notModified        reads answered from the cache after a 304
+     * @param fetched            reads that returned a body
+     * @param cachedResponses    responses currently cached
+     */
+    public record Stats(long batches, long batchedOperations, long notModified, long fetched, int cachedResponses) {
+    }
+
+    private <T> CompletableFuture<T> get(String path, JavaType type) {
+        URI uri = uri(path);
+        EtagCache.Entry cached = cache.get(uri);
+        HttpRequest.Builder request = request(path).GET();
+        if (cached != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+        return send(request.build()).thenApply(response -> {
+            if (response.statusCode() == 304 && cached != null) {
+                cache.recordRevalidation(true);
+                return cast(cached.value());
+            }
+            T value = read(response, type);
+            cache.recordRevalidation(false);
+            response.headers().firstValue("ETag").ifPresentOrElse(
+                    etag -> cache.put(uri, etag, value),
+                    () -> cache.remove(uri));
+            return value;
+        });
+    }
+
+    private CompletableFuture<List<BatchCoalescer.Result>> sendBatch(List<BatchCoalescer.Operation> operations) {
+        return mutate(request("/batch").header("Content-Type", JSON).POST(json(operations)), resultListType);
+    }
+
+    private <T> CompletableFuture<T> mutate(HttpRequest.Builder request, JavaType type) {
+        request.header(IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+        return send(request.build()).thenApply(response -> read(response, type));
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        return send(request, 0);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, int attempt) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof IOException && attempt < maxRetries) {
+                        return send(request, attempt + 1);
+                    }
+                    return CompletableFuture.<HttpResponse<byte[]>>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, JavaType type) {
+        int status = response.statusCode();
+        if (status / 100 != 2) {
+            throw new TodoApiException(status, detail(response.body()));
+        }
+        if (type == null || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return immutable(objectMapper.readValue(response.body(), type));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String detail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode problem = objectMapper.readTree(body);
+            if (problem.hasNonNull("detail")) {
+                return problem.get("detail").asText();
+            }
+        } catch (IOException e) {
+            // not a problem response
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(requestTimeout)
+                .header("Accept", JSON);
+    }
+
+    private static String occurrencePath(long seriesId, LocalDateTime occurrenceDate) {
+        return "/" + seriesId + "/occurrences/" + occurrenceDate;
+    }
+
+    private URI uri(String path) {
+        return URI.create(todosUri + path);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + body, e);
+        }
+    }
+
+    // Cached values are handed to every caller, so lists must not be modifiable.
+    @SuppressWarnings("unchecked")
+    private static <T> T immutable(T value) {
+        return value instanceof List<?> list ? (T) List.copyOf(list) : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    public static final class Builder {
+        private final URI baseUri;
+        private Duration linger = Duration.ofMillis(5);
+        private int maxBatchSize = 100;
+        private int cacheSize = 1000;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private int maxRetries = 2;
+
+        private Builder(URI baseUri) {
+            this.baseUri = Objects.requireNonNull(baseUri);
+        }
+
+        /**
+         * How long a create or toggle waits for others to share its batch request; default 5 ms.
+         */
+        public Builder linger(Duration linger) {
+            if (linger.isNegative()) {
+                throw new IllegalArgumentException("linger must not be negative");
+            }
+            this.linger = linger;
+            return this;
+        }
+
+        /**
+         * Operations per batch request, 1 to 100 (the API's limit); default 100.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1 || maxBatchSize > 100) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and 100");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Read responses kept for revalidation; 0 disables caching. Default 1000.
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("cacheSize must not be negative");
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = Objects.requireNonNull(connectTimeout);
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = Objects.requireNonNull(requestTimeout);
+            return this;
+        }
+
+        /**
+         * Retries after I/O errors, such as a reset connection; default 2.
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries must not be negative");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public TodoClient build() {
+            return new TodoClient(this);
+        }
+    }
+}
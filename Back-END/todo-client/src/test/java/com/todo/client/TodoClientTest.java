@@ -0,0 +1,232 @@
+package com.todo.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo Client Tests")
+class TodoClientTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(100);
+    private HttpServer server;
+    private URI baseUri;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/todos", this::handle);
+        server.start();
+        baseUri = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should send creates made within the linger time as one batch with an Idempotency-Key")
+    void create_ShouldCoalesceIntoOneBatch() {
+        // Given
+        try (TodoClient client = TodoClient.builder(baseUri).linger(Duration.ofMillis(200)).build()) {
+            // When
+            List<CompletableFuture<Todo>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(client.create(Todo.of("Task " + i)));
+            }
+            List<Todo> created = futures.stream().map(CompletableFuture::join).toList();
+
+            // Then
+            assertEquals(1, requests.size());
+            Request batch = requests.get(0);
+            assertEquals("POST /api/todos/batch", batch.line());
+            assertNotNull(batch.idempotencyKey());
+            assertEquals(10, batch.body().size());
+            assertEquals("Task 3", batch.body().get(3).get("todo").get("title").asText());
+            assertFalse(batch.body().get(3).get("todo").has("id"));
+            for (int i = 0; i < 10; i++) {
+                assertEquals("Task " + i, created.get(i).title());
+                assertEquals(100L + i, (long) created.get(i).id());
+            }
+            assertEquals(new TodoClient.Stats(1, 10, 0, 0, 0), client.stats());
+        }
+    }
+
+    @Test
+    @DisplayName("Should split batches at the maximum batch size")
+    void create_ShouldSplitFullBatches() {
+        // Given
+        try (TodoClient client = TodoClient.builder(baseUri).linger(Duration.ofMillis(200)).maxBatchSize(4).build()) {
+            // When
+            List<CompletableFuture<Todo>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(client.create(Todo.of("Task " + i)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            // Then
+            assertEquals(List.of(4, 4, 2), requests.stream().map(request -> request.body().size()).sorted((a, b) -> b - a).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail only the future of a failed operation in a batch")
+    void toggle_ShouldCompleteEachFutureWithItsOwnResult() {
+        // Given
+        try (TodoClient client = TodoClient.builder(baseUri).linger(Duration.ofMillis(200)).build()) {
+            // When
+            CompletableFuture<Todo> found = client.toggle(7);
+            CompletableFuture<Todo> missing = client.toggle(404);
+
+            // Then
+            assertTrue(found.join().completed());
+            CompletionException failure = assertThrows(CompletionException.class, missing::join);
+            TodoApiException apiException = assertInstanceOf(TodoApiException.class, failure.getCause());
+            assertEquals(404, apiException.getStatus());
+            assertEquals("Todo not found with id: 404", apiException.getDetail());
+            assertEquals(1, requests.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should revalidate cached reads with If-None-Match and reuse the body on 304")
+    void get_ShouldServeUnchangedResponseFromCache() {
+        // Given
+        try (TodoClient client = TodoClient.builder(baseUri).build()) {
+            // When
+            Todo first = client.get(5).join();
+            Todo second = client.get(5).join();
+
+            // Then
+            assertEquals("Cached", first.title());
+            assertSame(first, second);
+            assertNull(requests.get(0).ifNoneMatch());
+            assertEquals("\"v5\"", requests.get(1).ifNoneMatch());
+            assertEquals(new TodoClient.Stats(0, 0, 1, 1, 1), client.stats());
+
+            client.delete(5).join();
+            client.get(5).join();
+            assertNull(requests.get(3).ifNoneMatch());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report error responses with the problem detail")
+    void get_WithMissingTodo_ShouldFailWithApiException() {
+        // Given
+        try (TodoClient client = TodoClient.builder(baseUri).build()) {
+            // When
+            CompletionException failure = assertThrows(CompletionException.class, () -> client.get(404).join());
+
+            // Then
+            TodoApiException apiException = assertInstanceOf(TodoApiException.class, failure.getCause());
+            assertEquals(404, apiException.getStatus());
+            assertEquals("Todo not found with id: 404", apiException.getDetail());
+        }
+    }
+
+    @Test
+    @DisplayName("Should send pending operations when closed")
+    void close_ShouldFlushPendingOperations() {
+        // Given
+        TodoClient client = TodoClient.builder(baseUri).linger(Duration.ofSeconds(30)).build();
+        CompletableFuture<Todo> created = client.create(Todo.of("Last one"));
+
+        // When
+        client.close();
+
+        // Then
+        assertEquals("Last one", created.join().title());
+        assertThrows(IllegalStateException.class, () -> client.create(Todo.of("Too late")));
+    }
+
+    private record Request(String line, String idempotencyKey, String ifNoneMatch, JsonNode body) {
+    }
+
+    /**
+     * Just enough of the API for the client: batches, reads with a fixed ETag per id, and deletes. Id 404
+     * does not exist.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        requests.add(new Request(method + " " + path,
+                exchange.getRequestHeaders().getFirst("Idempotency-Key"),
+                exchange.getRequestHeaders().getFirst("If-None-Match"),
+                requestBody.length == 0 ? MAPPER.createArrayNode() : MAPPER.readTree(requestBody)));
+        String last = path.substring(path.lastIndexOf('/') + 1);
+
+        if (method.equals("POST") && last.equals("batch")) {
+            ArrayNode results = MAPPER.createArrayNode();
+            for (JsonNode operation : MAPPER.readTree(requestBody)) {
+                ObjectNode result = results.addObject();
+                if (operation.get("op").asText().equals("create")) {
+                    result.put("status", 201);
+                    result.set("todo", todo(nextId.getAndIncrement(), operation.get("todo").get("title").asText(), false));
+                } else if (operation.get("id").asLong() == 404) {
+                    result.put("status", 404);
+                    result.put("error", "Todo not found with id: 404");
+                } else {
+                    result.put("status", 200);
+                    result.set("todo", todo(operation.get("id").asLong(), "Toggled", true));
+                }
+            }
+            respond(exchange, 200, results);
+        } else if (last.equals("404")) {
+            respond(exchange, 404, MAPPER.createObjectNode().put("status", 404).put("detail", "Todo not found with id: 404"));
+        } else if (method.equals("DELETE")) {
+            exchange.sendResponseHeaders(204, -1);
+        } else {
+            String etag = "\"v" + last + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                respond(exchange, 200, todo(Long.parseLong(last), "Cached", false));
+            }
+        }
+        exchange.close();
+    }
+
+    private static ObjectNode todo(long id, String title, boolean completed) {
+        ObjectNode todo = MAPPER.createObjectNode();
+        todo.put("id", id);
+        todo.put("title", title);
+        todo.put("completed", completed);
+        todo.putArray("tags");
+        todo.put("createdAt", "2025-09-14T10:30:00");
+        return todo;
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -1,9 +1,21 @@
+export interface Recurrence {
+    frequency: 'DAILY' | 'WEEKLY' | 'MONTHLY' | 'YEARLY';
+    interval: number;
+    until?: string;
+}
+
 export interface Todo {
     id?: number;
     title: string;
     description?: string;
     completed: boolean;
+    priority?: 'LOW' | 'MEDIUM' | 'HIGH' | 'URGENT';
     dueDate?: string;
+    tags?: string[];
+    parentId?: number;
+    recurrence?: Recurrence;
+    seriesId?: number;
+    occurrenceDate?: string;
     createdAt?: string;
     updatedAt?: string;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.todo.cucumber;
+
+import com.todo.api.TodoApiApplication;
+import io.cucumber.spring.CucumberContextConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Boots the todo-api application once for the whole suite on a random port. Every scenario gets its
+ * own {@link ScenarioContext}, so scenarios can run concurrently against the shared server.
+ */
+@CucumberContextConfiguration
+@SpringBootTest(
+        classes = {TodoApiApplication.class, ScenarioContext.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.org.springframework.web=WARN"
+        })
+public class CucumberSpringConfiguration {
+}
@@ -6,10 +6,19 @@ import org.junit.platform.suite.api.IncludeEngines;
 import org.junit.platform.suite.api.SelectClasspathResource;
 import org.junit.platform.suite.api.Suite;
 
+/**
+ * Runs all features in parallel against one embedded todo-api instance (see
+ * {@link CucumberSpringConfiguration}). Scenarios tagged {@code @isolated} hold the global lock and
+ * run alone, so latency measurements are not disturbed by other scenarios.
+ */
 @Suite
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
-@ConfigurationParameter(key = Constants.GLUE_PROPERTY_NAME, value = "com.todo.cucumber.stepdefinitions")
+@ConfigurationParameter(key = Constants.GLUE_PROPERTY_NAME, value = "com.todo.cucumber")
 @ConfigurationParameter(key = Constants.PLUGIN_PROPERTY_NAME, value = "pretty,html:target/cucumber-reports")
+@ConfigurationParameter(key = Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, value = "dynamic")
+@ConfigurationParameter(key = "cucumber.execution.exclusive-resources.isolated.read-write",
+        value = "org.junit.platform.engine.support.hierarchical.ExclusiveResource.GLOBAL_KEY")
 public class CucumberTestRunner {
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.todo.cucumber;
+
+import com.todo.client.Todo;
+import com.todo.client.TodoApiException;
+import com.todo.client.TodoClient;
+import io.cucumber.spring.ScenarioScope;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * State of one scenario, shared by the step definition classes. Scenarios run concurrently against the
+ * same server, so list results are narrowed to the todos this scenario created before asserting on
+ * them, and those todos are deleted when the scenario ends.
+ */
+@Component
+@ScenarioScope
+public class ScenarioContext {
+    @LocalServerPort
+    private int port;
+
+    private final Set<Long> createdIds = new LinkedHashSet<>();
+    private TodoClient client;
+    private Todo todo;
+    private List<Todo> todos;
+    private Long todoId;
+
+    public int getPort() {
+        return port;
+    }
+
+    public TodoClient client() {
+        if (client == null) {
+            client = TodoClient.builder(URI.create("http://localhost:" + port)).build();
+        }
+        return client;
+    }
+
+    /**
+     * Creates the todos; they are sent together as one batch request.
+     */
+    public List<Todo> create(List<Todo> newTodos) {
+        List<CompletableFuture<Todo>> futures = newTodos.stream().map(client()::create).toList();
+        List<Todo> created = futures.stream().map(CompletableFuture::join).toList();
+        created.forEach(createdTodo -> createdIds.add(createdTodo.id()));
+        return created;
+    }
+
+    public Todo create(Todo newTodo) {
+        return create(List.of(newTodo)).get(0);
+    }
+
+    public Todo getTodo() {
+        return todo;
+    }
+
+    public void setTodo(Todo todo) {
+        this.todo = todo;
+    }
+
+    public List<Todo> getTodos() {
+        return todos;
+    }
+
+    public void setTodos(List<Todo> todos) {
+        this.todos = todos;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+
+    public void setTodoId(Long todoId) {
+        this.todoId = todoId;
+    }
+
+    /**
+     * Todos of the current list result that were created by this scenario.
+     */
+    public List<Todo> ownTodos() {
+        List<Todo> own = new ArrayList<>();
+        for (Todo listed : todos) {
+            if (createdIds.contains(listed.id())) {
+                own.add(listed);
+            }
+        }
+        return own;
+    }
+
+    /**
+     * Status of the error response {@code call} failed with.
+     */
+    public static int errorStatus(CompletableFuture<?> call) {
+        try {
+            call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TodoApiException apiException) {
+                return apiException.getStatus();
+            }
+            throw e;
+        }
+        throw new AssertionError("Expected an error response");
+    }
+
+    public void deleteCreatedTodos() {
+        if (client == null) {
+            return;
+        }
+        // Todos the scenario deleted itself answer 404.
+        CompletableFuture.allOf(createdIds.stream()
+                .map(id -> client.delete(id).exceptionally(failure -> null))
+                .toArray(CompletableFuture[]::new)).join();
+        createdIds.clear();
+        client.close();
+        client = null;
+    }
+}
@@ -0,0 +1,121 @@
+package com.todo.cucumber.stepdefinitions;
+
+import com.todo.cucumber.ScenarioContext;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Concurrency and latency steps. Each simulated user is a virtual thread that sends one request at its
+ * scheduled time; latency is measured from that scheduled time, so requests queued behind a slow server
+ * are charged for the wait.
+ */
+public class PerformanceStepDefinitions {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private ScenarioContext context;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private long[] latenciesNanos;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Given("the todo API has been warmed up with {int} requests")
+    public void theTodoApiHasBeenWarmedUpWithRequests(int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(todoUri("")).timeout(REQUEST_TIMEOUT).GET().build();
+        for (int i = 0; i < requests; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    @When("{int} users toggle the todo concurrently over {int} ms")
+    public void usersToggleTheTodoConcurrently(int users, int windowMs) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(todoUri("/toggle"))
+                .timeout(REQUEST_TIMEOUT)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        run(request, users, windowMs);
+    }
+
+    @When("{int} users fetch the todo concurrently over {int} ms")
+    public void usersFetchTheTodoConcurrently(int users, int windowMs) throws InterruptedException {
+        run(HttpRequest.newBuilder(todoUri("")).timeout(REQUEST_TIMEOUT).GET().build(), users, windowMs);
+    }
+
+    @Then("all requests should succeed")
+    public void allRequestsShouldSucceed() {
+        Assertions.assertEquals(0, failures.get(), "failed requests");
+    }
+
+    @Then("the p{int} latency should be under {int} ms")
+    public void thePercentileLatencyShouldBeUnder(int percentile, int maxMs) {
+        long[] sorted = Arrays.stream(latenciesNanos).filter(latency -> latency >= 0).sorted().toArray();
+        Assertions.assertTrue(sorted.length > 0, "no successful requests");
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        double actualMs = sorted[Math.max(0, rank)] / 1_000_000.0;
+        Assertions.assertTrue(actualMs < maxMs,
+                String.format("p%d latency %.2f ms is not under %d ms (%d requests)", percentile, actualMs, maxMs, sorted.length));
+    }
+
+    /**
+     * Starts {@code users} requests spread evenly over {@code windowMs} (all at once when it is 0).
+     * Failed requests keep a latency of -1 and are counted in {@link #failures}.
+     */
+    private void run(HttpRequest request, int users, int windowMs) throws InterruptedException {
+        latenciesNanos = new long[users];
+        Arrays.fill(latenciesNanos, -1);
+        failures.set(0);
+        long intervalNanos = users > 1 ? Duration.ofMillis(windowMs).toNanos() / users : 0;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                long scheduled = start + user * intervalNanos;
+                executor.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < scheduled) {
+                        LockSupport.parkNanos(scheduled - now);
+                    }
+                    send(request, user, scheduled);
+                });
+            }
+        }
+    }
+
+    private void send(HttpRequest request, int user, long scheduledNanos) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 200) {
+                latenciesNanos[user] = System.nanoTime() - scheduledNanos;
+                return;
+            }
+        } catch (IOException e) {
+            // counted below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failures.incrementAndGet();
+    }
+
+    private URI todoUri(String suffix) {
+        return URI.create("http://localhost:" + context.getPort() + "/api/todos/" + context.getTodoId() + suffix);
+    }
+}
@@ -1,182 +1,114 @@
 package com.todo.cucumber.stepdefinitions;
 
+import com.todo.client.Todo;
+import com.todo.cucumber.ScenarioContext;
 import io.cucumber.datatable.DataTable;
+import io.cucumber.java.After;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
-import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
-import io.restassured.response.Response;
 import org.junit.jupiter.api.Assertions;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
-import java.util.Map;
-
-import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.*;
 
 public class TodoStepDefinitions {
 
-    private Response response;
-    private String todoJson;
-    private Long createdTodoId;
-    private String baseUrl = "http://localhost:8080/api/todos";
+    @Autowired
+    private ScenarioContext context;
+
+    private Todo newTodo;
+
+    @After
+    public void deleteCreatedTodos() {
+        context.deleteCreatedTodos();
+    }
 
     @Given("the todo application is running")
     public void theTodoApplicationIsRunning() {
-        RestAssured.baseURI = "http://localhost:8080";
-        // Verify the application is running by hitting the health endpoint
-        given()
-            .when()
-                .get("/api/todos")
-            .then()
-                .statusCode(anyOf(is(200), is(404))); // Accept both, as the list might be empty
+        Assertions.assertNotNull(context.client().getAll().join());
     }
 
     @Given("I have a new todo with title {string} and description {string}")
     public void iHaveANewTodoWithTitleAndDescription(String title, String description) {
-        todoJson = String.format(
-            "{\"title\":\"%s\",\"description\":\"%s\",\"completed\":false}",
-            title, description
-        );
+        newTodo = Todo.of(title).withDescription(description);
     }
 
     @When("I create the todo")
     public void iCreateTheTodo() {
-        response = given()
-            .contentType(ContentType.JSON)
-            .body(todoJson)
-        .when()
-            .post(baseUrl)
-        .then()
-            .extract().response();
-        
-        if (response.getStatusCode() == 201) {
-            createdTodoId = response.jsonPath().getLong("id");
-        }
+        Todo created = context.create(newTodo);
+        context.setTodo(created);
+        context.setTodoId(created.id());
     }
 
     @Then("the todo should be created successfully")
     public void theTodoShouldBeCreatedSuccessfully() {
-        Assertions.assertEquals(201, response.getStatusCode());
+        Assertions.assertNotNull(context.getTodo().id());
+        Assertions.assertEquals(newTodo.title(), context.getTodo().title());
+        Assertions.assertNotNull(context.getTodo().createdAt());
     }
 
     @Then("the todo should have id greater than {int}")
     public void theTodoShouldHaveIdGreaterThan(int expectedMinId) {
-        Long actualId = response.jsonPath().getLong("id");
-        Assertions.assertTrue(actualId > expectedMinId);
+        Assertions.assertTrue(context.getTodo().id() > expectedMinId);
     }
 
     @Then("the todo should be marked as not completed")
     public void theTodoShouldBeMarkedAsNotCompleted() {
-        Boolean completed = response.jsonPath().getBoolean("completed");
-        Assertions.assertFalse(completed);
+        Assertions.assertFalse(context.getTodo().completed());
     }
 
     @Given("I have created multiple todos:")
     public void iHaveCreatedMultipleTodos(DataTable dataTable) {
-        List<Map<String, String>> todos = dataTable.asMaps(String.class, String.class);
-        
-        for (Map<String, String> todo : todos) {
-            String json = String.format(
-                "{\"title\":\"%s\",\"description\":\"%s\",\"completed\":%s}",
-                todo.get("title"),
-                todo.get("description"),
-                todo.get("completed")
-            );
-            
-            given()
-                .contentType(ContentType.JSON)
-                .body(json)
-            .when()
-                .post(baseUrl)
-            .then()
-                .statusCode(201);
-        }
+        List<Todo> todos = dataTable.asMaps(String.class, String.class).stream()
+                .map(row -> Todo.of(row.get("title"))
+                        .withDescription(row.get("description"))
+                        .withCompleted(Boolean.parseBoolean(row.get("completed"))))
+                .toList();
+        context.create(todos);
     }
 
     @When("I retrieve all todos")
     public void iRetrieveAllTodos() {
-        response = given()
-        .when()
-            .get(baseUrl)
-        .then()
-            .extract().response();
+        context.setTodos(context.client().getAll().join());
     }
 
     @Then("I should get {int} todos")
     public void iShouldGetTodos(int expectedCount) {
-        List<Object> todos = response.jsonPath().getList("$");
-        Assertions.assertEquals(expectedCount, todos.size());
+        Assertions.assertEquals(expectedCount, context.ownTodos().size());
     }
 
     @Then("the todos should contain {string}")
     public void theTodosShouldContain(String expectedTitle) {
-        List<String> titles = response.jsonPath().getList("title");
+        List<String> titles = context.ownTodos().stream().map(Todo::title).toList();
         Assertions.assertTrue(titles.contains(expectedTitle));
     }
 
     @Given("I have a todo with title {string}")
     public void iHaveATodoWithTitle(String title) {
-        todoJson = String.format(
-            "{\"title\":\"%s\",\"description\":\"Test description\",\"completed\":false}",
-            title
-        );
-        
-        Response createResponse = given()
-            .contentType(ContentType.JSON)
-            .body(todoJson)
-        .when()
-            .post(baseUrl)
-        .then()
-            .statusCode(201)
-            .extract().response();
-        
-        createdTodoId = createResponse.jsonPath().getLong("id");
+        newTodo = Todo.of(title).withDescription("Test description");
+        context.setTodoId(context.create(newTodo).id());
     }
 
     @When("I update the todo title to {string}")
     public void iUpdateTheTodoTitleTo(String newTitle) {
-        String updateJson = String.format(
-            "{\"title\":\"%s\",\"description\":\"Test description\",\"completed\":false}",
-            newTitle
-        );
-        
-        response = given()
-            .contentType(ContentType.JSON)
-            .body(updateJson)
-        .when()
-            .put(baseUrl + "/" + createdTodoId)
-        .then()
-            .extract().response();
+        Todo update = Todo.of(newTitle).withDescription("Test description");
+        context.setTodo(context.client().update(context.getTodoId(), update).join());
     }
 
     @Then("the todo should have the updated title {string}")
     public void theTodoShouldHaveTheUpdatedTitle(String expectedTitle) {
-        Assertions.assertEquals(200, response.getStatusCode());
-        String actualTitle = response.jsonPath().getString("title");
-        Assertions.assertEquals(expectedTitle, actualTitle);
+        Assertions.assertEquals(expectedTitle, context.getTodo().title());
     }
 
     @When("I delete the todo")
     public void iDeleteTheTodo() {
-        response = given()
-        .when()
-            .delete(baseUrl + "/" + createdTodoId)
-        .then()
-            .extract().response();
+        context.client().delete(context.getTodoId()).join();
     }
 
     @Then("the todo should be removed from the system")
     public void theTodoShouldBeRemovedFromTheSystem() {
-        Assertions.assertEquals(204, response.getStatusCode());
-        
-        // Verify the todo is actually deleted
-        given()
-        .when()
-            .get(baseUrl + "/" + createdTodoId)
-        .then()
-            .statusCode(404);
+        Assertions.assertEquals(404, ScenarioContext.errorStatus(context.client().get(context.getTodoId())));
     }
 
     @Given("I have a todo with title {string} that is not completed")
@@ -186,17 +118,12 @@ public class TodoStepDefinitions {
 
     @When("I toggle the completion status")
     public void iToggleTheCompletionStatus() {
-        response = given()
-        .when()
-            .patch(baseUrl + "/" + createdTodoId + "/toggle")
-        .then()
-            .extract().response();
+        context.setTodo(context.client().toggle(context.getTodoId()).join());
     }
 
     @Then("the todo should be marked as completed")
     public void theTodoShouldBeMarkedAsCompleted() {
-        Boolean completed = response.jsonPath().getBoolean("completed");
-        Assertions.assertTrue(completed);
+        Assertions.assertTrue(context.getTodo().completed());
     }
 
     @When("I toggle the completion status again")
@@ -206,78 +133,43 @@ public class TodoStepDefinitions {
 
     @Given("I have created todos with different completion status:")
     public void iHaveCreatedTodosWithDifferentCompletionStatus(DataTable dataTable) {
-        List<Map<String, String>> todos = dataTable.asMaps(String.class, String.class);
-        
-        for (Map<String, String> todo : todos) {
-            String json = String.format(
-                "{\"title\":\"%s\",\"description\":\"Test description\",\"completed\":%s}",
-                todo.get("title"),
-                todo.get("completed")
-            );
-            
-            given()
-                .contentType(ContentType.JSON)
-                .body(json)
-            .when()
-                .post(baseUrl)
-            .then()
-                .statusCode(201);
-        }
+        List<Todo> todos = dataTable.asMaps(String.class, String.class).stream()
+                .map(row -> Todo.of(row.get("title"))
+                        .withDescription("Test description")
+                        .withCompleted(Boolean.parseBoolean(row.get("completed"))))
+                .toList();
+        context.create(todos);
     }
 
     @When("I filter todos by completion status {string}")
     public void iFilterTodosByCompletionStatus(String completed) {
-        response = given()
-            .queryParam("completed", completed)
-        .when()
-            .get(baseUrl + "/status")
-        .then()
-            .extract().response();
+        context.setTodos(context.client().getByStatus(Boolean.parseBoolean(completed)).join());
     }
 
     @Then("all returned todos should be not completed")
     public void allReturnedTodosShouldBeNotCompleted() {
-        List<Boolean> completedStatuses = response.jsonPath().getList("completed");
-        for (Boolean status : completedStatuses) {
-            Assertions.assertFalse(status);
+        for (Todo todo : context.getTodos()) {
+            Assertions.assertFalse(todo.completed());
         }
     }
 
     @Given("I have created todos:")
     public void iHaveCreatedTodos(DataTable dataTable) {
-        List<Map<String, String>> todos = dataTable.asMaps(String.class, String.class);
-        
-        for (Map<String, String> todo : todos) {
-            String json = String.format(
-                "{\"title\":\"%s\",\"description\":\"Test description\",\"completed\":false}",
-                todo.get("title")
-            );
-            
-            given()
-                .contentType(ContentType.JSON)
-                .body(json)
-            .when()
-                .post(baseUrl)
-            .then()
-                .statusCode(201);
-        }
+        List<Todo> todos = dataTable.asMaps(String.class, String.class).stream()
+                .map(row -> Todo.of(row.get("title")).withDescription("Test description"))
+                .toList();
+        context.create(todos);
     }
 
     @When("I search for todos with title containing {string}")
     public void iSearchForTodosWithTitleContaining(String searchTerm) {
-        response = given()
-            .queryParam("title", searchTerm)
-        .when()
-            .get(baseUrl + "/search")
-        .then()
-            .extract().response();
+        context.setTodos(context.client().search(searchTerm).join());
     }
 
     @Then("all returned todos should have {string} in their title")
     public void allReturnedTodosShouldHaveInTheirTitle(String expectedSubstring) {
-        List<String> titles = response.jsonPath().getList("title");
-        for (String title : titles) {
-            Assertions.assertTrue(title.contains(expectedSubstring));
+        for (Todo todo : context.getTodos()) {
+            Assertions.assertTrue(todo.title().toLowerCase().contains(expectedSubstring.toLowerCase()));
         }
     }
-}
\ No newline at end of file
+}
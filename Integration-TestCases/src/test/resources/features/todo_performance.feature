@@ -0,0 +1,20 @@
+@isolated
+Feature: Todo API performance
+  As an operator
+  I want the acceptance suite to measure latency under concurrent use
+  So that performance regressions fail the build
+
+  Background:
+    Given the todo application is running
+    And I have a todo with title "Contended Todo"
+    And the todo API has been warmed up with 200 requests
+
+  Scenario: Many users toggle the same todo
+    When 500 users toggle the todo concurrently over 5000 ms
+    Then all requests should succeed
+    And the p99 latency should be under 50 ms
+
+  Scenario: Many users read the same todo
+    When 1000 users fetch the todo concurrently over 2000 ms
+    Then all requests should succeed
+    And the p99 latency should be under 20 ms